@@ -20,6 +20,7 @@ import com.hivemc.chunker.mapping.MappingsFile;
 import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
 import com.hivemc.chunker.pruning.PruningConfig;
 import com.hivemc.chunker.scheduling.task.TrackedTask;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorMode;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import picocli.CommandLine;
 
@@ -134,6 +135,44 @@ public class CLI implements Runnable {
     )
     private boolean keepOriginalNBT;
 
+    @CommandLine.Option(
+            names = {"--threads", "-t"},
+            description = "The number of worker threads to use for conversion (defaults to a count based on the available processors and memory)."
+    )
+    private int threads;
+
+    @CommandLine.Option(
+            names = {"--ioThreads"},
+            description = "The number of threads to use for reading / writing region files (defaults to a count based on the worker threads)."
+    )
+    private int ioThreads;
+
+    @CommandLine.Option(
+            names = {"--executorMode"},
+            description = "The mode used for scheduling tasks onto the worker threads (${COMPLETION-CANDIDATES}).",
+            defaultValue = "PRIORITY_QUEUE"
+    )
+    private TaskExecutorMode executorMode;
+
+    @CommandLine.Option(
+            names = {"--columnBatching"},
+            description = "Whether each column should be read, transformed and written as a single task (defaults to enabled when a dimension has at least as many regions as worker threads).",
+            arity = "1"
+    )
+    private Boolean columnBatching;
+
+    @CommandLine.Option(
+            names = {"--maxInFlightRegions"},
+            description = "The maximum number of regions per dimension which can be read ahead of being written, lower values reduce memory usage (defaults to a count based on the worker threads)."
+    )
+    private int maxInFlightRegions;
+
+    @CommandLine.Option(
+            names = {"--levelDBBulkWrite"},
+            description = "Whether Bedrock output should be written directly as sorted LevelDB tables, skipping the final compaction (not used when copying the original NBT)."
+    )
+    private boolean levelDBBulkWrite;
+
     /**
      * Main entry point for the CLI
      *
@@ -368,6 +407,7 @@ public class CLI implements Runnable {
                     boolean discardEmptyChunks = parsedConverterSettings.has("discardEmptyChunks") && parsedConverterSettings.get("discardEmptyChunks").getAsBoolean();
                     boolean preventYBiomeBlending = parsedConverterSettings.has("preventYBiomeBlending") && parsedConverterSettings.get("preventYBiomeBlending").getAsBoolean();
                     boolean customIdentifiers = !parsedConverterSettings.has("customIdentifiers") || parsedConverterSettings.get("customIdentifiers").getAsBoolean();
+                    boolean generateLighting = parsedConverterSettings.has("generateLighting") && parsedConverterSettings.get("generateLighting").getAsBoolean();
 
                     // Apply the settings
                     worldConverter.setProcessMaps(!skipMaps);
@@ -378,6 +418,7 @@ public class CLI implements Runnable {
                     worldConverter.setDiscardEmptyChunks(discardEmptyChunks);
                     worldConverter.setPreventYBiomeBlending(preventYBiomeBlending);
                     worldConverter.setCustomIdentifiers(customIdentifiers);
+                    worldConverter.setGenerateLighting(generateLighting);
                 } catch (Exception e) {
                     System.err.println("Failed to parse converter settings.");
                     throw new RuntimeException(e);
@@ -387,6 +428,14 @@ public class CLI implements Runnable {
             // Check for the original NBT option
             worldConverter.setAllowNBTCopying(keepOriginalNBT);
 
+            // Apply the thread counts (0 indicates it should be picked automatically)
+            worldConverter.setThreads(threads);
+            worldConverter.setIOThreads(ioThreads);
+            worldConverter.setExecutorMode(executorMode);
+            worldConverter.setColumnBatching(columnBatching);
+            worldConverter.setMaxInFlightRegions(maxInFlightRegions);
+            worldConverter.setLevelDBBulkWrite(levelDBBulkWrite);
+
             // Create the reader / writer (note: converter settings cannot be set after this point)
             Optional<? extends LevelReader> reader = EncodingType.findReader(inputDirectory, worldConverter);
             Optional<? extends LevelWriter> writer = Messenger.findWriter(format, worldConverter, outputDirectory);
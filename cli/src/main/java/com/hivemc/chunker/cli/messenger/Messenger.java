@@ -51,6 +51,8 @@ public class Messenger {
     private static final Gson GSON = new GsonBuilder()
             .registerTypeHierarchyAdapter(BasicMessage.class, new BasicMessageTypeAdapter())
             .create();
+    private static JsonObject lastBlockMappingsJson;
+    private static MappingsFileResolvers lastBlockMappings;
 
     /**
      * The main entry point for the messenger.
@@ -182,7 +184,7 @@ public class Messenger {
                         WorldConverter worldConverter = createWorldConverter(convertRequest.getAnonymousId(), convertRequest.getRequestId());
                         if (convertRequest.getMappings() != null && !convertRequest.getMappings().isEmpty()) {
                             try {
-                                worldConverter.setBlockMappings(new MappingsFileResolvers(MappingsFile.load(convertRequest.getMappings())));
+                                worldConverter.setBlockMappings(getBlockMappings(convertRequest.getMappings()));
                             } catch (Exception e) {
                                 removeWorldConverter(convertRequest.getAnonymousId(), convertRequest.getRequestId());
                                 write(new ErrorResponse(
@@ -313,6 +315,8 @@ public class Messenger {
                         worldConverter.setDiscardEmptyChunks(convertRequest.isDiscardEmptyChunks());
                         worldConverter.setPreventYBiomeBlending(convertRequest.isPreventYBiomeBlending());
                         worldConverter.setCustomIdentifiers(convertRequest.isCustomIdentifiers());
+                        worldConverter.setThreads(convertRequest.getThreads());
+                        worldConverter.setIOThreads(convertRequest.getIoThreads());
 
                         // Add the handler for the compaction signal to let the UI know
                         worldConverter.setCompactionSignal((started) -> {
@@ -421,6 +425,21 @@ public class Messenger {
         }
     }
 
+    /**
+     * Parse the block mappings from a request, the previous instance is re-used if the mappings haven't changed so
+     * that the resolver caches shared between conversions can be re-used (they're keyed by the mappings instance).
+     *
+     * @param json the mappings JSON.
+     * @return the parsed mappings.
+     */
+    public static MappingsFileResolvers getBlockMappings(JsonObject json) {
+        if (!json.equals(lastBlockMappingsJson)) {
+            lastBlockMappings = new MappingsFileResolvers(MappingsFile.load(json));
+            lastBlockMappingsJson = json;
+        }
+        return lastBlockMappings;
+    }
+
     /**
      * Create a world converter and add it to the internal storage.
      *
@@ -42,6 +42,8 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
     private final boolean discardEmptyChunks;
     private final boolean preventYBiomeBlending;
     private final boolean customIdentifiers;
+    private final int threads;
+    private final int ioThreads;
 
     /**
      * Create a new conversion request.
@@ -65,8 +67,10 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
      * @param enableCompact          whether the world should be compacted after conversion (Bedrock).
      * @param discardEmptyChunks     whether empty chunks should not be written.
      * @param preventYBiomeBlending  whether biomes should be prevented from blending (Java).
+     * @param threads                the number of worker threads to use, 0 to pick automatically.
+     * @param ioThreads              the number of I/O threads to use, 0 to pick automatically.
      */
-    public ConvertRequest(UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable JsonObject customDimensions, @Nullable Map<String, String> inputToOutputDimension, @Nullable Map<String, String> biomeMappings, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending) {
+    public ConvertRequest(UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable JsonObject customDimensions, @Nullable Map<String, String> inputToOutputDimension, @Nullable Map<String, String> biomeMappings, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending, int threads, int ioThreads) {
         this.anonymousId = anonymousId;
         this.inputPath = inputPath;
         this.outputPath = outputPath;
@@ -87,6 +91,8 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
         this.enableCompact = enableCompact;
         this.discardEmptyChunks = discardEmptyChunks;
         this.preventYBiomeBlending = preventYBiomeBlending;
+        this.threads = threads;
+        this.ioThreads = ioThreads;
     }
 
     /**
@@ -112,8 +118,10 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
      * @param enableCompact          whether the world should be compacted after conversion (Bedrock).
      * @param discardEmptyChunks     whether empty chunks should not be written.
      * @param preventYBiomeBlending  whether biomes should be prevented from blending (Java).
+     * @param threads                the number of worker threads to use, 0 to pick automatically.
+     * @param ioThreads              the number of I/O threads to use, 0 to pick automatically.
      */
-    public ConvertRequest(UUID requestId, UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable JsonObject customDimensions, @Nullable Map<String, String> inputToOutputDimension, @Nullable Map<String, String> biomeMappings, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending) {
+    public ConvertRequest(UUID requestId, UUID anonymousId, String inputPath, String outputPath, String outputType, @Nullable JsonObject customDimensions, @Nullable Map<String, String> inputToOutputDimension, @Nullable Map<String, String> biomeMappings, @Nullable JsonObject mappings, @Nullable JsonObject nbtSettings, @Nullable JsonArray maps, boolean copyNbt, @Nullable DimensionPruningList pruningList, boolean skipMaps, boolean skipLootTables, boolean skipItemConversion, boolean customIdentifiers, boolean skipBlockConnections, boolean enableCompact, boolean discardEmptyChunks, boolean preventYBiomeBlending, int threads, int ioThreads) {
         super(requestId);
         this.anonymousId = anonymousId;
         this.inputPath = inputPath;
@@ -135,6 +143,8 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
         this.enableCompact = enableCompact;
         this.discardEmptyChunks = discardEmptyChunks;
         this.preventYBiomeBlending = preventYBiomeBlending;
+        this.threads = threads;
+        this.ioThreads = ioThreads;
     }
 
     /**
@@ -326,4 +336,22 @@ public class ConvertRequest extends BasicMessage implements InvokesWorldConverte
     public boolean isPreventYBiomeBlending() {
         return preventYBiomeBlending;
     }
+
+    /**
+     * The number of worker threads to use for conversion.
+     *
+     * @return the number of threads, 0 if it should be picked automatically.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * The number of threads to use for I/O during conversion.
+     *
+     * @return the number of I/O threads, 0 if it should be picked automatically.
+     */
+    public int getIoThreads() {
+        return ioThreads;
+    }
 }
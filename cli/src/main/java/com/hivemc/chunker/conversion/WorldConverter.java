@@ -10,6 +10,7 @@ import com.hivemc.chunker.conversion.encoding.base.writer.LevelWriter;
 import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
 import com.hivemc.chunker.conversion.handlers.LevelConversionHandler;
 import com.hivemc.chunker.conversion.handlers.WorldConversionHandler;
+import com.hivemc.chunker.conversion.handlers.light.ColumnLightingConversionHandler;
 import com.hivemc.chunker.conversion.handlers.pipeline.Pipeline;
 import com.hivemc.chunker.conversion.handlers.pretransform.ColumnPreTransformConversionHandler;
 import com.hivemc.chunker.conversion.handlers.pretransform.ColumnPreTransformWriterConversionHandler;
@@ -26,10 +27,12 @@ import com.hivemc.chunker.conversion.intermediate.world.DimensionRegistry;
 import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
 import com.hivemc.chunker.pruning.PruningConfig;
 import com.hivemc.chunker.pruning.PruningRegion;
+import com.hivemc.chunker.resolver.PaletteEntryCache;
 import com.hivemc.chunker.scheduling.task.Environment;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import com.hivemc.chunker.scheduling.task.TrackedTask;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorMode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,6 +41,9 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 /**
@@ -48,6 +54,18 @@ public class WorldConverter implements Converter {
      * Signal used to indicate compaction has started, this is used to indicate the progress bar should change.
      */
     public static final String SIGNAL_COMPACTION = "signal_compaction";
+    /**
+     * Signal used to report the peak number of columns held by a world's pre-transform handler.
+     */
+    public static final String SIGNAL_PEAK_PENDING_COLUMNS = "signal_peak_pending_columns";
+    /**
+     * The amount of heap which is expected to be used by each worker thread, used to limit the automatic thread count.
+     */
+    public static final long HEAP_PER_THREAD = 256L * 1024L * 1024L;
+    /**
+     * The maximum number of I/O threads used when the count is automatically picked.
+     */
+    public static final int MAX_AUTOMATIC_IO_THREADS = 4;
 
     private final UUID sessionID;
     // State
@@ -66,6 +84,9 @@ public class WorldConverter implements Converter {
                     .hashSetValues()
                     .build()
     );
+    protected final AtomicInteger peakPendingColumns = new AtomicInteger();
+    protected final AtomicLong paletteCacheHits = new AtomicLong();
+    protected final AtomicLong paletteCacheMisses = new AtomicLong();
     // Settings
     @Nullable
     private Map<Dimension, PruningConfig> pruningConfigs;
@@ -81,6 +102,7 @@ public class WorldConverter implements Converter {
     @Nullable
     private MappingsFileResolvers blockMappings;
     private boolean levelDBCompaction = true;
+    private boolean levelDBBulkWrite = false;
     private boolean processMaps = true;
     private boolean processItems = true;
     private boolean processEntities = true;
@@ -90,10 +112,17 @@ public class WorldConverter implements Converter {
     private boolean processHeightMap = true;
     private boolean processLighting = true;
     private boolean processColumnPreTransform = true;
+    private boolean generateLighting = false;
     private boolean allowNBTCopying = false;
     private boolean discardEmptyChunks = false;
     private boolean preventYBiomeBlending = false;
     private boolean customIdentifiers = true;
+    private int threads = 0;
+    private int ioThreads = 0;
+    private TaskExecutorMode executorMode = TaskExecutorMode.PRIORITY_QUEUE;
+    @Nullable
+    private Boolean columnBatching = null;
+    private int maxInFlightRegions = 0;
     private boolean exceptions = false;
     private boolean cancelled = false;
 
@@ -161,6 +190,16 @@ public class WorldConverter implements Converter {
         this.levelDBCompaction = levelDBCompaction;
     }
 
+    /**
+     * Set whether LevelDB tables should be written directly in sorted order, skipping the memtable and compaction.
+     * This is not used when NBT copying is enabled or the output already has a database.
+     *
+     * @param levelDBBulkWrite true if the tables should be written in bulk (Bedrock only).
+     */
+    public void setLevelDBBulkWrite(boolean levelDBBulkWrite) {
+        this.levelDBBulkWrite = levelDBBulkWrite;
+    }
+
     /**
      * Set whether in-game maps should be converted.
      *
@@ -269,6 +308,17 @@ public class WorldConverter implements Converter {
         this.processColumnPreTransform = processColumnPreTransform;
     }
 
+    /**
+     * Set whether light should be generated for columns which don't have any (e.g. when converting from Bedrock), so
+     * that the output doesn't need to be re-lit when it is first loaded. This is skipped when the output doesn't store
+     * light (e.g. Bedrock).
+     *
+     * @param generateLighting true if it should be enabled.
+     */
+    public void setGenerateLighting(boolean generateLighting) {
+        this.generateLighting = generateLighting;
+    }
+
     /**
      * Set whether custom identifiers should be allowed.
      *
@@ -278,11 +328,117 @@ public class WorldConverter implements Converter {
         this.customIdentifiers = customIdentifiers;
     }
 
+    /**
+     * Set the number of worker threads used for conversion.
+     *
+     * @param threads the number of threads, 0 or less to pick based on the available processors and heap.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Set the number of threads used for I/O during conversion (reading / writing region files).
+     *
+     * @param ioThreads the number of threads, 0 or less to pick based on the worker thread count.
+     */
+    public void setIOThreads(int ioThreads) {
+        this.ioThreads = ioThreads;
+    }
+
+    /**
+     * Set the mode used for scheduling conversion tasks onto the worker threads.
+     *
+     * @param executorMode the mode to use.
+     */
+    public void setExecutorMode(TaskExecutorMode executorMode) {
+        this.executorMode = executorMode;
+    }
+
+    /**
+     * Get the mode used for scheduling conversion tasks onto the worker threads.
+     *
+     * @return the mode which will be used.
+     */
+    public TaskExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    /**
+     * Set whether columns should be processed as a single batched task (reading, transforming and writing inline on one
+     * worker) rather than as many fine-grained tasks.
+     *
+     * @param columnBatching true to always batch, false to never batch, null to batch when a world has at least as many
+     *                       regions as worker threads.
+     */
+    public void setColumnBatching(@Nullable Boolean columnBatching) {
+        this.columnBatching = columnBatching;
+    }
+
+    /**
+     * Get whether columns should be processed as a single batched task.
+     *
+     * @return true / false if batching has been configured, null if it is decided based on the world size.
+     */
+    @Nullable
+    public Boolean getColumnBatching() {
+        return columnBatching;
+    }
+
+    /**
+     * Set the maximum number of regions which can be in-flight at once during conversion, readers wait for regions to
+     * be written before reading more once this is reached.
+     *
+     * @param maxInFlightRegions the number of regions, 0 or less to pick based on the worker thread count.
+     */
+    public void setMaxInFlightRegions(int maxInFlightRegions) {
+        this.maxInFlightRegions = maxInFlightRegions;
+    }
+
+    @Override
+    public int getMaxInFlightRegions() {
+        if (maxInFlightRegions > 0) return maxInFlightRegions;
+
+        // Allow a region per worker and one more so the next region can be read while the others finish
+        return getThreads() + 1;
+    }
+
+    /**
+     * Get the number of worker threads which will be used for conversion.
+     *
+     * @return the configured thread count, otherwise the available processors limited by the max heap size.
+     */
+    public int getThreads() {
+        if (threads > 0) return threads;
+
+        // Limit the processors to what the heap is able to handle
+        Runtime runtime = Runtime.getRuntime();
+        long heapLimitedThreads = Math.max(1, runtime.maxMemory() / HEAP_PER_THREAD);
+        return (int) Math.min(runtime.availableProcessors(), heapLimitedThreads);
+    }
+
+    /**
+     * Get the number of threads which will be used for I/O during conversion.
+     *
+     * @return the configured I/O thread count, otherwise a quarter of the worker threads (at least 1).
+     */
+    public int getIOThreads() {
+        if (ioThreads > 0) return ioThreads;
+
+        // Use a quarter of the worker threads as most of the work is not I/O bound
+        return Math.max(1, Math.min(MAX_AUTOMATIC_IO_THREADS, getThreads() / 4));
+    }
+
     @Override
     public boolean shouldLevelDBCompaction() {
         return levelDBCompaction;
     }
 
+    @Override
+    public boolean shouldLevelDBBulkWrite() {
+        return levelDBBulkWrite;
+    }
+
     @Override
     public boolean shouldProcessMaps() {
         return processMaps;
@@ -323,6 +479,15 @@ public class WorldConverter implements Converter {
         return processColumnPreTransform;
     }
 
+    /**
+     * Whether light should be generated for columns which don't have any.
+     *
+     * @return true if it should be generated.
+     */
+    public boolean shouldGenerateLighting() {
+        return generateLighting;
+    }
+
     @Override
     public boolean shouldProcessLighting() {
         return processLighting;
@@ -356,6 +521,34 @@ public class WorldConverter implements Converter {
         return exceptions;
     }
 
+    /**
+     * Get the highest number of columns which were held at once waiting for neighbouring columns to be pre-transformed,
+     * this is the largest value across the worlds in the conversion.
+     *
+     * @return the peak pending column count, 0 if pre-transformation wasn't used.
+     */
+    public int getPeakPendingColumns() {
+        return peakPendingColumns.get();
+    }
+
+    /**
+     * Get the number of block palette entries which were found in the reader's / writer's palette entry caches.
+     *
+     * @return the hit count, 0 if the reader / writer hasn't been freed.
+     */
+    public long getPaletteCacheHits() {
+        return paletteCacheHits.get();
+    }
+
+    /**
+     * Get the number of block palette entries which had to be resolved (and decoded / encoded) by the reader / writer.
+     *
+     * @return the miss count, 0 if the reader / writer hasn't been freed.
+     */
+    public long getPaletteCacheMisses() {
+        return paletteCacheMisses.get();
+    }
+
     /**
      * Get a map of all the missing identifiers found during conversion.
      *
@@ -496,6 +689,8 @@ public class WorldConverter implements Converter {
         if (signalName.equals(SIGNAL_COMPACTION)) {
             if (compactionSignalConsumer == null) return;
             compactionSignalConsumer.accept((Boolean) signalValue);
+        } else if (signalName.equals(SIGNAL_PEAK_PENDING_COLUMNS)) {
+            peakPendingColumns.accumulateAndGet((Integer) signalValue, Math::max);
         }
     }
 
@@ -508,6 +703,12 @@ public class WorldConverter implements Converter {
         }
     }
 
+    @Override
+    public void logPaletteCacheStatistics(PaletteEntryCache<?, ?> cache) {
+        paletteCacheHits.addAndGet(cache.getHits());
+        paletteCacheMisses.addAndGet(cache.getMisses());
+    }
+
     @Override
     public Optional<ChunkerLevel> level() {
         return Optional.ofNullable(level);
@@ -555,7 +756,10 @@ public class WorldConverter implements Converter {
         cancelled = false;
         exceptions = false;
         missingIdentifiers.clear();
-        environment = Task.environment("World Conversion", 8, this::logFatalException, this::handleSignal);
+        peakPendingColumns.set(0);
+        paletteCacheHits.set(0);
+        paletteCacheMisses.set(0);
+        environment = Task.environment("World Conversion", getThreads(), getIOThreads(), getExecutorMode(), this::logFatalException, this::handleSignal);
 
         try {
             // Create the handler that calls the writer
@@ -575,10 +779,14 @@ public class WorldConverter implements Converter {
             // If it's enabled, we need to hold the chunks using the handler
             // The Reader is responsible for solving which edges are needed
             // But we need to call the writer PreTransformManager ourselves as it's before writing.
+            // Lighting is the closest handler to the writer so that it uses the final blocks, it's skipped for formats
+            // which don't store light (e.g. Bedrock)
+            BiFunction<ColumnConversionHandler, ChunkerWorld, ColumnConversionHandler> lightingHandler = shouldGenerateLighting() && writer.isLightStored() ? ColumnLightingConversionHandler::new : (delegate, world) -> delegate;
             if (shouldProcessColumnPreTransform()) {
                 // Add the pre-transform writer conversion handler, this ensures columns know which edges are needed
                 // Add pre-transform to the pipeline (this is required to handle processes that need adjacent chunks)
                 pipeline.columnHandlers(
+                        lightingHandler,
                         (delegate, world) -> new ColumnPreTransformWriterConversionHandler(
                                 writer::getPreTransformManager,
                                 delegate,
@@ -589,6 +797,7 @@ public class WorldConverter implements Converter {
             } else {
                 // Add the writer handler, this ensures that the writer is still called just without connected chunks
                 pipeline.columnHandlers(
+                        lightingHandler,
                         (delegate, world) -> new ColumnPreTransformWriterConversionHandler(
                                 writer::getPreTransformManager,
                                 delegate,
@@ -674,6 +883,11 @@ public class WorldConverter implements Converter {
             Optional<Dimension> newDimension = worldConverter.getNewDimension(world.getDimension());
             if (newDimension.isPresent()) {
                 world.setDimension(newDimension.get());
+
+                // Batch columns when there are enough regions to keep every worker busy, tiny worlds keep fine-grained tasks
+                // This is decided for each world as the worlds are converted at the same time
+                Boolean columnBatching = worldConverter.getColumnBatching();
+                world.setColumnBatching(columnBatching != null ? columnBatching : world.getRegions().size() >= worldConverter.getThreads());
                 return delegate.convertWorld(world);
             }
 
@@ -8,6 +8,7 @@ import com.hivemc.chunker.conversion.intermediate.level.ChunkerLevel;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.conversion.intermediate.world.DimensionRegistry;
 import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
+import com.hivemc.chunker.resolver.PaletteEntryCache;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
@@ -23,6 +24,14 @@ public interface Converter {
      */
     boolean shouldLevelDBCompaction();
 
+    /**
+     * Whether LevelDB tables should be written directly in sorted order rather than through the database, this produces
+     * an already compacted database. Bedrock only.
+     *
+     * @return true if the tables should be written in bulk.
+     */
+    boolean shouldLevelDBBulkWrite();
+
     /**
      * Whether the in-game maps should be processed.
      *
@@ -161,6 +170,15 @@ public interface Converter {
         System.err.println("Missing " + type.getName().replace('_', ' ') + " mapping for " + identifier);
     }
 
+    /**
+     * Log the hit / miss counts of a reader's or writer's palette entry cache, called when it is freed.
+     *
+     * @param cache the cache used by the reader / writer.
+     */
+    default void logPaletteCacheStatistics(PaletteEntryCache<?, ?> cache) {
+        // By default, does nothing
+    }
+
     /**
      * Whether empty chunks should be discarded instead of written.
      *
@@ -175,6 +193,14 @@ public interface Converter {
      */
     boolean shouldPreventYBiomeBlending();
 
+    /**
+     * Get the maximum number of regions which a world reader should have in-flight at once (being read, processed or
+     * written), this bounds the memory used by a conversion regardless of the world size.
+     *
+     * @return the maximum number of regions, at least 1.
+     */
+    int getMaxInFlightRegions();
+
     /**
      * Get the dimension mapping given an input.
      *
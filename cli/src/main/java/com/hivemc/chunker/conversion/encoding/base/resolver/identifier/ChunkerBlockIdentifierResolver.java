@@ -37,9 +37,8 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
     protected final Version version;
     protected final boolean customIdentifiersAllowed;
     protected final boolean reader;
-    protected final Map<String, InputStateGrouping<String, Object, ChunkerBlockType, BlockState<?>, BlockStateValue>> inputToChunker = new Object2ObjectOpenHashMap<>();
-    protected final Map<ChunkerBlockType, InputStateGrouping<BlockState<?>, BlockStateValue, String, String, Object>> chunkerToInput = new Object2ObjectOpenHashMap<>();
-    protected StateMappingGroup extraStateMappingGroup;
+    private volatile MappingTables tables;
+    private MappingTables registering;
 
     /**
      * Create a new chunker block identifier resolver.
@@ -54,7 +53,39 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
         this.version = version;
         this.reader = reader;
         this.customIdentifiersAllowed = customIdentifiersAllowed;
-        registerMappings(version);
+    }
+
+    /**
+     * Get the lookup tables for this resolver, these are registered when first used and shared between every resolver
+     * of the same class and version.
+     *
+     * @return the lookup tables.
+     */
+    private MappingTables tables() {
+        MappingTables tables = this.tables;
+        if (tables == null) {
+            tables = MappingTableCache.get(getClass(), version, () -> {
+                registering = new MappingTables();
+                try {
+                    registerMappings(version);
+                    return registering;
+                } finally {
+                    registering = null;
+                }
+            });
+            this.tables = tables;
+        }
+        return tables;
+    }
+
+    /**
+     * Get the lookup tables which mappings are currently being registered to.
+     *
+     * @return the tables being built.
+     */
+    private MappingTables registering() {
+        Preconditions.checkState(registering != null, "Mappings can only be registered from registerMappings.");
+        return registering;
     }
 
     private <I, IK extends Comparable<? super IK>, IV, O, OK, OV> void createMapping(Map<I, InputStateGrouping<IK, IV, O, OK, OV>> lookup, I inputIdentifier, NavigableMap<IK, IV> inputStates, O outputIdentifier, NavigableMap<OK, OV> outputStates, StateMappingGroup stateMappingGroup, boolean override) {
@@ -94,7 +125,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void registerDuplicateOverrideOutput(BlockMapping mapping) {
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), true);
+        createMapping(registering().chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), true);
     }
 
     /**
@@ -105,10 +136,10 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void registerOverrideOutput(BlockMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), false);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), false);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), true);
+        createMapping(registering().chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), true);
     }
 
     /**
@@ -119,7 +150,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void registerDuplicateOverrideInput(BlockMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), true);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), true);
     }
 
     /**
@@ -129,10 +160,10 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void registerOverrideInput(BlockMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), true);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), true);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), false);
+        createMapping(registering().chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), false);
     }
 
     /**
@@ -143,10 +174,10 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void registerOverrideInputOutput(BlockMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), true);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), true);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), true);
+        createMapping(registering().chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), true);
     }
 
     /**
@@ -181,7 +212,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void registerDuplicateInput(BlockMapping mapping) {
         // Only register chunker -> input, since this is a duplicate
-        createMapping(chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), false);
+        createMapping(registering().chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), false);
     }
 
     /**
@@ -204,7 +235,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void registerDuplicateOutput(BlockMapping mapping) {
         // Only register input -> chunker, since this is a duplicate
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), false);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), false);
     }
 
     /**
@@ -226,10 +257,10 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected void register(BlockMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), false);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getBlockType(), mapping.getBlockStates(), mapping.getStateMappingGroup(version), false);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), false);
+        createMapping(registering().chunkerToInput, mapping.getBlockType(), mapping.getBlockStates(), mapping.getIdentifier(), mapping.getStates(), mapping.getStateMappingGroup(version), false);
     }
 
 
@@ -250,8 +281,8 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      * @param stateMappingGroup the mapping group.
      */
     protected void extraStateMappingGroup(VersionedStateMappingGroup stateMappingGroup) {
-        Preconditions.checkArgument(extraStateMappingGroup == null, "Only a single extra state mapping group is allowed.");
-        extraStateMappingGroup = stateMappingGroup.getStateMappingGroup(version);
+        Preconditions.checkArgument(registering().extraStateMappingGroup == null, "Only a single extra state mapping group is allowed.");
+        registering().extraStateMappingGroup = stateMappingGroup.getStateMappingGroup(version);
     }
 
     /**
@@ -260,11 +291,12 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      * @param chunkerBlockType the chunker (output) type.
      */
     protected void removeOutputMapping(ChunkerBlockType chunkerBlockType) {
-        chunkerToInput.remove(chunkerBlockType);
+        registering().chunkerToInput.remove(chunkerBlockType);
     }
 
     /**
-     * Called on construction to register all the block mappings.
+     * Called when the resolver is first used to register all the block mappings, this is only called once per class
+     * and version as the result is shared.
      *
      * @param version the version being used.
      */
@@ -277,7 +309,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      * @return true if the block can potentially be resolved.
      */
     public boolean isSupported(String identifier) {
-        return inputToChunker.containsKey(identifier);
+        return tables().inputToChunker.containsKey(identifier);
     }
 
     /**
@@ -287,7 +319,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      * @return true if the block can potentially be resolved.
      */
     public boolean isSupported(ChunkerBlockType chunkerBlockType) {
-        return chunkerToInput.containsKey(chunkerBlockType);
+        return tables().chunkerToInput.containsKey(chunkerBlockType);
     }
 
     /**
@@ -427,9 +459,22 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
         ));
     }
 
+    @Override
+    public Resolver<Identifier, ChunkerBlockIdentifier> cached() {
+        // Share the cache with any resolver which produces the same results, including from previous conversions
+        return ResolverCacheRegistry.cached(this, () -> new ResolverCacheRegistry.Key(
+                getClass(),
+                version,
+                reader,
+                customIdentifiersAllowed,
+                converter.getBlockMappings()
+        ));
+    }
+
     @Override
     public Optional<ChunkerBlockIdentifier> to(Identifier input) {
-        return handleConverterMapping(input, resolveTo(input));
+        // Intern the output so that equal blocks share an instance
+        return handleConverterMapping(input, resolveTo(input)).map(ChunkerBlockIdentifier::intern);
     }
 
     /**
@@ -441,7 +486,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected Optional<ChunkerBlockIdentifier> resolveTo(Identifier input) {
         Optional<ChunkerBlockIdentifier> result = resolve(
-                inputToChunker,
+                tables().inputToChunker,
                 input.getIdentifier(),
                 (StateLookupFunction.DefaultlessStateLookupFunction<String, Object>) input.getBoxedStates()::get,
                 StateMappingGroup::applyInput,
@@ -469,7 +514,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
      */
     protected Optional<Identifier> resolveFrom(ChunkerBlockIdentifier input) {
         Optional<Identifier> result = resolve(
-                chunkerToInput,
+                tables().chunkerToInput,
                 input.getType(),
                 input::getState,
                 StateMappingGroup::applyOutput,
@@ -523,6 +568,7 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
                 }
 
                 // Process using the extra state processor (applies states like waterlogged for Bedrock)
+                StateMappingGroup extraStateMappingGroup = tables().extraStateMappingGroup;
                 if (extraStateMappingGroup != null) {
                     mappingGroupHandler.apply(extraStateMappingGroup, inputStateLookup, states);
                 }
@@ -551,6 +597,15 @@ public abstract class ChunkerBlockIdentifierResolver implements Resolver<Identif
         void apply(StateMappingGroup group, StateLookupFunction<IK, IV> inputStateLookup, Map<OK, OV> outputs);
     }
 
+    /**
+     * The lookup tables produced by registering the mappings, these aren't modified after registration.
+     */
+    private static class MappingTables {
+        private final Map<String, InputStateGrouping<String, Object, ChunkerBlockType, BlockState<?>, BlockStateValue>> inputToChunker = new Object2ObjectOpenHashMap<>();
+        private final Map<ChunkerBlockType, InputStateGrouping<BlockState<?>, BlockStateValue, String, String, Object>> chunkerToInput = new Object2ObjectOpenHashMap<>();
+        private StateMappingGroup extraStateMappingGroup;
+    }
+
     /**
      * A grouping of inputs so that it can be determined which mapping matches.
      *
@@ -1,5 +1,6 @@
 package com.hivemc.chunker.conversion.encoding.base.resolver.identifier;
 
+import com.google.common.base.Preconditions;
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.base.Version;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
@@ -36,8 +37,8 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
     protected final Version version;
     protected final boolean defaultData;
     protected final boolean reader;
-    protected final Map<String, InputStateGrouping<String, Object, ChunkerItemStackIdentifierType, ComparableItemProperty<?>, Object>> inputToChunker = new Object2ObjectOpenHashMap<>();
-    protected final Map<ChunkerItemStackIdentifierType, InputStateGrouping<ComparableItemProperty<?>, Object, String, String, Object>> chunkerToInput = new Object2ObjectOpenHashMap<>();
+    private volatile MappingTables tables;
+    private MappingTables registering;
 
     /**
      * Create a new item identifier resolver.
@@ -52,7 +53,39 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
         this.version = version;
         this.reader = reader;
         this.defaultData = defaultData;
-        registerMappings(version);
+    }
+
+    /**
+     * Get the lookup tables for this resolver, these are registered when first used and shared between every resolver
+     * of the same class and version.
+     *
+     * @return the lookup tables.
+     */
+    private MappingTables tables() {
+        MappingTables tables = this.tables;
+        if (tables == null) {
+            tables = MappingTableCache.get(getClass(), version, () -> {
+                registering = new MappingTables();
+                try {
+                    registerMappings(version);
+                    return registering;
+                } finally {
+                    registering = null;
+                }
+            });
+            this.tables = tables;
+        }
+        return tables;
+    }
+
+    /**
+     * Get the lookup tables which mappings are currently being registered to.
+     *
+     * @return the tables being built.
+     */
+    private MappingTables registering() {
+        Preconditions.checkState(registering != null, "Mappings can only be registered from registerMappings.");
+        return registering;
     }
 
     private <I, IK extends Comparable<? super IK>, IV, O, OK, OV> void createMapping(Map<I, InputStateGrouping<IK, IV, O, OK, OV>> lookup, I inputIdentifier, NavigableMap<IK, IV> inputStates, O outputIdentifier, NavigableMap<OK, OV> outputStates, boolean override) {
@@ -91,10 +124,10 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      */
     protected void registerOverrideOutput(ItemMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), false);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), false);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), true);
+        createMapping(registering().chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), true);
     }
 
     /**
@@ -104,10 +137,10 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      */
     protected void registerOverrideInput(ItemMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), true);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), true);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), false);
+        createMapping(registering().chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), false);
     }
 
     /**
@@ -118,10 +151,10 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      */
     protected void registerOverrideInputOutput(ItemMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), true);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), true);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), true);
+        createMapping(registering().chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), true);
     }
 
     /**
@@ -156,7 +189,7 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      */
     protected void registerDuplicateInput(ItemMapping mapping) {
         // Only register chunker -> input, since this is a duplicate
-        createMapping(chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), false);
+        createMapping(registering().chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), false);
     }
 
     /**
@@ -179,7 +212,7 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      */
     protected void registerDuplicateOutput(ItemMapping mapping) {
         // Only register input -> chunker, since this is a duplicate
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), false);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), false);
     }
 
     /**
@@ -201,10 +234,10 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      */
     protected void register(ItemMapping mapping) {
         // Create input -> chunker
-        createMapping(inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), false);
+        createMapping(registering().inputToChunker, mapping.getIdentifier(), mapping.getStates(), mapping.getItemStackIdentifierType(), mapping.getProperties(), false);
 
         // Create chunker -> input
-        createMapping(chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), false);
+        createMapping(registering().chunkerToInput, mapping.getItemStackIdentifierType(), mapping.getProperties(), mapping.getIdentifier(), mapping.getStates(), false);
     }
 
     /**
@@ -224,11 +257,12 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      * @param chunkerItemStackIdentifierType the chunker (output) type.
      */
     protected void removeOutputMapping(ChunkerItemStackIdentifierType chunkerItemStackIdentifierType) {
-        chunkerToInput.remove(chunkerItemStackIdentifierType);
+        registering().chunkerToInput.remove(chunkerItemStackIdentifierType);
     }
 
     /**
-     * Called on construction to register all the item mappings.
+     * Called when the resolver is first used to register all the item mappings, this is only called once per class
+     * and version as the result is shared.
      *
      * @param version the version being used.
      */
@@ -241,7 +275,7 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      * @return true if the item can potentially be resolved.
      */
     public boolean isSupported(String identifier) {
-        return inputToChunker.containsKey(identifier);
+        return tables().inputToChunker.containsKey(identifier);
     }
 
     /**
@@ -251,7 +285,7 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      * @return true if the item can potentially be resolved.
      */
     public boolean isSupported(ChunkerItemType chunkerItemType) {
-        return chunkerToInput.containsKey(chunkerItemType);
+        return tables().chunkerToInput.containsKey(chunkerItemType);
     }
 
     /**
@@ -353,7 +387,7 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      * @return the output if present.
      */
     protected Optional<ChunkerItemStack> resolveTo(Identifier input) {
-        InputStateGrouping<String, Object, ChunkerItemStackIdentifierType, ComparableItemProperty<?>, Object> grouping = inputToChunker.get(input.getIdentifier());
+        InputStateGrouping<String, Object, ChunkerItemStackIdentifierType, ComparableItemProperty<?>, Object> grouping = tables().inputToChunker.get(input.getIdentifier());
 
         // Custom items are just treated as blocks, so there is no support done here (for now)
         // Just return empty so that it is handled as a block
@@ -433,7 +467,7 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
      * @return the output if present.
      */
     protected Optional<Identifier> resolveFrom(ChunkerItemStack input) {
-        InputStateGrouping<ComparableItemProperty<?>, Object, String, String, Object> grouping = chunkerToInput.get(input.getIdentifier().getItemStackType());
+        InputStateGrouping<ComparableItemProperty<?>, Object, String, String, Object> grouping = tables().chunkerToInput.get(input.getIdentifier().getItemStackType());
 
         // Custom items are just treated as blocks, so there is no support done here (for now)
         // Just return empty so that it is handled as a block
@@ -486,6 +520,14 @@ public abstract class ChunkerItemIdentifierResolver implements Resolver<Identifi
         return Optional.empty();
     }
 
+    /**
+     * The lookup tables produced by registering the mappings, these aren't modified after registration.
+     */
+    private static class MappingTables {
+        private final Map<String, InputStateGrouping<String, Object, ChunkerItemStackIdentifierType, ComparableItemProperty<?>, Object>> inputToChunker = new Object2ObjectOpenHashMap<>();
+        private final Map<ChunkerItemStackIdentifierType, InputStateGrouping<ComparableItemProperty<?>, Object, String, String, Object>> chunkerToInput = new Object2ObjectOpenHashMap<>();
+    }
+
     /**
      * A grouping of inputs so that it can be determined which mapping matches.
      *
@@ -0,0 +1,51 @@
+package com.hivemc.chunker.conversion.encoding.base.resolver.identifier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hivemc.chunker.conversion.encoding.base.Version;
+
+import java.util.function.Supplier;
+
+/**
+ * A process-wide cache of the lookup tables built by the mapping based identifier resolvers. The tables only depend on
+ * the resolver class and the version, so they are built once when first used and then shared by every resolver
+ * instance for that version (they aren't modified after being built). The tables are softly referenced so that
+ * versions which are no longer used can be reclaimed, they're built again if they're needed later.
+ */
+public final class MappingTableCache {
+    private static final Cache<Key, Object> TABLES = Caffeine.newBuilder().softValues().build();
+
+    private MappingTableCache() {
+    }
+
+    /**
+     * Get the tables for a resolver class and version, building them if they aren't cached. If multiple threads
+     * request the same tables at once, only one of them builds the tables.
+     *
+     * @param resolverClass the class of the resolver which registers the mappings.
+     * @param version       the version the mappings are for.
+     * @param builder       the function used to build the tables.
+     * @param <T>           the type of the tables.
+     * @return the shared tables.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Class<?> resolverClass, Version version, Supplier<T> builder) {
+        return (T) TABLES.get(new Key(resolverClass, version), (ignored) -> builder.get());
+    }
+
+    /**
+     * Remove all the cached tables, resolvers which have already fetched their tables continue to use them.
+     */
+    public static void clear() {
+        TABLES.invalidateAll();
+    }
+
+    /**
+     * The key used for the tables.
+     *
+     * @param resolverClass the class of the resolver.
+     * @param version       the version of the mappings.
+     */
+    private record Key(Class<?> resolverClass, Version version) {
+    }
+}
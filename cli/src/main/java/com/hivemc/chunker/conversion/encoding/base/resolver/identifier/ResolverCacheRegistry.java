@@ -0,0 +1,104 @@
+package com.hivemc.chunker.conversion.encoding.base.resolver.identifier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hivemc.chunker.conversion.encoding.base.Version;
+import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
+import com.hivemc.chunker.resolver.Resolver;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide registry of the caches used by cached identifier resolvers, so that the identifiers resolved by one
+ * conversion are reused by later conversions in the same process (e.g. previewing a world and then converting it).
+ * Caches are keyed by everything which affects the result of resolving, only the results are stored so the resolver
+ * and the converter it belongs to aren't kept alive by the registry.
+ * <p>
+ * Memory is bounded by the number of caches and the number of entries in each cache, caches are also softly referenced
+ * so that they can be reclaimed when memory is low.
+ */
+public final class ResolverCacheRegistry {
+    /**
+     * The maximum number of caches kept, this is enough for the reader and writer of several formats and versions.
+     */
+    public static final int MAX_CACHES = 32;
+    /**
+     * The maximum number of entries in each direction of a cache, this is well above the number of vanilla states.
+     */
+    public static final int MAX_ENTRIES = 65536;
+    private static final Cache<Key, SharedCaches<?, ?>> CACHES = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHES)
+            .softValues()
+            .build();
+
+    private ResolverCacheRegistry() {
+    }
+
+    /**
+     * Create a cached version of a resolver which uses the shared caches for the key.
+     *
+     * @param resolver    the resolver to use when an input isn't cached.
+     * @param keySupplier the supplier for the key of the caches, this is called when the resolver is first used so
+     *                    that any converter settings have been applied.
+     * @param <T>         the input/output format.
+     * @param <U>         the intermediate format.
+     * @return the cached resolver.
+     */
+    public static <T, U> Resolver<T, U> cached(Resolver<T, U> resolver, Supplier<Key> keySupplier) {
+        return new Resolver<>() {
+            private volatile SharedCaches<T, U> caches;
+
+            @SuppressWarnings("unchecked")
+            private SharedCaches<T, U> caches() {
+                SharedCaches<T, U> caches = this.caches;
+                if (caches == null) {
+                    caches = this.caches = (SharedCaches<T, U>) CACHES.get(keySupplier.get(), (ignored) -> new SharedCaches<>());
+                }
+                return caches;
+            }
+
+            @Override
+            public Optional<U> to(T input) {
+                return caches().toCache.get(input, resolver::to);
+            }
+
+            @Override
+            public Optional<T> from(U input) {
+                return caches().fromCache.get(input, resolver::from);
+            }
+        };
+    }
+
+    /**
+     * Remove all the caches, resolvers which have already fetched their caches continue to use them.
+     */
+    public static void clear() {
+        CACHES.invalidateAll();
+    }
+
+    /**
+     * The key used for the caches, resolvers with equal keys must always produce the same results.
+     *
+     * @param resolverClass            the class of the resolver, this identifies the encoding type.
+     * @param version                  the version being resolved.
+     * @param reader                   whether the resolver is used for reading.
+     * @param customIdentifiersAllowed whether custom identifiers are allowed.
+     * @param mappings                 the user mappings being applied, or null if there are none.
+     */
+    public record Key(Class<?> resolverClass, Version version, boolean reader, boolean customIdentifiersAllowed,
+                      @Nullable MappingsFileResolvers mappings) {
+    }
+
+    /**
+     * The caches for both directions of a resolver.
+     *
+     * @param <T> the input/output format.
+     * @param <U> the intermediate format.
+     */
+    private static class SharedCaches<T, U> {
+        private final Cache<T, Optional<U>> toCache = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+        private final Cache<U, Optional<T>> fromCache = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).build();
+    }
+}
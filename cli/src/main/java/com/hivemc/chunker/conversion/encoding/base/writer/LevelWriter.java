@@ -46,6 +46,15 @@ public interface LevelWriter extends LevelReaderWriter {
         return false;
     }
 
+    /**
+     * Whether the format being written stores block and sky light, if it doesn't then light is never generated.
+     *
+     * @return true if light is written with the columns.
+     */
+    default boolean isLightStored() {
+        return false;
+    }
+
     @Nullable
     default PreTransformManager getPreTransformManager() {
         return null;
@@ -2,7 +2,7 @@ package com.hivemc.chunker.conversion.encoding.bedrock.base.reader;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
-import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockEncodedBlockCompoundTag;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.PaletteUtil;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
@@ -11,14 +11,15 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.WriteablePalette;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.nbt.io.Reader;
 import com.hivemc.chunker.nbt.tags.Tag;
-import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.Objects;
 
 /**
  * A reader for Bedrock chunks.
@@ -93,11 +94,11 @@ public class BedrockChunkReader {
      */
     protected void readLayers(ByteBuffer buffer, byte layers) {
         try {
-            Palette<CompoundTag> blockPalette = null;
+            Palette<ByteBuffer> blockPalette = null;
             Palette<ChunkerBlockIdentifier> liquidPalette = null;
             for (byte layer = 0; layer < layers; layer++) {
                 if (layer == 0) {
-                    blockPalette = PaletteUtil.readChunkPalette(buffer, (runtimeID) -> readBlockPaletteCompound(runtimeID, buffer));
+                    blockPalette = PaletteUtil.readChunkPalette(buffer, (runtimeID) -> readBlockPaletteEntry(runtimeID, buffer));
                 } else {
                     liquidPalette = PaletteUtil.readChunkPalette(buffer, (runtimeID) -> readLiquidPaletteEntry(runtimeID, buffer));
                 }
@@ -105,22 +106,27 @@ public class BedrockChunkReader {
             if (blockPalette != null) {
                 // Use the main layer if there is no liquid layer (or valid liquids)
                 if (liquidPalette == null || liquidPalette.isEmpty() || !liquidPalette.containsKey(a -> a.getType() == ChunkerVanillaBlockType.WATER)) {
-                    chunk.setPalette(blockPalette.map(tag -> resolvers.readBlock(new BedrockBlockCompoundTag(tag, false))));
+                    chunk.setPalette(blockPalette.map(this::resolveBlockPaletteEntry));
                 } else {
-                    WriteablePalette<BedrockBlockCompoundTag> mergedPalette = new ShortBasedPalette<>(2, 16);
+                    // Resolve the non-waterlogged blocks once per palette key
+                    Palette<ChunkerBlockIdentifier> resolvedPalette = blockPalette.map(this::resolveBlockPaletteEntry);
+                    WriteablePalette<ChunkerBlockIdentifier> mergedPalette = new ShortBasedPalette<>(2, 16);
                     for (int x = 0; x < 16; x++) {
                         for (int y = 0; y < 16; y++) {
                             for (int z = 0; z < 16; z++) {
-                                CompoundTag entry = blockPalette.get(x, y, z);
                                 ChunkerBlockIdentifier liquid = liquidPalette.get(x, y, z, ChunkerBlockIdentifier.AIR);
-                                boolean waterlogged = liquid.getType() == ChunkerVanillaBlockType.WATER;
-                                mergedPalette.set(x, y, z, new BedrockBlockCompoundTag(entry, waterlogged));
+                                if (liquid.getType() == ChunkerVanillaBlockType.WATER) {
+                                    ByteBuffer entry = blockPalette.get(x, y, z);
+                                    mergedPalette.set(x, y, z, resolvers.readBlock(new BedrockEncodedBlockCompoundTag(entry, true)));
+                                } else {
+                                    mergedPalette.set(x, y, z, resolvedPalette.get(x, y, z));
+                                }
                             }
                         }
                     }
 
-                    // Turn the palette into block identifiers then compact it to remove any unused entries
-                    chunk.setPalette(mergedPalette.map(resolvers::readBlock).compact(ChunkerBlockIdentifier.AIR));
+                    // Compact the palette to remove any unused entries
+                    chunk.setPalette(mergedPalette.compact(ChunkerBlockIdentifier.AIR));
                 }
             }
         } catch (Exception e) {
@@ -130,18 +136,37 @@ public class BedrockChunkReader {
     }
 
     /**
-     * Read the block palette key.
+     * Read the block palette key, the NBT is skipped over rather than decoded as it's only decoded the first time the
+     * encoded entry is seen during the conversion.
      *
      * @param runtimeID whether runtime encoding has been used.
      * @param input     the bytebuffer to read the key from.
-     * @return the key.
+     * @return the key, a buffer containing the encoded NBT.
      * @throws Exception exception if it failed to read.
      */
-    protected CompoundTag readBlockPaletteCompound(boolean runtimeID, ByteBuffer input) throws Exception {
+    protected ByteBuffer readBlockPaletteEntry(boolean runtimeID, ByteBuffer input) throws Exception {
         if (runtimeID) {
             throw new Exception("RuntimeIDs are not supported in block palettes");
         }
-        return Tag.readBedrockNBT(input);
+        int start = input.position();
+        if (!Tag.skipNamed(Reader.toBedrockReader(input))) {
+            throw new Exception("Block palette entry was an end tag");
+        }
+        return input.slice(start, input.position() - start);
+    }
+
+    /**
+     * Resolve a non-waterlogged block palette key.
+     *
+     * @param entry the encoded NBT of the block.
+     * @return the block identifier.
+     */
+    protected ChunkerBlockIdentifier resolveBlockPaletteEntry(ByteBuffer entry) {
+        try {
+            return resolvers.readBlock(new BedrockEncodedBlockCompoundTag(entry, false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -156,6 +181,6 @@ public class BedrockChunkReader {
         if (runtimeID) {
             throw new Exception("RuntimeIDs are not supported in block palettes");
         }
-        return resolvers.readBlock(new BedrockBlockCompoundTag(Objects.requireNonNull(Tag.readBedrockNBT(input)), false));
+        return resolvers.readBlock(new BedrockEncodedBlockCompoundTag(readBlockPaletteEntry(false, input), false));
     }
 }
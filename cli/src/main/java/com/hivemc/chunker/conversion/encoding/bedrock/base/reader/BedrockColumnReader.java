@@ -26,14 +26,12 @@ import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import org.iq80.leveldb.DB;
+import org.iq80.leveldb.DBIterator;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 /**
  * A reader for Bedrock columns.
@@ -44,6 +42,9 @@ public class BedrockColumnReader implements ColumnReader {
     protected final Dimension dimension;
     protected final DB database;
     protected final ChunkCoordPair columnCoords;
+    protected byte @Nullable [] columnPrefix;
+    @Nullable
+    protected Map<ByteBuffer, byte[]> columnEntries;
 
     /**
      * Create a new bedrock column reader.
@@ -67,6 +68,11 @@ public class BedrockColumnReader implements ColumnReader {
         // Create the column and start parsing
         ChunkerColumn column = new ChunkerColumn(columnCoords);
 
+        // Collect all the entries for the column in a single pass rather than looking up each key
+        if (isScanColumn()) {
+            columnEntries = scanColumn();
+        }
+
         // Load other parts of the column
         ArrayList<Task<Void>> processing = new ArrayList<>(4);
         if (converter.shouldProcessHeightMap() || converter.shouldProcessBiomes()) {
@@ -82,10 +88,78 @@ public class BedrockColumnReader implements ColumnReader {
 
         // When they're done apply post-processing
         Task.join(processing)
-                .then("Post-processing column", TaskWeight.HIGH, this::postProcess, column)
+                .then("Post-processing column", TaskWeight.HIGH, (input) -> {
+                    columnEntries = null; // The entries are no longer needed
+                    return postProcess(input);
+                }, column)
                 .thenConsume("Submitting column", TaskWeight.LOW, columnConversionHandler::convertColumn);
     }
 
+    /**
+     * Whether the entries for the column should be collected using a single range scan rather than point lookups.
+     * Most point lookups are for sub-chunks which aren't present, each of which still has to check the bloom filters.
+     *
+     * @return true if the column should be scanned.
+     */
+    protected boolean isScanColumn() {
+        return true;
+    }
+
+    /**
+     * Collect all the entries for the column by seeking to the column prefix and iterating the keys which share it.
+     *
+     * @return a map of the column keys to their values.
+     */
+    protected Map<ByteBuffer, byte[]> scanColumn() {
+        // All the keys for a column start with the co-ordinates and dimension, followed by the type and sub-chunk Y
+        byte[] key = LevelDBKey.key(dimension, columnCoords, LevelDBChunkType.DATA_2D);
+        columnPrefix = Arrays.copyOf(key, key.length - 1);
+
+        Map<ByteBuffer, byte[]> entries = new HashMap<>();
+        try (DBIterator iterator = database.iterator()) {
+            iterator.seek(columnPrefix);
+            while (iterator.hasNext()) {
+                Map.Entry<byte[], byte[]> entry = iterator.next();
+                byte[] entryKey = entry.getKey();
+                if (!LevelDBKey.startsWith(entryKey, columnPrefix)) break; // Past the column
+
+                // The overworld prefix is shared with other dimensions, so only include keys of the right length
+                if (isColumnKey(entryKey)) {
+                    entries.put(ByteBuffer.wrap(entryKey), entry.getValue());
+                }
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to scan column " + columnCoords, e);
+        }
+        return entries;
+    }
+
+    /**
+     * Check whether a key belongs to this column (the prefix followed by the type and optional sub-chunk Y).
+     *
+     * @param key the key to check.
+     * @return true if the key is part of the column, false if it isn't or the column hasn't been scanned.
+     */
+    protected boolean isColumnKey(byte[] key) {
+        byte[] columnPrefix = this.columnPrefix;
+        if (columnPrefix == null) return false;
+        return (key.length == columnPrefix.length + 1 || key.length == columnPrefix.length + 2) && LevelDBKey.startsWith(key, columnPrefix);
+    }
+
+    /**
+     * Get the value for a key, this uses the scanned column entries if the key is part of the column.
+     *
+     * @param key the key to lookup.
+     * @return the value or null if it isn't present.
+     */
+    protected byte @Nullable [] get(byte[] key) {
+        Map<ByteBuffer, byte[]> entries = columnEntries;
+        if (entries != null && isColumnKey(key)) {
+            return entries.get(ByteBuffer.wrap(key));
+        }
+        return database.get(key);
+    }
+
     /**
      * Read the biomes and the height map.
      *
@@ -94,7 +168,7 @@ public class BedrockColumnReader implements ColumnReader {
     protected void readBiomeHeightMap(ChunkerColumn column) {
         try {
             // Read Data2D
-            byte[] value = database.get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D));
+            byte[] value = get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D));
             if (value != null) {
                 ByteBuffer buffer = ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN);
                 if (converter.shouldProcessHeightMap()) {
@@ -184,23 +258,21 @@ public class BedrockColumnReader implements ColumnReader {
      * @throws Exception if it failed to read the entity data.
      */
     protected void readEntities(ChunkerColumn column) throws Exception {
-        byte[] value = database.get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.ENTITY));
+        byte[] value = get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.ENTITY));
         if (value == null) return;
 
         // While there is bytes loop and read the entities
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(value);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            Reader reader = Reader.toBedrockReader(readerStream);
-            while (fileInputStream.available() > 0) {
-                TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
-                if (pair == null) break;
-
-                try {
-                    // Process the tag
-                    readEntity(column, pair.tag());
-                } catch (Exception e) {
-                    converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
-                }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        Reader reader = Reader.toBedrockReader(buffer);
+        while (buffer.hasRemaining()) {
+            TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
+            if (pair == null) break;
+
+            try {
+                // Process the tag
+                readEntity(column, pair.tag());
+            } catch (Exception e) {
+                converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
             }
         }
     }
@@ -228,23 +300,21 @@ public class BedrockColumnReader implements ColumnReader {
      * @throws Exception if it failed to read the block entity data.
      */
     protected void readBlockEntities(ChunkerColumn column) throws Exception {
-        byte[] value = database.get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.BLOCK_ENTITY));
+        byte[] value = get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.BLOCK_ENTITY));
         if (value == null) return;
 
         // While there is bytes loop and read the block entities
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(value);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            Reader reader = Reader.toBedrockReader(readerStream);
-            while (fileInputStream.available() > 0) {
-                TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
-                if (pair == null) break;
-
-                try {
-                    // Process the tag
-                    readBlockEntity(column, pair.tag());
-                } catch (Exception e) {
-                    converter.logNonFatalException(new Exception("Failed to process BlockEntity " + pair.tag(), e));
-                }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        Reader reader = Reader.toBedrockReader(buffer);
+        while (buffer.hasRemaining()) {
+            TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
+            if (pair == null) break;
+
+            try {
+                // Process the tag
+                readBlockEntity(column, pair.tag());
+            } catch (Exception e) {
+                converter.logNonFatalException(new Exception("Failed to process BlockEntity " + pair.tag(), e));
             }
         }
     }
@@ -280,7 +350,7 @@ public class BedrockColumnReader implements ColumnReader {
             key[key.length - 1] = y; // The last byte is the Y
 
             // Lookup the chunk
-            byte[] value = database.get(key);
+            byte[] value = get(key);
             if (value == null) continue; // Skip if the chunk doesn't exist
 
             // Create the chunk and add it to the column
@@ -5,8 +5,8 @@ import com.hivemc.chunker.conversion.encoding.base.Version;
 import com.hivemc.chunker.conversion.encoding.base.reader.LevelReader;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.BedrockReaderWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
-import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKeyIndex;
 import com.hivemc.chunker.conversion.handlers.LevelConversionHandler;
 import com.hivemc.chunker.conversion.handlers.WorldConversionHandler;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
@@ -27,8 +27,6 @@ import com.hivemc.chunker.scheduling.task.ProgressiveTask;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import it.unimi.dsi.fastutil.bytes.Byte2ObjectAVLTreeMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import org.iq80.leveldb.*;
 import org.iq80.leveldb.impl.Iq80DBFactory;
 import org.iq80.leveldb.table.BloomFilterPolicy;
@@ -37,8 +35,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.*;
 
 /**
@@ -61,6 +57,8 @@ public class BedrockLevelReader implements LevelReader, BedrockReaderWriter {
     protected final Converter converter;
     protected final BedrockResolvers resolvers;
     protected DB database;
+    @Nullable
+    protected LevelDBKeyIndex keyIndex;
 
     /**
      * Create a new level reader.
@@ -106,6 +104,8 @@ public class BedrockLevelReader implements LevelReader, BedrockReaderWriter {
 
     @Override
     public void free() throws Exception {
+        converter.logPaletteCacheStatistics(resolvers.blockPaletteCache());
+
         // Called on exception / done
         if (database != null) {
             try {
@@ -113,87 +113,33 @@ public class BedrockLevelReader implements LevelReader, BedrockReaderWriter {
             } finally {
                 database = null;
             }
+
+            // Cache the index now the database files won't change, so that it can be used by the next read
+            if (keyIndex != null) {
+                try {
+                    LevelDBKeyIndex.cache(new File(inputDirectory, "db"), keyIndex);
+                } catch (IOException e) {
+                    converter.logNonFatalException(e);
+                }
+            }
         }
     }
 
     @Override
     public void readLevel(LevelConversionHandler levelConversionHandler) throws IOException {
+        // Check for an index from a previous read before the database is opened (as opening writes a new manifest)
+        LevelDBKeyIndex cachedKeyIndex = LevelDBKeyIndex.getCached(new File(inputDirectory, "db"));
+
         // Open database
         openDatabase();
 
         // Collect level data
         FutureTask<WorldConversionHandler> levelDataCollection = Task.asyncUnwrap("Collecting Level Data", TaskWeight.MEDIUM, this::collectLevelData, levelConversionHandler);
 
-        Task<Map<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>>> usedRegions = Task.async("Collecting Used Regions", TaskWeight.MEDIUM, () -> {
-            // Create a lookup for each dimension and region present
-            Map<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> dimensionLookup = new HashMap<>();
-            // Scan the database for valid chunks
-            DimensionRegistry dimensionRegistry = converter.getDimensionRegistry();
-            try (DBIterator iterator = database.iterator()) {
-                while (iterator.hasNext()) {
-                    Map.Entry<byte[], byte[]> entry = iterator.next();
-                    byte[] key = entry.getKey();
-                    int keyLength = key.length;
-
-                    // The keys we're looking for are (9, 10, 13, 14) depending on if they have sub chunk / dimension
-                    boolean containsSubChunk = keyLength == 14 || keyLength == 10;
-                    boolean containsDimension = keyLength == 14 || keyLength == 13;
-
-                    // If not 9 (both false) or any of the others then skip this entry
-                    if (keyLength != 9 && !containsSubChunk && !containsDimension) continue;
-
-                    // Skip local player
-                    if (Arrays.equals(key, LevelDBKey.LOCAL_PLAYER)) {
-                        continue;
-                    }
-
-                    // Use a buffer to parse the key
-                    ByteBuffer buffer = ByteBuffer.wrap(key).order(ByteOrder.LITTLE_ENDIAN);
-
-                    // Read co-ordinates
-                    int x = buffer.getInt();
-                    int z = buffer.getInt();
-
-                    // Read dimension
-                    Dimension dimension = Dimension.OVERWORLD;
-                    if (containsDimension) {
-                        int dimensionID = buffer.getInt();
-                        dimension = dimensionRegistry.fromBedrock(dimensionID, null);
-
-                        // If unknown report an issue
-                        if (dimension == null) {
-                            converter.logNonFatalException(new Exception("Unknown dimension key " + dimensionID));
-                            continue;
-                        }
-                    }
-
-                    // Read subChunk Y
-                    if (containsSubChunk) {
-                        buffer.get();
-                    }
-
-                    // Read type
-                    byte type = buffer.get();
-
-                    // Ensure the chunk either has: biome/height data, chunk data, block entity/entity data
-                    if (type != LevelDBChunkType.DATA_2D.getId() && type != LevelDBChunkType.DATA_3D.getId()
-                            && type != LevelDBChunkType.SUB_CHUNK_PREFIX.getId()
-                            && type != LevelDBChunkType.ENTITY.getId() && type != LevelDBChunkType.BLOCK_ENTITY.getId()) {
-                        continue;
-                    }
-
-                    // Create the pairs used for adding to the lookup
-                    ChunkCoordPair chunkCoordPair = new ChunkCoordPair(x, z);
-                    RegionCoordPair regionCoordPair = chunkCoordPair.getRegion();
-
-                    // Add to lookup
-                    Map<RegionCoordPair, Set<ChunkCoordPair>> regionLookup = dimensionLookup.computeIfAbsent(dimension, (ignored) -> new Object2ObjectOpenHashMap<>());
-                    Set<ChunkCoordPair> columns = regionLookup.computeIfAbsent(regionCoordPair, (ignored) -> new ObjectOpenHashSet<>());
-                    columns.add(chunkCoordPair);
-                }
-            }
-
-            return dimensionLookup;
+        // Find the columns present, using the index from a previous read of the same database if it's unchanged
+        Task<LevelDBKeyIndex> usedRegions = Task.async("Collecting Used Regions", TaskWeight.MEDIUM, () -> {
+            keyIndex = cachedKeyIndex != null ? cachedKeyIndex : LevelDBKeyIndex.scan(database, converter);
+            return keyIndex;
         });
 
         // When we've collected the level data and present chunks, go through each world and call the reading process
@@ -201,12 +147,12 @@ public class BedrockLevelReader implements LevelReader, BedrockReaderWriter {
             if (worldConversionHandler == null) return; // This can be null if the worlds aren't handled by the reader
 
             // Read the worlds
-            usedRegions.thenConsume("Reading Worlds", TaskWeight.HIGHEST, (dimensionLookup) -> {
-                List<Task<Void>> worlds = new ArrayList<>(dimensionLookup.size());
-                for (Map.Entry<Dimension, Map<RegionCoordPair, Set<ChunkCoordPair>>> entry : dimensionLookup.entrySet()) {
+            usedRegions.thenConsume("Reading Worlds", TaskWeight.HIGHEST, (index) -> {
+                List<Task<Void>> worlds = new ArrayList<>(index.getDimensions().size());
+                for (Dimension dimension : index.getDimensions()) {
                     // Create a world reader if it should be processed
-                    if (converter.shouldProcessDimension(entry.getKey())) {
-                        BedrockWorldReader reader = createWorldReader(entry.getValue(), entry.getKey());
+                    if (converter.shouldProcessDimension(dimension)) {
+                        BedrockWorldReader reader = createWorldReader(index.getPresentRegions(dimension), dimension);
 
                         // Read the world
                         worlds.add(Task.asyncConsume("Reading World", TaskWeight.HIGHER, reader::readWorld, worldConversionHandler));
@@ -11,6 +11,7 @@ import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.scheduling.task.ProgressiveTask;
 import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskLimiter;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import org.iq80.leveldb.DB;
@@ -27,6 +28,7 @@ public class BedrockWorldReader implements WorldReader {
     protected final Map<RegionCoordPair, Set<ChunkCoordPair>> presentRegions;
     protected final Dimension dimension;
     protected final DB database;
+    protected boolean columnBatching; // Decided for the world before the columns are read
 
     /**
      * Create a new Bedrock world reader.
@@ -60,6 +62,9 @@ public class BedrockWorldReader implements WorldReader {
         Task<Void> regionProcessing = convertWorld.thenConsume("Reading regions", TaskWeight.HIGHER, (columnConversionHandler) -> {
             if (columnConversionHandler == null) return; // This can be null if the columns aren't handled by the reader
 
+            // Use the batching decided for the world
+            columnBatching = chunkerWorld.isColumnBatching();
+
             // Read the regions
             ProgressiveTask<Void> readingRegionFiles = Task.async("Reading regions", TaskWeight.HIGHER, () -> readRegions(presentRegions, columnConversionHandler));
 
@@ -76,12 +81,18 @@ public class BedrockWorldReader implements WorldReader {
      *
      * @param regions                 the regions to read.
      * @param columnConversionHandler the handler to submit the read columns to.
+     * @throws InterruptedException if the thread was interrupted while waiting for regions to be written.
      */
-    public void readRegions(Map<RegionCoordPair, Set<ChunkCoordPair>> regions, ColumnConversionHandler columnConversionHandler) {
-        for (Map.Entry<RegionCoordPair, Set<ChunkCoordPair>> region : regions.entrySet()) {
-            if (converter.shouldProcessRegion(dimension, region.getKey())) {
-                Task.async("Reading region", TaskWeight.NORMAL, () -> readRegion(region, columnConversionHandler))
-                        .then("Region - Flushing", TaskWeight.MEDIUM, () -> columnConversionHandler.flushRegion(region.getKey()));
+    public void readRegions(Map<RegionCoordPair, Set<ChunkCoordPair>> regions, ColumnConversionHandler columnConversionHandler) throws InterruptedException {
+        // Limit the regions in-flight so reading can't get ahead of writing
+        TaskLimiter limiter = new TaskLimiter(converter.getMaxInFlightRegions());
+
+        // Process regions in spatial order so neighbouring regions are in-flight together
+        for (RegionCoordPair regionCoordPair : RegionCoordPair.sortByHilbertCurve(regions.keySet())) {
+            if (converter.shouldProcessRegion(dimension, regionCoordPair)) {
+                Map.Entry<RegionCoordPair, Set<ChunkCoordPair>> region = Map.entry(regionCoordPair, regions.get(regionCoordPair));
+                limiter.submit(() -> Task.async("Reading region", TaskWeight.NORMAL, () -> readRegion(region, columnConversionHandler))
+                        .then("Region - Flushing", TaskWeight.MEDIUM, () -> columnConversionHandler.flushRegion(regionCoordPair)));
             }
         }
     }
@@ -96,7 +107,7 @@ public class BedrockWorldReader implements WorldReader {
         for (ChunkCoordPair chunkCoordPair : region.getValue()) {
             if (!converter.shouldProcessColumn(dimension, chunkCoordPair)) continue;
             Task.async("Creating Column Reader", TaskWeight.LOW, () -> createColumnReader(chunkCoordPair))
-                    .thenConsume("Reading Column", TaskWeight.HIGHER, (columnReader) -> columnReader.readColumn(columnConversionHandler));
+                    .thenBatch("Reading Column", TaskWeight.HIGHER, (columnReader) -> columnReader.readColumn(columnConversionHandler), columnBatching);
         }
     }
 
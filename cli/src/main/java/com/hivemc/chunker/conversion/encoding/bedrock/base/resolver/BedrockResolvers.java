@@ -6,6 +6,8 @@ import com.hivemc.chunker.conversion.encoding.base.resolver.entity.EntityResolve
 import com.hivemc.chunker.conversion.encoding.bedrock.BedrockDataVersion;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.biome.BedrockBiomeIDResolver;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockEncodedBlockCompoundTag;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockEncodedPaletteEntry;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
@@ -22,8 +24,10 @@ import com.hivemc.chunker.conversion.intermediate.column.entity.type.ChunkerEnti
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.resolver.PaletteEntryCache;
 import com.hivemc.chunker.resolver.Resolver;
 
+import java.io.IOException;
 import java.util.Optional;
 
 /**
@@ -38,6 +42,23 @@ public interface BedrockResolvers {
      */
     ChunkerBlockIdentifier readBlock(BedrockBlockCompoundTag input);
 
+    /**
+     * Read a block from the encoded NBT of a palette entry, the result is cached for the conversion so that repeated
+     * entries are only decoded and resolved once.
+     *
+     * @param input the encoded block NBT.
+     * @return the read block or an air block if it failed.
+     * @throws IOException if the NBT could not be decoded.
+     */
+    ChunkerBlockIdentifier readBlock(BedrockEncodedBlockCompoundTag input) throws IOException;
+
+    /**
+     * Get the cache used for encoded block palette entries.
+     *
+     * @return the cache, used to report the hit rate.
+     */
+    PaletteEntryCache<BedrockEncodedBlockCompoundTag, ChunkerBlockIdentifier> blockPaletteCache();
+
     /**
      * Read a block from an identifier.
      *
@@ -96,6 +117,22 @@ public interface BedrockResolvers {
      */
     BedrockBlockCompoundTag writeBlock(ChunkerBlockIdentifier chunkerBlockIdentifier);
 
+    /**
+     * Write a block as an encoded palette entry, the result is cached for the conversion so that repeated blocks are
+     * only resolved and encoded once.
+     *
+     * @param chunkerBlockIdentifier the block identifier.
+     * @return the encoded block NBT with the waterlogged state.
+     */
+    BedrockEncodedPaletteEntry writeEncodedBlock(ChunkerBlockIdentifier chunkerBlockIdentifier);
+
+    /**
+     * Get the cache used for encoded block palette entries being written.
+     *
+     * @return the cache, used to report the hit rate.
+     */
+    PaletteEntryCache<ChunkerBlockIdentifier, BedrockEncodedPaletteEntry> encodedBlockCache();
+
     /**
      * Write a block as an identifier (not for items).
      *
@@ -7,6 +7,8 @@ import com.hivemc.chunker.conversion.encoding.base.resolver.entity.EntityResolve
 import com.hivemc.chunker.conversion.encoding.bedrock.BedrockDataVersion;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.biome.BedrockBiomeIDResolver;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockEncodedBlockCompoundTag;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockEncodedPaletteEntry;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
@@ -22,13 +24,19 @@ import com.hivemc.chunker.conversion.intermediate.column.entity.PaintingEntity;
 import com.hivemc.chunker.conversion.intermediate.column.entity.type.ChunkerEntityType;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
+import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.resolver.PaletteEntryCache;
 import com.hivemc.chunker.resolver.Resolver;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 
 /**
  * Builder style class for generating BedrockResolvers, this allows you to override specific resolvers while inheriting
@@ -86,6 +94,14 @@ public class BedrockResolversBuilder {
             private final Resolver<CompoundTag, ChunkerItemStack> itemStackResolver = itemStackResolverConstructor.apply(this);
             private final BlockEntityResolver<BedrockResolvers, CompoundTag> blockEntityResolver = blockEntityResolverConstructor.apply(this);
             private final EntityResolver<BedrockResolvers, CompoundTag> entityResolver = entityResolverConstructor.apply(this);
+            private final PaletteEntryCache<BedrockEncodedBlockCompoundTag, ChunkerBlockIdentifier> blockPaletteCache = new PaletteEntryCache<>(
+                    enableCaching ? PaletteEntryCache.DEFAULT_MAX_ENTRIES : 0,
+                    BedrockEncodedBlockCompoundTag::copy
+            );
+            private final PaletteEntryCache<ChunkerBlockIdentifier, BedrockEncodedPaletteEntry> encodedBlockCache = new PaletteEntryCache<>(
+                    enableCaching ? PaletteEntryCache.DEFAULT_MAX_ENTRIES : 0,
+                    UnaryOperator.identity()
+            );
 
             @Override
             public ChunkerBlockIdentifier readBlock(BedrockBlockCompoundTag input) {
@@ -98,6 +114,23 @@ public class BedrockResolversBuilder {
                 });
             }
 
+            @Override
+            public ChunkerBlockIdentifier readBlock(BedrockEncodedBlockCompoundTag input) throws IOException {
+                ChunkerBlockIdentifier cached = blockPaletteCache.getIfPresent(input);
+                if (cached != null) return cached;
+
+                // Decode and resolve the tag (using a duplicate to not move the position of the key)
+                CompoundTag compoundTag = Objects.requireNonNull(Tag.readBedrockNBT(input.encoded().duplicate()));
+                ChunkerBlockIdentifier output = readBlock(new BedrockBlockCompoundTag(compoundTag, input.waterlogged()));
+                blockPaletteCache.put(input, output);
+                return output;
+            }
+
+            @Override
+            public PaletteEntryCache<BedrockEncodedBlockCompoundTag, ChunkerBlockIdentifier> blockPaletteCache() {
+                return blockPaletteCache;
+            }
+
             @Override
             public ChunkerBlockIdentifier readBlockIdentifier(Identifier input) {
                 return blockIdentifierResolver.to(input).orElseGet(() -> {
@@ -180,6 +213,23 @@ public class BedrockResolversBuilder {
                 });
             }
 
+            @Override
+            public BedrockEncodedPaletteEntry writeEncodedBlock(ChunkerBlockIdentifier chunkerBlockIdentifier) {
+                return encodedBlockCache.get(chunkerBlockIdentifier, (key) -> {
+                    BedrockBlockCompoundTag output = writeBlock(key);
+                    try {
+                        return new BedrockEncodedPaletteEntry(Tag.writeBedrockNBT(output.compoundTag()), output.waterlogged());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+
+            @Override
+            public PaletteEntryCache<ChunkerBlockIdentifier, BedrockEncodedPaletteEntry> encodedBlockCache() {
+                return encodedBlockCache;
+            }
+
             @Override
             public Optional<Identifier> writeBlockIdentifier(ChunkerBlockIdentifier identifier, boolean reportMissing) {
                 Optional<Identifier> result = blockIdentifierResolver.from(identifier);
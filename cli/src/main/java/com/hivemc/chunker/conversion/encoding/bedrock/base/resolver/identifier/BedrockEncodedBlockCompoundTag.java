@@ -0,0 +1,88 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Wrapper for the encoded bytes of a block palette entry and if it should be waterlogged, used as a cache key so the
+ * NBT doesn't need to be decoded for entries which have been seen before. The hash is computed once on construction.
+ */
+public final class BedrockEncodedBlockCompoundTag {
+    private final ByteBuffer encoded;
+    private final boolean waterlogged;
+    private final int hash;
+
+    /**
+     * Create a new encoded block compound tag.
+     *
+     * @param encoded     the little endian NBT of the block, equality is based on the remaining bytes.
+     * @param waterlogged whether a water block should be on the liquid layer.
+     */
+    public BedrockEncodedBlockCompoundTag(ByteBuffer encoded, boolean waterlogged) {
+        this.encoded = encoded;
+        this.waterlogged = waterlogged;
+        hash = hash(encoded) * 31 + Boolean.hashCode(waterlogged);
+    }
+
+    /**
+     * Hash the remaining bytes of a buffer, reading 8 bytes at a time (the same bytes hash the same in either order).
+     *
+     * @param buffer the buffer to hash, the position isn't changed.
+     * @return the hash of the remaining bytes.
+     */
+    private static int hash(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        int index = buffer.position();
+        boolean reverse = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+        int hash = 1;
+        for (; index + 8 <= limit; index += 8) {
+            long value = buffer.getLong(index);
+            hash = hash * 31 + Long.hashCode(reverse ? Long.reverseBytes(value) : value);
+        }
+        for (; index < limit; index++) {
+            hash = hash * 31 + buffer.get(index);
+        }
+        return hash;
+    }
+
+    /**
+     * Get the encoded NBT of the block.
+     *
+     * @return the buffer containing the encoded bytes, this shouldn't be modified.
+     */
+    public ByteBuffer encoded() {
+        return encoded;
+    }
+
+    /**
+     * Whether the block should be waterlogged.
+     *
+     * @return true if a water block should be on the liquid layer.
+     */
+    public boolean waterlogged() {
+        return waterlogged;
+    }
+
+    /**
+     * Create a copy which doesn't reference the buffer the entry was read from.
+     *
+     * @return a new instance with a copy of the encoded bytes.
+     */
+    public BedrockEncodedBlockCompoundTag copy() {
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(encoded.position(), bytes);
+        return new BedrockEncodedBlockCompoundTag(ByteBuffer.wrap(bytes), waterlogged);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof BedrockEncodedBlockCompoundTag other)) return false;
+        return hash == other.hash && waterlogged == other.waterlogged && encoded.equals(other.encoded);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
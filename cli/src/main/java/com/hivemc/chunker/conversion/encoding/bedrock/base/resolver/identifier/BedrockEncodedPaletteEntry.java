@@ -0,0 +1,10 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier;
+
+/**
+ * The output form of a block palette entry, pre-encoded so that it can be copied directly into the sub-chunk.
+ *
+ * @param encoded     the little endian NBT of the block (named with an empty name), this shouldn't be modified.
+ * @param waterlogged whether a water block should be on the liquid layer.
+ */
+public record BedrockEncodedPaletteEntry(byte[] encoded, boolean waterlogged) {
+}
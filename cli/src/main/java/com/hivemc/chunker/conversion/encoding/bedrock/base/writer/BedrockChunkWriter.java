@@ -2,7 +2,7 @@ package com.hivemc.chunker.conversion.encoding.bedrock.base.writer;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
-import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockEncodedPaletteEntry;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.PaletteUtil;
@@ -16,16 +16,15 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.b
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.nbt.io.PooledOutputStream;
 import com.hivemc.chunker.nbt.io.Writer;
-import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.scheduling.function.ThrowableConsumer;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import org.iq80.leveldb.DB;
+import org.iq80.leveldb.WriteBatch;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -34,11 +33,17 @@ import java.util.Map;
  * A writer for Bedrock chunks.
  */
 public class BedrockChunkWriter {
+    private static final ChunkerBlockIdentifier WATER = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.WATER, Map.of(
+            VanillaBlockStates.LIQUID_LEVEL, LiquidLevel._0,
+            VanillaBlockStates.FLOWING, Bool.FALSE
+    ));
     protected final BedrockResolvers resolvers;
     protected final DB database;
     protected final Converter converter;
     protected final Dimension dimension;
     protected final ChunkerColumn chunkerColumn;
+    @Nullable
+    protected WriteBatch writeBatch;
 
     /**
      * Create a new Bedrock Chunk Writer.
@@ -101,16 +106,15 @@ public class BedrockChunkWriter {
      */
     protected void writeBlockPalette(ChunkerChunk chunk) throws Exception {
         byte[] bytes;
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
-            Writer writer = Writer.toBedrockWriter(dataOutputStream);
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer writer = Writer.toBedrockWriter(outputStream);
 
             writer.writeByte((byte) 8); // Version 8 chunks, palette
 
-            Palette<BedrockBlockCompoundTag> blockPalette = chunk.getPalette().map(resolvers::writeBlock);
+            Palette<BedrockEncodedPaletteEntry> blockPalette = chunk.getPalette().map(resolvers::writeEncodedBlock);
 
             // Calculate waterlogged states
-            boolean containsWaterlogged = blockPalette.containsValue(BedrockBlockCompoundTag::waterlogged);
+            boolean containsWaterlogged = blockPalette.containsValue(BedrockEncodedPaletteEntry::waterlogged);
 
             // Write size
             int layers = containsWaterlogged ? 2 : 1;
@@ -120,12 +124,35 @@ public class BedrockChunkWriter {
             writeLayers(writer, layers, blockPalette);
 
             // Collect the byte array for leveldb
-            bytes = byteArrayOutputStream.toByteArray();
+            bytes = outputStream.toByteArray();
         }
 
         writeChunkBytes(chunk, bytes);
     }
 
+    /**
+     * Set the batch which the keys of the column are gathered in.
+     *
+     * @param writeBatch the batch for the column or null to write directly to the database.
+     */
+    public void setWriteBatch(@Nullable WriteBatch writeBatch) {
+        this.writeBatch = writeBatch;
+    }
+
+    /**
+     * Write a key for the chunk, this is added to the batch for the column if present.
+     *
+     * @param key   the key to write.
+     * @param value the value to write.
+     */
+    protected void put(byte[] key, byte[] value) {
+        if (writeBatch != null) {
+            writeBatch.put(key, value);
+        } else {
+            database.put(key, value);
+        }
+    }
+
     /**
      * Write the block palette for the chunk.
      *
@@ -135,7 +162,7 @@ public class BedrockChunkWriter {
     protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) {
         // Write the entry
         byte subChunkY = chunk.getY();
-        database.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
+        put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
     }
 
     /**
@@ -146,15 +173,15 @@ public class BedrockChunkWriter {
      * @param blockPalette the block palette to use.
      * @throws Exception if it failed to write the palette.
      */
-    protected void writeLayers(Writer writer, int layers, Palette<BedrockBlockCompoundTag> blockPalette) throws Exception {
-        ThrowableConsumer<BedrockBlockCompoundTag> writeKey = (entry) -> Tag.encodeNamed(writer, "", entry.compoundTag());
+    protected void writeLayers(Writer writer, int layers, Palette<BedrockEncodedPaletteEntry> blockPalette) throws Exception {
+        ThrowableConsumer<BedrockEncodedPaletteEntry> writeKey = (entry) -> writer.writeBytes(entry.encoded());
         // Loop through each layer
         for (int layer = 0; layer < layers; layer++) {
             if (layer == 0) {
                 PaletteUtil.writeChunkPalette(writer, blockPalette, false, false, writeKey);
             } else {
                 // Generate liquid layer
-                Palette<BedrockBlockCompoundTag> liquidPalette = generateLiquidPalette(blockPalette);
+                Palette<BedrockEncodedPaletteEntry> liquidPalette = generateLiquidPalette(blockPalette);
                 PaletteUtil.writeChunkPalette(writer, liquidPalette, false, false, writeKey);
             }
         }
@@ -166,23 +193,30 @@ public class BedrockChunkWriter {
      * @param blockPalette the block palette input.
      * @return a generated liquid palette.
      */
-    protected Palette<BedrockBlockCompoundTag> generateLiquidPalette(Palette<BedrockBlockCompoundTag> blockPalette) {
-        short[][][] values = new short[16][16][16];
-        for (int x = 0; x < 16; x++) {
-            for (int y = 0; y < 16; y++) {
-                for (int z = 0; z < 16; z++) {
-                    BedrockBlockCompoundTag block = blockPalette.get(x, y, z);
-                    values[x][y][z] = (short) (block == null || !block.waterlogged() ? 0 : 1);
-                }
-            }
-        }
-        List<BedrockBlockCompoundTag> keys = List.of(
-                resolvers.writeBlock(ChunkerBlockIdentifier.AIR),
-                resolvers.writeBlock(new ChunkerBlockIdentifier(ChunkerVanillaBlockType.WATER, Map.of(
-                        VanillaBlockStates.LIQUID_LEVEL, LiquidLevel._0,
-                        VanillaBlockStates.FLOWING, Bool.FALSE
-                )))
+    protected Palette<BedrockEncodedPaletteEntry> generateLiquidPalette(Palette<BedrockEncodedPaletteEntry> blockPalette) {
+        List<BedrockEncodedPaletteEntry> keys = List.of(
+                resolvers.writeEncodedBlock(ChunkerBlockIdentifier.AIR),
+                resolvers.writeEncodedBlock(WATER)
         );
+
+        // Palettes without values only need their key mapping
+        if (!(blockPalette instanceof ShortBasedPalette<BedrockEncodedPaletteEntry> shortBasedPalette)) {
+            return blockPalette.map(block -> keys.get(block == null || !block.waterlogged() ? 0 : 1));
+        }
+
+        // Find which keys are waterlogged once, then map each value to air / water
+        int keyCount = shortBasedPalette.getKeyCount();
+        short[] liquidKeys = new short[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            BedrockEncodedPaletteEntry block = shortBasedPalette.getKey(i);
+            liquidKeys[i] = (short) (block == null || !block.waterlogged() ? 0 : 1);
+        }
+        short[] blockValues = shortBasedPalette.getValues();
+        short[] values = new short[blockValues.length];
+        for (int i = 0; i < blockValues.length; i++) {
+            short keyIndex = blockValues[i];
+            values[i] = keyIndex >= 0 && keyIndex < keyCount ? liquidKeys[keyIndex] : 0;
+        }
         return new ShortBasedPalette<>(keys, values);
     }
 }
@@ -3,7 +3,7 @@ package com.hivemc.chunker.conversion.encoding.bedrock.base.writer;
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
-import com.hivemc.chunker.conversion.encoding.bedrock.util.ColumnUtil;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.ColumnWriteBatch;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
@@ -14,8 +14,10 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
 import com.hivemc.chunker.conversion.intermediate.column.heightmap.BedrockHeightMap;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.HeightMapGenerator;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
+import com.hivemc.chunker.nbt.io.PooledOutputStream;
 import com.hivemc.chunker.nbt.io.Writer;
 import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
@@ -25,13 +27,9 @@ import org.iq80.leveldb.DB;
 import org.iq80.leveldb.WriteBatch;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.OptionalInt;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A writer for Bedrock columns.
@@ -42,6 +40,7 @@ public class BedrockColumnWriter implements ColumnWriter {
     protected final BedrockResolvers resolvers;
     protected final DB database;
     protected final Dimension dimension;
+    protected final Map<ChunkerColumn, ColumnWriteBatch> writeBatches = new ConcurrentHashMap<>();
 
     /**
      * Create a new column writer.
@@ -65,21 +64,90 @@ public class BedrockColumnWriter implements ColumnWriter {
         // Run any preprocessing
         preProcessColumn(chunkerColumn);
 
-        // Compact any chunk palettes to ensure unused values are removed from pre-processing
-        chunkerColumn.getChunks().values().forEach(chunk -> {
-            chunk.setPalette(chunk.getPalette().compact(ChunkerBlockIdentifier.AIR));
-        });
-
-        // Write the chunk to NBT
-        ArrayList<Task<Void>> processing = new ArrayList<>(5);
-        processing.add(Task.asyncConsume("Writing Metadata", TaskWeight.LOW, this::writeMetadata, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing HeightMap/Biomes", TaskWeight.NORMAL, this::writeHeightMapBiomes, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing Entities", TaskWeight.HIGH, this::writeEntities, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing Block Entities", TaskWeight.HIGH, this::writeBlockEntities, chunkerColumn));
-        processing.add(Task.asyncConsume("Writing Chunks", TaskWeight.HIGHER, this::writeChunks, chunkerColumn));
-
-        // When they're done apply post-processing
-        Task.join(processing).then("Post-processing column", TaskWeight.HIGH, () -> postProcessColumn(chunkerColumn));
+        // Gather all the keys for the column so they can be written together
+        writeBatches.put(chunkerColumn, new ColumnWriteBatch(database));
+        try {
+            // Compact any chunk palettes to ensure unused values are removed from pre-processing
+            chunkerColumn.getChunks().values().forEach(chunk -> {
+                chunk.setPalette(chunk.getPalette().compact(ChunkerBlockIdentifier.AIR));
+            });
+
+            // Write the chunk to NBT
+            ArrayList<Task<Void>> processing = new ArrayList<>(5);
+            processing.add(Task.asyncConsume("Writing Metadata", TaskWeight.LOW, this::writeMetadata, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing HeightMap/Biomes", TaskWeight.NORMAL, this::writeHeightMapBiomes, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing Entities", TaskWeight.HIGH, this::writeEntities, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing Block Entities", TaskWeight.HIGH, this::writeBlockEntities, chunkerColumn));
+            processing.add(Task.asyncConsume("Writing Chunks", TaskWeight.HIGHER, this::writeChunks, chunkerColumn));
+
+            // When they're done apply post-processing and commit the keys
+            Task<Void> committing = Task.join(processing)
+                    .then("Post-processing column", TaskWeight.HIGH, () -> postProcessColumn(chunkerColumn))
+                    .then("Committing column", TaskWeight.LOW, () -> commitColumn(chunkerColumn));
+
+            // Always discard the batch if the column failed, so it isn't held for the rest of the conversion
+            committing.future().whenComplete((result, throwable) -> discardColumn(chunkerColumn));
+        } catch (Throwable throwable) {
+            discardColumn(chunkerColumn);
+            throw throwable;
+        }
+    }
+
+    /**
+     * Write the keys gathered for a column to the database.
+     *
+     * @param chunkerColumn the column which has been written.
+     * @throws Exception if it failed to write to the database.
+     */
+    protected void commitColumn(ChunkerColumn chunkerColumn) throws Exception {
+        ColumnWriteBatch writeBatch = writeBatches.remove(chunkerColumn);
+        if (writeBatch != null) {
+            writeBatch.write();
+        }
+    }
+
+    /**
+     * Discard the keys gathered for a column if they haven't been committed, this is used when writing the column
+     * failed.
+     *
+     * @param chunkerColumn the column which was being written.
+     */
+    protected void discardColumn(ChunkerColumn chunkerColumn) {
+        ColumnWriteBatch writeBatch = writeBatches.remove(chunkerColumn);
+        if (writeBatch != null) {
+            try {
+                writeBatch.close();
+            } catch (IOException e) {
+                converter.logNonFatalException(e);
+            }
+        }
+    }
+
+    /**
+     * Get the write batch which the keys of a column should be written to.
+     *
+     * @param chunkerColumn the column being written.
+     * @return the batch for the column or null if the column isn't being written through writeColumn.
+     */
+    @Nullable
+    public WriteBatch getWriteBatch(ChunkerColumn chunkerColumn) {
+        return writeBatches.get(chunkerColumn);
+    }
+
+    /**
+     * Write a key for a column, this is added to the batch for the column if present.
+     *
+     * @param chunkerColumn the column being written.
+     * @param key           the key to write.
+     * @param value         the value to write.
+     */
+    protected void put(ChunkerColumn chunkerColumn, byte[] key, byte[] value) {
+        WriteBatch writeBatch = getWriteBatch(chunkerColumn);
+        if (writeBatch != null) {
+            writeBatch.put(key, value);
+        } else {
+            database.put(key, value);
+        }
     }
 
     @Override
@@ -94,13 +162,8 @@ public class BedrockColumnWriter implements ColumnWriter {
      * @throws Exception if it failed to write the metadata.
      */
     protected void writeMetadata(ChunkerColumn chunkerColumn) throws Exception {
-        try (WriteBatch writeBatch = database.createWriteBatch()) {
-            // Save Version (0x76)
-            writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.LEGACY_VERSION), new byte[]{7});
-
-            // Write the batch
-            database.write(writeBatch);
-        }
+        // Save Version (0x76)
+        put(chunkerColumn, LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.LEGACY_VERSION), new byte[]{7});
     }
 
     /**
@@ -201,12 +264,12 @@ public class BedrockColumnWriter implements ColumnWriter {
      * @return the generated height map.
      */
     protected BedrockHeightMap generateHeightMap(ChunkerColumn column) {
+        int[] highest = HeightMapGenerator.generate(column, HeightMapGenerator.Type.LIT_OR_SLAB)[0];
         short[][] heightMap = new short[16][16];
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                OptionalInt highest = ColumnUtil.getHighestLitOrSlabBlock(column, x, z);
-                short value = (short) (highest.orElse(-1) + 1);
-                heightMap[x][z] = value;
+                int y = highest[(z << 4) | x];
+                heightMap[x][z] = (short) (y == HeightMapGenerator.NONE ? 0 : y + 1);
             }
         }
         return new BedrockHeightMap(heightMap);
@@ -229,9 +292,8 @@ public class BedrockColumnWriter implements ColumnWriter {
 
         // Write Data2D
         byte[] bytes;
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024);
-             DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
-            Writer writer = Writer.toBedrockWriter(dataOutputStream);
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer writer = Writer.toBedrockWriter(outputStream);
             short[][] heightMapValues = heightMap.getHeightMap();
 
             // Write height map (LE Short)
@@ -255,11 +317,11 @@ public class BedrockColumnWriter implements ColumnWriter {
                 }
             }
 
-            bytes = byteArrayOutputStream.toByteArray();
+            bytes = outputStream.toByteArray();
         }
 
         // Save Data2D (0x2D) - Heightmap / Biome
-        database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D), bytes);
+        put(column, LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_2D), bytes);
     }
 
     /**
@@ -270,26 +332,25 @@ public class BedrockColumnWriter implements ColumnWriter {
      */
     protected void writeEntities(ChunkerColumn column) throws Exception {
         // Write entities
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Write each entity as a separate tag
-                for (Entity entity : column.getEntities()) {
-                    try {
-                        // Process the tag
-                        CompoundTag tag = writeEntity(column, entity);
-                        if (tag != null) {
-                            // Encode
-                            Tag.encodeNamed(Writer.toBedrockWriter(writerStream), "", tag);
-                        }
-                    } catch (Exception e) {
-                        converter.logNonFatalException(new Exception("Failed to process Entity " + entity, e));
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer writer = Writer.toBedrockWriter(outputStream);
+
+            // Write each entity as a separate tag
+            for (Entity entity : column.getEntities()) {
+                try {
+                    // Process the tag
+                    CompoundTag tag = writeEntity(column, entity);
+                    if (tag != null) {
+                        // Encode
+                        Tag.encodeNamed(writer, "", tag);
                     }
+                } catch (Exception e) {
+                    converter.logNonFatalException(new Exception("Failed to process Entity " + entity, e));
                 }
             }
 
             // Write the byte array to the key
-            database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.ENTITY), byteArrayOutputStream.toByteArray());
+            put(column, LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.ENTITY), outputStream.toByteArray());
         }
     }
 
@@ -320,26 +381,25 @@ public class BedrockColumnWriter implements ColumnWriter {
      */
     protected void writeBlockEntities(ChunkerColumn column) throws Exception {
         // Write block entities
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Write each block entity as a separate tag
-                for (BlockEntity blockEntity : column.getBlockEntities()) {
-                    try {
-                        // Process the tag
-                        CompoundTag tag = writeBlockEntity(column, blockEntity);
-                        if (tag != null) {
-                            // Encode
-                            Tag.encodeNamed(Writer.toBedrockWriter(writerStream), "", tag);
-                        }
-                    } catch (Exception e) {
-                        converter.logNonFatalException(new Exception("Failed to process BlockEntity " + blockEntity, e));
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer writer = Writer.toBedrockWriter(outputStream);
+
+            // Write each block entity as a separate tag
+            for (BlockEntity blockEntity : column.getBlockEntities()) {
+                try {
+                    // Process the tag
+                    CompoundTag tag = writeBlockEntity(column, blockEntity);
+                    if (tag != null) {
+                        // Encode
+                        Tag.encodeNamed(writer, "", tag);
                     }
+                } catch (Exception e) {
+                    converter.logNonFatalException(new Exception("Failed to process BlockEntity " + blockEntity, e));
                 }
             }
 
             // Write the byte array to the key
-            database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.BLOCK_ENTITY), byteArrayOutputStream.toByteArray());
+            put(column, LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.BLOCK_ENTITY), outputStream.toByteArray());
         }
     }
 
@@ -370,6 +430,7 @@ public class BedrockColumnWriter implements ColumnWriter {
     protected void writeChunks(ChunkerColumn column) {
         // Create the writer for the chunks
         BedrockChunkWriter chunkWriter = createChunkWriter(column);
+        chunkWriter.setWriteBatch(getWriteBatch(column));
 
         // Schedule each chunk to be written
         Task.asyncConsumeForEach("Writing Chunk", TaskWeight.NORMAL, chunkWriter::writeChunk, column.getChunks().values());
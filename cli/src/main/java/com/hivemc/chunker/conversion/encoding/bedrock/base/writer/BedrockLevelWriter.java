@@ -8,6 +8,7 @@ import com.hivemc.chunker.conversion.encoding.base.writer.WorldWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.BedrockReaderWriter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.reader.BedrockLevelReader;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.BulkTableDB;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
@@ -103,6 +104,12 @@ public class BedrockLevelWriter implements LevelWriter, BedrockReaderWriter {
         options.writeBufferSize(400 * 1024 * 1024); // 400MB write buffer
         options.createIfMissing(true);
 
+        // Write the tables directly if there isn't an existing database to copy from
+        if (converter.shouldLevelDBBulkWrite() && !converter.shouldAllowNBTCopying() && !new File(databaseDirectory, "CURRENT").exists()) {
+            database = new BulkTableDB(databaseDirectory, options, BulkTableDB.DEFAULT_BUFFER_SIZE);
+            return;
+        }
+
         // Create the factory and open the database
         DBFactory factory = new Iq80DBFactory();
         database = factory.open(databaseDirectory, options);
@@ -202,6 +209,8 @@ public class BedrockLevelWriter implements LevelWriter, BedrockReaderWriter {
 
     @Override
     public void free() throws Exception {
+        converter.logPaletteCacheStatistics(resolvers.encodedBlockCache());
+
         if (database != null) {
             try {
                 database.close();
@@ -219,8 +228,8 @@ public class BedrockLevelWriter implements LevelWriter, BedrockReaderWriter {
             converter.logNonFatalException(e);
         }
 
-        // Compact database
-        if (converter.shouldLevelDBCompaction()) {
+        // Compact database (bulk written databases are already compacted)
+        if (converter.shouldLevelDBCompaction() && !(database instanceof BulkTableDB)) {
             // Signal the converter to indicate compaction has started
             Task.signal(WorldConverter.SIGNAL_COMPACTION, true);
 
@@ -0,0 +1,836 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.util;
+
+import org.iq80.leveldb.*;
+import org.iq80.leveldb.env.Env;
+import org.iq80.leveldb.env.WritableFile;
+import org.iq80.leveldb.fileenv.EnvImpl;
+import org.iq80.leveldb.impl.*;
+import org.iq80.leveldb.table.BytewiseComparator;
+import org.iq80.leveldb.table.FilterPolicy;
+import org.iq80.leveldb.table.TableBuilder;
+import org.iq80.leveldb.util.Slice;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A write-only LevelDB database which writes sorted tables directly rather than using a memtable, log and compaction.
+ * <p>
+ * Entries are buffered in memory, once the buffer is full the column entries are sorted and spilled to a temporary run
+ * file. When the database is closed the runs are merged (newest entry wins) into non-overlapping tables all placed in
+ * a single level along with a MANIFEST, meaning the output is already compacted. Entries which aren't column data
+ * (e.g. lodestone tracking) are never spilled so that they can be read back quickly using {@link #get(byte[])}, column
+ * data can still be read back but requires reading the runs.
+ * <p>
+ * Iterators and snapshots merge the buffer with the spilled runs, they only support iterating forwards and have to be
+ * closed before the database is closed (as the runs are removed).
+ */
+public class BulkTableDB implements DB {
+    /**
+     * The default number of bytes to buffer before spilling a sorted run to disk.
+     */
+    public static final long DEFAULT_BUFFER_SIZE = 256L * 1024 * 1024; // 256MB
+    /**
+     * The size in bytes that a table is started after.
+     */
+    public static final int MAX_TABLE_SIZE = 2 * 1024 * 1024; // 2MB (the LevelDB default)
+    private static final byte[] DELETED = new byte[0];
+    private static final long MANIFEST_FILE_NUMBER = 1;
+    private static final long LEVEL_1_MAX_BYTES = 10L * 1024 * 1024; // Matches LevelDB's size for level 1
+    private static final boolean[] CHUNK_TYPES = new boolean[256];
+
+    static {
+        for (LevelDBChunkType type : LevelDBChunkType.values()) {
+            CHUNK_TYPES[type.getId() & 0xFF] = true;
+        }
+    }
+
+    private final File databaseDirectory;
+    private final Options tableOptions;
+    private final long bufferSize;
+    private final InternalKeyComparator internalKeyComparator = new InternalKeyComparator(new BytewiseComparator());
+    private final Map<ByteBuffer, byte[]> entries = new ConcurrentHashMap<>();
+    private final AtomicLong spillableBytes = new AtomicLong();
+    private final List<File> runs = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * Create a new bulk database writing to a directory.
+     *
+     * @param databaseDirectory the directory to write the tables to, this should not contain an existing database.
+     * @param options           the options used for the tables (compression, block size and filter policy).
+     * @param bufferSize        the number of bytes to buffer in memory before spilling a sorted run to disk.
+     */
+    public BulkTableDB(File databaseDirectory, Options options, long bufferSize) {
+        this.databaseDirectory = databaseDirectory;
+        this.bufferSize = bufferSize;
+
+        // Tables store internal keys, so the filter has to be built using the user key
+        tableOptions = Options.fromOptions(options);
+        tableOptions.maxFileSize(MAX_TABLE_SIZE);
+        if (options.filterPolicy() != null) {
+            tableOptions.filterPolicy(new UserKeyFilterPolicy((FilterPolicy) options.filterPolicy()));
+        }
+    }
+
+    /**
+     * Check whether a key is column data which can be spilled to disk, these are written in bulk and never read back.
+     * Chunk keys are identified by the type after the co-ordinates (and dimension), as global keys can have the same
+     * length (e.g. mobevents). Map keys are excluded first as the last digit of the ID overlaps the chunk type IDs.
+     *
+     * @param key the key to check.
+     * @return true if the key is column data.
+     */
+    protected static boolean isColumnKey(byte[] key) {
+        if (LevelDBKey.startsWith(key, LevelDBKey.MAP_PREFIX)) return false;
+        return switch (key.length) {
+            case 9, 13 -> CHUNK_TYPES[key[key.length - 1] & 0xFF];
+            case 10, 14 -> key[key.length - 2] == LevelDBChunkType.SUB_CHUNK_PREFIX.getId();
+            default -> LevelDBKey.startsWith(key, LevelDBKey.ACTOR_PREFIX) ||
+                    LevelDBKey.startsWith(key, LevelDBKey.DIGP_PREFIX);
+        };
+    }
+
+    /**
+     * Add an entry to the buffer, spilling to disk if the buffer is full.
+     *
+     * @param key   the key of the entry.
+     * @param value the value or DELETED.
+     */
+    private void add(byte[] key, byte[] value) {
+        if (closed) {
+            throw new DBException("Tried to write to a closed database");
+        }
+        byte[] previous = entries.put(ByteBuffer.wrap(key), value);
+
+        // Only column entries are counted as the others are never spilled
+        if (!isColumnKey(key)) return;
+        long size = spillableBytes.addAndGet(key.length + value.length - (previous == null ? 0 : key.length + previous.length));
+
+        // Spill the buffer if it's full
+        if (size >= bufferSize) {
+            try {
+                spill();
+            } catch (IOException e) {
+                throw new DBException(e);
+            }
+        }
+    }
+
+    /**
+     * Sort the buffered column entries and write them to a new run file.
+     *
+     * @throws IOException if it failed to write the run.
+     */
+    private synchronized void spill() throws IOException {
+        if (spillableBytes.get() < bufferSize) return; // Another thread already spilled
+
+        // Take the column entries out of the buffer, if they were replaced while spilling the new value is kept
+        List<Map.Entry<byte[], byte[]>> sorted = new ArrayList<>();
+        for (Map.Entry<ByteBuffer, byte[]> entry : entries.entrySet()) {
+            byte[] key = entry.getKey().array();
+            byte[] value = entry.getValue();
+            if (isColumnKey(key) && entries.remove(entry.getKey(), value)) {
+                spillableBytes.addAndGet(-(key.length + value.length));
+                sorted.add(Map.entry(key, value));
+            }
+        }
+        if (sorted.isEmpty()) return; // Nothing was taken, so there is no run to write
+        sorted.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+
+        // Write the run
+        File run = new File(databaseDirectory, "bulk-" + runs.size() + ".tmp");
+        try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run), 1024 * 1024))) {
+            for (Map.Entry<byte[], byte[]> entry : sorted) {
+                outputStream.writeInt(entry.getKey().length);
+                outputStream.write(entry.getKey());
+                if (entry.getValue() == DELETED) {
+                    outputStream.writeInt(-1);
+                } else {
+                    outputStream.writeInt(entry.getValue().length);
+                    outputStream.write(entry.getValue());
+                }
+            }
+        }
+        runs.add(run);
+    }
+
+    /**
+     * Merge the runs and the remaining buffer and write the tables and MANIFEST.
+     *
+     * @throws IOException if it failed to write the database.
+     */
+    private void writeTables() throws IOException {
+        // The remaining buffer is the newest source
+        List<Map.Entry<byte[], byte[]>> remaining = new ArrayList<>(entries.size());
+        for (Map.Entry<ByteBuffer, byte[]> entry : entries.entrySet()) {
+            remaining.add(Map.entry(entry.getKey().array(), entry.getValue()));
+        }
+        remaining.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+        entries.clear();
+
+        // Merge the runs with the remaining buffer in key order
+        try (MergedSource merged = new MergedSource(runs, remaining, null)) {
+            Env env = EnvImpl.createEnv();
+            org.iq80.leveldb.env.File directory = env.toFile(databaseDirectory.getAbsolutePath());
+            List<FileMetaData> tables = new ArrayList<>();
+            long fileNumber = MANIFEST_FILE_NUMBER + 1;
+            TableWriter writer = null;
+            try {
+                while (merged.next()) {
+                    byte[] key = merged.key;
+                    byte[] value = merged.value;
+                    if (value == DELETED) continue;
+
+                    // Start a new table if needed
+                    if (writer == null) {
+                        writer = new TableWriter(env, directory, fileNumber++);
+                    }
+                    writer.add(key, value);
+                    if (writer.builder.getFileSize() >= MAX_TABLE_SIZE) {
+                        tables.add(writer.finish());
+                        writer = null;
+                    }
+                }
+                if (writer != null) {
+                    tables.add(writer.finish());
+                    writer = null;
+                }
+            } finally {
+                if (writer != null) {
+                    writer.abandon();
+                }
+            }
+
+            writeManifest(env, directory, tables, fileNumber);
+        } finally {
+            for (File run : runs) {
+                run.delete();
+            }
+            runs.clear();
+        }
+    }
+
+    /**
+     * Write the MANIFEST and CURRENT file describing the tables.
+     *
+     * @param env            the environment to use for writing.
+     * @param directory      the database directory.
+     * @param tables         the tables which have been written, in key order.
+     * @param nextFileNumber the next file number that LevelDB should use.
+     * @throws IOException if it failed to write the files.
+     */
+    private void writeManifest(Env env, org.iq80.leveldb.env.File directory, List<FileMetaData> tables, long nextFileNumber) throws IOException {
+        // Place all the tables into the lowest level which can hold them without needing compaction
+        long totalSize = 0;
+        for (FileMetaData table : tables) {
+            totalSize += table.getFileSize();
+        }
+        int level = 1;
+        long maxBytes = LEVEL_1_MAX_BYTES;
+        while (level < DbConstants.NUM_LEVELS - 1 && totalSize > maxBytes) {
+            level++;
+            maxBytes *= 10;
+        }
+
+        // Create the edit which describes the database
+        VersionEdit edit = new VersionEdit();
+        edit.setComparatorName(internalKeyComparator.name());
+        edit.setLogNumber(0);
+        edit.setNextFileNumber(nextFileNumber);
+        edit.setLastSequenceNumber(0);
+        for (FileMetaData table : tables) {
+            edit.addFile(level, table);
+        }
+
+        // Write the MANIFEST and point CURRENT at it
+        try (LogWriter logWriter = Logs.createLogWriter(directory.child(Filename.descriptorFileName(MANIFEST_FILE_NUMBER)), MANIFEST_FILE_NUMBER, env)) {
+            logWriter.addRecord(edit.encode(), true);
+        }
+        Filename.setCurrentFile(directory, MANIFEST_FILE_NUMBER, env);
+    }
+
+    @Override
+    public byte[] get(byte[] key) throws DBException {
+        byte[] value = entries.get(ByteBuffer.wrap(key));
+
+        // Column data may have been spilled, so fall back to reading the runs
+        if (value == null && isColumnKey(key)) {
+            value = getSpilled(key);
+        }
+        return value == DELETED ? null : value;
+    }
+
+    /**
+     * Get the newest value of a key from the buffer or the spilled runs.
+     *
+     * @param key the key to look up.
+     * @return the value, DELETED or null if the key wasn't found.
+     */
+    private synchronized byte[] getSpilled(byte[] key) {
+        if (closed) {
+            throw new DBException("Tried to read from a closed database");
+        }
+
+        // Synchronized with spilling so that the entry is either in the buffer or a run
+        byte[] value = entries.get(ByteBuffer.wrap(key));
+        if (value != null) return value;
+
+        // Check the newest run first, each run is sorted so reading stops once the key has been passed
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            try (RunSource source = new RunSource(i, runs.get(i))) {
+                while (source.next()) {
+                    int compare = Arrays.compareUnsigned(source.key, key);
+                    if (compare == 0) return source.value;
+                    if (compare > 0) break;
+                }
+            } catch (IOException e) {
+                throw new DBException(e);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public byte[] get(byte[] key, ReadOptions options) throws DBException {
+        return get(key);
+    }
+
+    @Override
+    public DBIterator iterator() {
+        return new BulkIterator(snapshot());
+    }
+
+    @Override
+    public DBIterator iterator(ReadOptions options) {
+        if (options.snapshot() instanceof BulkSnapshot snapshot) {
+            return new BulkIterator(snapshot);
+        }
+        return iterator();
+    }
+
+    @Override
+    public void put(byte[] key, byte[] value) throws DBException {
+        add(key, value);
+    }
+
+    @Override
+    public void delete(byte[] key) throws DBException {
+        add(key, DELETED);
+    }
+
+    @Override
+    public void write(WriteBatch updates) throws DBException {
+        ((BulkWriteBatch) updates).apply();
+    }
+
+    @Override
+    public WriteBatch createWriteBatch() {
+        return new BulkWriteBatch();
+    }
+
+    @Override
+    public Snapshot put(byte[] key, byte[] value, WriteOptions options) throws DBException {
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public Snapshot delete(byte[] key, WriteOptions options) throws DBException {
+        delete(key);
+        return null;
+    }
+
+    @Override
+    public Snapshot write(WriteBatch updates, WriteOptions options) throws DBException {
+        write(updates);
+        return null;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return snapshot();
+    }
+
+    /**
+     * Create a snapshot of the runs and the buffer.
+     *
+     * @return the new snapshot.
+     */
+    private synchronized BulkSnapshot snapshot() {
+        if (closed) {
+            throw new DBException("Tried to read from a closed database");
+        }
+
+        // Synchronized with spilling so that entries are either in the buffer or a run
+        List<Map.Entry<byte[], byte[]>> buffer = new ArrayList<>(entries.size());
+        for (Map.Entry<ByteBuffer, byte[]> entry : entries.entrySet()) {
+            buffer.add(Map.entry(entry.getKey().array(), entry.getValue()));
+        }
+        buffer.sort((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()));
+        return new BulkSnapshot(List.copyOf(runs), buffer);
+    }
+
+    @Override
+    public long[] getApproximateSizes(Range... ranges) {
+        // The size is the size of the entries as they're not compressed until the tables are written
+        long[] sizes = new long[ranges.length];
+        try (BulkSnapshot snapshot = snapshot()) {
+            for (int i = 0; i < ranges.length; i++) {
+                Range range = ranges[i];
+                try (BulkIterator iterator = new BulkIterator(snapshot)) {
+                    iterator.seek(range.start());
+                    while (iterator.hasNext()) {
+                        Map.Entry<byte[], byte[]> entry = iterator.next();
+                        if (Arrays.compareUnsigned(entry.getKey(), range.limit()) >= 0) break;
+                        sizes[i] += entry.getKey().length + entry.getValue().length;
+                    }
+                }
+            }
+        }
+        return sizes;
+    }
+
+    @Override
+    public String getProperty(String name) {
+        return null;
+    }
+
+    @Override
+    public void suspendCompactions() {
+        // Compaction is not used
+    }
+
+    @Override
+    public void resumeCompactions() {
+        // Compaction is not used
+    }
+
+    @Override
+    public void compactRange(byte[] begin, byte[] end) throws DBException {
+        // The tables are already compacted when written
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        writeTables();
+    }
+
+    /**
+     * A write batch which applies all the operations when written.
+     */
+    private class BulkWriteBatch implements WriteBatch {
+        private final List<Map.Entry<byte[], byte[]>> operations = new ArrayList<>();
+        private int approximateSize;
+
+        @Override
+        public int getApproximateSize() {
+            return approximateSize;
+        }
+
+        @Override
+        public int size() {
+            return operations.size();
+        }
+
+        @Override
+        public WriteBatch put(byte[] key, byte[] value) {
+            operations.add(Map.entry(key, value));
+            approximateSize += key.length + value.length;
+            return this;
+        }
+
+        @Override
+        public WriteBatch delete(byte[] key) {
+            operations.add(Map.entry(key, DELETED));
+            approximateSize += key.length;
+            return this;
+        }
+
+        /**
+         * Apply the operations to the database.
+         */
+        private void apply() {
+            for (Map.Entry<byte[], byte[]> operation : operations) {
+                add(operation.getKey(), operation.getValue());
+            }
+        }
+
+        @Override
+        public void close() {
+            operations.clear();
+        }
+    }
+
+    /**
+     * A snapshot of the database, the runs aren't modified after being written so only the buffer is copied.
+     *
+     * @param runs   the runs which had been spilled.
+     * @param buffer the buffered entries sorted by key.
+     */
+    private record BulkSnapshot(List<File> runs, List<Map.Entry<byte[], byte[]>> buffer) implements Snapshot {
+        @Override
+        public void close() {
+            // Nothing to release, the runs are removed when the database is closed
+        }
+    }
+
+    /**
+     * An iterator which merges the runs and buffer of a snapshot, only iterating forwards is supported.
+     */
+    private static class BulkIterator implements DBIterator {
+        private final BulkSnapshot snapshot;
+        @Nullable
+        private MergedSource merged;
+        @Nullable
+        private Map.Entry<byte[], byte[]> next;
+
+        public BulkIterator(BulkSnapshot snapshot) {
+            this.snapshot = snapshot;
+            seekToFirst();
+        }
+
+        /**
+         * Move to the next entry which hasn't been deleted.
+         */
+        private void advance() {
+            try {
+                while (merged.next()) {
+                    if (merged.value != DELETED) {
+                        next = Map.entry(merged.key, merged.value);
+                        return;
+                    }
+                }
+                next = null;
+            } catch (IOException e) {
+                throw new DBException(e);
+            }
+        }
+
+        @Override
+        public void seek(byte[] key) {
+            close();
+            try {
+                merged = new MergedSource(snapshot.runs(), snapshot.buffer(), key);
+            } catch (IOException e) {
+                throw new DBException(e);
+            }
+            advance();
+        }
+
+        @Override
+        public void seekToFirst() {
+            seek(null);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> peekNext() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            return next;
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> next() {
+            Map.Entry<byte[], byte[]> entry = peekNext();
+            advance();
+            return entry;
+        }
+
+        @Override
+        public boolean hasPrev() {
+            throw new UnsupportedOperationException("Reverse iteration is not supported by a bulk database");
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> prev() {
+            throw new UnsupportedOperationException("Reverse iteration is not supported by a bulk database");
+        }
+
+        @Override
+        public Map.Entry<byte[], byte[]> peekPrev() {
+            throw new UnsupportedOperationException("Reverse iteration is not supported by a bulk database");
+        }
+
+        @Override
+        public void seekToLast() {
+            throw new UnsupportedOperationException("Reverse iteration is not supported by a bulk database");
+        }
+
+        @Override
+        public void close() {
+            if (merged == null) return;
+            try {
+                merged.close();
+            } catch (IOException e) {
+                throw new DBException(e);
+            } finally {
+                merged = null;
+                next = null;
+            }
+        }
+    }
+
+    /**
+     * A sorted source of entries to be merged.
+     */
+    private abstract static class Source implements Closeable {
+        protected final int index;
+        protected byte[] key;
+        protected byte[] value;
+
+        /**
+         * Create a new source.
+         *
+         * @param index the index of the source, higher indexes have newer entries.
+         */
+        protected Source(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Move to the next entry, updating the key and value.
+         *
+         * @return true if there was another entry.
+         * @throws IOException if it failed to read the entry.
+         */
+        protected abstract boolean next() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+            // Nothing to close by default
+        }
+    }
+
+    /**
+     * A source which reads a sorted run from disk.
+     */
+    private static class RunSource extends Source {
+        private final DataInputStream inputStream;
+
+        public RunSource(int index, File file) throws IOException {
+            super(index);
+            inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1024 * 1024));
+        }
+
+        @Override
+        protected boolean next() throws IOException {
+            int keyLength;
+            try {
+                keyLength = inputStream.readInt();
+            } catch (EOFException e) {
+                return false; // End of the run
+            }
+            key = inputStream.readNBytes(keyLength);
+            int valueLength = inputStream.readInt();
+            value = valueLength == -1 ? DELETED : inputStream.readNBytes(valueLength);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * A source which reads from a sorted in-memory list.
+     */
+    private static class ListSource extends Source {
+        private final Iterator<Map.Entry<byte[], byte[]>> iterator;
+
+        public ListSource(int index, Iterator<Map.Entry<byte[], byte[]>> iterator) {
+            super(index);
+            this.iterator = iterator;
+        }
+
+        @Override
+        protected boolean next() {
+            if (!iterator.hasNext()) return false;
+            Map.Entry<byte[], byte[]> entry = iterator.next();
+            key = entry.getKey();
+            value = entry.getValue();
+            return true;
+        }
+    }
+
+    /**
+     * A source which merges the runs and the buffer in key order, keeping only the newest value of each key (which
+     * may be DELETED).
+     */
+    private static class MergedSource extends Source {
+        private final List<Source> sources = new ArrayList<>();
+        private final PriorityQueue<Source> queue = new PriorityQueue<>((a, b) -> {
+            int compare = Arrays.compareUnsigned(a.key, b.key);
+            return compare != 0 ? compare : Integer.compare(b.index, a.index);
+        });
+
+        /**
+         * Create a new merged source.
+         *
+         * @param runs   the runs to merge, the later the run the newer the entries.
+         * @param buffer the sorted buffered entries, these are newer than the runs.
+         * @param start  the key to start from or null to start from the first key.
+         * @throws IOException if it failed to open the runs.
+         */
+        public MergedSource(List<File> runs, List<Map.Entry<byte[], byte[]>> buffer, @Nullable byte[] start) throws IOException {
+            super(-1);
+            try {
+                for (File run : runs) {
+                    sources.add(new RunSource(sources.size(), run));
+                }
+                sources.add(new ListSource(sources.size(), buffer.iterator()));
+
+                // Move each source to the start
+                for (Source source : sources) {
+                    while (source.next()) {
+                        if (start == null || Arrays.compareUnsigned(source.key, start) >= 0) {
+                            queue.add(source);
+                            break;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        protected boolean next() throws IOException {
+            Source source = queue.poll();
+            if (source == null) return false;
+            key = source.key;
+            value = source.value;
+            if (source.next()) {
+                queue.add(source);
+            }
+
+            // Skip older values of the same key
+            while (!queue.isEmpty() && Arrays.equals(queue.peek().key, key)) {
+                Source older = queue.poll();
+                if (older.next()) {
+                    queue.add(older);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Source source : sources) {
+                source.close();
+            }
+        }
+    }
+
+    /**
+     * A writer for a single table file.
+     */
+    private class TableWriter {
+        private final long fileNumber;
+        private final WritableFile file;
+        private final TableBuilder builder;
+        @Nullable
+        private InternalKey smallest;
+        @Nullable
+        private InternalKey largest;
+
+        public TableWriter(Env env, org.iq80.leveldb.env.File directory, long fileNumber) throws IOException {
+            this.fileNumber = fileNumber;
+            file = env.newWritableFile(directory.child(Filename.tableFileName(fileNumber)));
+            builder = new TableBuilder(tableOptions, file, new InternalUserComparator(internalKeyComparator));
+        }
+
+        /**
+         * Add an entry to the table, entries must be added in key order.
+         *
+         * @param key   the user key.
+         * @param value the value.
+         * @throws IOException if it failed to write the entry.
+         */
+        public void add(byte[] key, byte[] value) throws IOException {
+            InternalKey internalKey = new InternalKey(new Slice(key), 0, ValueType.VALUE);
+            if (smallest == null) {
+                smallest = internalKey;
+            }
+            largest = internalKey;
+            builder.add(internalKey.encode(), new Slice(value));
+        }
+
+        /**
+         * Finish writing the table.
+         *
+         * @return the metadata describing the table.
+         * @throws IOException if it failed to finish writing.
+         */
+        public FileMetaData finish() throws IOException {
+            try {
+                builder.finish();
+                file.force();
+            } finally {
+                file.close();
+            }
+            return new FileMetaData(fileNumber, builder.getFileSize(), smallest, largest);
+        }
+
+        /**
+         * Abandon writing the table, used when an error occurs.
+         */
+        public void abandon() {
+            builder.abandon();
+            try {
+                file.close();
+            } catch (IOException ignored) {
+                // Already failing
+            }
+        }
+    }
+
+    /**
+     * A filter policy which builds the filter from the user key part of the internal keys stored in a table, this
+     * matches the filters which LevelDB creates.
+     */
+    private record UserKeyFilterPolicy(FilterPolicy delegate) implements FilterPolicy {
+        /**
+         * Extract the user key from an internal key (removing the sequence number and type).
+         *
+         * @param internalKey the internal key.
+         * @return the user key.
+         */
+        private static Slice userKey(Slice internalKey) {
+            return internalKey.slice(0, internalKey.length() - 8);
+        }
+
+        @Override
+        public String name() {
+            return delegate.name();
+        }
+
+        @Override
+        public byte[] createFilter(List<Slice> keys) {
+            List<Slice> userKeys = new ArrayList<>(keys.size());
+            for (Slice key : keys) {
+                userKeys.add(userKey(key));
+            }
+            return delegate.createFilter(userKeys);
+        }
+
+        @Override
+        public boolean keyMayMatch(Slice key, Slice filter) {
+            return delegate.keyMayMatch(userKey(key), filter);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.util;
+
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.WriteBatch;
+
+import java.io.IOException;
+
+/**
+ * A thread-safe write batch which gathers all the keys written for a column, so that they can be committed to the
+ * database as a single write (taking the write lock and appending to the log once) rather than one write per key.
+ */
+public class ColumnWriteBatch implements WriteBatch {
+    private final DB database;
+    private final WriteBatch writeBatch;
+
+    /**
+     * Create a new column write batch.
+     *
+     * @param database the database the batch will be written to.
+     */
+    public ColumnWriteBatch(DB database) {
+        this.database = database;
+        writeBatch = database.createWriteBatch();
+    }
+
+    @Override
+    public synchronized int getApproximateSize() {
+        return writeBatch.getApproximateSize();
+    }
+
+    @Override
+    public synchronized int size() {
+        return writeBatch.size();
+    }
+
+    @Override
+    public synchronized WriteBatch put(byte[] key, byte[] value) {
+        writeBatch.put(key, value);
+        return this;
+    }
+
+    @Override
+    public synchronized WriteBatch delete(byte[] key) {
+        writeBatch.delete(key);
+        return this;
+    }
+
+    /**
+     * Write all the gathered keys to the database and close the batch.
+     *
+     * @throws Exception if it failed to write to the database.
+     */
+    public synchronized void write() throws Exception {
+        try {
+            if (writeBatch.size() > 0) {
+                database.write(writeBatch);
+            }
+        } finally {
+            writeBatch.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writeBatch.close();
+    }
+}
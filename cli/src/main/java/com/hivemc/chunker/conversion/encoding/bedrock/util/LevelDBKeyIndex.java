@@ -0,0 +1,234 @@
+package com.hivemc.chunker.conversion.encoding.bedrock.util;
+
+import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.conversion.intermediate.world.DimensionRegistry;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.DBIterator;
+import org.iq80.leveldb.iterator.DBIteratorAdapter;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+/**
+ * An index of the columns present in a Bedrock LevelDB database, built from a key-only scan. Column positions are
+ * packed into longs alongside the total size of their values, so the index stays small enough to be kept between
+ * conversions of the same input (e.g. a preview followed by a conversion).
+ */
+public class LevelDBKeyIndex {
+    private static final int MAX_CACHED_INDEXES = 4;
+    private static final Map<File, CachedIndex> CACHED_INDEXES = new LinkedHashMap<>(MAX_CACHED_INDEXES, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, CachedIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+    private final Map<Dimension, Long2LongOpenHashMap> dimensionColumns = new Object2ObjectOpenHashMap<>();
+
+    /**
+     * Scan the keys of a database to find all the columns present. Values are not copied out of the database, only
+     * their length is recorded.
+     *
+     * @param database  the database to scan.
+     * @param converter the converter instance used for the dimension registry and logging.
+     * @return the newly created index.
+     * @throws IOException if it failed to close the iterator.
+     */
+    public static LevelDBKeyIndex scan(DB database, Converter converter) throws IOException {
+        LevelDBKeyIndex index = new LevelDBKeyIndex();
+        DimensionRegistry dimensionRegistry = converter.getDimensionRegistry();
+        try (DBIterator iterator = database.iterator()) {
+            while (iterator.hasNext()) {
+                Map.Entry<byte[], byte[]> entry = iterator.next();
+                byte[] key = entry.getKey();
+                int keyLength = key.length;
+
+                // The keys we're looking for are (9, 10, 13, 14) depending on if they have sub chunk / dimension
+                boolean containsSubChunk = keyLength == 14 || keyLength == 10;
+                boolean containsDimension = keyLength == 14 || keyLength == 13;
+
+                // If not 9 (both false) or any of the others then skip this entry
+                if (keyLength != 9 && !containsSubChunk && !containsDimension) continue;
+
+                // Skip local player
+                if (Arrays.equals(key, LevelDBKey.LOCAL_PLAYER)) {
+                    continue;
+                }
+
+                // Use a buffer to parse the key
+                ByteBuffer buffer = ByteBuffer.wrap(key).order(ByteOrder.LITTLE_ENDIAN);
+
+                // Read co-ordinates
+                int x = buffer.getInt();
+                int z = buffer.getInt();
+
+                // Read dimension
+                Dimension dimension = Dimension.OVERWORLD;
+                if (containsDimension) {
+                    int dimensionID = buffer.getInt();
+                    dimension = dimensionRegistry.fromBedrock(dimensionID, null);
+
+                    // If unknown report an issue
+                    if (dimension == null) {
+                        converter.logNonFatalException(new Exception("Unknown dimension key " + dimensionID));
+                        continue;
+                    }
+                }
+
+                // Read type (followed by the sub-chunk Y which isn't needed)
+                byte type = buffer.get();
+
+                // Ensure the chunk either has: biome/height data, chunk data, block entity/entity data
+                if (containsSubChunk ? type != LevelDBChunkType.SUB_CHUNK_PREFIX.getId()
+                        : type != LevelDBChunkType.DATA_2D.getId() && type != LevelDBChunkType.DATA_3D.getId()
+                        && type != LevelDBChunkType.ENTITY.getId() && type != LevelDBChunkType.BLOCK_ENTITY.getId()) {
+                    continue;
+                }
+
+                // Use the value slice if possible to avoid copying the value
+                int valueLength = entry instanceof DBIteratorAdapter.DbEntry dbEntry ? dbEntry.getValueSlice().length() : entry.getValue().length;
+
+                // Add to the lookup
+                Long2LongOpenHashMap columns = index.dimensionColumns.computeIfAbsent(dimension, (ignored) -> new Long2LongOpenHashMap());
+                columns.addTo(pack(x, z), valueLength);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Pack chunk co-ordinates into a long.
+     *
+     * @param x the chunk X.
+     * @param z the chunk Z.
+     * @return the packed co-ordinates.
+     */
+    public static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Get the dimensions which have at least one column present.
+     *
+     * @return an unmodifiable set of the dimensions.
+     */
+    public Set<Dimension> getDimensions() {
+        return Collections.unmodifiableSet(dimensionColumns.keySet());
+    }
+
+    /**
+     * Get the number of columns present in a dimension.
+     *
+     * @param dimension the dimension.
+     * @return the number of columns.
+     */
+    public int getColumnCount(Dimension dimension) {
+        Long2LongOpenHashMap columns = dimensionColumns.get(dimension);
+        return columns == null ? 0 : columns.size();
+    }
+
+    /**
+     * Get the total size of the values stored for a column.
+     *
+     * @param dimension      the dimension of the column.
+     * @param chunkCoordPair the co-ordinates of the column.
+     * @return the size in bytes, 0 if the column isn't present.
+     */
+    public long getColumnSize(Dimension dimension, ChunkCoordPair chunkCoordPair) {
+        Long2LongOpenHashMap columns = dimensionColumns.get(dimension);
+        return columns == null ? 0 : columns.get(pack(chunkCoordPair.chunkX(), chunkCoordPair.chunkZ()));
+    }
+
+    /**
+     * Create a lookup of the regions and the columns inside them for a dimension.
+     *
+     * @param dimension the dimension.
+     * @return a new map of the regions to the columns present.
+     */
+    public Map<RegionCoordPair, Set<ChunkCoordPair>> getPresentRegions(Dimension dimension) {
+        Long2LongOpenHashMap columns = dimensionColumns.get(dimension);
+        if (columns == null) return new Object2ObjectOpenHashMap<>();
+
+        Map<RegionCoordPair, Set<ChunkCoordPair>> regionLookup = new Object2ObjectOpenHashMap<>();
+        for (Long2LongMap.Entry entry : columns.long2LongEntrySet()) {
+            long packed = entry.getLongKey();
+            ChunkCoordPair chunkCoordPair = new ChunkCoordPair((int) (packed >> 32), (int) packed);
+            regionLookup.computeIfAbsent(chunkCoordPair.getRegion(), (ignored) -> new ObjectOpenHashSet<>()).add(chunkCoordPair);
+        }
+        return regionLookup;
+    }
+
+    /**
+     * Get the index cached for a database directory, if the database files haven't changed since it was cached.
+     *
+     * @param databaseDirectory the database directory.
+     * @return the cached index or null if there isn't a valid one.
+     * @throws IOException if it failed to resolve the directory.
+     */
+    @Nullable
+    public static LevelDBKeyIndex getCached(File databaseDirectory) throws IOException {
+        File key = databaseDirectory.getCanonicalFile();
+        CachedIndex cachedIndex;
+        synchronized (CACHED_INDEXES) {
+            cachedIndex = CACHED_INDEXES.get(key);
+        }
+        if (cachedIndex == null) return null;
+        return cachedIndex.fingerprint().equals(fingerprint(key)) ? cachedIndex.index() : null;
+    }
+
+    /**
+     * Cache an index for a database directory, this should be called after the database has been closed so that the
+     * fingerprint matches the files which will be present when it is next opened.
+     *
+     * @param databaseDirectory the database directory.
+     * @param index             the index to cache.
+     * @throws IOException if it failed to resolve the directory.
+     */
+    public static void cache(File databaseDirectory, LevelDBKeyIndex index) throws IOException {
+        File key = databaseDirectory.getCanonicalFile();
+        CachedIndex cachedIndex = new CachedIndex(fingerprint(key), index);
+        synchronized (CACHED_INDEXES) {
+            CACHED_INDEXES.put(key, cachedIndex);
+        }
+    }
+
+    /**
+     * Create a fingerprint of the files which make up the database, any write to the database changes the log, the
+     * tables or the manifest.
+     *
+     * @param databaseDirectory the database directory.
+     * @return the fingerprint of the names, sizes and modification times of the files.
+     */
+    private static String fingerprint(File databaseDirectory) {
+        File[] files = databaseDirectory.listFiles((dir, name) -> name.equals("CURRENT") || name.startsWith("MANIFEST-")
+                || name.endsWith(".ldb") || name.endsWith(".sst") || name.endsWith(".log"));
+        if (files == null) return "";
+
+        // Sort the files so the order is consistent
+        Arrays.sort(files);
+        StringBuilder fingerprint = new StringBuilder();
+        for (File file : files) {
+            fingerprint.append(file.getName()).append(':').append(file.length()).append(':').append(file.lastModified()).append(';');
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * An index which has been cached along with the fingerprint of the database when it was cached.
+     *
+     * @param fingerprint the fingerprint of the database files.
+     * @param index       the index.
+     */
+    private record CachedIndex(String fingerprint, LevelDBKeyIndex index) {
+    }
+}
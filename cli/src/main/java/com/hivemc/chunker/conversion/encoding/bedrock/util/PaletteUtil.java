@@ -74,7 +74,7 @@ public class PaletteUtil {
         buffer.position(beforeWords);
 
         // Read values
-        short[][][] values = new short[16][16][16];
+        short[] values = new short[4096];
         int i = 0;
         for (int word = 0; word < wordSize; word++) {
             int wordValue = buffer.getInt();
@@ -85,8 +85,8 @@ public class PaletteUtil {
                 int y = i & 0xF;
                 int z = (i >> 4) & 0xF;
 
-                // Set the value
-                values[x][y][z] = (short) ((wordValue >>> (i % valuesPerWord * bitsPerEntry)) & ((1 << bitsPerEntry) - 1));
+                // Set the value (Bedrock uses XZY order)
+                values[ShortBasedPalette.getIndex(16, x, y, z)] = (short) ((wordValue >>> (i % valuesPerWord * bitsPerEntry)) & ((1 << bitsPerEntry) - 1));
                 i++;
             }
         }
@@ -134,7 +134,7 @@ public class PaletteUtil {
 
         // Only write the palette if it's not empty and the key count is more than 1
         if (!emptyPalette && palette.getKeyCount() > 1 && palette instanceof ShortBasedPalette<T> shortBasedPalette) {
-            short[][][] values = shortBasedPalette.getValues();
+            short[] values = shortBasedPalette.getValues();
             for (int wordIndex = 0; wordIndex < buffer.length; wordIndex++) {
                 for (int blockIndex = 0; blockIndex < blocksPerWord; blockIndex++) {
                     if (i >= 4096) {
@@ -145,7 +145,7 @@ public class PaletteUtil {
                     int z = (i >> 4) & 0xF;
                     int x = (i >> 8) & 0xF;
                     int startBitIndex = bitsPerBlock * blockIndex;
-                    short value = values[x][y][z];
+                    short value = values[ShortBasedPalette.getIndex(16, x, y, z)];
                     buffer[wordIndex] = (buffer[wordIndex] & ~(maxValue << startBitIndex)) | ((value & maxValue) << startBitIndex);
                     i++;
                 }
@@ -31,6 +31,6 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
                 && converter.level().map(level -> level.getSettings().GeneratorType).orElse(ChunkerGeneratorType.CUSTOM) == ChunkerGeneratorType.NORMAL) {
             subChunkY += 4; // Move up 4 for Caves & Cliffs in older versions
         }
-        database.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
+        put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
     }
 }
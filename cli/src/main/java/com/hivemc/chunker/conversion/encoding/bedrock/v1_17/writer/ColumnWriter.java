@@ -9,7 +9,6 @@ import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import org.iq80.leveldb.DB;
-import org.iq80.leveldb.WriteBatch;
 
 public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.bedrock.v1_16.writer.ColumnWriter {
     public ColumnWriter(BedrockWorldWriter parent, Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension) {
@@ -22,21 +21,16 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.bedrock
 
     @Override
     protected void writeMetadata(ChunkerColumn chunkerColumn) throws Exception {
-        try (WriteBatch writeBatch = database.createWriteBatch()) {
-            if (isWriteBlendingData()) {
-                // Save Caves and Cliffs Blending (0x3d) (legacy)
-                writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.GENERATED_PRE_CAVES_AND_CLIFFS_BLENDING), new byte[]{0});
+        if (isWriteBlendingData()) {
+            // Save Caves and Cliffs Blending (0x3d) (legacy)
+            put(chunkerColumn, LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.GENERATED_PRE_CAVES_AND_CLIFFS_BLENDING), new byte[]{0});
 
-                // Save new version (37)
-                writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.VERSION), new byte[]{37});
-            }
-
-            // Save legacy version (0x76)
-            writeBatch.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.LEGACY_VERSION), new byte[]{7});
-
-            // Write the batch
-            database.write(writeBatch);
+            // Save new version (37)
+            put(chunkerColumn, LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.VERSION), new byte[]{37});
         }
+
+        // Save legacy version (0x76)
+        put(chunkerColumn, LevelDBKey.key(dimension, chunkerColumn.getPosition(), LevelDBChunkType.LEGACY_VERSION), new byte[]{7});
     }
 
     @Override
@@ -23,7 +23,7 @@ public class ColumnReader extends com.hivemc.chunker.conversion.encoding.bedrock
     protected void readBiomeHeightMap(ChunkerColumn column) {
         try {
             // Read Data3D first (1.18+)
-            byte[] value = database.get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_3D));
+            byte[] value = get(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_3D));
             if (value != null) {
                 ByteBuffer buffer = ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN);
                 if (converter.shouldProcessHeightMap()) {
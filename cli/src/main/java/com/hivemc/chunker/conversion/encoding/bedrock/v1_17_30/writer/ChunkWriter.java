@@ -2,19 +2,17 @@ package com.hivemc.chunker.conversion.encoding.bedrock.v1_17_30.writer;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
-import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockCompoundTag;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockEncodedPaletteEntry;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
 import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.nbt.io.PooledOutputStream;
 import com.hivemc.chunker.nbt.io.Writer;
 import org.iq80.leveldb.DB;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-
 public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.v1_17.writer.ChunkWriter {
     public ChunkWriter(Converter converter, BedrockResolvers resolvers, DB database, Dimension dimension, ChunkerColumn chunkerColumn) {
         super(converter, resolvers, database, dimension, chunkerColumn);
@@ -23,16 +21,15 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
     @Override
     protected void writeBlockPalette(ChunkerChunk chunk) throws Exception {
         byte[] bytes;
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
-            Writer writer = Writer.toBedrockWriter(dataOutputStream);
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer writer = Writer.toBedrockWriter(outputStream);
 
             writer.writeByte((byte) 9); // Version 9 palette with extra index
 
-            Palette<BedrockBlockCompoundTag> blockPalette = chunk.getPalette().map(resolvers::writeBlock);
+            Palette<BedrockEncodedPaletteEntry> blockPalette = chunk.getPalette().map(resolvers::writeEncodedBlock);
 
             // Calculate waterlogged states
-            boolean containsWaterlogged = blockPalette.containsValue(BedrockBlockCompoundTag::waterlogged);
+            boolean containsWaterlogged = blockPalette.containsValue(BedrockEncodedPaletteEntry::waterlogged);
 
             // Write size
             int layers = containsWaterlogged ? 2 : 1;
@@ -45,7 +42,7 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
             writeLayers(writer, layers, blockPalette);
 
             // Collect the byte array for leveldb
-            bytes = byteArrayOutputStream.toByteArray();
+            bytes = outputStream.toByteArray();
         }
 
         // Write the entry
@@ -55,6 +52,6 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.bedrock.
     @Override
     protected void writeChunkBytes(ChunkerChunk chunk, byte[] bytes) {
         byte subChunkY = chunk.getY();
-        database.put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
+        put(LevelDBKey.key(dimension, chunkerColumn.getPosition(), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX), bytes);
     }
 }
@@ -14,11 +14,10 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.SingleValuePalette;
 import com.hivemc.chunker.conversion.intermediate.column.heightmap.BedrockHeightMap;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.nbt.io.PooledOutputStream;
 import com.hivemc.chunker.nbt.io.Writer;
 import org.iq80.leveldb.DB;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -39,9 +38,8 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.bedrock
 
         // Write Data3D (3d biomes)
         byte[] bytes;
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024);
-             DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream)) {
-            Writer writer = Writer.toBedrockWriter(dataOutputStream);
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer writer = Writer.toBedrockWriter(outputStream);
             short[][] heightMapValues = heightMap.getHeightMap();
 
             // Write height map (LE Short)
@@ -102,11 +100,11 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.bedrock
                 }
             }
 
-            bytes = byteArrayOutputStream.toByteArray();
+            bytes = outputStream.toByteArray();
         }
 
         // Save Data3D (0x2B) - Heightmap / Biome
-        database.put(LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_3D), bytes);
+        put(column, LevelDBKey.key(dimension, column.getPosition(), LevelDBChunkType.DATA_3D), bytes);
     }
 
     @Override
@@ -16,6 +16,7 @@ import org.iq80.leveldb.DB;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 public class ColumnReader extends com.hivemc.chunker.conversion.encoding.bedrock.v1_18.reader.ColumnReader {
@@ -26,7 +27,7 @@ public class ColumnReader extends com.hivemc.chunker.conversion.encoding.bedrock
     @Override
     protected void readEntities(ChunkerColumn column) throws Exception {
         // Modern format for entities, a list of IDs is provided by digp which is then looked up
-        byte[] value = database.get(LevelDBKey.key(LevelDBKey.DIGP_PREFIX, dimension, column.getPosition()));
+        byte[] value = get(LevelDBKey.key(LevelDBKey.DIGP_PREFIX, dimension, column.getPosition()));
         if (value == null) {
             // Fallback to legacy entity reading
             super.readEntities(column);
@@ -55,21 +56,17 @@ public class ColumnReader extends com.hivemc.chunker.conversion.encoding.bedrock
 
     protected void readEntity(ChunkerColumn column, byte[] entityKey) throws Exception {
         // Lookup the entry for the key
-        byte[] entityValue = database.get(LevelDBKey.key(LevelDBKey.ACTOR_PREFIX, entityKey));
+        byte[] entityValue = get(LevelDBKey.key(LevelDBKey.ACTOR_PREFIX, entityKey));
         if (entityValue == null) return; // Skip if the key wasn't found
 
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(entityValue);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            Reader reader = Reader.toBedrockReader(readerStream);
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
-            if (pair == null) return;
+        TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toBedrockReader(ByteBuffer.wrap(entityValue)), CompoundTag.class);
+        if (pair == null) return;
 
-            try {
-                // Process the tag
-                readEntity(column, pair.tag());
-            } catch (Exception e) {
-                converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
-            }
+        try {
+            // Process the tag
+            readEntity(column, pair.tag());
+        } catch (Exception e) {
+            converter.logNonFatalException(new Exception("Failed to process Entity " + pair.tag(), e));
         }
     }
 
@@ -4,6 +4,7 @@ import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.NibbleArray;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
@@ -105,36 +106,12 @@ public class JavaChunkReader {
         byte[] blockLight = nbt.getByteArray("BlockLight", null);
         byte[] skyLight = nbt.getByteArray("SkyLight", null);
 
-        // Set up the values if they were found
-        if (blockLight != null) {
-            chunk.setBlockLight(new byte[16][16][16]);
+        // The Java nibble arrays use the same layout as the intermediate format, so they can be used directly
+        if (blockLight != null && blockLight.length == NibbleArray.BYTES) {
+            chunk.setBlockLight(new NibbleArray(blockLight));
         }
-        if (skyLight != null) {
-            chunk.setSkyLight(new byte[16][16][16]);
-        }
-
-        // Read the values out of both arrays
-        if (blockLight != null || skyLight != null) {
-            for (int i = 0; i < 4096; i++) {
-                // Co-ords
-                int x = i & 0xF;
-                int z = (i >> 4) & 0xF;
-                int y = (i >> 8) & 0xF;
-
-                // Nibble (half-byte arrays)
-                int nibbleIndex = i >> 1;
-                boolean lowestBits = (i & 1) == 0;
-
-                // If the blockLight is present convert it from the nibble array to a normal array
-                if (blockLight != null) {
-                    chunk.getBlockLight()[x][y][z] = ByteUtil.getNibbleFromByte(blockLight[nibbleIndex], lowestBits);
-                }
-
-                // If the skyLight is present convert it from the nibble array to a normal array
-                if (skyLight != null) {
-                    chunk.getSkyLight()[x][y][z] = ByteUtil.getNibbleFromByte(skyLight[nibbleIndex], lowestBits);
-                }
-            }
+        if (skyLight != null && skyLight.length == NibbleArray.BYTES) {
+            chunk.setSkyLight(new NibbleArray(skyLight));
         }
     }
 }
@@ -73,6 +73,11 @@ public class JavaLevelReader implements LevelReader, JavaReaderWriter {
                 : resolvers.biomeIdResolver().getSupportedBiomes();
     }
 
+    @Override
+    public void free() throws Exception {
+        converter.logPaletteCacheStatistics(resolvers.blockPaletteCache());
+    }
+
     /**
      * Get the base directory used for a dimension.
      *
@@ -13,6 +13,7 @@ import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.scheduling.task.ProgressiveTask;
 import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskLimiter;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -35,6 +36,7 @@ public class JavaWorldReader implements WorldReader {
     protected final JavaResolvers resolvers;
     protected final File dimensionFolder;
     protected final Dimension dimension;
+    protected boolean columnBatching; // Decided for the world before the columns are read
 
     /**
      * Create a new world reader.
@@ -97,6 +99,9 @@ public class JavaWorldReader implements WorldReader {
         Task<Void> regionProcessing = convertWorld.thenConsume("Reading regions", TaskWeight.HIGHER, (columnConversionHandler) -> {
             if (columnConversionHandler == null) return; // This can be null if the columns aren't handled by the reader
 
+            // Use the batching decided for the world
+            columnBatching = chunkerWorld.isColumnBatching();
+
             // Read the regions
             ProgressiveTask<Void> readingRegionFiles = Task.async("Reading region files", TaskWeight.HIGHER, () -> readRegionFiles(regionsCopy, knownRegionFiles, columnConversionHandler));
 
@@ -114,18 +119,22 @@ public class JavaWorldReader implements WorldReader {
      * @param regions                 the region co-ordinates to read.
      * @param knownRegionFiles        a set of files which can be valid .mca files (exist and are bigger than 4096 bytes)
      * @param columnConversionHandler the handler to submit the columns to.
+     * @throws InterruptedException if the thread was interrupted while waiting for regions to be written.
      */
-    protected void readRegionFiles(Set<RegionCoordPair> regions, Set<String> knownRegionFiles, ColumnConversionHandler columnConversionHandler) {
-        // Process regions
-        for (RegionCoordPair region : regions) {
+    protected void readRegionFiles(Set<RegionCoordPair> regions, Set<String> knownRegionFiles, ColumnConversionHandler columnConversionHandler) throws InterruptedException {
+        // Limit the regions in-flight so reading can't get ahead of writing
+        TaskLimiter limiter = new TaskLimiter(converter.getMaxInFlightRegions());
+
+        // Process regions in spatial order so neighbouring regions are in-flight together
+        for (RegionCoordPair region : RegionCoordPair.sortByHilbertCurve(regions)) {
             if (converter.shouldProcessRegion(dimension, region)) {
                 // Multiple region files can be handled by later versions, so it's abstracted here
                 File[] regionFiles = getRegionFiles(region, knownRegionFiles);
 
                 // Read the region file then close the readers after it is done
-                Task.async("Reading region file", TaskWeight.NORMAL, () -> readRegion(regionFiles, region, columnConversionHandler))
+                limiter.submit(() -> Task.async("Reading region file", TaskWeight.NORMAL, () -> readRegion(regionFiles, region, columnConversionHandler))
                         .thenConsume("Closing region readers", TaskWeight.NONE, this::closeReaders)
-                        .then("Region - Flushing", TaskWeight.MEDIUM, () -> columnConversionHandler.flushRegion(region));
+                        .then("Region - Flushing", TaskWeight.MEDIUM, () -> columnConversionHandler.flushRegion(region)));
             }
         }
     }
@@ -256,8 +265,8 @@ public class JavaWorldReader implements WorldReader {
             // Ignore if this column shouldn't be processed
             if (!converter.shouldProcessColumn(dimension, columnsCoords)) continue;
 
-            // Do the column work in its own task
-            Task.async("Processing column " + columnsCoords, TaskWeight.NORMAL, () -> {
+            // Do the column work in its own task (reading the data is I/O, decompression is scheduled separately)
+            Task.asyncIO("Processing column " + columnsCoords, TaskWeight.NORMAL, () -> {
                 // Iterate through each region file
                 List<Task<CompoundTag>> decompressingTasks = new ArrayList<>(regionFilesCount);
                 List<Integer> decompressingTasksIndexes = new ArrayList<>(regionFilesCount);
@@ -271,10 +280,8 @@ public class JavaWorldReader implements WorldReader {
                     if (offset <= 0) continue; // Skip if it's 0 or less as that indicates it's not used in this file
 
                     try {
-                        // Schedule the decompression of the column, we need to do the read sync as this is run in parallel
-                        synchronized (mcaReader) {
-                            decompressingTasks.add(mcaReader.readColumn(columnsCoords, offset));
-                        }
+                        // Schedule the decompression of the column (the reader handles running in parallel)
+                        decompressingTasks.add(mcaReader.readColumn(columnsCoords, offset));
 
                         // Add to the indexes, so we know this file was found
                         decompressingTasksIndexes.add(regionFileIndex);
@@ -294,7 +301,7 @@ public class JavaWorldReader implements WorldReader {
                             return combineColumnCompounds(compoundTags);
                         })
                         .then("Creating Column Reader", TaskWeight.LOW, (column) -> createColumnReader(columnsCoords, column))
-                        .thenConsume("Reading Column", TaskWeight.HIGHER, (columnReader) -> columnReader.readColumn(columnConversionHandler));
+                        .thenBatch("Reading Column", TaskWeight.HIGHER, (columnReader) -> columnReader.readColumn(columnConversionHandler), columnBatching);
             });
         }
 
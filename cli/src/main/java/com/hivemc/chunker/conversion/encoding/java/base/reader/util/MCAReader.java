@@ -7,21 +7,39 @@ import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
 
 /**
  * Utility for reading Java .mca files.
+ * <p>
+ * The file is memory-mapped when possible, which allows columns to be read concurrently without copying the compressed
+ * data to the heap. If the file can't be mapped, the reader falls back to a RandomAccessFile where reads are
+ * synchronized on the reader.
+ * <p>
+ * A mapping stays open after the reader is closed until the buffer is garbage collected, on Windows this prevents the
+ * input from being deleted or moved, so files are never mapped on Windows.
  */
 public class MCAReader implements AutoCloseable {
+    /**
+     * Whether files are memory-mapped by default, this is disabled on Windows as mapped files are locked.
+     */
+    public static final boolean MAPPING_ENABLED = !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
     private final Converter converter;
     private final File folder;
     private final RandomAccessFile randomAccessFile;
     private final Reader reader;
+    @Nullable
+    private final ByteBuffer mappedFile;
 
     /**
      * Create a new MCAReader (must be closed after).
@@ -31,10 +49,49 @@ public class MCAReader implements AutoCloseable {
      * @throws FileNotFoundException if the file wasn't present.
      */
     public MCAReader(Converter converter, File file) throws FileNotFoundException {
+        this(converter, file, MAPPING_ENABLED);
+    }
+
+    /**
+     * Create a new MCAReader (must be closed after).
+     *
+     * @param converter the converter instance.
+     * @param file      the mca file to read.
+     * @param map       whether the file (and any external files) should be memory-mapped when possible.
+     * @throws FileNotFoundException if the file wasn't present.
+     */
+    public MCAReader(Converter converter, File file, boolean map) throws FileNotFoundException {
         this.converter = converter;
         folder = file.getParentFile();
         randomAccessFile = new RandomAccessFile(file, "r");
         reader = Reader.toJavaReader(randomAccessFile);
+        mappedFile = map ? map(randomAccessFile.getChannel()) : null;
+    }
+
+    /**
+     * Attempt to memory-map a file for reading.
+     *
+     * @param channel the channel of the file to map.
+     * @return the mapped file or null if it couldn't be mapped (e.g. the file is too large or mapping is unsupported).
+     */
+    @Nullable
+    protected static ByteBuffer map(FileChannel channel) {
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) return null;
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException | UnsupportedOperationException e) {
+            return null; // Use the fallback
+        }
+    }
+
+    /**
+     * Check whether this reader is using a memory-mapped file.
+     *
+     * @return true if the file is memory-mapped, false if the RandomAccessFile fallback is used.
+     */
+    public boolean isMapped() {
+        return mappedFile != null;
     }
 
     /**
@@ -48,7 +105,15 @@ public class MCAReader implements AutoCloseable {
 
         // Read into temporary buffer
         byte[] temp = new byte[4096];
-        reader.readBytes(temp);
+        if (mappedFile != null) {
+            if (mappedFile.capacity() < temp.length) throw new IOException("MCA file is too small to contain the header");
+            mappedFile.get(0, temp);
+        } else {
+            synchronized (this) {
+                randomAccessFile.seek(0);
+                reader.readBytes(temp);
+            }
+        }
 
         // Read the header which contains the chunk offsets
         for (int i = 0; i < 1024; i++) {
@@ -68,7 +133,7 @@ public class MCAReader implements AutoCloseable {
     }
 
     /**
-     * Read a column at an offset.
+     * Read a column at an offset, this is safe to call from multiple threads.
      *
      * @param columnCoordPair the global position being read at the offset (used for oversized chunks).
      * @param offset          the offset to read at.
@@ -76,45 +141,84 @@ public class MCAReader implements AutoCloseable {
      * @throws IOException if it failed to read the .mca file.
      */
     public Task<CompoundTag> readColumn(ChunkCoordPair columnCoordPair, int offset) throws IOException {
-        // Seek to the location of the column (4096 sized chunks)
-        randomAccessFile.seek(offset * 4096L);
-
-        int chunkLength = reader.readInt() - 1; // Minus 1 as it includes compression type
+        long position = offset * 4096L; // 4096 sized chunks
+        int chunkLength;
+        byte rawType;
+        ByteBuffer compressedColumn = null;
+        if (mappedFile != null) {
+            // Read the header of the column using absolute gets, so no lock is required
+            if (position + 5 > mappedFile.capacity()) throw new IOException("Column offset is outside of the MCA file");
+            chunkLength = mappedFile.getInt((int) position) - 1; // Minus 1 as it includes compression type
+            rawType = mappedFile.get((int) position + 4);
+
+            // Slice the data for later processing (unless it's an external file)
+            if ((rawType & 0x80) == 0) {
+                if (chunkLength < 0 || position + 5 + chunkLength > mappedFile.capacity()) {
+                    throw new IOException("Column length is outside of the MCA file");
+                }
+                compressedColumn = mappedFile.slice((int) position + 5, chunkLength);
+            }
+        } else {
+            synchronized (this) {
+                // Seek to the location of the column
+                randomAccessFile.seek(position);
+                chunkLength = reader.readInt() - 1; // Minus 1 as it includes compression type
+                rawType = reader.readByte();
+
+                // Read bytes for later processing (unless it's an external file)
+                if ((rawType & 0x80) == 0) {
+                    byte[] bytes = new byte[chunkLength];
+                    reader.readBytes(bytes);
+                    compressedColumn = ByteBuffer.wrap(bytes);
+                }
+            }
+        }
 
         // Check compression type
-        byte rawType = reader.readByte();
         byte compressionType = (byte) (rawType & ~0x80);
 
-        byte[] compressedColumn;
         // Check for oversized chunks (external files)
-        if ((rawType & 0x80) != 0) {
-            // Read the external file
+        if (compressedColumn == null) {
             File file = new File(folder, "c." + columnCoordPair.chunkX() + "." + columnCoordPair.chunkZ() + ".mcc");
-            compressedColumn = Files.readAllBytes(file.toPath());
-        } else {
-            // Read bytes for later processing
-            compressedColumn = new byte[chunkLength];
-            reader.readBytes(compressedColumn);
+            compressedColumn = readExternalFile(file);
         }
+        ByteBuffer finalCompressedColumn = compressedColumn;
 
         // Make a task to do the decompression, this is allowed async as we don't need to do any more sync operations
         return Task.async(
                 "Decompressing column data",
                 TaskWeight.HIGH,
-                () -> decompressColumn(columnCoordPair, compressionType, compressedColumn)
+                () -> decompressColumn(columnCoordPair, compressionType, finalCompressedColumn)
         );
     }
 
+    /**
+     * Read an external .mcc file used for oversized columns, the file is memory-mapped if the region is.
+     *
+     * @param file the .mcc file to read.
+     * @return a buffer holding the contents of the file.
+     * @throws IOException if it failed to read the file.
+     */
+    protected ByteBuffer readExternalFile(File file) throws IOException {
+        // The mapping stays valid after the channel is closed
+        if (mappedFile == null) return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer mapped = map(channel);
+            if (mapped != null) return mapped;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    }
+
     /**
      * Decompress a column.
      *
      * @param chunkCoordPair   the co-ordinates of the chunk being decompressed (used for exceptions).
      * @param compressionType  the compression type.
-     * @param compressedColumn the column to be decompressed.
+     * @param compressedColumn the column to be decompressed, this may be a slice of the memory-mapped file.
      * @return the decompressed compound tag.
      * @throws IOException if it failed to decompress / read.
      */
-    protected CompoundTag decompressColumn(ChunkCoordPair chunkCoordPair, byte compressionType, byte[] compressedColumn) throws IOException {
+    protected CompoundTag decompressColumn(ChunkCoordPair chunkCoordPair, byte compressionType, ByteBuffer compressedColumn) throws IOException {
         try {
             // LZ4 was added in 1.20.5, but there is no harm supporting it here
             return switch (compressionType) {
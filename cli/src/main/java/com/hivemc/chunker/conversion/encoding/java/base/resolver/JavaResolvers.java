@@ -21,6 +21,7 @@ import com.hivemc.chunker.conversion.intermediate.column.entity.type.ChunkerEnti
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.resolver.PaletteEntryCache;
 import com.hivemc.chunker.resolver.Resolver;
 import com.hivemc.chunker.util.LegacyIdentifier;
 
@@ -38,6 +39,13 @@ public interface JavaResolvers {
      */
     ChunkerBlockIdentifier readBlock(CompoundTag input);
 
+    /**
+     * Get the cache used by {@link #readBlock(CompoundTag)}, so that repeated palette entries are only resolved once.
+     *
+     * @return the cache, used to report the hit rate.
+     */
+    PaletteEntryCache<CompoundTag, ChunkerBlockIdentifier> blockPaletteCache();
+
     /**
      * Read a block from a legacy identifier.
      *
@@ -145,13 +153,21 @@ public interface JavaResolvers {
     ChunkerBiomeResolver<Integer> biomeIdResolver();
 
     /**
-     * Write a block to a compound tag.
+     * Write a block to a compound tag, the result is cached for the conversion so that repeated blocks are only
+     * resolved once.
      *
      * @param chunkerBlockIdentifier the block identifier.
-     * @return the block as NBT.
+     * @return the block as NBT, this is shared between calls so shouldn't be modified.
      */
     CompoundTag writeBlock(ChunkerBlockIdentifier chunkerBlockIdentifier);
 
+    /**
+     * Get the cache used by {@link #writeBlock(ChunkerBlockIdentifier)}.
+     *
+     * @return the cache, used to report the hit rate.
+     */
+    PaletteEntryCache<ChunkerBlockIdentifier, CompoundTag> blockOutputCache();
+
     /**
      * Write a block as an identifier.
      *
@@ -22,12 +22,14 @@ import com.hivemc.chunker.conversion.intermediate.column.entity.type.ChunkerEnti
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.mapping.identifier.Identifier;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.resolver.PaletteEntryCache;
 import com.hivemc.chunker.resolver.Resolver;
 import com.hivemc.chunker.util.LegacyIdentifier;
 
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * Builder style class for generating JavaResolvers, this allows you to override specific resolvers while inheriting the
@@ -90,16 +92,29 @@ public class JavaResolversBuilder {
             private final Resolver<CompoundTag, ChunkerItemStack> itemStackResolver = itemStackResolverConstructor.apply(this);
             private final BlockEntityResolver<JavaResolvers, CompoundTag> blockEntityResolver = blockEntityResolverConstructor.apply(this);
             private final EntityResolver<JavaResolvers, CompoundTag> entityResolver = entityResolverConstructor.apply(this);
+            private final PaletteEntryCache<CompoundTag, ChunkerBlockIdentifier> blockPaletteCache = new PaletteEntryCache<>(
+                    enableCaching ? PaletteEntryCache.DEFAULT_MAX_ENTRIES : 0,
+                    CompoundTag::clone
+            );
+            private final PaletteEntryCache<ChunkerBlockIdentifier, CompoundTag> blockOutputCache = new PaletteEntryCache<>(
+                    enableCaching ? PaletteEntryCache.DEFAULT_MAX_ENTRIES : 0,
+                    UnaryOperator.identity()
+            );
 
             @Override
             public ChunkerBlockIdentifier readBlock(CompoundTag input) {
-                return nbtChunkerBlockIdentifierResolver.to(input).orElseGet(() -> {
+                return blockPaletteCache.get(input, (key) -> nbtChunkerBlockIdentifierResolver.to(key).orElseGet(() -> {
                     // Report the error
-                    converter.logMissingMapping(Converter.MissingMappingType.BLOCK, input.toSNBT());
+                    converter.logMissingMapping(Converter.MissingMappingType.BLOCK, key.toSNBT());
 
                     // Return air
                     return ChunkerBlockIdentifier.AIR;
-                });
+                }));
+            }
+
+            @Override
+            public PaletteEntryCache<CompoundTag, ChunkerBlockIdentifier> blockPaletteCache() {
+                return blockPaletteCache;
             }
 
             @Override
@@ -248,13 +263,18 @@ public class JavaResolversBuilder {
 
             @Override
             public CompoundTag writeBlock(ChunkerBlockIdentifier chunkerBlockIdentifier) {
-                return nbtChunkerBlockIdentifierResolver.from(chunkerBlockIdentifier).orElseGet(() -> {
+                return blockOutputCache.get(chunkerBlockIdentifier, (key) -> nbtChunkerBlockIdentifierResolver.from(key).orElseGet(() -> {
                     // Report the error
-                    converter.logMissingMapping(Converter.MissingMappingType.BLOCK, String.valueOf(chunkerBlockIdentifier));
+                    converter.logMissingMapping(Converter.MissingMappingType.BLOCK, String.valueOf(key));
 
                     // Return air
                     return nbtChunkerBlockIdentifierResolver.from(ChunkerBlockIdentifier.AIR).orElseThrow();
-                });
+                }));
+            }
+
+            @Override
+            public PaletteEntryCache<ChunkerBlockIdentifier, CompoundTag> blockOutputCache() {
+                return blockOutputCache;
             }
 
             @Override
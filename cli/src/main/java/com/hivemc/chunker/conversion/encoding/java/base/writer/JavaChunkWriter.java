@@ -5,6 +5,7 @@ import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.nbt.tags.TagWithName;
 import com.hivemc.chunker.nbt.tags.array.ByteArrayTag;
@@ -119,6 +120,9 @@ public class JavaChunkWriter {
         byte[] dataArray = new byte[2048];
 
         if (!chunk.isEmpty()) {
+            // Resolve each key of the palette once rather than for every block
+            LegacyIdentifier air = resolvers.writeLegacyBlockIdentifier(ChunkerBlockIdentifier.AIR);
+            Palette<LegacyIdentifier> palette = chunk.getPalette().map(identifier -> identifier == null ? air : resolvers.writeLegacyBlockIdentifier(identifier));
             for (int i = 0; i < 4096; i++) {
                 int x = i & 0xF;
                 int z = (i >> 4) & 0xF;
@@ -127,8 +131,7 @@ public class JavaChunkWriter {
                 boolean lowestBits = (i & 1) == 0;
 
                 // Get key + value
-                ChunkerBlockIdentifier identifier = chunk.getPalette().get(x, y, z, ChunkerBlockIdentifier.AIR);
-                LegacyIdentifier legacyIdentifier = resolvers.writeLegacyBlockIdentifier(identifier);
+                LegacyIdentifier legacyIdentifier = palette.get(x, y, z, air);
 
                 // Set block id
                 byte blockValue = (byte) (legacyIdentifier.id() & 0xFF);
@@ -157,8 +160,7 @@ public class JavaChunkWriter {
      */
     protected void writeLightData(ChunkerChunk chunk, List<TagWithName<?>> output) {
         if (chunk.getBlockLight() != null) {
-            byte[] blockLightArray = ByteUtil.convertToNibbleArray(chunk.getBlockLight());
-            output.add(new TagWithName<>("BlockLight", new ByteArrayTag(blockLightArray)));
+            output.add(new TagWithName<>("BlockLight", new ByteArrayTag(chunk.getBlockLight().getData())));
         } else {
             output.add(new TagWithName<>("BlockLight", new ByteArrayTag(EMPTY_LIGHT_ARRAY)));
         }
@@ -166,8 +168,7 @@ public class JavaChunkWriter {
         // SkyLight is not in the nether
         if (dimension != Dimension.NETHER) {
             if (chunk.getSkyLight() != null) {
-                byte[] skyLightArray = ByteUtil.convertToNibbleArray(chunk.getSkyLight());
-                output.add(new TagWithName<>("SkyLight", new ByteArrayTag(skyLightArray)));
+                output.add(new TagWithName<>("SkyLight", new ByteArrayTag(chunk.getSkyLight().getData())));
             } else {
                 output.add(new TagWithName<>("SkyLight", new ByteArrayTag(EMPTY_LIGHT_ARRAY)));
             }
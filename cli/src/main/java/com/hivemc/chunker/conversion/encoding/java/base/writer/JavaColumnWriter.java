@@ -2,7 +2,6 @@ package com.hivemc.chunker.conversion.encoding.java.base.writer;
 
 import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.base.writer.ColumnWriter;
-import com.hivemc.chunker.conversion.encoding.bedrock.util.ColumnUtil;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
@@ -12,6 +11,7 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.HeightMapGenerator;
 import com.hivemc.chunker.conversion.intermediate.column.heightmap.JavaLegacyHeightMap;
 import com.hivemc.chunker.conversion.intermediate.level.ChunkerLevel;
 import com.hivemc.chunker.conversion.intermediate.level.ChunkerPortal;
@@ -156,12 +156,12 @@ public class JavaColumnWriter implements ColumnWriter {
      * @return the generated height map.
      */
     protected JavaLegacyHeightMap generateHeightMap(ChunkerColumn column) {
+        int[] highest = HeightMapGenerator.generate(column, HeightMapGenerator.Type.LIT_OR_SLAB)[0];
         short[][] heightMap = new short[16][16];
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                OptionalInt highest = ColumnUtil.getHighestLitOrSlabBlock(column, x, z);
-                short value = (short) (highest.orElse(-1) + 1);
-                heightMap[x][z] = value;
+                int y = highest[(z << 4) | x];
+                heightMap[x][z] = (short) (y == HeightMapGenerator.NONE ? 0 : y + 1);
             }
         }
         return new JavaLegacyHeightMap(heightMap);
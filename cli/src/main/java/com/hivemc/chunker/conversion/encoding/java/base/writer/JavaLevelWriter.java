@@ -67,6 +67,11 @@ public class JavaLevelWriter implements LevelWriter, JavaReaderWriter {
                 : resolvers.biomeIdResolver().getSupportedBiomes();
     }
 
+    @Override
+    public boolean isLightStored() {
+        return true;
+    }
+
     @Override
     public WorldWriter writeLevel(ChunkerLevel chunkerLevel) {
         // Ensure directory has been made
@@ -492,6 +497,11 @@ public class JavaLevelWriter implements LevelWriter, JavaReaderWriter {
         // Not used, flushing of data / handling is done in the world writer / column writer
     }
 
+    @Override
+    public void free() throws Exception {
+        converter.logPaletteCacheStatistics(resolvers.blockOutputCache());
+    }
+
     @Override
     public Version getVersion() {
         return version;
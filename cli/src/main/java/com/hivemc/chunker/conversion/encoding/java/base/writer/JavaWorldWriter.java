@@ -10,6 +10,8 @@ import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.nbt.io.Writer;
 import com.hivemc.chunker.nbt.tags.Tag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -121,54 +123,57 @@ public class JavaWorldWriter implements WorldWriter {
         // Check whether an oversized file should be used
         boolean oversized = bytes.length >= OVERSIZED_THRESHOLD;
 
-        // Write the oversized file data
-        if (oversized) {
-            File oversizedFile = new File(file.getParent(), "c." + chunkCoordPair.chunkX() + "." + chunkCoordPair.chunkZ() + ".mcc");
-            Files.write(oversizedFile.toPath(), bytes);
-        }
-
         // Sectors are 4KB blocks
         // sectorCount = bytes.length + length header + compression type
         int sectorCount = oversized ? 1 : (int) Math.ceil((bytes.length + 5) / 4096D);
 
-        // Compute the file
-        RandomAccessFile randomAccessFile = mcaFiles.computeIfAbsent(file, (target) -> {
-            try {
-                return new RandomAccessFile(target, "rw");
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException(e);
-            }
-        });
-
-        // We'll need to use locks to ensure we're not writing two columns at once
-        synchronized (randomAccessFile) {
-            Writer writer = Writer.toJavaWriter(randomAccessFile);
-
-            // Start by writing the data at the end (ensure we don't write in the header space)
-            randomAccessFile.seek(Math.max(8192, randomAccessFile.length()));
-
-            // Get the current position, so it can be used to know the sector
-            long position = randomAccessFile.getFilePointer();
-            int sectorPosition = (int) (position >> 12);
-
-            // Write the data with length/type
+        // Write the data to disk using the I/O threads
+        Task.asyncIO("Writing MCA data", TaskWeight.LOW, () -> {
+            // Write the oversized file data
             if (oversized) {
-                writer.writeInt(1); // 1 for compression type
-                writer.writeByte(0x80 | 2); // External file byte + ZLib compression = 2
-            } else {
-                writer.writeInt(bytes.length + 1); // size + 1 for compression type
-                writer.writeByte(2); // ZLib compression = 2
-                writer.writeBytes(bytes);
+                File oversizedFile = new File(file.getParent(), "c." + chunkCoordPair.chunkX() + "." + chunkCoordPair.chunkZ() + ".mcc");
+                Files.write(oversizedFile.toPath(), bytes);
             }
 
-            // Write any needed padding so file can be looked up in 4kb sectors
-            randomAccessFile.setLength((long) (sectorPosition + sectorCount) << 12);
-
-            // Write the location of our data + sector count to the right place
-            randomAccessFile.seek(columnLookupOffset);
-            writer.writeUnsignedInt24(sectorPosition);
-            writer.writeByte(sectorCount);
-        }
+            // Compute the file
+            RandomAccessFile randomAccessFile = mcaFiles.computeIfAbsent(file, (target) -> {
+                try {
+                    return new RandomAccessFile(target, "rw");
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            // We'll need to use locks to ensure we're not writing two columns at once
+            synchronized (randomAccessFile) {
+                Writer writer = Writer.toJavaWriter(randomAccessFile);
+
+                // Start by writing the data at the end (ensure we don't write in the header space)
+                randomAccessFile.seek(Math.max(8192, randomAccessFile.length()));
+
+                // Get the current position, so it can be used to know the sector
+                long position = randomAccessFile.getFilePointer();
+                int sectorPosition = (int) (position >> 12);
+
+                // Write the data with length/type
+                if (oversized) {
+                    writer.writeInt(1); // 1 for compression type
+                    writer.writeByte(0x80 | 2); // External file byte + ZLib compression = 2
+                } else {
+                    writer.writeInt(bytes.length + 1); // size + 1 for compression type
+                    writer.writeByte(2); // ZLib compression = 2
+                    writer.writeBytes(bytes);
+                }
+
+                // Write any needed padding so file can be looked up in 4kb sectors
+                randomAccessFile.setLength((long) (sectorPosition + sectorCount) << 12);
+
+                // Write the location of our data + sector count to the right place
+                randomAccessFile.seek(columnLookupOffset);
+                writer.writeUnsignedInt24(sectorPosition);
+                writer.writeByte(sectorCount);
+            }
+        });
     }
 
     /**
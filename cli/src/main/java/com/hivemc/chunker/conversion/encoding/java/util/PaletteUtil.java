@@ -44,32 +44,24 @@ public class PaletteUtil {
      * Write values to a 1.13 formatted palette.
      *
      * @param minimumBitsPerEntry the minimum number of bits allowed per entry.
-     * @param dimensionSize       the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize       the dimension size of the array, e.g. 16 for a normal chunk.
      * @param keyCount            the number of possible keys.
-     * @param values              the lookup to encode, if null it uses empty values.
+     * @param values              the lookup to encode in YZX order, if null it uses empty values.
      * @return the encoded palette values.
      */
-    public static long[] writePaletteValues1_13(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [][][] values) {
+    public static long[] writePaletteValues1_13(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [] values) {
         // Calculate bitsPerEntry
         int bitsPerEntry = minimumBitsPerEntry;
         while (keyCount > 1 << bitsPerEntry) bitsPerEntry++;
         long maxEntryValue = (1L << bitsPerEntry) - 1;
 
         int valuesPerPalette = dimensionSize * dimensionSize * dimensionSize;
-        int dimensionBitMask = dimensionSize - 1;
-        int zDimensionBitShift = Integer.numberOfTrailingZeros(dimensionSize);
-        int yDimensionBitShift = zDimensionBitShift + zDimensionBitShift;
 
         // Based on code from https://github.com/ViaVersion/ViaVersion/blob/9ea6c34543d6052f1e91b5035e87b756cb2358b8/common/src/main/java/us/myles/ViaVersion/util/CompactArrayUtil.java
         long[] encodedValues = new long[(int) Math.ceil(valuesPerPalette * bitsPerEntry / 64.0)];
         if (values != null) {
             for (int i = 0; i < valuesPerPalette; i++) {
-                // Get entry
-                int x = i & dimensionBitMask;
-                int z = (i >> zDimensionBitShift) & dimensionBitMask;
-                int y = (i >> yDimensionBitShift) & dimensionBitMask;
-
-                short value = values[x][y][z];
+                short value = values[i];
                 int bitIndex = i * bitsPerEntry;
                 int startIndex = bitIndex / 64;
                 int endIndex = ((i + 1) * bitsPerEntry - 1) / 64;
@@ -89,21 +81,18 @@ public class PaletteUtil {
      * Write values to a 1.16 formatted palette.
      *
      * @param minimumBitsPerEntry the minimum number of bits allowed per entry.
-     * @param dimensionSize       the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize       the dimension size of the array, e.g. 16 for a normal chunk.
      * @param keyCount            the number of possible keys.
-     * @param values              the lookup to encode, if null it uses empty values.
+     * @param values              the lookup to encode in YZX order, if null it uses empty values.
      * @return the encoded palette values.
      */
-    public static long[] writePaletteValues1_16(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [][][] values) {
+    public static long[] writePaletteValues1_16(int minimumBitsPerEntry, int dimensionSize, int keyCount, short @Nullable [] values) {
         // Calculate bitsPerEntry
         int bitsPerEntry = minimumBitsPerEntry;
         while (keyCount > 1 << bitsPerEntry) bitsPerEntry++;
         long maxEntryValue = (1L << bitsPerEntry) - 1;
 
         int valuesPerPalette = dimensionSize * dimensionSize * dimensionSize;
-        int dimensionBitMask = dimensionSize - 1;
-        int zDimensionBitShift = Integer.numberOfTrailingZeros(dimensionSize);
-        int yDimensionBitShift = zDimensionBitShift + zDimensionBitShift;
 
         // Calculate magic value (based on Minecraft)
         char valuesPerLong = (char) (64 / bitsPerEntry);
@@ -115,13 +104,8 @@ public class PaletteUtil {
         long[] encodedValues = new long[(valuesPerPalette + valuesPerLong - 1) / valuesPerLong];
         if (values != null) {
             for (int i = 0; i < valuesPerPalette; i++) {
-                // Get entry
-                int x = i & dimensionBitMask;
-                int z = (i >> zDimensionBitShift) & dimensionBitMask;
-                int y = (i >> yDimensionBitShift) & dimensionBitMask;
-
                 // Grab value + indexes
-                short value = values[x][y][z];
+                short value = values[i];
                 int cellIndex = (int) ((i * divideMul + divideAdd >> 32) >> divideShift);
                 int bitIndex = (i - cellIndex * valuesPerLong) * bitsPerEntry;
                 encodedValues[cellIndex] = (encodedValues[cellIndex] & ~(maxEntryValue << bitIndex)) | ((value & maxEntryValue) << bitIndex);
@@ -135,11 +119,11 @@ public class PaletteUtil {
      * Read values from a palette and use the length to detect the version.
      *
      * @param minimumBitsPerEntry the minimum number of bits per an entry.
-     * @param dimensionSize       the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize       the dimension size of the array, e.g. 16 for a normal chunk.
      * @param encodedValues       the encoded values.
-     * @return the decoded palette values.
+     * @return the decoded palette values in YZX order.
      */
-    public static short[][][] readPaletteValues(int minimumBitsPerEntry, int dimensionSize, int keyCount, long[] encodedValues) {
+    public static short[] readPaletteValues(int minimumBitsPerEntry, int dimensionSize, int keyCount, long[] encodedValues) {
         // Calculate bitsPerEntry
         int bitsPerEntry = minimumBitsPerEntry;
         while (keyCount > 1 << bitsPerEntry) bitsPerEntry++;
@@ -162,16 +146,13 @@ public class PaletteUtil {
      * Read values from a 1.13 formatted palette.
      *
      * @param bitsPerEntry  the number of bits used per palette key index.
-     * @param dimensionSize the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize the dimension size of the array, e.g. 16 for a normal chunk.
      * @param encodedValues the encoded values.
-     * @return the decoded palette values.
+     * @return the decoded palette values in YZX order.
      */
-    public static short[][][] readPaletteValues1_13(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
-        short[][][] output = new short[dimensionSize][dimensionSize][dimensionSize];
+    public static short[] readPaletteValues1_13(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
+        short[] output = new short[dimensionSize * dimensionSize * dimensionSize];
         int valuesPerPalette = dimensionSize * dimensionSize * dimensionSize;
-        int dimensionBitMask = dimensionSize - 1;
-        int zDimensionBitShift = Integer.numberOfTrailingZeros(dimensionSize);
-        int yDimensionBitShift = zDimensionBitShift + zDimensionBitShift;
 
         // Based on code from https://github.com/ViaVersion/ViaVersion/blob/9ea6c34543d6052f1e91b5035e87b756cb2358b8/common/src/main/java/us/myles/ViaVersion/util/CompactArrayUtil.java
         long maxEntryValue = (1L << bitsPerEntry) - 1;
@@ -188,11 +169,8 @@ public class PaletteUtil {
                 value = (short) ((((encodedValues[startIndex] >>> startBitSubIndex) | (encodedValues[endIndex] << endBitSubIndex)) & maxEntryValue) & 0xFFFF);
             }
 
-            // Set entry
-            int x = i & dimensionBitMask;
-            int z = (i >> zDimensionBitShift) & dimensionBitMask;
-            int y = (i >> yDimensionBitShift) & dimensionBitMask;
-            output[x][y][z] = value;
+            // Set entry (the index is already in YZX order)
+            output[i] = value;
         }
 
         return output;
@@ -202,16 +180,13 @@ public class PaletteUtil {
      * Read values from a 1.16 formatted palette.
      *
      * @param bitsPerEntry  the number of bits used per palette key index.
-     * @param dimensionSize the dimension size of the array, e.g. [16][16][16] for a normal chunk.
+     * @param dimensionSize the dimension size of the array, e.g. 16 for a normal chunk.
      * @param encodedValues the encoded values.
-     * @return the decoded palette values.
+     * @return the decoded palette values in YZX order.
      */
-    public static short[][][] readPaletteValues1_16(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
-        short[][][] output = new short[dimensionSize][dimensionSize][dimensionSize];
+    public static short[] readPaletteValues1_16(int bitsPerEntry, int dimensionSize, long[] encodedValues) {
+        short[] output = new short[dimensionSize * dimensionSize * dimensionSize];
         int valuesPerPalette = dimensionSize * dimensionSize * dimensionSize;
-        int dimensionBitMask = dimensionSize - 1;
-        int zDimensionBitShift = Integer.numberOfTrailingZeros(dimensionSize);
-        int yDimensionBitShift = zDimensionBitShift + zDimensionBitShift;
 
         // Use maxEntryValue for bitmask
         long maxEntryValue = (1L << bitsPerEntry) - 1;
@@ -228,13 +203,54 @@ public class PaletteUtil {
             int bitIndex = (i - cellIndex * valuesPerLong) * bitsPerEntry;
             short value = (short) ((encodedValues[cellIndex] >>> bitIndex) & maxEntryValue);
 
-            // Set entry
-            int x = i & dimensionBitMask;
-            int z = (i >> zDimensionBitShift) & dimensionBitMask;
-            int y = (i >> yDimensionBitShift) & dimensionBitMask;
-            output[x][y][z] = value;
+            // Set entry (the index is already in YZX order)
+            output[i] = value;
         }
 
         return output;
     }
+
+    /**
+     * Write height map values in the 1.13 format, where values can span two longs.
+     *
+     * @param bitsPerEntry the number of bits used per value.
+     * @param values       the values to encode in ZX order.
+     * @return the encoded height map.
+     */
+    public static long[] writeHeightMapValues1_13(int bitsPerEntry, int[] values) {
+        long maxEntryValue = (1L << bitsPerEntry) - 1;
+        long[] encodedValues = new long[(values.length * bitsPerEntry + 63) / 64];
+        for (int i = 0; i < values.length; i++) {
+            long value = values[i] & maxEntryValue;
+            int bitIndex = i * bitsPerEntry;
+            int startIndex = bitIndex / 64;
+            int startBitSubIndex = bitIndex % 64;
+            encodedValues[startIndex] |= value << startBitSubIndex;
+
+            // Write the remaining bits to the next long
+            if (startBitSubIndex + bitsPerEntry > 64) {
+                encodedValues[startIndex + 1] |= value >>> (64 - startBitSubIndex);
+            }
+        }
+        return encodedValues;
+    }
+
+    /**
+     * Write height map values in the 1.16 format, where values are padded so they don't span two longs.
+     *
+     * @param bitsPerEntry the number of bits used per value.
+     * @param values       the values to encode in ZX order.
+     * @return the encoded height map.
+     */
+    public static long[] writeHeightMapValues1_16(int bitsPerEntry, int[] values) {
+        long maxEntryValue = (1L << bitsPerEntry) - 1;
+        int valuesPerLong = 64 / bitsPerEntry;
+        long[] encodedValues = new long[(values.length + valuesPerLong - 1) / valuesPerLong];
+        for (int i = 0; i < values.length; i++) {
+            int cellIndex = i / valuesPerLong;
+            int bitIndex = (i - cellIndex * valuesPerLong) * bitsPerEntry;
+            encodedValues[cellIndex] |= (values[i] & maxEntryValue) << bitIndex;
+        }
+        return encodedValues;
+    }
 }
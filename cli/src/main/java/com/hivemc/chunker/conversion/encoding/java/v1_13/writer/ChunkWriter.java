@@ -47,14 +47,14 @@ public class ChunkWriter extends com.hivemc.chunker.conversion.encoding.java.v1_
 
         // Only fetch the values if it's a short based, null should be used when there are no values to write
         // e.g. empty palette or palette with the same value
-        short[][][] values = null;
+        short[] values = null;
         if (palette instanceof ShortBasedPalette<ChunkerBlockIdentifier> shortBasedPalette) {
             values = shortBasedPalette.getValues();
         }
         writeBlockPaletteValues(keyCount, values, output);
     }
 
-    protected void writeBlockPaletteValues(int keyCount, short[][][] values, List<TagWithName<?>> output) {
+    protected void writeBlockPaletteValues(int keyCount, short[] values, List<TagWithName<?>> output) {
         // Encode the values as a long then write them
         long[] encodedValues = PaletteUtil.writePaletteValues1_13(PaletteUtil.MINIMUM_BITS_PER_ENTRY_BLOCKS, 16, keyCount, values);
         output.add(new TagWithName<>("BlockStates", new LongArrayTag(encodedValues)));
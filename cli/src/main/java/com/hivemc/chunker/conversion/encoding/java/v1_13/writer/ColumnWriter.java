@@ -4,8 +4,10 @@ import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
 import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaChunkWriter;
 import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaWorldWriter;
+import com.hivemc.chunker.conversion.encoding.java.util.PaletteUtil;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.biome.ChunkerBiome;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.HeightMapGenerator;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 import com.hivemc.chunker.nbt.tags.TagWithName;
 import com.hivemc.chunker.nbt.tags.array.IntArrayTag;
@@ -31,8 +33,64 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.java.v1
 
     @Override
     protected TagWithName<?> writeHeightMap(ChunkerColumn column) {
-        // HeightMap isn't written as it changed
-        return null;
+        if (!shouldWriteHeightMaps()) return null;
+
+        // Only WORLD_SURFACE is written as the other types need collision data, the game generates any missing types
+        int minChunkY = getMinChunkY();
+        int maxChunkY = getMaxChunkY();
+        int minY = minChunkY << 4;
+        int height = (maxChunkY - minChunkY + 1) << 4;
+        int[] highest = HeightMapGenerator.generate(column, minChunkY, maxChunkY, HeightMapGenerator.Type.WORLD_SURFACE)[0];
+
+        // Values are stored as the Y above the highest block relative to the bottom of the world
+        int[] values = new int[highest.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = highest[i] == HeightMapGenerator.NONE ? 0 : highest[i] + 1 - minY;
+        }
+
+        CompoundTag heightMaps = new CompoundTag(1);
+        heightMaps.put("WORLD_SURFACE", writeHeightMapValues(32 - Integer.numberOfLeadingZeros(height), values));
+        return new TagWithName<>("Heightmaps", heightMaps);
+    }
+
+    /**
+     * Whether the height maps should be written for this column, this should only be true if the height of the
+     * dimension is known.
+     *
+     * @return true if the height maps should be written.
+     */
+    protected boolean shouldWriteHeightMaps() {
+        // 1.13 used different height map types (e.g. LIGHT_BLOCKING), WORLD_SURFACE was added in 1.14
+        return false;
+    }
+
+    /**
+     * Get the lowest sub-chunk Y of the dimension being written.
+     *
+     * @return the lowest sub-chunk Y.
+     */
+    protected int getMinChunkY() {
+        return 0;
+    }
+
+    /**
+     * Get the highest sub-chunk Y of the dimension being written.
+     *
+     * @return the highest sub-chunk Y.
+     */
+    protected int getMaxChunkY() {
+        return 15;
+    }
+
+    /**
+     * Encode the height map values.
+     *
+     * @param bitsPerEntry the number of bits used per value.
+     * @param values       the values in ZX order.
+     * @return the encoded values.
+     */
+    protected long[] writeHeightMapValues(int bitsPerEntry, int[] values) {
+        return PaletteUtil.writeHeightMapValues1_13(bitsPerEntry, values);
     }
 
     @Override
@@ -13,6 +13,12 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.java.v1
         super(parent, converter, resolvers, dimension);
     }
 
+    @Override
+    protected boolean shouldWriteHeightMaps() {
+        // WORLD_SURFACE was added in 1.14
+        return true;
+    }
+
     @Override
     public JavaChunkWriter createChunkWriter(ChunkerColumn column) {
         return new ChunkWriter(converter, resolvers, dimension, column);
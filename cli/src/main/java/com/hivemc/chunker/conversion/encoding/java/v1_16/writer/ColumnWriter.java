@@ -4,6 +4,7 @@ import com.hivemc.chunker.conversion.encoding.base.Converter;
 import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
 import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaChunkWriter;
 import com.hivemc.chunker.conversion.encoding.java.base.writer.JavaWorldWriter;
+import com.hivemc.chunker.conversion.encoding.java.util.PaletteUtil;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.world.Dimension;
 
@@ -12,6 +13,12 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.java.v1
         super(parent, converter, resolvers, dimension);
     }
 
+    @Override
+    protected long[] writeHeightMapValues(int bitsPerEntry, int[] values) {
+        // Values no longer span multiple longs
+        return PaletteUtil.writeHeightMapValues1_16(bitsPerEntry, values);
+    }
+
     @Override
     public JavaChunkWriter createChunkWriter(ChunkerColumn column) {
         return new ChunkWriter(converter, resolvers, dimension, column);
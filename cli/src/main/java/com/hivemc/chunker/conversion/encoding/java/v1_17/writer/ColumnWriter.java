@@ -12,6 +12,12 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.java.v1
         super(parent, converter, resolvers, dimension);
     }
 
+    @Override
+    protected boolean shouldWriteHeightMaps() {
+        // The height depends on whether the world uses the Caves & Cliffs data pack
+        return false;
+    }
+
     @Override
     public JavaChunkWriter createChunkWriter(ChunkerColumn column) {
         return new ChunkWriter(converter, resolvers, dimension, column);
@@ -60,6 +60,22 @@ public class ColumnWriter extends com.hivemc.chunker.conversion.encoding.java.v1
         }
     }
 
+    @Override
+    protected boolean shouldWriteHeightMaps() {
+        // Only the height of the vanilla dimensions is known
+        return dimension == Dimension.OVERWORLD || dimension == Dimension.NETHER || dimension == Dimension.THE_END;
+    }
+
+    @Override
+    protected int getMinChunkY() {
+        return dimension == Dimension.OVERWORLD ? -4 : 0;
+    }
+
+    @Override
+    protected int getMaxChunkY() {
+        return dimension == Dimension.OVERWORLD ? 19 : 15;
+    }
+
     @Override
     public JavaChunkWriter createChunkWriter(ChunkerColumn column) {
         return new ChunkWriter(converter, resolvers, dimension, column);
@@ -6,7 +6,7 @@ import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
-import it.unimi.dsi.fastutil.Pair;
+import com.hivemc.chunker.conversion.intermediate.column.heightmap.HeightMapGenerator;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
@@ -41,17 +41,19 @@ public class PreviewColumnWriter implements ColumnWriter {
         int[] argb = new int[256];
         boolean present = false;
 
+        // Find the highest block that has RGB color for every column
+        int[] highest = HeightMapGenerator.generate(chunkerColumn, ChunkerBlockIdentifier::hasRGBColor);
+
         // Loop through each column to calculate color
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                // Find the highest block that has RGB color
-                Pair<Integer, ChunkerBlockIdentifier> block = chunkerColumn.getHighestBlock(x, z, ChunkerBlockIdentifier::hasRGBColor);
-                if (block != null) {
+                int y = highest[(z << 4) | x];
+                if (y != HeightMapGenerator.NONE) {
                     // Mark the chunk as present
                     present = true;
 
                     // Grab the color
-                    int rgb = block.value().getRGBColor();
+                    int rgb = chunkerColumn.getBlock(x, y, z).getRGBColor();
 
                     // Convert to ARGB
                     argb[(z << 4) | x] = rgb == 0 ? 0 : 0xFF000000 | rgb;
@@ -0,0 +1,345 @@
+package com.hivemc.chunker.conversion.handlers.light;
+
+import com.hivemc.chunker.conversion.WorldConverter;
+import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.light.LightEngine;
+import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+import java.util.*;
+
+/**
+ * A Column handler which generates light for columns which don't have any, so that the output doesn't need to be
+ * re-lit when it is first loaded.
+ * <p>
+ * Light is generated using the blocks of the 8 neighbouring columns, so a column is held until each of its neighbours
+ * has been read (or is known to be missing) and until any neighbours which read its blocks have been lit. This only
+ * depends on the direct neighbours, so columns are released as reading moves across the world rather than being held
+ * in connected clusters. The state is guarded by this handler's monitor, lighting and submitting to the delegate are
+ * done after the monitor is released and a region is only flushed to the delegate once all its columns are submitted.
+ */
+public class ColumnLightingConversionHandler implements ColumnConversionHandler {
+    private final ColumnConversionHandler delegate;
+    private final boolean skyLight;
+    private final Map<ChunkCoordPair, HeldColumn> held = new Object2ReferenceOpenHashMap<>();
+    private final Set<RegionCoordPair> incompleteRegions = new ObjectOpenHashSet<>();
+    private final Object2IntMap<RegionCoordPair> activeColumns = new Object2IntOpenHashMap<>();
+    private final Set<RegionCoordPair> pendingFlushes = new ObjectOpenHashSet<>();
+    private List<Runnable> cachedWork = new ArrayList<>();
+    private int peakHeldColumns;
+
+    /**
+     * Create a new column lighting conversion handler.
+     *
+     * @param delegate     the delegate to call after lighting.
+     * @param chunkerWorld the world being lit, used for tracking which regions have been processed.
+     */
+    public ColumnLightingConversionHandler(ColumnConversionHandler delegate, ChunkerWorld chunkerWorld) {
+        this.delegate = delegate;
+        incompleteRegions.addAll(chunkerWorld.getRegions());
+
+        // The nether and the end don't have sky light
+        skyLight = chunkerWorld.getDimension() != Dimension.NETHER && chunkerWorld.getDimension() != Dimension.THE_END;
+    }
+
+    /**
+     * Get the position of a neighbour.
+     *
+     * @param position the position of the column.
+     * @param index    the index of the neighbour, see {@link LightEngine#getNeighbourIndex(int, int)}.
+     * @return the position of the neighbour.
+     */
+    private static ChunkCoordPair getNeighbourPosition(ChunkCoordPair position, int index) {
+        return new ChunkCoordPair(position.chunkX() + (index % 3) - 1, position.chunkZ() + (index / 3) - 1);
+    }
+
+    @Override
+    public void convertColumn(ChunkerColumn column) {
+        List<Runnable> work;
+        synchronized (this) {
+            HeldColumn heldColumn = new HeldColumn(column, LightEngine.needsLight(column));
+            ChunkCoordPair position = column.getPosition();
+            activeColumns.mergeInt(position.getRegion(), 1, Integer::sum);
+
+            // Link the neighbours which are already held and wait for any which haven't been read yet
+            for (int i = 0; i < LightEngine.NEIGHBOURS; i++) {
+                ChunkCoordPair neighbourPosition = getNeighbourPosition(position, i);
+                if (neighbourPosition.equals(position)) continue;
+                HeldColumn neighbour = held.get(neighbourPosition);
+                if (neighbour != null) {
+                    link(heldColumn, neighbour, i);
+                } else if (incompleteRegions.contains(neighbourPosition.getRegion())) {
+                    heldColumn.unresolved |= 1 << i;
+                }
+            }
+            held.put(position, heldColumn);
+            peakHeldColumns = Math.max(peakHeldColumns, held.size());
+
+            // The column may already be ready
+            update(heldColumn);
+            work = takeWork();
+        }
+
+        // Light / submit the columns which are ready without holding the lock
+        runWork(work);
+    }
+
+    /**
+     * Link a column with a neighbour which is held, this should be called while holding the lock.
+     *
+     * @param column    the column which was read.
+     * @param neighbour the neighbour which is held.
+     * @param index     the index of the neighbour relative to the column.
+     */
+    protected void link(HeldColumn column, HeldColumn neighbour, int index) {
+        int opposite = LightEngine.NEIGHBOURS - 1 - index;
+        column.neighbours[index] = neighbour;
+        neighbour.neighbours[opposite] = column;
+        neighbour.unresolved &= ~(1 << opposite);
+
+        // Columns which still need light read the blocks of the other
+        if (column.lightPending) {
+            neighbour.readers++;
+        }
+        if (neighbour.lightPending) {
+            column.readers++;
+        }
+        update(neighbour);
+    }
+
+    /**
+     * Start lighting or release a column if it is ready, this should be called while holding the lock.
+     *
+     * @param column the column to check.
+     */
+    protected void update(HeldColumn column) {
+        if (column.released || column.lighting || column.unresolved != 0) return;
+
+        // Light the column now that every neighbour is known
+        if (column.lightPending) {
+            column.lighting = true;
+            cachedWork.add(() -> Task.async("Generating light", TaskWeight.HIGH, () -> LightEngine.light(column.column, column.getNeighbourColumns(), skyLight))
+                    .then("Releasing lit column", TaskWeight.NORMAL, () -> finishLighting(column)));
+            return;
+        }
+
+        // Release the column once no neighbour needs to read it
+        if (column.readers == 0) {
+            release(column);
+        }
+    }
+
+    /**
+     * Mark a column as lit and release any columns which were waiting for it.
+     *
+     * @param column the column which has been lit.
+     */
+    protected void finishLighting(HeldColumn column) {
+        List<Runnable> work;
+        synchronized (this) {
+            column.lighting = false;
+            column.lightPending = false;
+            for (HeldColumn neighbour : column.neighbours) {
+                if (neighbour == null || neighbour.released) continue;
+                neighbour.readers--;
+                update(neighbour);
+            }
+            update(column);
+            work = takeWork();
+        }
+
+        // Submit the columns which are ready without holding the lock
+        runWork(work);
+    }
+
+    /**
+     * Queue a column to be submitted to the delegate, this should be called while holding the lock.
+     *
+     * @param column the column to release.
+     */
+    protected void release(HeldColumn column) {
+        column.released = true;
+        held.remove(column.column.getPosition());
+
+        // Drop the links so released columns don't keep each other alive
+        Arrays.fill(column.neighbours, null);
+        cachedWork.add(() -> {
+            delegate.convertColumn(column.column);
+            finishSubmitting(column.column.getPosition().getRegion());
+        });
+    }
+
+    /**
+     * Mark a column as submitted and flush the region if it was waiting for the column.
+     *
+     * @param regionCoordPair the region of the column.
+     */
+    protected void finishSubmitting(RegionCoordPair regionCoordPair) {
+        boolean flush = false;
+        synchronized (this) {
+            if (activeColumns.mergeInt(regionCoordPair, -1, Integer::sum) <= 0) {
+                activeColumns.removeInt(regionCoordPair);
+                flush = pendingFlushes.remove(regionCoordPair);
+            }
+        }
+
+        // Flush outside the lock
+        if (flush) {
+            delegate.flushRegion(regionCoordPair);
+        }
+    }
+
+    @Override
+    public void flushRegion(RegionCoordPair regionCoordPair) {
+        List<Runnable> work;
+        synchronized (this) {
+            // Any columns in the region which haven't been read are missing
+            incompleteRegions.remove(regionCoordPair);
+            List<HeldColumn> resolved = new ArrayList<>();
+            for (HeldColumn column : held.values()) {
+                if (column.unresolved == 0) continue;
+                ChunkCoordPair position = column.column.getPosition();
+                for (int i = 0; i < LightEngine.NEIGHBOURS; i++) {
+                    if ((column.unresolved & (1 << i)) != 0 && regionCoordPair.equals(getNeighbourPosition(position, i).getRegion())) {
+                        column.unresolved &= ~(1 << i);
+                    }
+                }
+                resolved.add(column);
+            }
+            for (HeldColumn column : resolved) {
+                update(column);
+            }
+
+            // Flush the region once all of its columns have been submitted
+            if (activeColumns.containsKey(regionCoordPair)) {
+                pendingFlushes.add(regionCoordPair);
+            } else {
+                cachedWork.add(() -> delegate.flushRegion(regionCoordPair));
+            }
+            work = takeWork();
+        }
+
+        // Light / submit the columns which are ready without holding the lock
+        runWork(work);
+    }
+
+    /**
+     * Get the highest number of columns which were held at once while waiting for their neighbours.
+     *
+     * @return the peak held column count.
+     */
+    public int getPeakPendingColumns() {
+        synchronized (this) {
+            return peakHeldColumns;
+        }
+    }
+
+    /**
+     * Take the work queued while holding the lock, this should be called before releasing the lock.
+     *
+     * @return the queued work which should be run after releasing the lock.
+     */
+    protected List<Runnable> takeWork() {
+        if (cachedWork.isEmpty()) return Collections.emptyList();
+
+        // Swap the list so the work can be run without the lock
+        List<Runnable> work = cachedWork;
+        cachedWork = new ArrayList<>();
+        return work;
+    }
+
+    /**
+     * Run work which was queued while holding the lock, this should be called after releasing the lock.
+     *
+     * @param work the work to run in order.
+     */
+    protected void runWork(List<Runnable> work) {
+        for (Runnable runnable : work) {
+            runnable.run();
+        }
+    }
+
+    @Override
+    public void flushColumns() {
+        Task.async("Lighting remaining columns", TaskWeight.NORMAL, () -> {
+            // Reading has finished, so any neighbours which are still unresolved are missing (e.g. skipped regions)
+            List<Runnable> work;
+            synchronized (this) {
+                incompleteRegions.clear();
+                List<HeldColumn> remaining = new ArrayList<>(held.values());
+                for (HeldColumn column : remaining) {
+                    column.unresolved = 0;
+                }
+                for (HeldColumn column : remaining) {
+                    update(column);
+                }
+
+                // Report how many columns were held at once
+                Task.signal(WorldConverter.SIGNAL_PEAK_PENDING_COLUMNS, peakHeldColumns);
+                work = takeWork();
+            }
+
+            // Light / submit the remaining columns without holding the lock
+            runWork(work);
+        }).then("Calling delegate flushColumns", TaskWeight.NORMAL, delegate::flushColumns);
+    }
+
+    /**
+     * Data class for tracking the status of a held column.
+     */
+    protected static class HeldColumn {
+        private final ChunkerColumn column;
+        private final HeldColumn[] neighbours = new HeldColumn[LightEngine.NEIGHBOURS];
+        private int unresolved;
+        private int readers;
+        private boolean lightPending;
+        private boolean lighting;
+        private boolean released;
+
+        /**
+         * Create a new held column.
+         *
+         * @param column       the column reference.
+         * @param lightPending whether the column needs light to be generated.
+         */
+        public HeldColumn(ChunkerColumn column, boolean lightPending) {
+            this.column = column;
+            this.lightPending = lightPending;
+        }
+
+        /**
+         * Get the neighbouring columns to read while lighting.
+         *
+         * @return the neighbours indexed by {@link LightEngine#getNeighbourIndex(int, int)}.
+         */
+        public ChunkerColumn[] getNeighbourColumns() {
+            ChunkerColumn[] columns = new ChunkerColumn[LightEngine.NEIGHBOURS];
+            for (int i = 0; i < LightEngine.NEIGHBOURS; i++) {
+                HeldColumn neighbour = neighbours[i];
+                if (neighbour != null) {
+                    columns[i] = neighbour.column;
+                }
+            }
+            return columns;
+        }
+
+        @Override
+        public String toString() {
+            return "HeldColumn{" +
+                    "position=" + column.getPosition() +
+                    ", unresolved=" + Integer.toBinaryString(unresolved) +
+                    ", readers=" + readers +
+                    ", lightPending=" + lightPending +
+                    '}';
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hivemc.chunker.conversion.handlers.pretransform;
 
 import com.google.common.base.Preconditions;
+import com.hivemc.chunker.conversion.WorldConverter;
 import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
 import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
@@ -8,6 +9,8 @@ import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
 import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
 import com.hivemc.chunker.scheduling.task.Task;
 import com.hivemc.chunker.scheduling.task.TaskWeight;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
@@ -20,9 +23,13 @@ import java.util.*;
  * need to be relocated to the right chunk.
  * Because of this we must ensure that we pre-transform these chunks together then process them, this ensures entities
  * are correctly relocated. This also allows you to do logic that requires neighbouring columns.
+ * <p>
+ * The solving state is guarded by this handler's monitor, the monitor is only held while deciding which columns are
+ * ready. The ready columns are pre-transformed and submitted to the delegate after the monitor is released so that
+ * workers don't queue behind each other, a region is only flushed to the delegate once all its submissions finish.
  */
 public class ColumnPreTransformConversionHandler implements ColumnConversionHandler {
-    private final ColumnConversionHandler delegate;
+    protected final ColumnConversionHandler delegate;
     private final Map<RegionCoordPair, Map<ChunkCoordPair, ColumnData>> pending = new Object2ReferenceOpenHashMap<>();
     private final Set<RegionCoordPair> incompleteRegions = new ObjectOpenHashSet<>();
     private final Set<ChunkCoordPair> processedColumns = new ObjectOpenHashSet<>();
@@ -30,6 +37,11 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
     private final Stack<ColumnData> cachedSolvingStack = new Stack<>();
     private final Set<ColumnData> cachedChecking = new ObjectOpenHashSet<>();
     private final Set<ColumnData> cachedSolved = new ObjectOpenHashSet<>();
+    private final Object2IntMap<RegionCoordPair> submittingColumns = new Object2IntOpenHashMap<>();
+    private final Set<RegionCoordPair> pendingFlushes = new ObjectOpenHashSet<>();
+    private List<Runnable> cachedWork = new ArrayList<>();
+    private int pendingColumns;
+    private int peakPendingColumns;
 
     /**
      * Create a new column pre transform conversion handler.
@@ -102,15 +114,17 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
             // Now that we've solved the entries, we can transform them
             if (!cachedSolved.isEmpty()) {
                 // Transform columns
-                transformCluster(cachedSolved);
+                queueTransformCluster(cachedSolved);
                 for (ColumnData value : cachedSolved) {
                     RegionCoordPair regionCoordPair = value.getPosition().getRegion();
                     Map<ChunkCoordPair, ColumnData> region = pending.get(regionCoordPair);
-                    region.remove(value.getPosition());
+                    if (region.remove(value.getPosition()) != null) {
+                        pendingColumns--;
+                    }
 
                     // If the region is now empty, we can call the parent flush
                     if (region.isEmpty() && !incompleteRegions.contains(regionCoordPair) && pending.remove(regionCoordPair) != null) {
-                        delegate.flushRegion(regionCoordPair);
+                        queueFlushRegion(regionCoordPair);
                     }
                 }
                 cachedSolved.clear();
@@ -161,13 +175,14 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
                 // If the relative has no dependents and was just waiting to check we didn't depend, we can solve it
                 if (relativeData.getRequiredColumns().isEmpty() && relativeData.getPendingCheckEdges().isEmpty()) {
                     region.remove(relativePosition);
+                    pendingColumns--;
 
                     // The chunk is ready for submitting (no transformation needed)
-                    relativeData.submit(delegate);
+                    queueSubmit(relativeData);
 
                     // If the region is now empty, we can call the parent flush
                     if (region.isEmpty() && !incompleteRegions.contains(relativePositionRegion) && pending.remove(relativePositionRegion) != null) {
-                        delegate.flushRegion(relativePositionRegion);
+                        queueFlushRegion(relativePositionRegion);
                     }
                 } else if (relativeData.getPendingCheckEdges().isEmpty()) {
                     // There are no pending edge checks so this might be solvable
@@ -187,6 +202,7 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
      */
     protected void solveColumn(ColumnData columnData) {
         ChunkCoordPair position = columnData.getPosition();
+        List<Runnable> work;
         synchronized (this) {
             // Ensure duplicates don't happen
             Preconditions.checkArgument(processedColumns.add(position), "Duplicate chunk processed, unable to solve.");
@@ -196,11 +212,12 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
 
             // If there are no required edges and nothing left pending checking, we can just be converted
             if (columnData.getRequiredColumns().isEmpty() && columnData.getPendingCheckEdges().isEmpty()) {
-                columnData.submit(delegate);
+                queueSubmit(columnData);
             } else {
                 // Push our column
                 Map<ChunkCoordPair, ColumnData> region = pending.computeIfAbsent(position.getRegion(), (ignored) -> new Object2ReferenceOpenHashMap<>());
                 region.put(position, columnData);
+                peakPendingColumns = Math.max(peakPendingColumns, ++pendingColumns);
 
                 // If all the edges were present we can check if it's possible to solve a cluster of connected chunks
                 if (columnData.getPendingCheckEdges().isEmpty()) {
@@ -210,13 +227,28 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
 
             // Try solving any pending solving
             processPendingSolve();
+            work = takeWork();
         }
+
+        // Submit the columns which are ready without holding the lock
+        runWork(work);
+    }
+
+    /**
+     * Get the edges which are required for a column to be pre-transformed.
+     *
+     * @param column the column.
+     * @return the required edges, null or empty if no neighbours are required.
+     */
+    @Nullable
+    protected Set<Edge> getRequiredEdges(ChunkerColumn column) {
+        return column.getRequiredPreTransformEdges();
     }
 
     @Override
     public void convertColumn(ChunkerColumn column) {
         // What edges are required for this column to be pre-transformed
-        Set<Edge> outgoingEdges = column.getRequiredPreTransformEdges();
+        Set<Edge> outgoingEdges = getRequiredEdges(column);
 
         // We need to check every edge, because if we don't have dependencies & nothing depends on us, we can be converted now!
         EnumSet<Edge> pendingCheckEdges = EnumSet.allOf(Edge.class);
@@ -247,74 +279,101 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
     public void flushRegion(RegionCoordPair regionCoordPair) {
         // When a region is flushed it indicates that any remaining chunks are not present
         // We now should mark that as so
+        List<Runnable> work;
         synchronized (this) {
-            // Mark this region as processed
-            incompleteRegions.remove(regionCoordPair);
+            flushRegionState(regionCoordPair);
+            work = takeWork();
+        }
 
-            // First mark any chunks inside the region (excluding the border) as done
-            Map<ChunkCoordPair, ColumnData> region = pending.get(regionCoordPair);
+        // Submit the columns which are ready without holding the lock
+        runWork(work);
+    }
 
-            // If there is no pending region, flush the region (this means there were no columns depending on it)
-            if (region == null) {
-                delegate.flushRegion(regionCoordPair);
-                return;
-            }
+    /**
+     * Mark a region as processed and solve any columns which were waiting on it, this should be called while holding
+     * the lock.
+     *
+     * @param regionCoordPair the region which has been processed.
+     */
+    protected void flushRegionState(RegionCoordPair regionCoordPair) {
+        // Mark this region as processed
+        incompleteRegions.remove(regionCoordPair);
 
-            // Remove any solve-able columns
-            region.entrySet().removeIf(entry -> {
-                ColumnData columnData = entry.getValue();
-                ChunkCoordPair chunkCoordPair = entry.getKey();
+        // First mark any chunks inside the region (excluding the border) as done
+        Map<ChunkCoordPair, ColumnData> region = pending.get(regionCoordPair);
 
-                // We just need to determine if all the required edges have been fulfilled
-                columnData.getPendingCheckEdges().removeIf(edge -> regionCoordPair.isInside(edge.getRelative(chunkCoordPair)));
-                columnData.getRequiredColumns().entrySet().removeIf(edge -> edge.getValue() == null && regionCoordPair.isInside(edge.getKey().getRelative(chunkCoordPair)));
+        // If there is no pending region, flush the region (this means there were no columns depending on it)
+        if (region == null) {
+            queueFlushRegion(regionCoordPair);
+            return;
+        }
 
-                // Can be removed if there is no further requirement from this column
-                if (columnData.getRequiredColumns().isEmpty() && columnData.getPendingCheckEdges().isEmpty()) {
-                    // Add to cache for solving
-                    cachedSolved.add(columnData);
-                    return true;
-                }
+        // Remove any solve-able columns
+        region.entrySet().removeIf(entry -> {
+            ColumnData columnData = entry.getValue();
+            ChunkCoordPair chunkCoordPair = entry.getKey();
 
-                // Could not be instantly solved
-                return false;
-            });
+            // We just need to determine if all the required edges have been fulfilled
+            columnData.getPendingCheckEdges().removeIf(edge -> regionCoordPair.isInside(edge.getRelative(chunkCoordPair)));
+            columnData.getRequiredColumns().entrySet().removeIf(edge -> edge.getValue() == null && regionCoordPair.isInside(edge.getKey().getRelative(chunkCoordPair)));
 
-            // Now that we've solved the entries, we can transform them
-            if (!cachedSolved.isEmpty()) {
-                // Transform columns
-                transformCluster(cachedSolved);
-                cachedSolved.clear();
+            // Can be removed if there is no further requirement from this column
+            if (columnData.getRequiredColumns().isEmpty() && columnData.getPendingCheckEdges().isEmpty()) {
+                // Add to cache for solving
+                cachedSolved.add(columnData);
+                pendingColumns--;
+                return true;
             }
 
-            // Mark each corner as empty
-            markAsEmpty(regionCoordPair.getChunk(0, 0), EnumSet.of(Edge.NEGATIVE_X, Edge.NEGATIVE_Z));
-            markAsEmpty(regionCoordPair.getChunk(31, 0), EnumSet.of(Edge.POSITIVE_X, Edge.NEGATIVE_Z));
-            markAsEmpty(regionCoordPair.getChunk(0, 31), EnumSet.of(Edge.NEGATIVE_X, Edge.POSITIVE_Z));
-            markAsEmpty(regionCoordPair.getChunk(31, 31), EnumSet.of(Edge.POSITIVE_X, Edge.POSITIVE_Z));
+            // Could not be instantly solved
+            return false;
+        });
+
+        // Now that we've solved the entries, we can transform them
+        if (!cachedSolved.isEmpty()) {
+            // Transform columns
+            queueTransformCluster(cachedSolved);
+            cachedSolved.clear();
+        }
 
-            // Loop through the top and bottom edges, starting at 1 and 31 to avoid corners
-            for (int x = 1; x < 31; x++) {
-                // Top edge
-                markAsEmpty(regionCoordPair.getChunk(x, 0), EnumSet.of(Edge.NEGATIVE_Z));
+        // Mark each corner as empty
+        markAsEmpty(regionCoordPair.getChunk(0, 0), EnumSet.of(Edge.NEGATIVE_X, Edge.NEGATIVE_Z));
+        markAsEmpty(regionCoordPair.getChunk(31, 0), EnumSet.of(Edge.POSITIVE_X, Edge.NEGATIVE_Z));
+        markAsEmpty(regionCoordPair.getChunk(0, 31), EnumSet.of(Edge.NEGATIVE_X, Edge.POSITIVE_Z));
+        markAsEmpty(regionCoordPair.getChunk(31, 31), EnumSet.of(Edge.POSITIVE_X, Edge.POSITIVE_Z));
 
-                // Bottom edge
-                markAsEmpty(regionCoordPair.getChunk(x, 31), EnumSet.of(Edge.POSITIVE_Z));
-            }
+        // Loop through the top and bottom edges, starting at 1 and 31 to avoid corners
+        for (int x = 1; x < 31; x++) {
+            // Top edge
+            markAsEmpty(regionCoordPair.getChunk(x, 0), EnumSet.of(Edge.NEGATIVE_Z));
 
-            // Loop through left and right edges, starting at 1 and 31 to avoid corners
-            for (int z = 1; z < 31; z++) {
-                // Left edge
-                markAsEmpty(regionCoordPair.getChunk(0, z), EnumSet.of(Edge.NEGATIVE_X));
+            // Bottom edge
+            markAsEmpty(regionCoordPair.getChunk(x, 31), EnumSet.of(Edge.POSITIVE_Z));
+        }
 
-                // Right edge
-                markAsEmpty(regionCoordPair.getChunk(31, z), EnumSet.of(Edge.POSITIVE_X));
-            }
+        // Loop through left and right edges, starting at 1 and 31 to avoid corners
+        for (int z = 1; z < 31; z++) {
+            // Left edge
+            markAsEmpty(regionCoordPair.getChunk(0, z), EnumSet.of(Edge.NEGATIVE_X));
 
-            // If the region is now empty, we can call the parent flush
-            if (region.isEmpty() && pending.remove(regionCoordPair) != null) {
-                delegate.flushRegion(regionCoordPair);
-            }
+            // Right edge
+            markAsEmpty(regionCoordPair.getChunk(31, z), EnumSet.of(Edge.POSITIVE_X));
+        }
+
+        // If the region is now empty, we can call the parent flush
+        if (region.isEmpty() && pending.remove(regionCoordPair) != null) {
+            queueFlushRegion(regionCoordPair);
+        }
+    }
+
+    /**
+     * Get the highest number of columns which were held at once while waiting for their neighbours.
+     *
+     * @return the peak pending column count.
+     */
+    public int getPeakPendingColumns() {
+        synchronized (this) {
+            return peakPendingColumns;
         }
     }
 
@@ -359,9 +418,10 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
     /**
      * Call the pre-transform handler on a solved cluster and then submit the columns to the delegate.
      *
-     * @param cluster the cluster.
+     * @param cluster     the cluster.
+     * @param onSubmitted the callback to run once every column in the cluster has been submitted.
      */
-    protected void transformCluster(Collection<ColumnData> cluster) {
+    protected void transformCluster(Collection<ColumnData> cluster, Runnable onSubmitted) {
         // Transform columns
         for (ColumnData pendingData : cluster) {
             // The chunk is now ready
@@ -372,21 +432,140 @@ public class ColumnPreTransformConversionHandler implements ColumnConversionHand
         for (ColumnData pendingData : cluster) {
             pendingData.submit(delegate);
         }
+        onSubmitted.run();
+    }
+
+    /**
+     * Queue a column to be submitted to the delegate once the lock is released, this should be called while holding the
+     * lock.
+     *
+     * @param columnData the column which is ready.
+     */
+    protected void queueSubmit(ColumnData columnData) {
+        List<ColumnData> columns = List.of(columnData);
+        startSubmitting(columns);
+        cachedWork.add(() -> {
+            columnData.submit(delegate);
+            finishSubmitting(columns);
+        });
+    }
+
+    /**
+     * Queue a solved cluster to be pre-transformed and submitted to the delegate once the lock is released, this should
+     * be called while holding the lock.
+     *
+     * @param cluster the solved cluster, this is copied so the collection can be re-used.
+     */
+    protected void queueTransformCluster(Collection<ColumnData> cluster) {
+        List<ColumnData> columns = new ArrayList<>(cluster);
+        startSubmitting(columns);
+        cachedWork.add(() -> transformCluster(columns, () -> finishSubmitting(columns)));
+    }
+
+    /**
+     * Queue a region to be flushed to the delegate, if columns from the region are still being submitted the flush is
+     * delayed until they have finished. This should be called while holding the lock.
+     *
+     * @param regionCoordPair the region to flush.
+     */
+    protected void queueFlushRegion(RegionCoordPair regionCoordPair) {
+        if (submittingColumns.containsKey(regionCoordPair)) {
+            pendingFlushes.add(regionCoordPair);
+        } else {
+            cachedWork.add(() -> delegate.flushRegion(regionCoordPair));
+        }
+    }
+
+    /**
+     * Mark columns as being submitted so that their regions aren't flushed until they're done, this should be called
+     * while holding the lock.
+     *
+     * @param columns the columns which are going to be submitted.
+     */
+    protected void startSubmitting(Collection<ColumnData> columns) {
+        for (ColumnData columnData : columns) {
+            submittingColumns.mergeInt(columnData.getPosition().getRegion(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Mark columns as submitted and flush any regions which were waiting on them.
+     *
+     * @param columns the columns which have been submitted.
+     */
+    protected void finishSubmitting(Collection<ColumnData> columns) {
+        List<RegionCoordPair> flushes = null;
+        synchronized (this) {
+            for (ColumnData columnData : columns) {
+                RegionCoordPair regionCoordPair = columnData.getPosition().getRegion();
+                if (submittingColumns.mergeInt(regionCoordPair, -1, Integer::sum) > 0) continue;
+
+                // Region has no more columns being submitted
+                submittingColumns.removeInt(regionCoordPair);
+                if (pendingFlushes.remove(regionCoordPair)) {
+                    if (flushes == null) {
+                        flushes = new ArrayList<>();
+                    }
+                    flushes.add(regionCoordPair);
+                }
+            }
+        }
+
+        // Flush outside the lock
+        if (flushes != null) {
+            for (RegionCoordPair regionCoordPair : flushes) {
+                delegate.flushRegion(regionCoordPair);
+            }
+        }
+    }
+
+    /**
+     * Take the work queued while holding the lock, this should be called before releasing the lock.
+     *
+     * @return the queued work which should be run after releasing the lock.
+     */
+    protected List<Runnable> takeWork() {
+        if (cachedWork.isEmpty()) return Collections.emptyList();
+
+        // Swap the list so the work can be run without the lock
+        List<Runnable> work = cachedWork;
+        cachedWork = new ArrayList<>();
+        return work;
+    }
+
+    /**
+     * Run work which was queued while holding the lock, this should be called after releasing the lock.
+     *
+     * @param work the work to run in order.
+     */
+    protected void runWork(List<Runnable> work) {
+        for (Runnable runnable : work) {
+            runnable.run();
+        }
     }
 
     @Override
     public void flushColumns() {
         Task.async("Submitting remaining columns", TaskWeight.NORMAL, () -> {
             // This flush should ideally yield no transforms, but if a region has chunks which were actually empty, and we didn't know, they'll flush here
+            List<Runnable> work;
             synchronized (this) {
                 for (Map.Entry<RegionCoordPair, Map<ChunkCoordPair, ColumnData>> region : pending.entrySet()) {
                     // Transform columns
-                    transformCluster(region.getValue().values());
+                    queueTransformCluster(region.getValue().values());
                 }
 
                 // Clear
                 pending.clear();
+                pendingColumns = 0;
+
+                // Report how many columns were held at once
+                Task.signal(WorldConverter.SIGNAL_PEAK_PENDING_COLUMNS, peakPendingColumns);
+                work = takeWork();
             }
+
+            // Submit the remaining columns without holding the lock
+            runWork(work);
         }).then("Calling delegate flushColumns", TaskWeight.NORMAL, delegate::flushColumns);
     }
 
@@ -3,21 +3,90 @@ package com.hivemc.chunker.conversion.handlers.pretransform.manager;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.handler.block.BlockPreTransformHandler;
 import com.hivemc.chunker.conversion.handlers.pretransform.manager.handler.entity.EntityPreTransformHandler;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A pre-transformation that needs to be run when neighbouring columns have been loaded.
  */
 public interface PendingPreTransform {
     /**
-     * Pending block transformation.
-     *
-     * @param x                   the global X co-ordinate.
-     * @param y                   the global Y co-ordinate.
-     * @param z                   the global Z co-ordinate.
-     * @param preTransformHandler the handler to call when the required columns are loaded.
+     * Pending block transformations for a column, the positions are packed into a long per block (with an index into
+     * the distinct handlers) rather than an object per block, as build heavy columns can have thousands waiting for
+     * their neighbours.
      */
-    record PendingBlockPreTransform(int x, int y, int z,
-                                    BlockPreTransformHandler preTransformHandler) implements PendingPreTransform {
+    final class PendingBlockPreTransforms implements PendingPreTransform {
+        private final LongArrayList positions = new LongArrayList();
+        private final List<BlockPreTransformHandler> handlers = new ArrayList<>(2);
+
+        /**
+         * Add a pending block transformation.
+         *
+         * @param localX              the X co-ordinate within the column (0-15).
+         * @param y                   the global Y co-ordinate.
+         * @param localZ              the Z co-ordinate within the column (0-15).
+         * @param preTransformHandler the handler to call when the required columns are loaded.
+         */
+        public void add(int localX, int y, int localZ, BlockPreTransformHandler preTransformHandler) {
+            // Columns only use a few distinct handlers, so a list is faster than hashing
+            int handlerIndex = handlers.indexOf(preTransformHandler);
+            if (handlerIndex == -1) {
+                handlerIndex = handlers.size();
+                handlers.add(preTransformHandler);
+            }
+            positions.add((long) y << 32 | (long) handlerIndex << 8 | (localX & 15) << 4 | (localZ & 15));
+        }
+
+        /**
+         * Get the number of pending block transformations.
+         *
+         * @return the number of blocks.
+         */
+        public int size() {
+            return positions.size();
+        }
+
+        /**
+         * Get the X co-ordinate of a pending block within the column.
+         *
+         * @param index the index of the pending block.
+         * @return the local X co-ordinate (0-15).
+         */
+        public int getLocalX(int index) {
+            return (int) (positions.getLong(index) >> 4) & 15;
+        }
+
+        /**
+         * Get the global Y co-ordinate of a pending block.
+         *
+         * @param index the index of the pending block.
+         * @return the Y co-ordinate.
+         */
+        public int getY(int index) {
+            return (int) (positions.getLong(index) >> 32);
+        }
+
+        /**
+         * Get the Z co-ordinate of a pending block within the column.
+         *
+         * @param index the index of the pending block.
+         * @return the local Z co-ordinate (0-15).
+         */
+        public int getLocalZ(int index) {
+            return (int) positions.getLong(index) & 15;
+        }
+
+        /**
+         * Get the handler of a pending block.
+         *
+         * @param index the index of the pending block.
+         * @return the handler to call when the required columns are loaded.
+         */
+        public BlockPreTransformHandler getHandler(int index) {
+            return handlers.get((int) positions.getLong(index) >>> 8);
+        }
     }
 
     /**
@@ -8,6 +8,8 @@ import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
 import com.hivemc.chunker.conversion.intermediate.column.entity.Entity;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
@@ -114,21 +116,37 @@ public abstract class PreTransformManager {
         });
 
         // Loop through every chunk in the column
+        PendingPreTransform.PendingBlockPreTransforms pendingBlocks = new PendingPreTransform.PendingBlockPreTransforms();
         for (ChunkerChunk chunk : column.getChunks().values()) {
             // Check if the palette contains a connectable value
             if (!containsConnectableBlock(column, chunk)) continue;
 
+            // Find the handler for each key of the palette once, rather than for every block
+            Palette<ChunkerBlockIdentifier> palette = chunk.getPalette();
+            int keyCount = palette.getKeyCount();
+            ChunkerBlockIdentifier[] keys = new ChunkerBlockIdentifier[keyCount];
+            BlockPreTransformHandler[] handlers = new BlockPreTransformHandler[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = palette.getKey(i, ChunkerBlockIdentifier.AIR);
+                handlers[i] = blockTypeToHandler.get(keys[i].getType());
+            }
+
+            // Palettes without values use the first key for every block, otherwise the values are the key indexes
+            // (solving a block only changes the value of that block, so the rest of the values can still be used)
+            short[] values = palette instanceof ShortBasedPalette<ChunkerBlockIdentifier> shortBasedPalette ? shortBasedPalette.getValues() : null;
+
             // Loop through each block to process connections
             for (int localY = 0; localY < 16; localY++) {
                 for (int localX = 0; localX < 16; localX++) {
                     for (int localZ = 0; localZ < 16; localZ++) {
-                        // Fetch the identifier
-                        ChunkerBlockIdentifier blockIdentifier = chunk.getPalette().get(localX, localY, localZ, ChunkerBlockIdentifier.AIR);
+                        int keyIndex = values == null ? 0 : values[ShortBasedPalette.getIndex(16, localX, localY, localZ)];
+                        if (keyIndex < 0 || keyIndex >= keyCount) continue; // Skip if air / invalid
 
                         // Check if it's connectable by typeToHandler
-                        BlockPreTransformHandler handler = blockTypeToHandler.get(blockIdentifier.getType());
+                        BlockPreTransformHandler handler = handlers[keyIndex];
                         if (handler == null) continue; // Skip if no handler
 
+                        ChunkerBlockIdentifier blockIdentifier = keys[keyIndex];
                         int x = column.getPosition().chunkX() << 4 | localX;
                         int y = chunk.getY() << 4 | localY;
                         int z = column.getPosition().chunkZ() << 4 | localZ;
@@ -164,7 +182,7 @@ public abstract class PreTransformManager {
                             }
                         } else {
                             // Add it to the pending otherwise
-                            pending.add(new PendingPreTransform.PendingBlockPreTransform(x, y, z, handler));
+                            pendingBlocks.add(localX, y, localZ, handler);
                         }
                     }
                 }
@@ -172,6 +190,11 @@ public abstract class PreTransformManager {
 
         }
 
+        // Blocks are solved after entities
+        if (pendingBlocks.size() > 0) {
+            pending.add(pendingBlocks);
+        }
+
         if (!pending.isEmpty()) {
             // Set up the handler which should be called when the edges are ready
             column.addPreTransformHandler(edges, (neighbours) -> solveEdges(column, neighbours, pending));
@@ -244,32 +267,29 @@ public abstract class PreTransformManager {
      */
     protected void solveEdges(ChunkerColumn column, Map<Edge, ChunkerColumn> neighbours, List<PendingPreTransform> pendingPreTransforms) {
         for (PendingPreTransform pendingPreTransform : pendingPreTransforms) {
-            if (pendingPreTransform instanceof PendingPreTransform.PendingBlockPreTransform pendingBlockPreTransform) {
-                // Fetch the block in the chunk
-                ChunkerBlockIdentifier blockIdentifier = column.getBlock(
-                        pendingBlockPreTransform.x(),
-                        pendingBlockPreTransform.y(),
-                        pendingBlockPreTransform.z()
-                );
-
-                // Run the pre-transform handler
-                ChunkerBlockIdentifier newBlockIdentifier = pendingBlockPreTransform.preTransformHandler().handle(
-                        column,
-                        neighbours,
-                        pendingBlockPreTransform.x(),
-                        pendingBlockPreTransform.y(),
-                        pendingBlockPreTransform.z(),
-                        blockIdentifier
-                );
-
-                // Update block if it changed
-                if (!newBlockIdentifier.equals(blockIdentifier)) {
-                    column.setBlock(
-                            pendingBlockPreTransform.x(),
-                            pendingBlockPreTransform.y(),
-                            pendingBlockPreTransform.z(),
-                            newBlockIdentifier
+            if (pendingPreTransform instanceof PendingPreTransform.PendingBlockPreTransforms pendingBlocks) {
+                for (int i = 0; i < pendingBlocks.size(); i++) {
+                    int x = column.getPosition().chunkX() << 4 | pendingBlocks.getLocalX(i);
+                    int y = pendingBlocks.getY(i);
+                    int z = column.getPosition().chunkZ() << 4 | pendingBlocks.getLocalZ(i);
+
+                    // Fetch the block in the chunk
+                    ChunkerBlockIdentifier blockIdentifier = column.getBlock(x, y, z);
+
+                    // Run the pre-transform handler
+                    ChunkerBlockIdentifier newBlockIdentifier = pendingBlocks.getHandler(i).handle(
+                            column,
+                            neighbours,
+                            x,
+                            y,
+                            z,
+                            blockIdentifier
                     );
+
+                    // Update block if it changed
+                    if (!newBlockIdentifier.equals(blockIdentifier)) {
+                        column.setBlock(x, y, z, newBlockIdentifier);
+                    }
                 }
             } else if (pendingPreTransform instanceof PendingPreTransform.PendingEntityPreTransform<?> pendingEntityPreTransform) {
                 // Skip if the entity is no longer part of the column
@@ -12,25 +12,29 @@ import com.hivemc.chunker.scheduling.task.TaskWeight;
  */
 public class ColumnWriterConversionHandler implements ColumnConversionHandler {
     protected final ColumnWriter writer;
+    protected final boolean batching;
 
     /**
      * Create a new column writer conversion handler.
      *
-     * @param writer the writer to delegate methods to.
+     * @param writer   the writer to delegate methods to.
+     * @param batching whether the tasks created by the writer for a column should be run inline as a batch.
      */
-    public ColumnWriterConversionHandler(ColumnWriter writer) {
+    public ColumnWriterConversionHandler(ColumnWriter writer, boolean batching) {
         this.writer = writer;
+        this.batching = batching;
     }
 
     @Override
     public void convertColumn(ChunkerColumn column) {
-        Task.asyncConsume("Writing Column", TaskWeight.NORMAL, writer::writeColumn, column);
+        // Always scheduled as a new task so that writing isn't done by the caller (which may be holding a lock)
+        Task.asyncBatch("Writing Column", TaskWeight.NORMAL, writer::writeColumn, column, batching);
     }
 
     @Override
     public void flushRegion(RegionCoordPair regionCoordPair) {
         // Writers don't currently have this behaviour
-        Task.asyncConsume("Flushing Region", TaskWeight.NORMAL, writer::flushRegion, regionCoordPair);
+        Task.asyncBatch("Flushing Region", TaskWeight.NORMAL, writer::flushRegion, regionCoordPair, batching);
     }
 
     @Override
@@ -27,7 +27,7 @@ public class WorldWriterConversionHandler implements WorldConversionHandler {
     @Override
     public Task<ColumnConversionHandler> convertWorld(ChunkerWorld world) {
         return Task.async("Writing World", TaskWeight.NORMAL, writer::writeWorld, world)
-                .then("Wrapping Conversion Handler", TaskWeight.NONE, this::wrapColumnWriter);
+                .then("Wrapping Conversion Handler", TaskWeight.NONE, (columnWriter) -> wrapColumnWriter(columnWriter, world));
     }
 
     @Override
@@ -44,10 +44,11 @@ public class WorldWriterConversionHandler implements WorldConversionHandler {
      * Wrap the column writer with a conversion handler.
      *
      * @param writer the writer or null.
+     * @param world  the world the columns are being written to.
      * @return the wrapper handler or null.
      */
     @Nullable
-    protected ColumnConversionHandler wrapColumnWriter(@Nullable ColumnWriter writer) {
-        return writer == null ? null : new ColumnWriterConversionHandler(writer);
+    protected ColumnConversionHandler wrapColumnWriter(@Nullable ColumnWriter writer, ChunkerWorld world) {
+        return writer == null ? null : new ColumnWriterConversionHandler(writer, world.isColumnBatching());
     }
 }
@@ -0,0 +1,134 @@
+package com.hivemc.chunker.conversion.intermediate.column;
+
+import com.hivemc.chunker.conversion.intermediate.column.blockentity.BlockEntity;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * A list of the block entities in a column which keeps an index of them by position, so that looking up a block
+ * entity doesn't scan every block entity in the column. The index is built when it is first needed, appending and
+ * replacing at the same position keep it up to date and any other modification causes it to be rebuilt.
+ * <p>
+ * The position of a block entity should not be changed after it is added.
+ */
+final class BlockEntityList extends AbstractList<BlockEntity> implements RandomAccess {
+    private final ArrayList<BlockEntity> blockEntities = new ArrayList<>(0);
+    @Nullable
+    private Int2ObjectOpenHashMap<BlockEntity> index;
+
+    /**
+     * Pack a position into the key used by the index.
+     *
+     * @param x the x co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param y the y co-ordinate of the block.
+     * @param z the z co-ordinate (can be a local or global position as a bitmask is applied).
+     * @return the key for the position.
+     */
+    private static int key(int x, int y, int z) {
+        return y << 8 | (x & 15) << 4 | (z & 15);
+    }
+
+    /**
+     * Pack the position of a block entity into the key used by the index.
+     *
+     * @param blockEntity the block entity.
+     * @return the key for the position of the block entity.
+     */
+    private static int key(BlockEntity blockEntity) {
+        return key(blockEntity.getX(), blockEntity.getY(), blockEntity.getZ());
+    }
+
+    /**
+     * Get a block entity at a location.
+     *
+     * @param x the x co-ordinate (can be a local or global position as a bitmask is applied).
+     * @param y the y co-ordinate of the block.
+     * @param z the z co-ordinate (can be a local or global position as a bitmask is applied).
+     * @return the first block entity at the location or null if there isn't one.
+     */
+    @Nullable
+    public BlockEntity get(int x, int y, int z) {
+        Int2ObjectOpenHashMap<BlockEntity> index = this.index;
+        if (index == null) {
+            // Index all the block entities, keeping the first if there are duplicates (matching a scan)
+            index = new Int2ObjectOpenHashMap<>(blockEntities.size());
+            for (BlockEntity blockEntity : blockEntities) {
+                index.putIfAbsent(key(blockEntity), blockEntity);
+            }
+            this.index = index;
+        }
+        return index.get(key(x, y, z));
+    }
+
+    @Override
+    public BlockEntity get(int index) {
+        return blockEntities.get(index);
+    }
+
+    @Override
+    public int size() {
+        return blockEntities.size();
+    }
+
+    @Override
+    public void add(int index, BlockEntity element) {
+        blockEntities.add(index, element);
+        modCount++;
+
+        // Appending can update the index, inserting changes which is first
+        if (this.index != null) {
+            if (index == blockEntities.size() - 1) {
+                this.index.putIfAbsent(key(element), element);
+            } else {
+                this.index = null;
+            }
+        }
+    }
+
+    @Override
+    public BlockEntity set(int index, BlockEntity element) {
+        BlockEntity previous = blockEntities.set(index, element);
+
+        // Replacements generally keep the position so the index can be updated
+        if (this.index != null) {
+            int key = key(previous);
+            if (key == key(element) && this.index.get(key) == previous) {
+                this.index.put(key, element);
+            } else {
+                this.index = null;
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public BlockEntity remove(int index) {
+        BlockEntity removed = blockEntities.remove(index);
+        modCount++;
+        this.index = null;
+        return removed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super BlockEntity> filter) {
+        // Use the ArrayList implementation rather than removing one at a time
+        boolean removed = blockEntities.removeIf(filter);
+        if (removed) {
+            modCount++;
+            index = null;
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        blockEntities.clear();
+        modCount++;
+        index = null;
+    }
+}
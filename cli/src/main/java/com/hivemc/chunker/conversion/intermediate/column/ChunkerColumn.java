@@ -29,7 +29,7 @@ import java.util.function.Predicate;
 public class ChunkerColumn {
     private final ChunkCoordPair position;
     private final List<Entity> entities = new ArrayList<>(0);
-    private final List<BlockEntity> blockEntities = new ArrayList<>(0);
+    private final BlockEntityList blockEntities = new BlockEntityList();
     private final Byte2ObjectSortedMap<ChunkerChunk> chunks = new Byte2ObjectAVLTreeMap<>();
     private final Set<Edge> requiredPreTransformEdges = EnumSet.noneOf(Edge.class);
     @Nullable
@@ -105,7 +105,8 @@ public class ChunkerColumn {
     }
 
     /**
-     * Get the block entities which are inside this column.
+     * Get the block entities which are inside this column, these are indexed by position so the position of a block
+     * entity shouldn't be changed once it's added.
      *
      * @return a list of the block-entities.
      */
@@ -275,16 +276,6 @@ public class ChunkerColumn {
      */
     @Nullable
     public BlockEntity getBlockEntity(int x, int y, int z) {
-        // Use local co-ordinates
-        x = x & 15;
-        z = z & 15;
-
-        // Search block entities
-        for (BlockEntity blockEntity : blockEntities) {
-            if ((blockEntity.getX() & 15) == x && blockEntity.getY() == y && (blockEntity.getZ() & 15) == z) {
-                return blockEntity;
-            }
-        }
-        return null;
+        return blockEntities.get(x, y, z);
     }
 }
@@ -11,8 +11,8 @@ import org.jetbrains.annotations.Nullable;
 public class ChunkerChunk {
     private byte y;
     private Palette<ChunkerBlockIdentifier> palette = SingleValuePalette.chunk(ChunkerBlockIdentifier.AIR);
-    private byte[][] @Nullable [] blockLight;
-    private byte[][] @Nullable [] skyLight;
+    private @Nullable NibbleArray blockLight;
+    private @Nullable NibbleArray skyLight;
 
     /**
      * Create a new chunk.
@@ -62,36 +62,36 @@ public class ChunkerChunk {
     /**
      * Get the block light for the chunk.
      *
-     * @return a 16x16x16 array or null if not present.
+     * @return a 16x16x16 nibble array or null if not present.
      */
-    public byte[][] @Nullable [] getBlockLight() {
+    public @Nullable NibbleArray getBlockLight() {
         return blockLight;
     }
 
     /**
      * Set the block light for the chunk.
      *
-     * @param blockLight a 16x16x16 array or null if not present.
+     * @param blockLight a 16x16x16 nibble array or null if not present.
      */
-    public void setBlockLight(byte[][] @Nullable [] blockLight) {
+    public void setBlockLight(@Nullable NibbleArray blockLight) {
         this.blockLight = blockLight;
     }
 
     /**
      * Get the skylight for the chunk.
      *
-     * @return a 16x16x16 array or null if not present.
+     * @return a 16x16x16 nibble array or null if not present.
      */
-    public byte[][] @Nullable [] getSkyLight() {
+    public @Nullable NibbleArray getSkyLight() {
         return skyLight;
     }
 
     /**
      * Set the skylight for the chunk.
      *
-     * @param skyLight a 16x16x16 array or null if not present.
+     * @param skyLight a 16x16x16 nibble array or null if not present.
      */
-    public void setSkyLight(byte[][] @Nullable [] skyLight) {
+    public void setSkyLight(@Nullable NibbleArray skyLight) {
         this.skyLight = skyLight;
     }
 
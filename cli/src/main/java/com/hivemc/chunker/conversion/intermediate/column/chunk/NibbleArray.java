@@ -0,0 +1,109 @@
+package com.hivemc.chunker.conversion.intermediate.column.chunk;
+
+import com.google.common.base.Preconditions;
+import com.hivemc.chunker.util.ByteUtil;
+
+/**
+ * A 16x16x16 array of 4-bit values (e.g. light) packed into 2048 bytes, two values per byte. The values are stored in
+ * YZX order (X changes the fastest) with the lowest bits of each byte holding the even index, this matches the layout
+ * used by Java Edition so the data can be read and written without conversion.
+ */
+public class NibbleArray {
+    /**
+     * The number of bytes used to store a 16x16x16 nibble array.
+     */
+    public static final int BYTES = 2048;
+    private final byte[] data;
+
+    /**
+     * Create a new nibble array with all values set to zero.
+     */
+    public NibbleArray() {
+        this(new byte[BYTES]);
+    }
+
+    /**
+     * Create a nibble array backed by existing data, the data is not copied.
+     *
+     * @param data the packed data, must be 2048 bytes in length.
+     */
+    public NibbleArray(byte[] data) {
+        Preconditions.checkArgument(data.length == BYTES, "NibbleArray requires " + BYTES + " bytes but got " + data.length);
+        this.data = data;
+    }
+
+    /**
+     * Get the index of a position in YZX order.
+     *
+     * @param x the local X position (0-15).
+     * @param y the local Y position (0-15).
+     * @param z the local Z position (0-15).
+     * @return the index of the value (0-4095).
+     */
+    public static int getIndex(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    /**
+     * Get a value from the array.
+     *
+     * @param x the local X position (0-15).
+     * @param y the local Y position (0-15).
+     * @param z the local Z position (0-15).
+     * @return the value (0-15).
+     */
+    public byte get(int x, int y, int z) {
+        return get(getIndex(x, y, z));
+    }
+
+    /**
+     * Get a value from the array.
+     *
+     * @param index the index of the value in YZX order.
+     * @return the value (0-15).
+     */
+    public byte get(int index) {
+        return ByteUtil.getNibbleFromByte(data[index >> 1], (index & 1) == 0);
+    }
+
+    /**
+     * Set a value in the array.
+     *
+     * @param x     the local X position (0-15).
+     * @param y     the local Y position (0-15).
+     * @param z     the local Z position (0-15).
+     * @param value the value (0-15).
+     */
+    public void set(int x, int y, int z, byte value) {
+        set(getIndex(x, y, z), value);
+    }
+
+    /**
+     * Set a value in the array.
+     *
+     * @param index the index of the value in YZX order.
+     * @param value the value (0-15).
+     */
+    public void set(int index, byte value) {
+        int nibbleIndex = index >> 1;
+        data[nibbleIndex] = ByteUtil.updateNibble(data[nibbleIndex], value, (index & 1) == 0);
+    }
+
+    /**
+     * Get the backing packed data.
+     *
+     * @return the 2048 byte array backing this nibble array.
+     */
+    public byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Create a copy of this nibble array.
+     *
+     * @return a new nibble array with a copy of the data.
+     */
+    public NibbleArray copy() {
+        return new NibbleArray(data.clone());
+    }
+}
@@ -1,5 +1,10 @@
 package com.hivemc.chunker.conversion.intermediate.column.chunk;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * A pair of co-ordinates of a region (32 x 32 chunks)
  *
@@ -30,4 +35,71 @@ public record RegionCoordPair(int regionX, int regionZ) {
     public boolean isInside(ChunkCoordPair chunkCoordPair) {
         return chunkCoordPair.regionX() == regionX && chunkCoordPair.regionZ() == regionZ;
     }
+
+    /**
+     * Sort regions along a Hilbert curve covering their bounds, this keeps neighbouring regions close together in the
+     * order so that regions which depend on each other (e.g. for pre-transformation) are processed around the same time.
+     *
+     * @param regions the regions to sort.
+     * @return a new list containing the regions in curve order.
+     */
+    public static List<RegionCoordPair> sortByHilbertCurve(Collection<RegionCoordPair> regions) {
+        List<RegionCoordPair> sorted = new ArrayList<>(regions);
+        if (sorted.size() <= 1) return sorted;
+
+        // Find the bounds so that the curve only covers the area in use
+        int minX = Integer.MAX_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (RegionCoordPair region : sorted) {
+            minX = Math.min(minX, region.regionX());
+            minZ = Math.min(minZ, region.regionZ());
+            maxX = Math.max(maxX, region.regionX());
+            maxZ = Math.max(maxZ, region.regionZ());
+        }
+
+        // Use the smallest curve which fits the bounds
+        long size = Math.max((long) maxX - minX, (long) maxZ - minZ) + 1;
+        int order = 64 - Long.numberOfLeadingZeros(size - 1);
+        int finalMinX = minX;
+        int finalMinZ = minZ;
+        sorted.sort(Comparator.comparing(
+                (RegionCoordPair region) -> getHilbertIndex(order, (long) region.regionX() - finalMinX, (long) region.regionZ() - finalMinZ),
+                Long::compareUnsigned
+        ));
+        return sorted;
+    }
+
+    /**
+     * Get the index of a position along a Hilbert curve.
+     *
+     * @param order the order of the curve, the curve covers 2^order by 2^order positions.
+     * @param x     the x position (0 to 2^order - 1).
+     * @param z     the z position (0 to 2^order - 1).
+     * @return the unsigned index of the position along the curve.
+     */
+    static long getHilbertIndex(int order, long x, long z) {
+        if (order == 0) return 0; // Single position
+
+        long max = (1L << order) - 1;
+        long index = 0;
+        for (long s = 1L << (order - 1); s > 0; s >>= 1) {
+            long rx = (x & s) != 0 ? 1 : 0;
+            long rz = (z & s) != 0 ? 1 : 0;
+            index += s * s * ((3 * rx) ^ rz);
+
+            // Rotate the quadrant so the curve stays continuous
+            if (rz == 0) {
+                if (rx == 1) {
+                    x = max - x;
+                    z = max - z;
+                }
+                long temp = x;
+                x = z;
+                z = temp;
+            }
+        }
+        return index;
+    }
 }
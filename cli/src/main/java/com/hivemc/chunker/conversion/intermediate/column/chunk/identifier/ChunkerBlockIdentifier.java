@@ -1,5 +1,7 @@
 package com.hivemc.chunker.conversion.intermediate.column.chunk.identifier;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerBlockType;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerCustomBlockType;
 import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
@@ -16,16 +18,30 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A block identifier with a set of states.
+ * <p>
+ * Identifiers can be interned using {@link #intern()}, which returns a canonical instance shared by all equal
+ * identifiers. Interned identifiers have a dense integer ID and can be compared by identity, resolvers intern their
+ * output so that palettes and caches rarely need to compare the states. Canonical instances are weakly referenced, so
+ * identifiers which are no longer used (e.g. custom identifiers from an earlier conversion) can be reclaimed and are
+ * given a new ID if they're interned again. The states of an identifier must not be modified after it is created as
+ * the hash code is cached.
  */
 public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
-    public static final ChunkerBlockIdentifier AIR = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.AIR);
+    private static final Cache<ChunkerBlockIdentifier, ChunkerBlockIdentifier> INTERNED = Caffeine.newBuilder()
+            .weakValues()
+            .build();
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    public static final ChunkerBlockIdentifier AIR = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.AIR).intern();
     private final ChunkerBlockType type;
     private final Map<BlockState<?>, BlockStateValue> states;
     @Nullable
     private final PreservedIdentifier preservedIdentifier;
+    private final int id;
+    private int hash;
 
     /**
      * Create a new block identifier with states.
@@ -35,9 +51,22 @@ public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
      * @param preservedIdentifier whether a preserved identifier is set to use after conversion.
      */
     public ChunkerBlockIdentifier(@NotNull ChunkerBlockType type, @NotNull Map<BlockState<?>, BlockStateValue> states, @Nullable PreservedIdentifier preservedIdentifier) {
+        this(type, states, preservedIdentifier, -1);
+    }
+
+    /**
+     * Create a new block identifier with states and an interned ID.
+     *
+     * @param type                the block type.
+     * @param states              the states.
+     * @param preservedIdentifier whether a preserved identifier is set to use after conversion.
+     * @param id                  the interned ID or -1 if this is not the canonical instance.
+     */
+    private ChunkerBlockIdentifier(ChunkerBlockType type, Map<BlockState<?>, BlockStateValue> states, @Nullable PreservedIdentifier preservedIdentifier, int id) {
         this.type = type;
         this.states = states;
         this.preservedIdentifier = preservedIdentifier;
+        this.id = id;
     }
 
     /**
@@ -108,6 +137,43 @@ public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
         );
     }
 
+    /**
+     * Get the number of IDs which have been assigned to interned identifiers, IDs are not reused.
+     *
+     * @return the number of IDs assigned, which is also one more than the highest ID.
+     */
+    public static int getInternedCount() {
+        return NEXT_ID.get();
+    }
+
+    /**
+     * Get the canonical instance of this identifier, creating it if this is the first time it has been interned.
+     *
+     * @return the interned identifier which is equal to this identifier.
+     */
+    public ChunkerBlockIdentifier intern() {
+        if (id != -1) return this; // Already canonical
+
+        // Avoid locking if it's already present
+        ChunkerBlockIdentifier interned = INTERNED.getIfPresent(this);
+        if (interned != null) return interned;
+        return INTERNED.get(this, (key) -> new ChunkerBlockIdentifier(
+                type,
+                states,
+                preservedIdentifier,
+                NEXT_ID.getAndIncrement()
+        ));
+    }
+
+    /**
+     * Get the dense integer ID of this identifier.
+     *
+     * @return the ID assigned when the identifier was interned (0 onwards), -1 if this instance is not interned.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Check if a state is present in the ChunkerBlockIdentifier.
      *
@@ -252,12 +318,22 @@ public class ChunkerBlockIdentifier implements ChunkerItemStackIdentifier {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof ChunkerBlockIdentifier that)) return false;
+
+        // Interned identifiers are unique so can be compared by identity
+        if (id != -1 && that.id != -1) return false;
+        if (hashCode() != that.hashCode()) return false;
         return Objects.equals(getType(), that.getType()) && Objects.equals(states, that.states) && Objects.equals(getPreservedIdentifier(), that.getPreservedIdentifier());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getType(), states, getPreservedIdentifier());
+        // Cache the hash as the states are not modified (a race only results in it being calculated again)
+        int hash = this.hash;
+        if (hash == 0) {
+            hash = Objects.hash(getType(), states, getPreservedIdentifier());
+            this.hash = hash;
+        }
+        return hash;
     }
 
     @Override
@@ -1,9 +1,13 @@
 package com.hivemc.chunker.conversion.intermediate.column.chunk.palette;
 
 import com.google.common.base.Preconditions;
+import it.unimi.dsi.fastutil.objects.Object2ShortMap;
+import it.unimi.dsi.fastutil.objects.Object2ShortOpenHashMap;
 import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
 import it.unimi.dsi.fastutil.shorts.ShortSet;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -12,22 +16,37 @@ import java.util.function.Predicate;
 
 /**
  * A palette which uses shorts for indexing the palette keys and storing those keys.
+ * <p>
+ * The values are stored in a single flat array in YZX order (X changes the fastest), see {@link #getIndex(int, int,
+ * int, int)}. This is the same order used by Java Edition so the values can be encoded / decoded with a linear scan.
+ * <p>
+ * Looking up the index of a key is a linear scan while there are only a few keys, once there are more than
+ * {@link #KEY_INDEX_THRESHOLD} keys a reverse lookup map is built so that setting a value doesn't scale with the
+ * number of keys.
  *
  * @param <T> the type held by the palette.
  */
 public class ShortBasedPalette<T> implements WriteablePalette<T> {
+    /**
+     * The number of keys after which a reverse lookup map is used to find the index of a key.
+     */
+    public static final int KEY_INDEX_THRESHOLD = 8;
     private final List<T> keys;
-    private final short[][][] values;
+    private final short[] values;
+    private final int dimensionBits;
+    private @Nullable Object2ShortMap<T> keyIndexes;
 
     /**
      * Create a short based palette from a pre-indexed list of keys and values.
      *
      * @param keys   the keys.
-     * @param values the values which point to indexes in the keys.
+     * @param values the values which point to indexes in the keys, in YZX order with a length of dimensionSize^3.
      */
-    public ShortBasedPalette(List<T> keys, short[][][] values) {
+    public ShortBasedPalette(List<T> keys, short[] values) {
         this.keys = keys;
         this.values = values;
+        dimensionBits = Integer.numberOfTrailingZeros(values.length) / 3;
+        Preconditions.checkArgument(1 << (dimensionBits * 3) == values.length, "Values length must be a cube of a power of two");
     }
 
     /**
@@ -37,18 +56,52 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
      * @param dimensionSize the dimension length, e.g. 16 for a chunk, to be used for the data.
      */
     public ShortBasedPalette(int keySizeHint, int dimensionSize) {
-        this(new ArrayList<>(keySizeHint), new short[dimensionSize][dimensionSize][dimensionSize]);
+        this(new ArrayList<>(keySizeHint), new short[dimensionSize * dimensionSize * dimensionSize]);
+    }
+
+    /**
+     * Get the index of a position in a flat value array.
+     *
+     * @param dimensionSize the dimension length, must be a power of two.
+     * @param x             the first dimension of the palette.
+     * @param y             the second dimension of the palette.
+     * @param z             the third dimension of the palette.
+     * @return the index in YZX order.
+     */
+    public static int getIndex(int dimensionSize, int x, int y, int z) {
+        return (y * dimensionSize + z) * dimensionSize + x;
     }
 
     /**
      * Get the backing value array which is storing the indexes of the keys.
      *
-     * @return the backing short array.
+     * @return the backing short array in YZX order, see {@link #getIndex(int, int, int, int)}.
      */
-    public short[][][] getValues() {
+    public short[] getValues() {
         return values;
     }
 
+    /**
+     * Get the length of each dimension of the palette.
+     *
+     * @return the dimension size, e.g. 16 for a chunk.
+     */
+    public int getDimensionSize() {
+        return 1 << dimensionBits;
+    }
+
+    /**
+     * Get the index of a position in the backing value array.
+     *
+     * @param x the first dimension of the palette.
+     * @param y the second dimension of the palette.
+     * @param z the third dimension of the palette.
+     * @return the index in YZX order.
+     */
+    protected int getIndex(int x, int y, int z) {
+        return (((y << dimensionBits) | z) << dimensionBits) | x;
+    }
+
     @Override
     public int getKeyCount() {
         return keys.size();
@@ -62,28 +115,65 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
 
     @Override
     public T get(int x, int y, int z, T defaultValue) {
-        return getKey(values[x][y][z], defaultValue);
+        return getKey(values[getIndex(x, y, z)], defaultValue);
     }
 
     @Override
     public short getOrCreateKey(T entry) {
         Preconditions.checkNotNull(entry);
-        short index = (short) keys.indexOf(entry);
+        short index = indexOfKey(entry);
         if (index == -1) {
-            index = (short) keys.size();
-            keys.add(entry);
+            index = addKey(entry);
+        }
+        return index;
+    }
+
+    /**
+     * Find the index of a key, using the reverse lookup map if there are enough keys.
+     *
+     * @param entry the key to look for.
+     * @return the first index of the key or -1 if it is not present.
+     */
+    protected short indexOfKey(@Nullable T entry) {
+        if (keyIndexes == null) {
+            // Small palettes are faster to scan than to hash
+            if (keys.size() <= KEY_INDEX_THRESHOLD) return (short) keys.indexOf(entry);
+
+            // Build the lookup, keeping the first index if the keys contain duplicates (matching indexOf)
+            keyIndexes = new Object2ShortOpenHashMap<>(keys.size() * 2);
+            keyIndexes.defaultReturnValue((short) -1);
+            for (int i = 0; i < keys.size(); i++) {
+                keyIndexes.putIfAbsent(keys.get(i), (short) i);
+            }
+        }
+        return keyIndexes.getShort(entry);
+    }
+
+    /**
+     * Add a new key to the end of the keys, this does not check if the key is already present.
+     *
+     * @param entry the key to add.
+     * @return the index of the new key.
+     */
+    protected short addKey(@Nullable T entry) {
+        short index = (short) keys.size();
+        keys.add(entry);
+
+        // Keep the lookup up to date if it has been built
+        if (keyIndexes != null) {
+            keyIndexes.putIfAbsent(entry, index);
         }
         return index;
     }
 
     @Override
     public void set(int x, int y, int z, T key) {
-        values[x][y][z] = getOrCreateKey(key);
+        values[getIndex(x, y, z)] = getOrCreateKey(key);
     }
 
     @Override
     public void setPaletteIndex(int x, int y, int z, short paletteIndex) {
-        values[x][y][z] = paletteIndex;
+        values[getIndex(x, y, z)] = paletteIndex;
     }
 
     @Override
@@ -129,15 +219,11 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
             return false;
         }
 
-        for (short[][] yz : values) {
-            for (short[] z : yz) {
-                for (short entry : z) {
-                    if (entry < 0 || entry >= size) continue; // Ignore invalid blocks
+        for (short entry : values) {
+            if (entry < 0 || entry >= size) continue; // Ignore invalid blocks
 
-                    // Return if it's a match
-                    if (matchedIndexes.contains(entry)) return true;
-                }
-            }
+            // Return if it's a match
+            if (matchedIndexes.contains(entry)) return true;
         }
 
         // No matches
@@ -165,7 +251,7 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
     @Override
     public Palette<T> compact(T defaultValue) {
         // Quick shortcut for empty palette
-        if (keys.isEmpty()) return EmptyPalette.instance(values.length);
+        if (keys.isEmpty()) return EmptyPalette.instance(getDimensionSize());
 
         // Create a remapping array for old index -> new index for keys
         short[] paletteRemapping = new short[keys.size()];
@@ -174,40 +260,36 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
         // Create a copy of the old keys
         List<T> oldKeys = new ArrayList<>(keys);
         keys.clear();
+        keyIndexes = null; // Rebuilt lazily for the new keys
 
         // First collect all the used palette ids
-        for (short[][] yz : values) {
-            for (short[] z : yz) {
-                for (int i = 0; i < z.length; i++) {
-                    short oldKeyIndex = z[i];
-                    boolean validKeyIndex = oldKeyIndex >= 0 && oldKeyIndex < oldKeys.size();
-                    short newKeyIndex = validKeyIndex ? paletteRemapping[oldKeyIndex] : -1;
-
-                    // If the newKeyIndex is -1, we need to check if this is already in our new keys or needs adding
-                    if (newKeyIndex == -1) {
-                        T oldValue = validKeyIndex ? oldKeys.get(oldKeyIndex) : defaultValue;
-                        newKeyIndex = (short) keys.indexOf(oldValue);
-
-                        // If it wasn't in the new keys, create a key for it
-                        if (newKeyIndex == -1) {
-                            newKeyIndex = (short) keys.size();
-                            keys.add(oldValue);
-                        }
-
-                        // Update the mappings with this new old -> new index (if the key is valid)
-                        if (validKeyIndex) {
-                            paletteRemapping[oldKeyIndex] = newKeyIndex;
-                        }
-                    }
-
-                    // Update the value
-                    z[i] = newKeyIndex;
+        for (int i = 0; i < values.length; i++) {
+            short oldKeyIndex = values[i];
+            boolean validKeyIndex = oldKeyIndex >= 0 && oldKeyIndex < oldKeys.size();
+            short newKeyIndex = validKeyIndex ? paletteRemapping[oldKeyIndex] : -1;
+
+            // If the newKeyIndex is -1, we need to check if this is already in our new keys or needs adding
+            if (newKeyIndex == -1) {
+                T oldValue = validKeyIndex ? oldKeys.get(oldKeyIndex) : defaultValue;
+                newKeyIndex = indexOfKey(oldValue);
+
+                // If it wasn't in the new keys, create a key for it
+                if (newKeyIndex == -1) {
+                    newKeyIndex = addKey(oldValue);
+                }
+
+                // Update the mappings with this new old -> new index (if the key is valid)
+                if (validKeyIndex) {
+                    paletteRemapping[oldKeyIndex] = newKeyIndex;
                 }
             }
+
+            // Update the value
+            values[i] = newKeyIndex;
         }
 
         // Check if there's an easier way to represent this palette
-        if (keys.size() == 1) return new SingleValuePalette<>(values.length, keys.get(0));
+        if (keys.size() == 1) return new SingleValuePalette<>(getDimensionSize(), keys.get(0));
 
         // Otherwise return this
         return this;
@@ -215,14 +297,6 @@ public class ShortBasedPalette<T> implements WriteablePalette<T> {
 
     @Override
     public ShortBasedPalette<T> copy() {
-        // Loop through and copy each array
-        short[][][] copiedValues = new short[values.length][][];
-        for (int x = 0; x < values.length; x++) {
-            copiedValues[x] = new short[values[x].length][];
-            for (int y = 0; y < values[x].length; y++) {
-                copiedValues[x][y] = values[x][y].clone();
-            }
-        }
-        return new ShortBasedPalette<>(new ArrayList<>(keys), copiedValues);
+        return new ShortBasedPalette<>(new ArrayList<>(keys), values.clone());
     }
 }
@@ -0,0 +1,185 @@
+package com.hivemc.chunker.conversion.intermediate.column.heightmap;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.NibbleArray;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
+import it.unimi.dsi.fastutil.bytes.Byte2ObjectMap;
+import it.unimi.dsi.fastutil.objects.ObjectBidirectionalIterator;
+import it.unimi.dsi.fastutil.objects.ObjectSortedSet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Generates height maps for a column in a single pass, each palette key is only checked once per sub-chunk and the
+ * sub-chunks are scanned from the top down until every X / Z position has been found for every requested type.
+ */
+public final class HeightMapGenerator {
+    /**
+     * The value used for an X / Z position which doesn't have a matching block.
+     */
+    public static final int NONE = Integer.MIN_VALUE;
+    /**
+     * The block never matches.
+     */
+    private static final int NEVER = 0;
+    /**
+     * The block always matches.
+     */
+    private static final int ALWAYS = 1;
+    /**
+     * The block matches if there is block light or sky light at the position.
+     */
+    private static final int IF_LIT = 2;
+
+    private HeightMapGenerator() {
+    }
+
+    /**
+     * The types of height map which can be generated.
+     */
+    public enum Type {
+        /**
+         * The highest non-air block which has light or is a slab, used by Bedrock and legacy Java.
+         */
+        LIT_OR_SLAB(identifier -> {
+            if (identifier.isAir()) return NEVER;
+            return identifier.getType().getStates().contains(VanillaBlockStates.SLAB_TYPE) ? ALWAYS : IF_LIT;
+        }),
+        /**
+         * The highest non-air block, used by the Java WORLD_SURFACE height map. Like Java, cave air and void air are
+         * treated as air (e.g. carved ravines which are open to the sky).
+         */
+        WORLD_SURFACE(identifier -> {
+            ChunkerBlockType type = identifier.getType();
+            if (type == ChunkerVanillaBlockType.AIR || type == ChunkerVanillaBlockType.CAVE_AIR || type == ChunkerVanillaBlockType.VOID_AIR) {
+                return NEVER;
+            }
+            return ALWAYS;
+        });
+
+        private final ToIntFunction<ChunkerBlockIdentifier> classifier;
+
+        Type(ToIntFunction<ChunkerBlockIdentifier> classifier) {
+            this.classifier = classifier;
+        }
+    }
+
+    /**
+     * Generate height maps for a column using every sub-chunk.
+     *
+     * @param column the column to generate the height maps for.
+     * @param types  the types of height map to generate.
+     * @return an array for each type in the same order, each containing the highest Y for each position indexed by
+     * {@code z << 4 | x} or {@link #NONE} if there wasn't a matching block.
+     */
+    public static int[][] generate(ChunkerColumn column, Type... types) {
+        return generate(column, Byte.MIN_VALUE, Byte.MAX_VALUE, types);
+    }
+
+    /**
+     * Generate height maps for a column using the sub-chunks within a range.
+     *
+     * @param column    the column to generate the height maps for.
+     * @param minChunkY the lowest sub-chunk Y to include.
+     * @param maxChunkY the highest sub-chunk Y to include.
+     * @param types     the types of height map to generate.
+     * @return an array for each type in the same order, each containing the highest Y for each position indexed by
+     * {@code z << 4 | x} or {@link #NONE} if there wasn't a matching block.
+     */
+    public static int[][] generate(ChunkerColumn column, int minChunkY, int maxChunkY, Type... types) {
+        return generate(column, minChunkY, maxChunkY, Arrays.stream(types).map(type -> type.classifier).toList());
+    }
+
+    /**
+     * Generate a height map for a column using a predicate.
+     *
+     * @param column    the column to generate the height map for.
+     * @param predicate the predicate to check each palette key against, if it returns true it can be the highest.
+     * @return the highest Y for each position indexed by {@code z << 4 | x} or {@link #NONE} if there wasn't a
+     * matching block.
+     */
+    public static int[] generate(ChunkerColumn column, Predicate<ChunkerBlockIdentifier> predicate) {
+        return generate(
+                column,
+                Byte.MIN_VALUE,
+                Byte.MAX_VALUE,
+                List.of(identifier -> predicate.test(identifier) ? ALWAYS : NEVER)
+        )[0];
+    }
+
+    /**
+     * Generate height maps for a column.
+     *
+     * @param column      the column to generate the height maps for.
+     * @param minChunkY   the lowest sub-chunk Y to include.
+     * @param maxChunkY   the highest sub-chunk Y to include.
+     * @param classifiers the classifier for each height map, returning whether a palette key matches.
+     * @return an array for each classifier in the same order.
+     */
+    private static int[][] generate(ChunkerColumn column, int minChunkY, int maxChunkY, List<ToIntFunction<ChunkerBlockIdentifier>> classifiers) {
+        int[][] heights = new int[classifiers.size()][256];
+        for (int[] height : heights) {
+            Arrays.fill(height, NONE);
+        }
+        int remaining = heights.length * 256;
+
+        // Start from the top
+        ObjectSortedSet<Byte2ObjectMap.Entry<ChunkerChunk>> chunkSet = column.getChunks().byte2ObjectEntrySet();
+        if (chunkSet.isEmpty()) return heights;
+        ObjectBidirectionalIterator<Byte2ObjectMap.Entry<ChunkerChunk>> iterator = chunkSet.iterator(chunkSet.last());
+        while (iterator.hasPrevious() && remaining > 0) {
+            ChunkerChunk chunk = iterator.previous().getValue();
+            Palette<ChunkerBlockIdentifier> palette = chunk.getPalette();
+            if (palette == null || chunk.getY() < minChunkY || chunk.getY() > maxChunkY) continue;
+
+            // Classify each key once, empty palettes use air for every block
+            // The extra class after the keys is air which is used for invalid keys
+            int keyCount = Math.max(1, palette.getKeyCount());
+            byte[][] classes = new byte[heights.length][keyCount + 1];
+            boolean anyMatches = false;
+            for (int i = 0; i <= keyCount; i++) {
+                ChunkerBlockIdentifier identifier = i == keyCount ? ChunkerBlockIdentifier.AIR : palette.getKey(i, ChunkerBlockIdentifier.AIR);
+                for (int type = 0; type < heights.length; type++) {
+                    classes[type][i] = (byte) classifiers.get(type).applyAsInt(identifier);
+                    anyMatches |= classes[type][i] != NEVER;
+                }
+            }
+            if (!anyMatches) continue;
+
+            // Palettes without values use the first key for every block
+            short[] values = palette instanceof ShortBasedPalette<ChunkerBlockIdentifier> shortBasedPalette ? shortBasedPalette.getValues() : null;
+            NibbleArray blockLight = chunk.getBlockLight();
+            NibbleArray skyLight = chunk.getSkyLight();
+            for (int y = 15; y >= 0 && remaining > 0; y--) {
+                int height = (chunk.getY() << 4) | y;
+                for (int i = 0; i < 256; i++) {
+                    int index = (y << 8) | i;
+                    int keyIndex = values == null ? 0 : values[index];
+                    if (keyIndex < 0 || keyIndex >= keyCount) keyIndex = keyCount; // Treat invalid keys as air
+                    for (int type = 0; type < heights.length; type++) {
+                        if (heights[type][i] != NONE) continue;
+                        int match = classes[type][keyIndex];
+                        if (match == NEVER) continue;
+                        if (match == IF_LIT) {
+                            int light = (blockLight == null ? 0 : blockLight.get(index)) + (skyLight == null ? 0 : skyLight.get(index));
+                            if (light == 0) continue;
+                        }
+
+                        heights[type][i] = height;
+                        remaining--;
+                    }
+                }
+            }
+        }
+        return heights;
+    }
+}
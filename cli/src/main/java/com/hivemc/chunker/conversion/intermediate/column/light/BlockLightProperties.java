@@ -0,0 +1,157 @@
+package com.hivemc.chunker.conversion.intermediate.column.light;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Bool;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Candles;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.LightLevel;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Pickles;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.RespawnAnchorCharges;
+
+/**
+ * Light emission and opacity for vanilla block types, used when generating light. The opacity is derived from whether
+ * every face of the block is solid with overrides for transparent blocks, custom blocks don't emit or block light.
+ */
+public final class BlockLightProperties {
+    private static final byte[] EMISSION = new byte[ChunkerVanillaBlockType.values().length];
+    private static final byte[] OPACITY = new byte[ChunkerVanillaBlockType.values().length];
+
+    static {
+        for (ChunkerVanillaBlockType type : ChunkerVanillaBlockType.values()) {
+            String name = type.name();
+
+            // Solid blocks block all light unless they're see-through
+            int opacity = type.isAllFacesSolid() ? 15 : 0;
+            if ((name.contains("GLASS") && type != ChunkerVanillaBlockType.TINTED_GLASS) || name.endsWith("_GRATE")) {
+                opacity = 0;
+            } else if (name.endsWith("_LEAVES")) {
+                opacity = 1;
+            }
+            OPACITY[type.ordinal()] = (byte) opacity;
+
+            // Families of blocks which emit light
+            if (name.endsWith("CANDLE") || name.endsWith("CANDLE_CAKE")) {
+                EMISSION[type.ordinal()] = 3;
+            } else if (name.endsWith("COPPER_BULB")) {
+                EMISSION[type.ordinal()] = (byte) (name.contains("OXIDIZED") ? 4 : name.contains("WEATHERED") ? 8 : name.contains("EXPOSED") ? 12 : 15);
+            } else if (name.endsWith("COPPER_LANTERN")) {
+                EMISSION[type.ordinal()] = 15;
+            } else if (name.endsWith("COPPER_TORCH") || name.endsWith("COPPER_WALL_TORCH")) {
+                EMISSION[type.ordinal()] = 14;
+            }
+        }
+
+        // Transparent blocks
+        opacity(0, ChunkerVanillaBlockType.BARRIER, ChunkerVanillaBlockType.SPAWNER, ChunkerVanillaBlockType.TRIAL_SPAWNER,
+                ChunkerVanillaBlockType.VAULT, ChunkerVanillaBlockType.BEACON);
+        opacity(1, ChunkerVanillaBlockType.WATER, ChunkerVanillaBlockType.BUBBLE_COLUMN, ChunkerVanillaBlockType.ICE,
+                ChunkerVanillaBlockType.FROSTED_ICE, ChunkerVanillaBlockType.COBWEB, ChunkerVanillaBlockType.SLIME_BLOCK,
+                ChunkerVanillaBlockType.HONEY_BLOCK);
+
+        // Light sources
+        emission(15, ChunkerVanillaBlockType.BEACON, ChunkerVanillaBlockType.CONDUIT, ChunkerVanillaBlockType.END_GATEWAY,
+                ChunkerVanillaBlockType.END_PORTAL, ChunkerVanillaBlockType.FIRE, ChunkerVanillaBlockType.GLOWSTONE,
+                ChunkerVanillaBlockType.JACK_O_LANTERN, ChunkerVanillaBlockType.LANTERN, ChunkerVanillaBlockType.LAVA,
+                ChunkerVanillaBlockType.LAVA_CAULDRON, ChunkerVanillaBlockType.SEA_LANTERN,
+                ChunkerVanillaBlockType.SHROOMLIGHT, ChunkerVanillaBlockType.REDSTONE_LAMP,
+                ChunkerVanillaBlockType.CAMPFIRE, ChunkerVanillaBlockType.OCHRE_FROGLIGHT,
+                ChunkerVanillaBlockType.VERDANT_FROGLIGHT, ChunkerVanillaBlockType.PEARLESCENT_FROGLIGHT,
+                ChunkerVanillaBlockType.RESPAWN_ANCHOR, ChunkerVanillaBlockType.LIGHT);
+        emission(14, ChunkerVanillaBlockType.TORCH, ChunkerVanillaBlockType.WALL_TORCH, ChunkerVanillaBlockType.END_ROD);
+        emission(13, ChunkerVanillaBlockType.FURNACE, ChunkerVanillaBlockType.BLAST_FURNACE, ChunkerVanillaBlockType.SMOKER);
+        emission(11, ChunkerVanillaBlockType.NETHER_PORTAL);
+        emission(10, ChunkerVanillaBlockType.CRYING_OBSIDIAN, ChunkerVanillaBlockType.SOUL_FIRE,
+                ChunkerVanillaBlockType.SOUL_LANTERN, ChunkerVanillaBlockType.SOUL_TORCH,
+                ChunkerVanillaBlockType.SOUL_WALL_TORCH, ChunkerVanillaBlockType.SOUL_CAMPFIRE);
+        emission(9, ChunkerVanillaBlockType.REDSTONE_ORE, ChunkerVanillaBlockType.DEEPSLATE_REDSTONE_ORE);
+        emission(7, ChunkerVanillaBlockType.ENCHANTING_TABLE, ChunkerVanillaBlockType.ENDER_CHEST,
+                ChunkerVanillaBlockType.REDSTONE_TORCH, ChunkerVanillaBlockType.REDSTONE_WALL_TORCH,
+                ChunkerVanillaBlockType.GLOW_LICHEN);
+        emission(6, ChunkerVanillaBlockType.SCULK_CATALYST);
+        emission(5, ChunkerVanillaBlockType.AMETHYST_CLUSTER);
+        emission(4, ChunkerVanillaBlockType.LARGE_AMETHYST_BUD);
+        emission(3, ChunkerVanillaBlockType.MAGMA_BLOCK, ChunkerVanillaBlockType.SEA_PICKLE);
+        emission(2, ChunkerVanillaBlockType.MEDIUM_AMETHYST_BUD);
+        emission(1, ChunkerVanillaBlockType.SMALL_AMETHYST_BUD, ChunkerVanillaBlockType.BREWING_STAND,
+                ChunkerVanillaBlockType.BROWN_MUSHROOM, ChunkerVanillaBlockType.DRAGON_EGG,
+                ChunkerVanillaBlockType.END_PORTAL_FRAME, ChunkerVanillaBlockType.SCULK_SENSOR,
+                ChunkerVanillaBlockType.CALIBRATED_SCULK_SENSOR);
+    }
+
+    private BlockLightProperties() {
+    }
+
+    /**
+     * Set the opacity of block types.
+     *
+     * @param opacity the amount of light blocked (0-15).
+     * @param types   the block types.
+     */
+    private static void opacity(int opacity, ChunkerVanillaBlockType... types) {
+        for (ChunkerVanillaBlockType type : types) {
+            OPACITY[type.ordinal()] = (byte) opacity;
+        }
+    }
+
+    /**
+     * Set the light emitted by block types.
+     *
+     * @param emission the light level emitted (0-15).
+     * @param types    the block types.
+     */
+    private static void emission(int emission, ChunkerVanillaBlockType... types) {
+        for (ChunkerVanillaBlockType type : types) {
+            EMISSION[type.ordinal()] = (byte) emission;
+        }
+    }
+
+    /**
+     * Get the light emitted by a block.
+     *
+     * @param identifier the block.
+     * @return the light level emitted (0-15).
+     */
+    public static int getEmission(ChunkerBlockIdentifier identifier) {
+        if (!(identifier.getType() instanceof ChunkerVanillaBlockType type)) return 0;
+        int emission = EMISSION[type.ordinal()];
+        if (emission == 0) return 0;
+
+        // Unlit blocks don't emit light (absent states use the vanilla default of being lit)
+        if (identifier.getState(VanillaBlockStates.LIT, false) == Bool.FALSE) return 0;
+
+        // Blocks where the level depends on the state
+        Candles candles = identifier.getState(VanillaBlockStates.CANDLES);
+        if (candles != null) {
+            return emission * (candles.ordinal() + 1);
+        } else if (type == ChunkerVanillaBlockType.SEA_PICKLE) {
+            Pickles pickles = identifier.getState(VanillaBlockStates.PICKLES);
+            boolean waterlogged = identifier.getState(VanillaBlockStates.WATERLOGGED) == Bool.TRUE;
+            return waterlogged ? emission + emission * (pickles == null ? 1 : pickles.ordinal() + 1) : 0;
+        } else if (type == ChunkerVanillaBlockType.RESPAWN_ANCHOR) {
+            RespawnAnchorCharges charges = identifier.getState(VanillaBlockStates.RESPAWN_ANCHOR_CHARGES);
+            return charges == null ? 0 : charges.ordinal() * emission / 4;
+        } else if (type == ChunkerVanillaBlockType.LIGHT) {
+            LightLevel level = identifier.getState(VanillaBlockStates.LIGHT_LEVEL);
+            return level == null ? emission : level.ordinal();
+        }
+        return emission;
+    }
+
+    /**
+     * Get the amount of light blocked by a block.
+     *
+     * @param identifier the block.
+     * @return the opacity (0-15), light always decreases by at least 1 when moving between blocks.
+     */
+    public static int getOpacity(ChunkerBlockIdentifier identifier) {
+        if (!(identifier.getType() instanceof ChunkerVanillaBlockType type)) return 0;
+        int opacity = OPACITY[type.ordinal()];
+
+        // Waterlogged blocks block light the same as water
+        if (opacity == 0 && identifier.getState(VanillaBlockStates.WATERLOGGED, false) == Bool.TRUE) {
+            return 1;
+        }
+        return opacity;
+    }
+}
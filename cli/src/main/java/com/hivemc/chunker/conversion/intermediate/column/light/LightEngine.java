@@ -0,0 +1,311 @@
+package com.hivemc.chunker.conversion.intermediate.column.light;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.NibbleArray;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.Palette;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Generates block light and sky light for a column.
+ * <p>
+ * Light can only travel 15 blocks, so the column is lit along with a 15 block margin taken from the 8 neighbouring
+ * columns (including the diagonals). This means light from the neighbours is included without needing their light.
+ */
+public final class LightEngine {
+    /**
+     * The size of the array of neighbours, a 3 x 3 grid of columns with the column being lit in the centre.
+     */
+    public static final int NEIGHBOURS = 9;
+    /**
+     * The distance light can travel from a neighbour into the column.
+     */
+    private static final int MARGIN = 15;
+    /**
+     * The width of the area being lit, the column and the margin either side.
+     */
+    private static final int SIZE = 16 + MARGIN * 2;
+    /**
+     * The directions light travels in as X, Y, Z offsets.
+     */
+    private static final int[][] DIRECTIONS = {{1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}};
+
+    private LightEngine() {
+    }
+
+    /**
+     * Check whether a column needs light to be generated.
+     *
+     * @param column the column to check.
+     * @return true if the column isn't marked as lit or a sub-chunk is missing block light.
+     */
+    public static boolean needsLight(ChunkerColumn column) {
+        if (!column.isLightPopulated()) return true;
+        for (ChunkerChunk chunk : column.getChunks().values()) {
+            if (chunk.getBlockLight() == null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the index of a neighbour in the array of neighbours.
+     *
+     * @param offsetX the X offset of the neighbour in columns (-1 to 1).
+     * @param offsetZ the Z offset of the neighbour in columns (-1 to 1).
+     * @return the index in the array of neighbours.
+     */
+    public static int getNeighbourIndex(int offsetX, int offsetZ) {
+        return (offsetZ + 1) * 3 + offsetX + 1;
+    }
+
+    /**
+     * Generate the light for each sub-chunk in a column and mark it as lit.
+     *
+     * @param column     the column to light.
+     * @param neighbours the neighbouring columns indexed by {@link #getNeighbourIndex(int, int)}, null where a neighbour
+     *                   isn't present. Only the blocks are read from these.
+     * @param skyLight   whether sky light should be generated, otherwise the sky light is left as is.
+     */
+    public static void light(ChunkerColumn column, @Nullable ChunkerColumn[] neighbours, boolean skyLight) {
+        // Find the height of the area being lit
+        int minChunkY = Integer.MAX_VALUE;
+        int maxChunkY = Integer.MIN_VALUE;
+        for (byte chunkY : column.getChunks().keySet()) {
+            minChunkY = Math.min(minChunkY, chunkY);
+            maxChunkY = Math.max(maxChunkY, chunkY);
+        }
+        if (minChunkY > maxChunkY) {
+            column.setLightPopulated(true);
+            return; // Nothing to light
+        }
+        for (ChunkerColumn neighbour : neighbours) {
+            if (neighbour == null || neighbour == column) continue;
+            for (byte chunkY : neighbour.getChunks().keySet()) {
+                minChunkY = Math.min(minChunkY, chunkY);
+                maxChunkY = Math.max(maxChunkY, chunkY);
+            }
+        }
+        int minY = minChunkY << 4;
+        int height = (maxChunkY - minChunkY + 1) << 4;
+
+        // Areas without a column (missing neighbours) are treated as opaque
+        byte[] opacity = new byte[SIZE * SIZE * height];
+        byte[] blockLight = new byte[opacity.length];
+        boolean[] included = new boolean[SIZE * SIZE];
+        Arrays.fill(opacity, (byte) 15);
+        IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+        fill(column, 0, 0, minY, height, opacity, blockLight, included, queue);
+        for (int offsetZ = -1; offsetZ <= 1; offsetZ++) {
+            for (int offsetX = -1; offsetX <= 1; offsetX++) {
+                ChunkerColumn neighbour = neighbours[getNeighbourIndex(offsetX, offsetZ)];
+                if (neighbour == null || (offsetX == 0 && offsetZ == 0)) continue;
+                fill(neighbour, offsetX, offsetZ, minY, height, opacity, blockLight, included, queue);
+            }
+        }
+
+        // Spread the block light from each source
+        propagate(blockLight, opacity, height, queue);
+
+        // Spread the sky light down from the top of each column and then outwards
+        byte[] sky = null;
+        if (skyLight) {
+            sky = new byte[opacity.length];
+            lightSky(sky, opacity, included, height, queue);
+            propagate(sky, opacity, height, queue);
+        }
+
+        // Copy the light into the column
+        for (ChunkerChunk chunk : column.getChunks().values()) {
+            NibbleArray chunkBlockLight = new NibbleArray();
+            NibbleArray chunkSkyLight = sky == null ? null : new NibbleArray();
+            int offsetY = (chunk.getY() << 4) - minY;
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        int index = getIndex(x + MARGIN, y + offsetY, z + MARGIN);
+                        chunkBlockLight.set(x, y, z, blockLight[index]);
+                        if (chunkSkyLight != null) {
+                            chunkSkyLight.set(x, y, z, sky[index]);
+                        }
+                    }
+                }
+            }
+            chunk.setBlockLight(chunkBlockLight);
+            if (chunkSkyLight != null) {
+                chunk.setSkyLight(chunkSkyLight);
+            }
+        }
+        column.setLightPopulated(true);
+    }
+
+    /**
+     * Get the index of a position in the area being lit.
+     *
+     * @param x the X position in the area (0 to SIZE - 1).
+     * @param y the Y position relative to the bottom of the area.
+     * @param z the Z position in the area (0 to SIZE - 1).
+     * @return the index in YZX order.
+     */
+    private static int getIndex(int x, int y, int z) {
+        return (y * SIZE + z) * SIZE + x;
+    }
+
+    /**
+     * Fill the opacity and light sources for the part of a column inside the area being lit.
+     *
+     * @param column     the column.
+     * @param offsetX    the X offset of the column in columns from the column being lit.
+     * @param offsetZ    the Z offset of the column in columns from the column being lit.
+     * @param minY       the lowest Y of the area.
+     * @param height     the height of the area.
+     * @param opacity    the output opacity.
+     * @param blockLight the output block light.
+     * @param included   the output for which X / Z positions have a column.
+     * @param queue      the queue to add the light sources to.
+     */
+    private static void fill(ChunkerColumn column, int offsetX, int offsetZ, int minY, int height, byte[] opacity, byte[] blockLight, boolean[] included, IntArrayFIFOQueue queue) {
+        // Find the part of the column inside the area
+        int areaOffsetX = (offsetX << 4) + MARGIN;
+        int areaOffsetZ = (offsetZ << 4) + MARGIN;
+        int startX = Math.max(0, -areaOffsetX);
+        int endX = Math.min(16, SIZE - areaOffsetX);
+        int startZ = Math.max(0, -areaOffsetZ);
+        int endZ = Math.min(16, SIZE - areaOffsetZ);
+
+        // Missing sub-chunks are air
+        for (int z = startZ; z < endZ; z++) {
+            for (int x = startX; x < endX; x++) {
+                included[(z + areaOffsetZ) * SIZE + x + areaOffsetX] = true;
+                for (int y = 0; y < height; y++) {
+                    opacity[getIndex(x + areaOffsetX, y, z + areaOffsetZ)] = 0;
+                }
+            }
+        }
+
+        for (ChunkerChunk chunk : column.getChunks().values()) {
+            Palette<ChunkerBlockIdentifier> palette = chunk.getPalette();
+            if (palette == null) continue;
+
+            // Look up the properties once per key, palettes without values use the first key for every block
+            int keyCount = Math.max(1, palette.getKeyCount());
+            byte[] keyOpacity = new byte[keyCount];
+            byte[] keyEmission = new byte[keyCount];
+            boolean anyProperties = false;
+            for (int i = 0; i < keyCount; i++) {
+                ChunkerBlockIdentifier identifier = palette.getKey(i, ChunkerBlockIdentifier.AIR);
+                keyOpacity[i] = (byte) BlockLightProperties.getOpacity(identifier);
+                keyEmission[i] = (byte) BlockLightProperties.getEmission(identifier);
+                anyProperties |= keyOpacity[i] != 0 || keyEmission[i] != 0;
+            }
+            if (!anyProperties) continue;
+
+            short[] values = palette instanceof ShortBasedPalette<ChunkerBlockIdentifier> shortBasedPalette ? shortBasedPalette.getValues() : null;
+            int offsetY = (chunk.getY() << 4) - minY;
+            for (int y = 0; y < 16; y++) {
+                for (int z = startZ; z < endZ; z++) {
+                    for (int x = startX; x < endX; x++) {
+                        int keyIndex = values == null ? 0 : values[ShortBasedPalette.getIndex(16, x, y, z)];
+                        if (keyIndex < 0 || keyIndex >= keyCount) continue; // Invalid keys are air
+                        int index = getIndex(x + areaOffsetX, y + offsetY, z + areaOffsetZ);
+                        opacity[index] = keyOpacity[keyIndex];
+                        if (keyEmission[keyIndex] != 0) {
+                            blockLight[index] = keyEmission[keyIndex];
+                            queue.enqueue(index);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Light each X / Z position which can see the sky and queue the positions where the light can spread.
+     *
+     * @param sky      the output sky light.
+     * @param opacity  the opacity of each position.
+     * @param included which X / Z positions have a column.
+     * @param height   the height of the area.
+     * @param queue    the queue to add the positions to spread from.
+     */
+    private static void lightSky(byte[] sky, byte[] opacity, boolean[] included, int height, IntArrayFIFOQueue queue) {
+        // Sky light travels down without decreasing until a block which blocks light
+        int[] top = new int[SIZE * SIZE];
+        for (int z = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++) {
+                int column = z * SIZE + x;
+                top[column] = height;
+                if (!included[column]) continue;
+
+                int y = height - 1;
+                while (y >= 0 && opacity[getIndex(x, y, z)] == 0) {
+                    sky[getIndex(x, y, z)] = 15;
+                    y--;
+                }
+
+                // Filtered light continues from the first block
+                top[column] = y;
+                if (y >= 0 && opacity[getIndex(x, y, z)] < 15) {
+                    sky[getIndex(x, y, z)] = (byte) (15 - opacity[getIndex(x, y, z)]);
+                    queue.enqueue(getIndex(x, y, z));
+                }
+            }
+        }
+
+        // Queue the full light which is next to a neighbour which is lower
+        for (int z = 0; z < SIZE; z++) {
+            for (int x = 0; x < SIZE; x++) {
+                int column = z * SIZE + x;
+                if (!included[column]) continue;
+                int neighbourTop = -1;
+                if (x > 0 && included[column - 1]) neighbourTop = Math.max(neighbourTop, top[column - 1]);
+                if (x < SIZE - 1 && included[column + 1]) neighbourTop = Math.max(neighbourTop, top[column + 1]);
+                if (z > 0 && included[column - SIZE]) neighbourTop = Math.max(neighbourTop, top[column - SIZE]);
+                if (z < SIZE - 1 && included[column + SIZE]) neighbourTop = Math.max(neighbourTop, top[column + SIZE]);
+                for (int y = top[column] + 1; y <= neighbourTop; y++) {
+                    queue.enqueue(getIndex(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Spread light from the queued positions until the queue is empty.
+     *
+     * @param light   the light to spread.
+     * @param opacity the opacity of each position.
+     * @param height  the height of the area.
+     * @param queue   the queue of positions to spread from.
+     */
+    private static void propagate(byte[] light, byte[] opacity, int height, IntArrayFIFOQueue queue) {
+        while (!queue.isEmpty()) {
+            int index = queue.dequeueInt();
+            int level = light[index];
+            if (level <= 1) continue;
+
+            int x = index % SIZE;
+            int z = (index / SIZE) % SIZE;
+            int y = index / (SIZE * SIZE);
+            for (int[] direction : DIRECTIONS) {
+                int neighbourX = x + direction[0];
+                int neighbourY = y + direction[1];
+                int neighbourZ = z + direction[2];
+                if (neighbourX < 0 || neighbourX >= SIZE || neighbourY < 0 || neighbourY >= height || neighbourZ < 0 || neighbourZ >= SIZE) {
+                    continue;
+                }
+
+                // Light decreases by at least 1 for each block
+                int neighbour = getIndex(neighbourX, neighbourY, neighbourZ);
+                int neighbourLevel = level - Math.max(1, opacity[neighbour]);
+                if (neighbourLevel > light[neighbour]) {
+                    light[neighbour] = (byte) neighbourLevel;
+                    queue.enqueue(neighbour);
+                }
+            }
+        }
+    }
+}
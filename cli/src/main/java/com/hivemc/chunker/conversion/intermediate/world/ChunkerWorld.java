@@ -10,6 +10,7 @@ import java.util.Set;
 public class ChunkerWorld {
     private Dimension dimension;
     private Set<RegionCoordPair> regions;
+    private boolean columnBatching;
 
     /**
      * Create a new ChunkerWorld.
@@ -58,6 +59,25 @@ public class ChunkerWorld {
         this.regions = regions;
     }
 
+    /**
+     * Whether the columns of this world should be read and written in batches, this is decided per world before the
+     * columns are read.
+     *
+     * @return true if the columns should be batched.
+     */
+    public boolean isColumnBatching() {
+        return columnBatching;
+    }
+
+    /**
+     * Set whether the columns of this world should be read and written in batches.
+     *
+     * @param columnBatching true if the columns should be batched.
+     */
+    public void setColumnBatching(boolean columnBatching) {
+        this.columnBatching = columnBatching;
+    }
+
     @Override
     public String toString() {
         return "ChunkerWorld{" +
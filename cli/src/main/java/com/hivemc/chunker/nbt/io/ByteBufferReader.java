@@ -0,0 +1,111 @@
+package com.hivemc.chunker.nbt.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Implements a ByteBuffer based reader which reads directly from a fully decompressed buffer (heap or direct), this
+ * avoids the stream / DataInput layers and allows arrays to be read in bulk.
+ */
+class ByteBufferReader implements Reader {
+    protected final ByteBuffer buffer;
+
+    protected ByteBufferReader(ByteBuffer buffer, ByteOrder order) {
+        this.buffer = buffer.order(order);
+    }
+
+    /**
+     * Ensure a number of bytes can be read, matching the EOFException thrown by DataInput.
+     *
+     * @param bytes the number of bytes which are going to be read.
+     * @throws EOFException if there aren't enough bytes remaining.
+     */
+    protected void require(int bytes) throws EOFException {
+        if (buffer.remaining() < bytes) throw new EOFException();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        require(2);
+        return buffer.getShort();
+    }
+
+    @Override
+    public void readBytes(byte @NotNull [] array) throws IOException {
+        require(array.length);
+        buffer.get(array);
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        require(1);
+        return buffer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        require(1);
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        require(4);
+        return buffer.getInt();
+    }
+
+    @Override
+    public int readUnsignedInt24() throws IOException {
+        require(3);
+        byte byte1 = buffer.get();
+        byte byte2 = buffer.get();
+        byte byte3 = buffer.get();
+        if (buffer.order() == ByteOrder.LITTLE_ENDIAN) {
+            return (byte3 & 0xff) << 16 | (byte2 & 0xff) << 8 | byte1 & 0xff;
+        } else {
+            return (byte1 & 0xff) << 16 | (byte2 & 0xff) << 8 | byte3 & 0xff;
+        }
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        require(8);
+        return buffer.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        require(4);
+        return buffer.getFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        require(8);
+        return buffer.getDouble();
+    }
+
+    @Override
+    public void readInts(int @NotNull [] array) throws IOException {
+        require(array.length * 4);
+        buffer.asIntBuffer().get(array);
+        buffer.position(buffer.position() + array.length * 4);
+    }
+
+    @Override
+    public void readLongs(long @NotNull [] array) throws IOException {
+        require(array.length * 8);
+        buffer.asLongBuffer().get(array);
+        buffer.position(buffer.position() + array.length * 8);
+    }
+
+    @Override
+    public void skipBytes(int length) throws IOException {
+        require(length);
+        buffer.position(buffer.position() + length);
+    }
+}
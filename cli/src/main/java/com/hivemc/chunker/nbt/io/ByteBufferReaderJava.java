@@ -0,0 +1,71 @@
+package com.hivemc.chunker.nbt.io;
+
+import com.hivemc.chunker.util.ByteBufferInputStream;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Implements a ByteBuffer based reader which decodes using big endian and uses modified UTF-8 based Strings.
+ */
+class ByteBufferReaderJava extends ByteBufferReader {
+    protected ByteBufferReaderJava(ByteBuffer buffer) {
+        super(buffer, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Read a modified UTF-8 String, ASCII strings are decoded directly and anything else uses DataInput.
+     *
+     * @param maxLength the maximum accepting length for the String.
+     * @return the String value which was read.
+     * @throws IOException if the reading fails or there is a decoding error.
+     */
+    protected String readUTF(int maxLength) throws IOException {
+        int start = buffer.position();
+        require(2);
+        int length = buffer.getShort() & 0xFFFF;
+        require(length);
+
+        // Check if all the characters are encoded as a single byte
+        boolean ascii = true;
+        int offset = buffer.position();
+        for (int i = 0; i < length; i++) {
+            byte value = buffer.get(offset + i);
+            if (value <= 0) {
+                ascii = false;
+                break;
+            }
+        }
+
+        String str;
+        if (ascii) {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            str = new String(bytes, StandardCharsets.ISO_8859_1);
+        } else {
+            // Decode using Java's readUTF
+            buffer.position(start);
+            str = DataInputStream.readUTF(new DataInputStream(new ByteBufferInputStream(buffer)));
+        }
+
+        // We have to check the length afterward to match the DataInput reader
+        if (str.length() > maxLength) {
+            throw new IllegalArgumentException("Could not read String with length " + str.length());
+        }
+        return str;
+    }
+
+    @Override
+    public ByteString readShortPrefixedByteString(int maxLength) throws IOException {
+        return new ByteString(readUTF(maxLength));
+    }
+
+    @Override
+    public @NotNull String readString(int maxLength) throws IOException {
+        return readUTF(maxLength);
+    }
+}
@@ -0,0 +1,68 @@
+package com.hivemc.chunker.nbt.io;
+
+import java.util.ArrayDeque;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Per-thread pools of zlib deflaters / inflaters, creating these allocates native memory so they are reused rather than
+ * being created for every chunk.
+ */
+public final class CompressionPool {
+    private static final int MAX_POOLED_PER_THREAD = 2;
+    private static final ThreadLocal<ArrayDeque<Deflater>> DEFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<ArrayDeque<Inflater>> INFLATERS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private CompressionPool() {
+    }
+
+    /**
+     * Acquire a deflater using the fastest compression level (used for all the zlib data written).
+     *
+     * @return the deflater, which should be released using {@link #release(Deflater)}.
+     */
+    public static Deflater acquireDeflater() {
+        Deflater deflater = DEFLATERS.get().pollLast();
+        return deflater != null ? deflater : new Deflater(Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Return a deflater to the pool of the current thread.
+     *
+     * @param deflater the deflater which was acquired.
+     */
+    public static void release(Deflater deflater) {
+        ArrayDeque<Deflater> pool = DEFLATERS.get();
+        if (pool.size() < MAX_POOLED_PER_THREAD) {
+            deflater.reset();
+            pool.addLast(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Acquire an inflater for zlib data.
+     *
+     * @return the inflater, which should be released using {@link #release(Inflater)}.
+     */
+    public static Inflater acquireInflater() {
+        Inflater inflater = INFLATERS.get().pollLast();
+        return inflater != null ? inflater : new Inflater();
+    }
+
+    /**
+     * Return an inflater to the pool of the current thread.
+     *
+     * @param inflater the inflater which was acquired.
+     */
+    public static void release(Inflater inflater) {
+        ArrayDeque<Inflater> pool = INFLATERS.get();
+        if (pool.size() < MAX_POOLED_PER_THREAD) {
+            inflater.reset();
+            pool.addLast(inflater);
+        } else {
+            inflater.end();
+        }
+    }
+}
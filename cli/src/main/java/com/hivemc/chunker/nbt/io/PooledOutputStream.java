@@ -0,0 +1,173 @@
+package com.hivemc.chunker.nbt.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * A growable byte array output stream which is returned to a per-thread pool when closed, so that encoding a tag or
+ * chunk reuses the same buffer rather than allocating (and growing) a new one each time. Streams should be acquired
+ * and closed on the same thread using try-with-resources, and can be nested (e.g. a column with keyed entities).
+ */
+public final class PooledOutputStream extends OutputStream {
+    private static final int INITIAL_SIZE = 8 * 1024;
+    private static final int MAX_POOLED_SIZE = 4 * 1024 * 1024;
+    private static final int MAX_POOLED_PER_THREAD = 4;
+    private static final ThreadLocal<ArrayDeque<PooledOutputStream>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+    private final DataOutputStream dataOutput = new DataOutputStream(this);
+    byte[] buffer = new byte[INITIAL_SIZE];
+    int count;
+    private boolean released;
+
+    private PooledOutputStream() {
+    }
+
+    /**
+     * Acquire an empty stream from the pool of the current thread.
+     *
+     * @return the stream, which should be closed to return it to the pool.
+     */
+    public static PooledOutputStream acquire() {
+        PooledOutputStream stream = POOL.get().pollLast();
+        if (stream == null) {
+            stream = new PooledOutputStream();
+        }
+        stream.count = 0;
+        stream.released = false;
+        return stream;
+    }
+
+    /**
+     * Get a DataOutput which writes to this stream, this should not be closed.
+     *
+     * @return the data output for this stream.
+     */
+    public DataOutputStream getDataOutput() {
+        return dataOutput;
+    }
+
+    /**
+     * Ensure the buffer can hold a number of bytes.
+     *
+     * @param capacity the minimum capacity required.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length << 1));
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte @NotNull [] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    /**
+     * Compress the contents of this stream and write it to another stream.
+     *
+     * @param output   the stream to write the compressed bytes to.
+     * @param deflater the deflater to use, this is reset before use.
+     */
+    public void deflateTo(PooledOutputStream output, Deflater deflater) {
+        deflater.reset();
+        deflater.setInput(buffer, 0, count);
+        deflater.finish();
+        while (!deflater.finished()) {
+            output.ensureCapacity(output.count + Math.max(1024, count >> 2));
+            output.count += deflater.deflate(output.buffer, output.count, output.buffer.length - output.count);
+        }
+    }
+
+    /**
+     * Decompress a zlib stream and write the decompressed bytes to this stream.
+     *
+     * @param input    the compressed input, read from the position to the limit.
+     * @param inflater the inflater to use, this is reset before use.
+     * @throws IOException if the input was invalid.
+     */
+    public void inflateFrom(ByteBuffer input, Inflater inflater) throws IOException {
+        inflater.reset();
+        inflater.setInput(input);
+        try {
+            while (!inflater.finished()) {
+                ensureCapacity(count + Math.max(1024, input.remaining() << 1));
+                int inflated = inflater.inflate(buffer, count, buffer.length - count);
+                count += inflated;
+
+                // Stop if the input was truncated, reading the decompressed data will report it if it's incomplete
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+            }
+        } catch (DataFormatException e) {
+            ZipException exception = new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format");
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    /**
+     * Create an input stream which reads the current contents of this stream without copying them.
+     *
+     * @return the input stream, only valid until this stream is written to or closed.
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(buffer, 0, count);
+    }
+
+    /**
+     * Create a buffer which reads the current contents of this stream without copying them.
+     *
+     * @return the buffer, only valid until this stream is written to or closed.
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, count);
+    }
+
+    /**
+     * Get the number of bytes written.
+     *
+     * @return the size in bytes.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Copy the written bytes to a new array.
+     *
+     * @return the written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Return the stream to the pool of the current thread.
+     */
+    @Override
+    public void close() {
+        if (released) return;
+        released = true;
+        count = 0;
+
+        // Only keep buffers which haven't grown too large
+        ArrayDeque<PooledOutputStream> pool = POOL.get();
+        if (buffer.length <= MAX_POOLED_SIZE && pool.size() < MAX_POOLED_PER_THREAD) {
+            pool.addLast(this);
+        }
+    }
+}
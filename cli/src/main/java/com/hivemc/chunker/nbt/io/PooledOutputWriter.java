@@ -0,0 +1,101 @@
+package com.hivemc.chunker.nbt.io;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Implements a writer which writes directly into the array of a pooled output stream, this avoids the DataOutput layer
+ * and allows arrays to be written in bulk.
+ */
+class PooledOutputWriter implements Writer {
+    protected final PooledOutputStream output;
+    private final ByteOrder order;
+    private ByteBuffer view;
+
+    protected PooledOutputWriter(PooledOutputStream output, ByteOrder order) {
+        this.output = output;
+        this.order = order;
+    }
+
+    /**
+     * Reserve space at the end of the stream for a number of bytes.
+     *
+     * @param bytes the number of bytes which are going to be written.
+     * @return a buffer positioned at the reserved space.
+     */
+    protected ByteBuffer reserve(int bytes) {
+        output.ensureCapacity(output.count + bytes);
+
+        // Create a new view if the array was grown
+        if (view == null || view.array() != output.buffer) {
+            view = ByteBuffer.wrap(output.buffer).order(order);
+        }
+        view.position(output.count);
+        output.count += bytes;
+        return view;
+    }
+
+    @Override
+    public void writeShort(short value) {
+        reserve(2).putShort(value);
+    }
+
+    @Override
+    public void writeBytes(byte[] value) {
+        output.write(value, 0, value.length);
+    }
+
+    @Override
+    public void writeByte(byte value) {
+        output.write(value);
+    }
+
+    @Override
+    public void writeByte(int value) {
+        output.write(value);
+    }
+
+    @Override
+    public void writeInt(int value) {
+        reserve(4).putInt(value);
+    }
+
+    @Override
+    public void writeUnsignedInt24(int value) {
+        ByteBuffer buffer = reserve(3);
+        if (order == ByteOrder.LITTLE_ENDIAN) {
+            buffer.put((byte) value);
+            buffer.put((byte) (value >> 8));
+            buffer.put((byte) (value >> 16));
+        } else {
+            buffer.put((byte) (value >> 16));
+            buffer.put((byte) (value >> 8));
+            buffer.put((byte) value);
+        }
+    }
+
+    @Override
+    public void writeLong(long value) {
+        reserve(8).putLong(value);
+    }
+
+    @Override
+    public void writeFloat(float value) {
+        reserve(4).putFloat(value);
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        reserve(8).putDouble(value);
+    }
+
+    @Override
+    public void writeInts(int[] value) {
+        reserve(value.length * 4).asIntBuffer().put(value);
+    }
+
+    @Override
+    public void writeLongs(long[] value) {
+        reserve(value.length * 8).asLongBuffer().put(value);
+    }
+}
@@ -0,0 +1,53 @@
+package com.hivemc.chunker.nbt.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+/**
+ * Implements a pooled output stream based writer which encodes using big endian and uses modified UTF-8 based Strings.
+ */
+class PooledOutputWriterJava extends PooledOutputWriter {
+    protected PooledOutputWriterJava(PooledOutputStream output) {
+        super(output, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Write a modified UTF-8 String, ASCII strings are encoded directly and anything else uses DataOutput.
+     *
+     * @param value the value to write to the buffer.
+     * @throws IOException if the writing fails or there is an encoding error.
+     */
+    protected void writeUTF(String value) throws IOException {
+        int length = value.length();
+
+        // Check if all the characters are encoded as a single byte
+        boolean ascii = length <= 0xFFFF;
+        for (int i = 0; i < length && ascii; i++) {
+            char character = value.charAt(i);
+            ascii = character != 0 && character < 0x80;
+        }
+
+        if (ascii) {
+            writeShort((short) length);
+            output.ensureCapacity(output.count + length);
+            for (int i = 0; i < length; i++) {
+                output.buffer[output.count++] = (byte) value.charAt(i);
+            }
+        } else {
+            // Encode using Java's writeUTF
+            output.getDataOutput().writeUTF(value);
+        }
+    }
+
+    @Override
+    public void writeShortPrefixedByteString(@NotNull ByteString value) throws IOException {
+        writeUTF(value.getString());
+    }
+
+    @Override
+    public void writeString(@NotNull String value) throws IOException {
+        writeUTF(value);
+    }
+}
@@ -4,6 +4,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -50,6 +52,46 @@ public interface Reader {
         return toLittleEndianReader(dataInput); // Bedrock uses Little Endian
     }
 
+    /**
+     * Create a big endian based reader from a fully decompressed ByteBuffer, reading advances the buffer position.
+     *
+     * @param buffer the buffer to use as the source, the byte order of the buffer is changed.
+     * @return a reader which wraps the ByteBuffer.
+     */
+    static Reader toBigEndianReader(ByteBuffer buffer) {
+        return new ByteBufferReader(buffer, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Create a Java edition based reader from a fully decompressed ByteBuffer, reading advances the buffer position.
+     *
+     * @param buffer the buffer to use as the source, the byte order of the buffer is changed.
+     * @return a reader which wraps the ByteBuffer.
+     */
+    static Reader toJavaReader(ByteBuffer buffer) {
+        return new ByteBufferReaderJava(buffer);
+    }
+
+    /**
+     * Create a little endian based reader from a fully decompressed ByteBuffer, reading advances the buffer position.
+     *
+     * @param buffer the buffer to use as the source, the byte order of the buffer is changed.
+     * @return a reader which wraps the ByteBuffer.
+     */
+    static Reader toLittleEndianReader(ByteBuffer buffer) {
+        return new ByteBufferReader(buffer, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Create a Bedrock edition based reader from a fully decompressed ByteBuffer, reading advances the buffer position.
+     *
+     * @param buffer the buffer to use as the source, the byte order of the buffer is changed.
+     * @return a reader which wraps the ByteBuffer.
+     */
+    static Reader toBedrockReader(ByteBuffer buffer) {
+        return toLittleEndianReader(buffer); // Bedrock uses Little Endian
+    }
+
     /**
      * Read a short-length based byte[] from the buffer.
      *
@@ -165,4 +207,38 @@ public interface Reader {
      * @throws IOException if the reading fails or there is a decoding error.
      */
     double readDouble() throws IOException;
+
+    /**
+     * Read an array of integers from the buffer.
+     *
+     * @param array the output array to write to.
+     * @throws IOException if the reading fails or there is a decoding error.
+     */
+    default void readInts(int @NotNull [] array) throws IOException {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readInt();
+        }
+    }
+
+    /**
+     * Read an array of longs from the buffer.
+     *
+     * @param array the output array to write to.
+     * @throws IOException if the reading fails or there is a decoding error.
+     */
+    default void readLongs(long @NotNull [] array) throws IOException {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readLong();
+        }
+    }
+
+    /**
+     * Skip a number of bytes in the buffer.
+     *
+     * @param length the number of bytes to skip.
+     * @throws IOException if the skipping fails or there aren't enough bytes.
+     */
+    default void skipBytes(int length) throws IOException {
+        readBytes(new byte[length]);
+    }
 }
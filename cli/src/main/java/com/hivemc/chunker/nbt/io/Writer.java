@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -50,6 +51,46 @@ public interface Writer {
         return toLittleEndianWriter(dataOutput); // Bedrock uses Little Endian
     }
 
+    /**
+     * Create a big endian based writer which writes directly into the array of a pooled stream.
+     *
+     * @param output the pooled stream to use as the destination.
+     * @return a writer which wraps the stream.
+     */
+    static Writer toBigEndianWriter(PooledOutputStream output) {
+        return new PooledOutputWriter(output, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Create a Java edition based writer which writes directly into the array of a pooled stream.
+     *
+     * @param output the pooled stream to use as the destination.
+     * @return a writer which wraps the stream.
+     */
+    static Writer toJavaWriter(PooledOutputStream output) {
+        return new PooledOutputWriterJava(output);
+    }
+
+    /**
+     * Create a little endian based writer which writes directly into the array of a pooled stream.
+     *
+     * @param output the pooled stream to use as the destination.
+     * @return a writer which wraps the stream.
+     */
+    static Writer toLittleEndianWriter(PooledOutputStream output) {
+        return new PooledOutputWriter(output, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Create a Bedrock edition based writer which writes directly into the array of a pooled stream.
+     *
+     * @param output the pooled stream to use as the destination.
+     * @return a writer which wraps the stream.
+     */
+    static Writer toBedrockWriter(PooledOutputStream output) {
+        return toLittleEndianWriter(output); // Bedrock uses Little Endian
+    }
+
     /**
      * Write a short-length based byte array to the buffer.
      *
@@ -153,4 +194,28 @@ public interface Writer {
      * @throws IOException if the writing fails or there is an encoding error.
      */
     void writeDouble(double value) throws IOException;
+
+    /**
+     * Write an array of integers to the buffer.
+     *
+     * @param value the value to write to the buffer.
+     * @throws IOException if the writing fails or there is an encoding error.
+     */
+    default void writeInts(int[] value) throws IOException {
+        for (int i : value) {
+            writeInt(i);
+        }
+    }
+
+    /**
+     * Write an array of longs to the buffer.
+     *
+     * @param value the value to write to the buffer.
+     * @throws IOException if the writing fails or there is an encoding error.
+     */
+    default void writeLongs(long[] value) throws IOException {
+        for (long l : value) {
+            writeLong(l);
+        }
+    }
 }
@@ -1,9 +1,13 @@
 package com.hivemc.chunker.nbt.tags;
 
 import com.hivemc.chunker.nbt.TagType;
+import com.hivemc.chunker.nbt.io.CompressionPool;
+import com.hivemc.chunker.nbt.io.PooledOutputStream;
 import com.hivemc.chunker.nbt.io.Reader;
 import com.hivemc.chunker.nbt.io.Writer;
+import com.hivemc.chunker.nbt.tags.array.ByteArrayTag;
 import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.nbt.tags.collection.ListTag;
 import com.hivemc.chunker.util.ByteBufferInputStream;
 import net.jpountz.lz4.LZ4BlockInputStream;
 import net.jpountz.lz4.LZ4BlockOutputStream;
@@ -12,6 +16,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Objects;
 import java.util.function.Supplier;
 import java.util.zip.*;
@@ -30,15 +35,12 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static byte[] writeBedrockNBT(CompoundTag root) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Encode
-                Tag.encodeNamed(Writer.toBedrockWriter(writerStream), "", root);
-            }
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            // Encode
+            Tag.encodeNamed(Writer.toBedrockWriter(outputStream), "", root);
 
             // Return byte array
-            return byteArrayOutputStream.toByteArray();
+            return outputStream.toByteArray();
         }
     }
 
@@ -126,14 +128,12 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static byte[] writeUncompressedJavaNBT(CompoundTag root) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(byteArrayOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Encode
-                Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
-            }
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            // Encode
+            Tag.encodeNamed(Writer.toJavaWriter(outputStream), "", root);
+
             // Return byte array
-            return byteArrayOutputStream.toByteArray();
+            return outputStream.toByteArray();
         }
     }
 
@@ -145,16 +145,17 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static byte[] writeZLibJavaNBT(CompoundTag root) throws IOException {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(1024)) {
-            try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(byteArrayOutputStream, new Deflater(Deflater.BEST_SPEED));
-                 BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(deflaterOutputStream);
-                 DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
-                // Encode
-                Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
-            }
+        Deflater deflater = CompressionPool.acquireDeflater();
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire();
+             PooledOutputStream compressedStream = PooledOutputStream.acquire()) {
+            // Encode
+            Tag.encodeNamed(Writer.toJavaWriter(outputStream), "", root);
 
-            // Return byte array
-            return byteArrayOutputStream.toByteArray();
+            // Compress and return byte array
+            outputStream.deflateTo(compressedStream, deflater);
+            return compressedStream.toByteArray();
+        } finally {
+            CompressionPool.release(deflater);
         }
     }
 
@@ -187,12 +188,15 @@ public abstract class Tag<T> {
      * @throws IOException if it failed to write the file or compound.
      */
     public static void writeZLibJavaNBT(File file, CompoundTag root) throws IOException {
+        Deflater deflater = CompressionPool.acquireDeflater();
         try (FileOutputStream fileOutputStream = new FileOutputStream(file);
-             DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(fileOutputStream, new Deflater(Deflater.BEST_SPEED));
+             DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(fileOutputStream, deflater);
              BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(deflaterOutputStream);
              DataOutputStream writerStream = new DataOutputStream(bufferedOutputStream)) {
             // Encode
             Tag.encodeNamed(Writer.toJavaWriter(writerStream), "", root);
+        } finally {
+            CompressionPool.release(deflater);
         }
     }
 
@@ -265,14 +269,7 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readBedrockNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream fileInputStream = new ByteArrayInputStream(input);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toBedrockReader(readerStream), CompoundTag.class);
-            if (pair == null) return null;
-
-            // Return the tag if it wasn't null
-            return pair.tag();
-        }
+        return readBedrockNBT(ByteBuffer.wrap(input));
     }
 
     /**
@@ -284,13 +281,16 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readBedrockNBT(ByteBuffer input) throws IOException {
-        try (ByteBufferInputStream fileInputStream = new ByteBufferInputStream(input);
-             DataInputStream readerStream = new DataInputStream(fileInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toBedrockReader(readerStream), CompoundTag.class);
+        // Read directly from the buffer, restoring the byte order after as the caller may rely on it
+        ByteOrder order = input.order();
+        try {
+            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toBedrockReader(input), CompoundTag.class);
             if (pair == null) return null;
 
             // Return the tag if it wasn't null
             return pair.tag();
+        } finally {
+            input.order(order);
         }
     }
 
@@ -303,10 +303,22 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readUncompressedJavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             BufferedInputStream bufferedInputStream = new BufferedInputStream(byteArrayInputStream);
-             DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
+        return readUncompressedJavaNBT(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Read a Java edition based NBT buffer automatically removing the nested "data" tag if present.
+     *
+     * @param input the input buffer to read from, this is read from the position to the limit.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readUncompressedJavaNBT(ByteBuffer input) throws IOException {
+        // Read directly from the buffer, restoring the byte order after as the caller may rely on it
+        ByteOrder order = input.order();
+        try {
+            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(input), CompoundTag.class);
 
             // Check pair isn't null
             if (pair == null) return null;
@@ -324,6 +336,8 @@ public abstract class Tag<T> {
 
             // Otherwise return root
             return root;
+        } finally {
+            input.order(order);
         }
     }
 
@@ -371,8 +385,21 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readLZ4JavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             LZ4BlockInputStream lz4InputStream = new LZ4BlockInputStream(byteArrayInputStream);
+        return readLZ4JavaNBT(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Read a Java edition based LZ4 NBT buffer (likely ending with .dat) automatically removing the nested "data" tag if
+     * present.
+     *
+     * @param input the input buffer to read from, this is read from the position to the limit.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readLZ4JavaNBT(ByteBuffer input) throws IOException {
+        try (ByteBufferInputStream byteBufferInputStream = new ByteBufferInputStream(input);
+             LZ4BlockInputStream lz4InputStream = new LZ4BlockInputStream(byteBufferInputStream);
              BufferedInputStream bufferedInputStream = new BufferedInputStream(lz4InputStream);
              DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
             TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
@@ -406,8 +433,21 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readGZipJavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             GZIPInputStream gzipInputStream = new GZIPInputStream(byteArrayInputStream);
+        return readGZipJavaNBT(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Read a Java edition based GZIP NBT buffer (likely ending with .dat) automatically removing the nested "data" tag if
+     * present.
+     *
+     * @param input the input buffer to read from, this is read from the position to the limit.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readGZipJavaNBT(ByteBuffer input) throws IOException {
+        try (ByteBufferInputStream byteBufferInputStream = new ByteBufferInputStream(input);
+             GZIPInputStream gzipInputStream = new GZIPInputStream(byteBufferInputStream);
              BufferedInputStream bufferedInputStream = new BufferedInputStream(gzipInputStream);
              DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
             TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
@@ -506,11 +546,25 @@ public abstract class Tag<T> {
      */
     @Nullable
     public static CompoundTag readZLibJavaNBT(byte[] input) throws IOException {
-        try (ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(input);
-             InflaterInputStream inflaterInputStream = new InflaterInputStream(byteArrayInputStream);
-             BufferedInputStream bufferedInputStream = new BufferedInputStream(inflaterInputStream);
-             DataInputStream readerStream = new DataInputStream(bufferedInputStream)) {
-            TagWithName<CompoundTag> pair = Tag.decodeNamed(Reader.toJavaReader(readerStream), CompoundTag.class);
+        return readZLibJavaNBT(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Read a Java edition based ZLIB NBT buffer automatically removing the nested "data" tag if
+     * present.
+     *
+     * @param input the input buffer to read from, this is read from the position to the limit.
+     * @return the parsed CompoundTag or null if there isn't any data to read.
+     * @throws IOException if it failed to read the file or compound.
+     */
+    @Nullable
+    public static CompoundTag readZLibJavaNBT(ByteBuffer input) throws IOException {
+        Inflater inflater = CompressionPool.acquireInflater();
+        try (PooledOutputStream decompressedStream = PooledOutputStream.acquire()) {
+            // Decompress the whole column at once into a reusable buffer
+            decompressedStream.inflateFrom(input, inflater);
+            Reader reader = Reader.toJavaReader(decompressedStream.toByteBuffer());
+            TagWithName<CompoundTag> pair = Tag.decodeNamed(reader, CompoundTag.class);
 
             // Check pair isn't null
             if (pair == null) return null;
@@ -528,6 +582,8 @@ public abstract class Tag<T> {
 
             // Otherwise return root
             return root;
+        } finally {
+            CompressionPool.release(inflater);
         }
     }
 
@@ -636,6 +692,62 @@ public abstract class Tag<T> {
         return tag;
     }
 
+    /**
+     * Skip over a named tag in a reader without decoding it, this is used to find the bounds of an encoded tag.
+     *
+     * @param reader the reader which bytes should be skipped in.
+     * @return true if a tag was skipped, false if it was an end tag.
+     * @throws IOException an exception if it failed to read the type or there weren't enough bytes.
+     */
+    public static boolean skipNamed(Reader reader) throws IOException {
+        TagType<?, ?> tagType = TagType.getById(reader.readUnsignedByte());
+        if (tagType == TagType.END) return false;
+
+        // Skip the name then the value
+        reader.skipBytes(reader.readShort() & 0xFFFF);
+        skipValue(reader, tagType);
+        return true;
+    }
+
+    /**
+     * Skip over the value of a tag in a reader without decoding it.
+     *
+     * @param reader  the reader which bytes should be skipped in.
+     * @param tagType the type of the tag being skipped.
+     * @throws IOException an exception if it failed to read a type or there weren't enough bytes.
+     */
+    public static void skipValue(Reader reader, TagType<?, ?> tagType) throws IOException {
+        if (tagType == TagType.BYTE) {
+            reader.skipBytes(1);
+        } else if (tagType == TagType.SHORT) {
+            reader.skipBytes(2);
+        } else if (tagType == TagType.INT || tagType == TagType.FLOAT) {
+            reader.skipBytes(4);
+        } else if (tagType == TagType.LONG || tagType == TagType.DOUBLE) {
+            reader.skipBytes(8);
+        } else if (tagType == TagType.STRING) {
+            reader.skipBytes(reader.readShort() & 0xFFFF);
+        } else if (tagType == TagType.BYTE_ARRAY || tagType == TagType.INT_ARRAY || tagType == TagType.LONG_ARRAY) {
+            int length = reader.readInt();
+            if (length < 0 || length > ByteArrayTag.MAX_ARRAY_LENGTH)
+                throw new IllegalArgumentException("Could not read array with length " + length);
+            reader.skipBytes(length * (tagType == TagType.BYTE_ARRAY ? 1 : tagType == TagType.INT_ARRAY ? 4 : 8));
+        } else if (tagType == TagType.LIST) {
+            TagType<?, ?> listType = TagType.getById(reader.readUnsignedByte());
+            int length = reader.readInt();
+            if (length < 0 || length > ListTag.MAX_LIST_LENGTH)
+                throw new IllegalArgumentException("Could not read list with length " + length);
+            for (int i = 0; i < length; i++) {
+                skipValue(reader, listType);
+            }
+        } else if (tagType == TagType.COMPOUND) {
+            // Skip named tags until the end tag
+            while (skipNamed(reader)) {
+                // Continue
+            }
+        }
+    }
+
     /**
      * Decode the tag class to be used from a reader.
      *
@@ -0,0 +1,124 @@
+package com.hivemc.chunker.resolver;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A cache from the raw form of a palette entry to the value it resolves to, used so that the few hundred block states
+ * which recur across a world are only decoded and resolved once per conversion. The number of entries is bounded,
+ * once full new entries are resolved without being stored.
+ *
+ * @param <K> the raw palette entry type, this must implement equals / hashCode by value.
+ * @param <V> the resolved type.
+ */
+public class PaletteEntryCache<K, V> {
+    /**
+     * The default maximum number of entries, this is well above the number of vanilla block states.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 65536;
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maxEntries;
+    private final UnaryOperator<K> keyCopier;
+
+    /**
+     * Create a new palette entry cache.
+     *
+     * @param maxEntries the maximum number of entries to store.
+     * @param keyCopier  a function which creates the key to store, used when the key passed for lookup refers to a
+     *                   larger buffer or may be mutated afterward.
+     */
+    public PaletteEntryCache(int maxEntries, UnaryOperator<K> keyCopier) {
+        this.maxEntries = maxEntries;
+        this.keyCopier = keyCopier;
+    }
+
+    /**
+     * Get the cached value for a key, recording a hit or miss.
+     *
+     * @param key the raw palette entry.
+     * @return the cached value or null if it hasn't been resolved yet.
+     */
+    @Nullable
+    public V getIfPresent(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Store the resolved value for a key, this is ignored if the cache is full.
+     *
+     * @param key   the raw palette entry (which is copied before storing).
+     * @param value the resolved value.
+     */
+    public void put(K key, V value) {
+        if (entries.size() >= maxEntries) return;
+        entries.putIfAbsent(keyCopier.apply(key), value);
+    }
+
+    /**
+     * Get the cached value for a key or resolve and store it if it isn't present.
+     *
+     * @param key      the raw palette entry.
+     * @param resolver the function used to resolve the entry if it isn't cached.
+     * @return the resolved value.
+     */
+    public V get(K key, Function<K, V> resolver) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = resolver.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of lookups which were found in the cache.
+     *
+     * @return the hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups which weren't found in the cache.
+     *
+     * @return the miss count.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the fraction of lookups which were found in the cache.
+     *
+     * @return the hit rate between 0 and 1, 0 if there have been no lookups.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Get the number of entries stored.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+}
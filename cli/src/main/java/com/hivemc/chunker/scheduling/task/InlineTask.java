@@ -0,0 +1,114 @@
+package com.hivemc.chunker.scheduling.task;
+
+import com.hivemc.chunker.scheduling.function.Invokable;
+import com.hivemc.chunker.util.SneakyThrows;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A task which has been executed inline (in the calling thread) as it was created inside a batch, see
+ * {@link Task#asyncBatch(String, TaskWeight, com.hivemc.chunker.scheduling.function.ThrowableConsumer, Object, boolean)}.
+ * Inline tasks are not tracked by their parent, the batch is tracked as a single task instead which avoids the cost of
+ * scheduling many small tasks.
+ *
+ * @param <T> the type which the task returns.
+ */
+class InlineTask<T> extends FutureTask<T> implements ProgressiveTask<T> {
+    private static final ThreadLocal<Boolean> INLINE = ThreadLocal.withInitial(() -> false);
+    private final int weight;
+
+    /**
+     * Create a new inline task which has already been executed.
+     *
+     * @param weight the weight of the task.
+     * @param future the future which holds the result.
+     */
+    private InlineTask(TaskWeight weight, CompletableFuture<T> future) {
+        super(future);
+        this.weight = weight.getWeight();
+    }
+
+    /**
+     * Check whether the current thread is executing a batch, meaning tasks should be run inline.
+     *
+     * @return true if new tasks should be run inline.
+     */
+    static boolean isInline() {
+        return INLINE.get();
+    }
+
+    /**
+     * Check whether a task can be continued inline, this requires the current thread to be executing a batch and the
+     * task to have already completed successfully.
+     *
+     * @param task the task which is being continued.
+     * @return true if the continuation should be run inline.
+     */
+    static boolean canContinueInline(Task<?> task) {
+        if (!isInline()) return false;
+
+        // Only continue inline if there is a result to use
+        CompletableFuture<?> future = task.future();
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * Invoke a function as a batch, if batching is enabled any tasks created during the function are executed inline.
+     *
+     * @param invokable the function to invoke.
+     * @param input     the input for the function.
+     * @param batching  whether tasks created during the function should be executed inline.
+     * @param <I>       the input type.
+     * @param <O>       the output type.
+     * @return the result of the function.
+     * @throws Exception if the function threw an exception.
+     */
+    static <I, O> O invokeBatch(Invokable<I, O> invokable, I input, boolean batching) throws Exception {
+        if (!batching) {
+            return invokable.invoke(input);
+        }
+
+        // Mark the thread as inline until the batch has completed
+        boolean previous = INLINE.get();
+        INLINE.set(true);
+        try {
+            return invokable.invoke(input);
+        } finally {
+            INLINE.set(previous);
+        }
+    }
+
+    /**
+     * Run a function inline, any exception is re-thrown to the caller so that it fails the batch.
+     *
+     * @param weight    the weight of the task.
+     * @param invokable the function to invoke.
+     * @param input     the input for the function.
+     * @param <I>       the input type.
+     * @param <O>       the output type.
+     * @return a completed task holding the result.
+     */
+    static <I, O> InlineTask<O> run(TaskWeight weight, Invokable<I, O> invokable, I input) {
+        try {
+            return new InlineTask<>(weight, CompletableFuture.completedFuture(invokable.invoke(input)));
+        } catch (Throwable t) {
+            SneakyThrows.throwException(t);
+            return null;
+        }
+    }
+
+    @Override
+    public double getProgress() {
+        return 1D; // Inline tasks are always complete
+    }
+
+    @Override
+    public String getDetailedProgress() {
+        return ""; // Inline tasks are not tracked
+    }
+
+    @Override
+    public int getWeight() {
+        return weight;
+    }
+}
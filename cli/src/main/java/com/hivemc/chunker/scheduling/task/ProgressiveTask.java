@@ -15,7 +15,7 @@ public interface ProgressiveTask<O> extends Task<O> {
     double getProgress();
 
     /**
-     * Print the detailed progress for this task and any children.
+     * Print the detailed progress for this task and any pending children.
      *
      * @return a representation of the progress break-down, used for debugging.
      */
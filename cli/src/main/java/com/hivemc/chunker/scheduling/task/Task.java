@@ -5,6 +5,7 @@ import com.hivemc.chunker.scheduling.function.ThrowableFunction;
 import com.hivemc.chunker.scheduling.function.ThrowableRunnable;
 import com.hivemc.chunker.scheduling.function.ThrowableSupplier;
 import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorMode;
 import com.hivemc.chunker.util.SneakyThrows;
 import org.jetbrains.annotations.Nullable;
 
@@ -113,6 +114,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the runnable.
      */
     static ProgressiveTask<Void> async(String name, TaskWeight weight, ThrowableRunnable runnable) {
+        // Run inline if this is part of a batch
+        if (InlineTask.isInline()) {
+            return InlineTask.run(weight, runnable, null);
+        }
+
         WrappedTask<Object, Void> task = new WrappedTask<>(name, weight, runnable);
         task.setupParent(); // Setup parent before it's possible for the task to be run
 
@@ -132,6 +138,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the supplier.
      */
     static <T> ProgressiveTask<T> async(String name, TaskWeight weight, ThrowableSupplier<T> supplier) {
+        // Run inline if this is part of a batch
+        if (InlineTask.isInline()) {
+            return InlineTask.run(weight, supplier, null);
+        }
+
         WrappedTask<Object, T> task = new WrappedTask<>(name, weight, supplier);
         task.setupParent(); // Setup parent before it's possible for the task to be run
 
@@ -153,6 +164,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the function.
      */
     static <T, U> ProgressiveTask<U> async(String name, TaskWeight weight, ThrowableFunction<T, U> function, T constant) {
+        // Run inline if this is part of a batch
+        if (InlineTask.isInline()) {
+            return InlineTask.run(weight, function, constant);
+        }
+
         WrappedTask.WrappedTaskConstant<T, U> task = new WrappedTask.WrappedTaskConstant<>(name, weight, constant, function);
         task.setupParent(); // Setup parent before it's possible for the task to be run
 
@@ -173,6 +189,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the consumer.
      */
     static <T> ProgressiveTask<Void> asyncConsume(String name, TaskWeight weight, ThrowableConsumer<? super T> consumer, T constant) {
+        // Run inline if this is part of a batch
+        if (InlineTask.isInline()) {
+            return InlineTask.run(weight, consumer, constant);
+        }
+
         WrappedTask.WrappedTaskConstant<? super T, Void> task = new WrappedTask.WrappedTaskConstant<>(name, weight, constant, consumer);
         task.setupParent(); // Setup parent before it's possible for the task to be run
 
@@ -182,6 +203,66 @@ public interface Task<O> {
         return task;
     }
 
+    /**
+     * Create and run an asynchronous task as a child of the current task, which is always scheduled as a new task.
+     * If batching is enabled any tasks created by the consumer are run inline as part of this task, otherwise this
+     * acts the same as {@link #asyncConsume(String, TaskWeight, ThrowableConsumer, Object)}.
+     *
+     * @param name     the name for the task.
+     * @param weight   the weight of the task relative to its siblings.
+     * @param consumer the consumer to execute asynchronously as a batch.
+     * @param constant a constant parameter to provide as input to the function.
+     * @param batching whether tasks created by the consumer should be run inline.
+     * @param <T>      the type which is provided as an input.
+     * @return a progressive task wrapping the consumer.
+     */
+    static <T> ProgressiveTask<Void> asyncBatch(String name, TaskWeight weight, ThrowableConsumer<? super T> consumer, T constant, boolean batching) {
+        WrappedTask.WrappedTaskConstant<T, Void> task = new WrappedTask.WrappedTaskConstant<>(name, weight, constant, (ThrowableConsumer<T>) (input) -> InlineTask.invokeBatch(consumer, input, batching));
+        task.setupParent(); // Setup parent before it's possible for the task to be run
+
+        // Schedule the task
+        TaskExecutor taskExecutor = TaskExecutor.currentExecutor();
+        task.setupFuture(taskExecutor.execute(task, task.getPriority()));
+        return task;
+    }
+
+    /**
+     * Create and run an asynchronous task which is mostly waiting on I/O as a child of the current task.
+     *
+     * @param name     the name for the task.
+     * @param weight   the weight of the task relative to its siblings.
+     * @param runnable the runnable to execute asynchronously using the I/O threads.
+     * @return a progressive task wrapping the runnable.
+     */
+    static ProgressiveTask<Void> asyncIO(String name, TaskWeight weight, ThrowableRunnable runnable) {
+        WrappedTask<Object, Void> task = new WrappedTask<>(name, weight, runnable);
+        task.setupParent(); // Setup parent before it's possible for the task to be run
+
+        // Schedule the task
+        TaskExecutor taskExecutor = TaskExecutor.currentExecutor();
+        task.setupFuture(taskExecutor.executeIO(task, task.getPriority()));
+        return task;
+    }
+
+    /**
+     * Create and run an asynchronous task which is mostly waiting on I/O as a child of the current task.
+     *
+     * @param name     the name for the task.
+     * @param weight   the weight of the task relative to its siblings.
+     * @param supplier the supplier to execute asynchronously using the I/O threads.
+     * @param <T>      the type which is returned by the supplier.
+     * @return a progressive task wrapping the supplier.
+     */
+    static <T> ProgressiveTask<T> asyncIO(String name, TaskWeight weight, ThrowableSupplier<T> supplier) {
+        WrappedTask<Object, T> task = new WrappedTask<>(name, weight, supplier);
+        task.setupParent(); // Setup parent before it's possible for the task to be run
+
+        // Schedule the task
+        TaskExecutor taskExecutor = TaskExecutor.currentExecutor();
+        task.setupFuture(taskExecutor.executeIO(task, task.getPriority()));
+        return task;
+    }
+
     /**
      * Create and run several asynchronous tasks based on a collection.
      *
@@ -281,6 +362,11 @@ public interface Task<O> {
      * @return a future task which is completed when the returned supplier task has been completed.
      */
     static <T> FutureTask<T> asyncUnwrap(String name, TaskWeight weight, ThrowableSupplier<Task<T>> supplier) {
+        // Run inline if this is part of a batch
+        if (InlineTask.isInline()) {
+            return unwrap(InlineTask.run(weight, supplier, null));
+        }
+
         WrappedTask<Object, Task<T>> task = new WrappedTask<>(name, weight, supplier);
         task.setupParent(); // Setup parent before it's possible for the task to be run
 
@@ -302,6 +388,11 @@ public interface Task<O> {
      * @return a future task which is completed when the returned function task has been completed.
      */
     static <T, U> FutureTask<U> asyncUnwrap(String name, TaskWeight weight, ThrowableFunction<T, Task<U>> function, T constant) {
+        // Run inline if this is part of a batch
+        if (InlineTask.isInline()) {
+            return unwrap(InlineTask.run(weight, function, constant));
+        }
+
         WrappedTask.WrappedTaskConstant<T, Task<U>> task = new WrappedTask.WrappedTaskConstant<>(name, weight, constant, function);
         task.setupParent(); // Setup parent before it's possible for the task to be run
 
@@ -321,7 +412,22 @@ public interface Task<O> {
      * @return the new environment which has been started.
      */
     static Environment environment(String name, int workerThreads, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
-        Environment environment = new Environment(name, workerThreads, exceptionHandler, signalConsumer);
+        return environment(name, workerThreads, 0, TaskExecutorMode.PRIORITY_QUEUE, exceptionHandler, signalConsumer);
+    }
+
+    /**
+     * Create a new environment for scheduling tasks also setting the executor for the current thread.
+     *
+     * @param name             the name to use for the environment.
+     * @param workerThreads    the number of threads to use.
+     * @param ioThreads        the number of threads to use for I/O tasks, 0 if they should use the worker threads.
+     * @param mode             the mode used for scheduling tasks onto the worker threads.
+     * @param exceptionHandler the exception handler to use if a task produces an exception.
+     * @param signalConsumer   a consumer which can accept signals from tasks.
+     * @return the new environment which has been started.
+     */
+    static Environment environment(String name, int workerThreads, int ioThreads, TaskExecutorMode mode, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
+        Environment environment = new Environment(name, workerThreads, ioThreads, mode, exceptionHandler, signalConsumer);
 
         // Start the environment (this isn't a real task)
         environment.start();
@@ -358,6 +464,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the runnable.
      */
     default ProgressiveTask<Void> then(String name, TaskWeight weight, ThrowableRunnable runnable) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return InlineTask.run(weight, runnable, null);
+        }
+
         // This uses the same thread as the context
         WrappedTask<Object, Void> task = new WrappedTask<>(name, weight, runnable);
         task.setupParent(); // Setup parent before it's possible for the task to be run
@@ -375,6 +486,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the supplier.
      */
     default <T> ProgressiveTask<T> then(String name, TaskWeight weight, ThrowableSupplier<T> supplier) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return InlineTask.run(weight, supplier, null);
+        }
+
         // This uses the same thread as the context
         WrappedTask<Object, T> task = new WrappedTask<>(name, weight, supplier);
         task.setupParent(); // Setup parent before it's possible for the task to be run
@@ -403,6 +519,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the function.
      */
     default <T> ProgressiveTask<T> then(String name, TaskWeight weight, ThrowableFunction<? super O, T> function) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return InlineTask.run(weight, function, future().join());
+        }
+
         // This uses the same thread as the context
         WrappedTask<? super O, T> task = new WrappedTask<>(name, weight, function);
         task.setupParent(); // Setup parent before it's possible for the task to be run
@@ -422,6 +543,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the function.
      */
     default <T, U> ProgressiveTask<U> then(String name, TaskWeight weight, ThrowableFunction<T, U> function, T constant) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return InlineTask.run(weight, function, constant);
+        }
+
         WrappedTask.WrappedTaskConstant<T, U> task = new WrappedTask.WrappedTaskConstant<>(name, weight, constant, function);
         task.setupParent(); // Setup parent before it's possible for the task to be run
         task.setupFuture(future().thenApply(task));
@@ -437,6 +563,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the consumer.
      */
     default ProgressiveTask<Void> thenConsume(String name, TaskWeight weight, ThrowableConsumer<? super O> consumer) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return InlineTask.run(weight, consumer, future().join());
+        }
+
         // This uses the same thread as the context
         WrappedTask<? super O, Void> task = new WrappedTask<>(name, weight, consumer);
         task.setupParent(); // Setup parent before it's possible for the task to be run
@@ -444,6 +575,25 @@ public interface Task<O> {
         return task;
     }
 
+    /**
+     * Consume the output of this task after it completes as a batch. If batching is enabled any tasks created by the
+     * consumer are run inline as part of this task, otherwise this acts the same as
+     * {@link #thenConsume(String, TaskWeight, ThrowableConsumer)}.
+     *
+     * @param name     the name for the task.
+     * @param weight   the weight of the task relative to the current task.
+     * @param consumer the consumer to be called as a batch after this task completes.
+     * @param batching whether tasks created by the consumer should be run inline.
+     * @return a progressive task wrapping the consumer.
+     */
+    default ProgressiveTask<Void> thenBatch(String name, TaskWeight weight, ThrowableConsumer<? super O> consumer, boolean batching) {
+        // This uses the same thread as the context
+        WrappedTask<O, Void> task = new WrappedTask<>(name, weight, (ThrowableConsumer<O>) (input) -> InlineTask.invokeBatch(consumer, input, batching));
+        task.setupParent(); // Setup parent before it's possible for the task to be run
+        task.setupFuture(future().thenApply(task));
+        return task;
+    }
+
     /**
      * Consume an output after this task completes.
      *
@@ -455,6 +605,11 @@ public interface Task<O> {
      * @return a progressive task wrapping the consumer.
      */
     default <T> ProgressiveTask<Void> thenConsume(String name, TaskWeight weight, ThrowableConsumer<T> consumer, T constant) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return InlineTask.run(weight, consumer, constant);
+        }
+
         WrappedTask.WrappedTaskConstant<T, Void> task = new WrappedTask.WrappedTaskConstant<>(name, weight, constant, consumer);
         task.setupParent(); // Setup parent before it's possible for the task to be run
         task.setupFuture(future().thenApply(task));
@@ -471,6 +626,11 @@ public interface Task<O> {
      * @return a future task which is completed when the task is unwrapped (after the current task and supplier).
      */
     default <T> FutureTask<T> thenUnwrap(String name, TaskWeight weight, ThrowableSupplier<Task<T>> supplier) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return unwrap(InlineTask.run(weight, supplier, null));
+        }
+
         // This uses the same thread as the context
         WrappedTask<Object, Task<T>> task = new WrappedTask<>(name, weight, supplier);
         task.setupParent(); // Setup parent before it's possible for the task to be run
@@ -488,6 +648,11 @@ public interface Task<O> {
      * @return a future task which is completed when the task is unwrapped (after the current task and function).
      */
     default <T> FutureTask<T> thenUnwrap(String name, TaskWeight weight, ThrowableFunction<? super O, Task<T>> function) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return unwrap(InlineTask.run(weight, function, future().join()));
+        }
+
         // This uses the same thread as the context
         WrappedTask<? super O, Task<T>> task = new WrappedTask<>(name, weight, function);
         task.setupParent(); // Setup parent before it's possible for the task to be run
@@ -507,6 +672,11 @@ public interface Task<O> {
      * @return a future task which is completed when the task is unwrapped (after the current task and function).
      */
     default <T, U> FutureTask<U> thenUnwrap(String name, TaskWeight weight, ThrowableFunction<T, Task<U>> function, T constant) {
+        // Continue inline if this is part of a batch
+        if (InlineTask.canContinueInline(this)) {
+            return unwrap(InlineTask.run(weight, function, constant));
+        }
+
         WrappedTask.WrappedTaskConstant<T, Task<U>> task = new WrappedTask.WrappedTaskConstant<>(name, weight, constant, function);
         task.setupParent(); // Setup parent before it's possible for the task to be run
         task.setupFuture(future().thenApply(task));
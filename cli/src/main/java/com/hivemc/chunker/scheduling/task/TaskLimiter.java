@@ -0,0 +1,72 @@
+package com.hivemc.chunker.scheduling.task;
+
+import com.google.common.base.Preconditions;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutor;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * TaskLimiter bounds the number of tasks submitted through it which can be in-flight at once. A task is in-flight until
+ * its future completes, which for tracked tasks includes any children it created. When the limit is reached the
+ * submitting thread runs other queued tasks until one of the in-flight tasks completes, this is used to apply
+ * backpressure so that producers (e.g. region reading) can't get far ahead of the consumers (e.g. writing).
+ */
+public class TaskLimiter {
+    private final Semaphore permits;
+    private final int limit;
+
+    /**
+     * Create a new task limiter.
+     *
+     * @param limit the maximum number of tasks which can be in-flight at once.
+     */
+    public TaskLimiter(int limit) {
+        Preconditions.checkArgument(limit > 0, "TaskLimiter requires a limit of at least one");
+        this.limit = limit;
+        permits = new Semaphore(limit);
+    }
+
+    /**
+     * Submit a task once there is capacity, this should be called from a thread which has a task executor.
+     *
+     * @param taskSupplier the supplier which creates the task, only called once there is capacity.
+     * @param <T>          the type of the task.
+     * @return the task which was created by the supplier.
+     * @throws InterruptedException if the thread was interrupted while waiting for capacity.
+     */
+    public <T extends Task<?>> T submit(Supplier<T> taskSupplier) throws InterruptedException {
+        TaskExecutor.currentExecutor().acquire(permits);
+
+        // Create the task, ensuring the permit is returned if it fails
+        T task;
+        try {
+            task = taskSupplier.get();
+        } catch (Throwable t) {
+            permits.release();
+            throw t;
+        }
+
+        // Release the permit once the task (and its children) completes
+        task.future().whenComplete((result, throwable) -> permits.release());
+        return task;
+    }
+
+    /**
+     * Get the number of tasks which are currently in-flight.
+     *
+     * @return the number of tasks which have not completed.
+     */
+    public int getInFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    /**
+     * Get the maximum number of tasks which can be in-flight at once.
+     *
+     * @return the limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -1,26 +1,58 @@
 package com.hivemc.chunker.scheduling.task;
 
 import com.hivemc.chunker.util.SneakyThrows;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Stack;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * TrackedTask is a task which can track its depth and have children. It implements progressive task allowing progress
  * to be reported.
+ * <p>
+ * Children are not stored, instead each task counts its pending children and keeps weighted progress counters which
+ * children push their progress changes into. This means querying the progress is constant time and completed children
+ * can be garbage collected straight away. To reduce contention on the top-level tasks, a change in progress is only
+ * pushed to the parent once it differs from the last pushed value by {@link #PROGRESS_REPORT_THRESHOLD}, completion is
+ * always pushed.
  *
  * @param <O> the type returned from the task.
  */
+@SuppressWarnings("rawtypes")
 public abstract class TrackedTask<O> implements ProgressiveTask<O> {
+    /**
+     * The minimum change in progress before it is pushed to the parent task.
+     */
+    public static final double PROGRESS_REPORT_THRESHOLD = 0.0001D;
+    private static final long COMPLETE_PROGRESS = Double.doubleToRawLongBits(1D);
     private static final ThreadLocal<Stack<TrackedTask<?>>> currentTaskStack = ThreadLocal.withInitial(Stack::new);
+    private static final AtomicIntegerFieldUpdater<TrackedTask> PENDING_CHILDREN = AtomicIntegerFieldUpdater.newUpdater(TrackedTask.class, "pendingChildren");
+    private static final AtomicLongFieldUpdater<TrackedTask> CHILDREN_WEIGHT = AtomicLongFieldUpdater.newUpdater(TrackedTask.class, "childrenWeight");
+    private static final AtomicLongFieldUpdater<TrackedTask> CHILDREN_PROGRESS = AtomicLongFieldUpdater.newUpdater(TrackedTask.class, "childrenProgress");
+    private static final AtomicLongFieldUpdater<TrackedTask> REPORTED_PROGRESS = AtomicLongFieldUpdater.newUpdater(TrackedTask.class, "reportedProgress");
+    private static final AtomicReferenceFieldUpdater<TrackedTask, Throwable> CHILD_EXCEPTION = AtomicReferenceFieldUpdater.newUpdater(TrackedTask.class, Throwable.class, "childException");
     private final String name;
     private final int weight;
-    private Task.TaskStatus status;
-    private List<ProgressiveTask<?>> children;
+    private volatile Task.TaskStatus status;
+    @Nullable
+    private TrackedTask<?> parent;
     private int depth;
 
+    // Children tracking, pendingChildren starts at 1 which is released when waiting for children
+    private volatile int pendingChildren = 1;
+    private volatile long childrenWeight;
+    private volatile long childrenProgress; // Sum of progress * weight for each child (as double bits)
+    private volatile long reportedProgress; // The progress last pushed to the parent (as double bits)
+    @Nullable
+    private volatile Throwable childException;
+    @Nullable
+    private CompletableFuture<O> childrenFuture;
+    @Nullable
+    private O childrenResult;
+
     /**
      * Create a new TrackedTask.
      *
@@ -63,22 +95,111 @@ public abstract class TrackedTask<O> implements ProgressiveTask<O> {
             throw new RuntimeException("Tried to launch a task without a parent, was this called from a thread outside the task system? Wrap your stuff in try(Task.environment()){}!");
         }
 
+        // Ensure the parent isn't DONE
+        if (parentTask.status == TaskStatus.DONE) {
+            throw new RuntimeException("Tried to launch a task after the parent completed, this shouldn't be possible.");
+        }
+
         // Add this task as a child
-        synchronized (parentTask) {
-            // Ensure the parent isn't DONE
-            if (parentTask.status == TaskStatus.DONE) {
-                throw new RuntimeException("Tried to launch a task after the parent completed, this shouldn't be possible.");
-            }
-            if (parentTask.children == null) {
-                parentTask.children = new LinkedList<>();
-            }
-            parentTask.children.add(this);
+        parent = parentTask;
+        PENDING_CHILDREN.incrementAndGet(parentTask);
+        if (weight != 0) {
+            CHILDREN_WEIGHT.addAndGet(parentTask, weight);
+            parentTask.updateProgress();
         }
 
         // Setup depth
         depth = parentTask.getDepth() + 1;
     }
 
+    /**
+     * Notify the parent when the future of this task has completed, this should be called once the future has been
+     * created.
+     *
+     * @param future the future of this task, which includes waiting for the children.
+     */
+    protected void setupCompletion(CompletableFuture<O> future) {
+        TrackedTask<?> parentTask = parent;
+        if (parentTask != null) {
+            future.whenComplete((result, throwable) -> parentTask.onChildComplete(throwable));
+        }
+    }
+
+    /**
+     * Called when the future of a child has completed.
+     *
+     * @param throwable the exception the child failed with, otherwise null.
+     */
+    private void onChildComplete(@Nullable Throwable throwable) {
+        // Record the first exception so the task fails (the same as joining on the children)
+        if (throwable != null) {
+            CHILD_EXCEPTION.compareAndSet(this, null, throwable);
+        }
+
+        // Complete the task if this was the last child and the task is waiting
+        if (PENDING_CHILDREN.decrementAndGet(this) == 0) {
+            completeChildren();
+        }
+    }
+
+    /**
+     * Complete the future which is waiting for the children, called once all the children have completed.
+     */
+    private void completeChildren() {
+        CompletableFuture<O> future = childrenFuture;
+        O result = childrenResult;
+        childrenFuture = null;
+        childrenResult = null;
+
+        // Complete the future (the future is always created before the pending children can reach 0)
+        Throwable throwable = childException;
+        if (throwable != null) {
+            future.completeExceptionally(throwable);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    /**
+     * Push a change of progress to the parent if it has changed enough since the last time it was pushed.
+     */
+    private void updateProgress() {
+        if (parent == null || weight == 0) return; // No need to report
+
+        // Only report if there has been enough of a change
+        double progress = getProgress();
+        if (Math.abs(progress - Double.longBitsToDouble(reportedProgress)) < PROGRESS_REPORT_THRESHOLD) return;
+        reportProgress(progress);
+    }
+
+    /**
+     * Push the progress of this task to the parent.
+     *
+     * @param progress the new progress of this task.
+     */
+    private void reportProgress(double progress) {
+        // Swap the reported value, once completion has been reported it shouldn't be replaced by an older value
+        long progressBits = Double.doubleToRawLongBits(progress);
+        long previousBits;
+        do {
+            previousBits = reportedProgress;
+            if (previousBits == progressBits) return;
+            if (status == TaskStatus.DONE && previousBits == COMPLETE_PROGRESS) return;
+        } while (!REPORTED_PROGRESS.compareAndSet(this, previousBits, progressBits));
+        double previous = Double.longBitsToDouble(previousBits);
+
+        // Add the weighted change to the parent
+        TrackedTask<?> parentTask = parent;
+        double change = (progress - previous) * weight;
+        long current;
+        do {
+            current = parentTask.childrenProgress;
+        } while (!CHILDREN_PROGRESS.compareAndSet(parentTask, current, Double.doubleToRawLongBits(Double.longBitsToDouble(current) + change)));
+
+        // Propagate the change to the parent's parent
+        parentTask.updateProgress();
+    }
+
     /**
      * Free the resources used by this task and mark it as done.
      * Note: This may not be the same thread as start() as this is done after children have been processed.
@@ -98,9 +219,11 @@ public abstract class TrackedTask<O> implements ProgressiveTask<O> {
 
             // Mark this task as stopped
             status = TaskStatus.DONE;
+        }
 
-            // To prevent memory leaks we'll clean up internal resources
-            children = null;
+        // Push the completion to the parent
+        if (parent != null && weight != 0) {
+            reportProgress(1D);
         }
     }
 
@@ -144,61 +267,54 @@ public abstract class TrackedTask<O> implements ProgressiveTask<O> {
      * @return a completable future which is called upon completion (may already be completed upon return).
      */
     protected CompletableFuture<O> waitForChildren(O result) {
-        synchronized (this) {
-            if (status == TaskStatus.DONE) {
-                // Return a completed future as this task is done
-                return CompletableFuture.completedFuture(result);
-            }
+        if (status == TaskStatus.DONE) {
+            // Return a completed future as this task is done
+            return CompletableFuture.completedFuture(result);
+        }
 
-            // Ensure that all children are completed
-            if (children == null || children.isEmpty()) {
-                // Return a completed future
-                return CompletableFuture.completedFuture(result);
-            } else {
-                return Task.join(children).then(result).future();
-            }
+        // If there are no pending children, release our count and complete straight away
+        if (pendingChildren == 1 && PENDING_CHILDREN.compareAndSet(this, 1, 0)) {
+            Throwable throwable = childException;
+            return throwable != null ? CompletableFuture.failedFuture(throwable) : CompletableFuture.completedFuture(result);
+        }
+
+        // Otherwise create the future before releasing our count, the last child to complete will complete it
+        CompletableFuture<O> future = new CompletableFuture<>();
+        childrenResult = result;
+        childrenFuture = future;
+        if (PENDING_CHILDREN.decrementAndGet(this) == 0) {
+            completeChildren();
         }
+        return future;
     }
 
     @Override
     public double getProgress() {
-        synchronized (this) {
-            if (status == TaskStatus.PENDING) {
-                return 0; // No progress
-            } else if (status == TaskStatus.STARTED) {
-                if (children != null) {
-                    int totalWeight = getSelfWeight();
-                    double weightedProgressTotal = 0D;
-                    for (ProgressiveTask<?> task : children) {
-                        weightedProgressTotal += task.getProgress() * task.getWeight();
-                        totalWeight += task.getWeight();
-                    }
-                    return totalWeight == 0 ? 0 : weightedProgressTotal / totalWeight;
-                } else {
-                    return 0D; // There are no children so we can't infer progress
-                }
-            } else if (status == TaskStatus.DONE) {
-                return 1D; // done
+        Task.TaskStatus status = this.status;
+        if (status == TaskStatus.PENDING) {
+            return 0; // No progress
+        } else if (status == TaskStatus.STARTED) {
+            long childrenWeight = this.childrenWeight;
+            if (childrenWeight == 0) {
+                return 0D; // There are no children so we can't infer progress
             }
 
-            throw new IllegalArgumentException("Unknown TaskStatus");
+            // Use the progress which has been pushed by the children
+            long totalWeight = getSelfWeight() + childrenWeight;
+            return Math.max(0D, Math.min(1D, Double.longBitsToDouble(childrenProgress) / totalWeight));
+        } else if (status == TaskStatus.DONE) {
+            return 1D; // done
         }
+
+        throw new IllegalArgumentException("Unknown TaskStatus");
     }
 
     @Override
     public String getDetailedProgress() {
-        synchronized (this) {
-            String padding = "-".repeat(getDepth());
-            String details = (padding + " " + getName() + " - " + String.format("%.2f%%", getProgress() * 100D) + " - Weight: " + getWeight() + "\n");
-
-            // Print children
-            if (children != null) {
-                for (ProgressiveTask<?> task : children) {
-                    details = details.concat(task.getDetailedProgress());
-                }
-            }
-            return details;
-        }
+        // Children aren't stored, so only the number which are pending is included
+        String padding = "-".repeat(getDepth());
+        int pending = status == TaskStatus.DONE ? 0 : Math.max(0, pendingChildren - (childrenFuture == null ? 1 : 0));
+        return padding + " " + getName() + " - " + String.format("%.2f%%", getProgress() * 100D) + " - Weight: " + getWeight() + " - Pending children: " + pending + "\n";
     }
 
     /**
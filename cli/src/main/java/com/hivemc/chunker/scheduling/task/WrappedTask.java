@@ -65,6 +65,9 @@ public class WrappedTask<I, O> extends TrackedTask<O> implements Function<I, O>,
             // Return the input for the next function
             return input;
         });
+
+        // Notify the parent once this task and its children are complete
+        setupCompletion(this.future);
     }
 
     @Override
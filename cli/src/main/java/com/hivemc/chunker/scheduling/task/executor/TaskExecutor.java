@@ -6,7 +6,11 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Comparator;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -15,32 +19,119 @@ import java.util.function.Supplier;
  * TaskExecutor handles the execution of asynchronous tasks, these are scheduled by priority and then polled by the
  * threads of the executor. ThreadLocals are used to assign the TaskExecutor so after creating a TaskExecutor the
  * {@link #setCurrentThreadExecutor()} method should be called in the relevant thread to ensure tasks are scheduled.
+ * <p>
+ * Tasks which mostly wait on disk (I/O) can be scheduled using {@link #executeIO(Supplier, int)}, these are polled by a
+ * separate pool of threads when one is present so that the disk and the cores can be kept busy independently.
+ * <p>
+ * The worker threads can either poll a single priority queue or use work stealing, see {@link TaskExecutorMode}.
  */
 public class TaskExecutor {
     private static final ThreadLocal<TaskExecutor> EXECUTORS = new InheritableThreadLocal<>();
+    private static final ThreadLocal<PriorityBlockingQueue<PriorityRunnable>> QUEUES = new ThreadLocal<>();
+    private static final long HELP_WAIT_MILLIS = 10;
     private static final Comparator<PriorityRunnable> COMPARATOR = Comparator.comparingLong(PriorityRunnable::getPriority).reversed();
     private final PriorityBlockingQueue<PriorityRunnable> tasks = new PriorityBlockingQueue<>(100, COMPARATOR);
+    @Nullable
+    private final PriorityBlockingQueue<PriorityRunnable> ioTasks;
+    @Nullable
+    private final ForkJoinPool forkJoinPool;
     private final Thread[] pool;
+    private final Thread[] ioPool;
+    private final TaskExecutorMode mode;
     private final Consumer<Throwable> exceptionHandler;
     @Nullable
     private final BiConsumer<String, Object> signalConsumer;
 
     /**
-     * Create a new TaskExecutor to handle new tasks.
+     * Create a new TaskExecutor to handle new tasks, I/O tasks will share the same threads.
      *
      * @param threads          the number of threads to use and start.
      * @param exceptionHandler the handler if present to use for exceptions that occur.
      * @param signalConsumer   a consumer which can accept signals from tasks.
      */
     public TaskExecutor(int threads, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
-        pool = new Thread[threads];
-        for (int i = 0; i < pool.length; i++) {
-            pool[i] = new Thread(this::threadLoop, "Task Processor " + i);
-            pool[i].setUncaughtExceptionHandler(this::handleUncaughtException);
-            pool[i].start();
-        }
+        this(threads, 0, TaskExecutorMode.PRIORITY_QUEUE, exceptionHandler, signalConsumer);
+    }
+
+    /**
+     * Create a new TaskExecutor to handle new tasks.
+     *
+     * @param threads          the number of threads to use and start.
+     * @param ioThreads        the number of threads to use for I/O tasks, 0 if they should share the normal threads.
+     * @param mode             the mode to use for scheduling tasks onto the normal threads.
+     * @param exceptionHandler the handler if present to use for exceptions that occur.
+     * @param signalConsumer   a consumer which can accept signals from tasks.
+     */
+    public TaskExecutor(int threads, int ioThreads, TaskExecutorMode mode, @Nullable Consumer<Throwable> exceptionHandler, @Nullable BiConsumer<String, Object> signalConsumer) {
+        Preconditions.checkArgument(threads > 0, "TaskExecutor requires at least one thread");
+        Preconditions.checkArgument(ioThreads >= 0, "TaskExecutor cannot have a negative amount of I/O threads");
+        this.mode = mode;
         this.exceptionHandler = exceptionHandler;
         this.signalConsumer = signalConsumer;
+
+        // Start the threads for the normal tasks
+        if (mode == TaskExecutorMode.WORK_STEALING) {
+            forkJoinPool = new ForkJoinPool(threads, this::createWorkerThread, this::handleUncaughtException, false);
+            pool = new Thread[0];
+        } else {
+            forkJoinPool = null;
+            pool = startThreads(threads, "Task Processor ", tasks);
+        }
+
+        // Only use a separate queue if there are threads to poll it
+        if (ioThreads > 0) {
+            ioTasks = new PriorityBlockingQueue<>(100, COMPARATOR);
+            ioPool = startThreads(ioThreads, "IO Processor ", ioTasks);
+        } else {
+            ioTasks = null;
+            ioPool = new Thread[0];
+        }
+    }
+
+    /**
+     * Create a worker thread for the work stealing pool.
+     *
+     * @param forkJoinPool the pool which the thread belongs to.
+     * @return the newly created worker thread which uses this executor.
+     */
+    private ForkJoinWorkerThread createWorkerThread(ForkJoinPool forkJoinPool) {
+        ForkJoinWorkerThread thread = new ForkJoinWorkerThread(forkJoinPool) {
+            @Override
+            protected void onStart() {
+                super.onStart();
+
+                // Setup thread local
+                setCurrentThreadExecutor();
+            }
+
+            @Override
+            protected void onTermination(Throwable exception) {
+                // Clear thread local
+                clearCurrentThreadExecutor();
+
+                super.onTermination(exception);
+            }
+        };
+        thread.setName("Task Processor " + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * Create and start threads which poll a queue.
+     *
+     * @param threads the number of threads to start.
+     * @param prefix  the prefix to use for the name of the thread.
+     * @param queue   the queue which the threads should poll tasks from.
+     * @return an array of the started threads.
+     */
+    private Thread[] startThreads(int threads, String prefix, PriorityBlockingQueue<PriorityRunnable> queue) {
+        Thread[] threadArray = new Thread[threads];
+        for (int i = 0; i < threadArray.length; i++) {
+            threadArray[i] = new Thread(() -> threadLoop(queue), prefix + i);
+            threadArray[i].setUncaughtExceptionHandler(this::handleUncaughtException);
+            threadArray[i].start();
+        }
+        return threadArray;
     }
 
     /**
@@ -126,12 +217,120 @@ public class TaskExecutor {
         TaskExecutorSupplier<T> wrapper = new TaskExecutorSupplier<>(priority, supplier, future);
 
         // Schedule the task
-        tasks.add(wrapper);
+        if (forkJoinPool != null) {
+            forkJoinPool.execute(wrapper);
+        } else {
+            tasks.add(wrapper);
+        }
 
         // Return the future so it can be used
         return future;
     }
 
+    /**
+     * Execute a task which is mostly waiting on I/O with a priority, if there is no I/O pool it is executed using the
+     * normal threads.
+     *
+     * @param supplier the supplier which when executed runs the task and returns a result.
+     * @param priority the priority in relation to other I/O tasks which it should be executed (highest first).
+     * @param <T>      the type that the task returns when executed.
+     * @return the completable future for monitoring the task completion.
+     */
+    public <T> CompletableFuture<T> executeIO(Supplier<T> supplier, int priority) {
+        // Use the normal threads if there is no I/O pool
+        if (ioTasks == null) {
+            return execute(supplier, priority);
+        }
+
+        // Create the future and wrapper
+        CompletableFuture<T> future = new CompletableFuture<>();
+        TaskExecutorSupplier<T> wrapper = new TaskExecutorSupplier<>(priority, supplier, future);
+
+        // Schedule the task
+        ioTasks.add(wrapper);
+
+        // Return the future so it can be used
+        return future;
+    }
+
+    /**
+     * Acquire a permit from a semaphore, if one isn't available the current thread keeps running queued tasks until one
+     * is released. This allows tasks to wait on the completion of other tasks without the threads deadlocking, as the
+     * thread which is waiting can be used to complete the tasks that will release the permit.
+     *
+     * @param semaphore the semaphore to acquire a permit from.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    public void acquire(Semaphore semaphore) throws InterruptedException {
+        if (semaphore.tryAcquire()) return; // Fast path
+
+        // Work stealing threads are compensated by the pool while they're blocked
+        if (forkJoinPool != null && Thread.currentThread() instanceof ForkJoinWorkerThread workerThread && workerThread.getPool() == forkJoinPool) {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean acquired;
+
+                @Override
+                public boolean block() throws InterruptedException {
+                    if (!acquired) {
+                        semaphore.acquire();
+                        acquired = true;
+                    }
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return acquired || (acquired = semaphore.tryAcquire());
+                }
+            });
+            return;
+        }
+
+        // Threads outside the executor just wait
+        PriorityBlockingQueue<PriorityRunnable> queue = QUEUES.get();
+        if (queue == null || EXECUTORS.get() != this) {
+            semaphore.acquire();
+            return;
+        }
+
+        // Run tasks from the queue until a permit is available
+        while (!semaphore.tryAcquire()) {
+            PriorityRunnable runnable = queue.poll();
+            if (runnable != null) {
+                runnable.run();
+            } else if (semaphore.tryAcquire(HELP_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the mode used for scheduling normal tasks.
+     *
+     * @return the mode of the executor.
+     */
+    public TaskExecutorMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get the number of threads used for executing normal tasks.
+     *
+     * @return the thread count.
+     */
+    public int getThreads() {
+        return forkJoinPool != null ? forkJoinPool.getParallelism() : pool.length;
+    }
+
+    /**
+     * Get the number of threads used for executing I/O tasks.
+     *
+     * @return the I/O thread count, 0 if I/O tasks share the normal threads.
+     */
+    public int getIOThreads() {
+        return ioPool.length;
+    }
+
     /**
      * Shutdown all the threads in the task executor (interrupt) and clear the queue.
      */
@@ -139,9 +338,18 @@ public class TaskExecutor {
         for (Thread thread : pool) {
             thread.interrupt();
         }
+        for (Thread thread : ioPool) {
+            thread.interrupt();
+        }
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdownNow();
+        }
 
         // Clear any tasks
         tasks.clear();
+        if (ioTasks != null) {
+            ioTasks.clear();
+        }
     }
 
     /**
@@ -166,15 +374,18 @@ public class TaskExecutor {
      * Used by the workers as the main thread loop.
      * <p>
      * When the thread is interrupted it will no longer poll tasks.
+     *
+     * @param queue the queue to poll tasks from.
      */
-    protected void threadLoop() {
+    protected void threadLoop(PriorityBlockingQueue<PriorityRunnable> queue) {
         // Setup thread local
         setCurrentThreadExecutor();
+        QUEUES.set(queue);
 
         // Main loop
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                tasks.take().run();
+                queue.take().run();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
@@ -182,6 +393,7 @@ public class TaskExecutor {
         }
 
         // Clear thread local
+        QUEUES.remove();
         clearCurrentThreadExecutor();
     }
 }
@@ -0,0 +1,17 @@
+package com.hivemc.chunker.scheduling.task.executor;
+
+/**
+ * The mode used by a TaskExecutor for scheduling tasks onto the worker threads.
+ */
+public enum TaskExecutorMode {
+    /**
+     * A single queue shared by all the workers, tasks are always polled in order of the highest priority first.
+     */
+    PRIORITY_QUEUE,
+    /**
+     * A queue per worker with idle workers stealing from others (ForkJoinPool), this avoids contention on a single
+     * queue. Priority is approximate as tasks scheduled by a worker are run newest first by that worker, which usually
+     * means the most nested tasks (the highest priority) are completed first.
+     */
+    WORK_STEALING
+}
@@ -0,0 +1,135 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.encoding.bedrock.base.reader.BedrockColumnReader;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.iq80.leveldb.CompressionType;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.Options;
+import org.iq80.leveldb.impl.Iq80DBFactory;
+import org.iq80.leveldb.table.BloomFilterPolicy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure Bedrock columns are collected using a range scan and only include their own keys.
+ */
+public class BedrockColumnReaderTests {
+    /**
+     * Open a database with the options used for reading Bedrock worlds.
+     *
+     * @param folder the folder for the database.
+     * @return the opened database.
+     * @throws IOException if it failed to open.
+     */
+    private static DB openDatabase(Path folder) throws IOException {
+        Options options = new Options();
+        options.compressionType(CompressionType.ZLIB_RAW);
+        options.blockSize(160 * 1024);
+        options.filterPolicy(new BloomFilterPolicy(10));
+        options.createIfMissing(true);
+        return new Iq80DBFactory().open(folder.toFile(), options);
+    }
+
+    @Test
+    public void testScanOnlyIncludesColumn(@TempDir Path folder) throws Exception {
+        try (DB database = openDatabase(folder)) {
+            ChunkCoordPair position = new ChunkCoordPair(1, 2);
+
+            // The nether keys share the overworld prefix and the neighbouring column comes straight after
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.DATA_3D), new byte[]{1});
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, position, (byte) -4, LevelDBChunkType.SUB_CHUNK_PREFIX), new byte[]{2});
+            database.put(LevelDBKey.key(Dimension.NETHER, position, LevelDBChunkType.DATA_3D), new byte[]{3});
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(1, 3), LevelDBChunkType.DATA_3D), new byte[]{4});
+            database.put(LevelDBKey.key(LevelDBKey.DIGP_PREFIX, Dimension.OVERWORLD, position), new byte[]{5});
+
+            TestColumnReader reader = new TestColumnReader(database, Dimension.OVERWORLD, position);
+            Map<ByteBuffer, byte[]> entries = reader.scan();
+            assertEquals(2, entries.size());
+            assertArrayEquals(new byte[]{1}, entries.get(ByteBuffer.wrap(LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.DATA_3D))));
+            assertArrayEquals(new byte[]{2}, entries.get(ByteBuffer.wrap(LevelDBKey.key(Dimension.OVERWORLD, position, (byte) -4, LevelDBChunkType.SUB_CHUNK_PREFIX))));
+
+            // Keys outside the column should fall back to the database
+            assertNull(reader.get(LevelDBKey.key(Dimension.OVERWORLD, position, (byte) 0, LevelDBChunkType.SUB_CHUNK_PREFIX)));
+            assertArrayEquals(new byte[]{5}, reader.get(LevelDBKey.key(LevelDBKey.DIGP_PREFIX, Dimension.OVERWORLD, position)));
+
+            // Other dimensions should only find their own keys
+            TestColumnReader netherReader = new TestColumnReader(database, Dimension.NETHER, position);
+            netherReader.scan();
+            assertArrayEquals(new byte[]{3}, netherReader.get(LevelDBKey.key(Dimension.NETHER, position, LevelDBChunkType.DATA_3D)));
+        }
+    }
+
+    @Tag("LongRunning")
+    @Test
+    public void benchmarkColumnReads(@TempDir Path folder) throws Exception {
+        // Write a world with a few metadata keys and a sub-chunk per section
+        Random random = new Random(0);
+        byte[] subChunk = new byte[1024];
+        random.nextBytes(subChunk);
+        int columns = 4000;
+        try (DB database = openDatabase(folder)) {
+            for (int i = 0; i < columns; i++) {
+                ChunkCoordPair position = new ChunkCoordPair(i % 64, i / 64);
+                database.put(LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.VERSION), new byte[]{40});
+                database.put(LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.DATA_3D), subChunk);
+                for (int y = -4; y < 20; y++) {
+                    database.put(LevelDBKey.key(Dimension.OVERWORLD, position, (byte) y, LevelDBChunkType.SUB_CHUNK_PREFIX), subChunk);
+                }
+            }
+            database.compactRange(null, null);
+
+            for (boolean scan : new boolean[]{false, true, false, true}) {
+                long start = System.nanoTime();
+                int found = 0;
+                for (int i = 0; i < columns; i++) {
+                    ChunkCoordPair position = new ChunkCoordPair(i % 64, i / 64);
+                    TestColumnReader reader = new TestColumnReader(database, Dimension.OVERWORLD, position);
+                    if (scan) {
+                        reader.scan();
+                    }
+
+                    // Lookup the keys like the column reader
+                    for (LevelDBChunkType type : new LevelDBChunkType[]{LevelDBChunkType.DATA_2D, LevelDBChunkType.DATA_3D, LevelDBChunkType.ENTITY, LevelDBChunkType.BLOCK_ENTITY}) {
+                        if (reader.get(LevelDBKey.key(Dimension.OVERWORLD, position, type)) != null) found++;
+                    }
+                    for (int y = -64; y < 64; y++) {
+                        if (reader.get(LevelDBKey.key(Dimension.OVERWORLD, position, (byte) y, LevelDBChunkType.SUB_CHUNK_PREFIX)) != null) found++;
+                    }
+                }
+                long duration = System.nanoTime() - start;
+                assertEquals(columns * 25, found);
+                System.out.printf("%s: %.1fus per column%n", scan ? "Scan" : "Lookups", duration / 1e3D / columns);
+            }
+        }
+    }
+
+    /**
+     * A column reader which exposes the scanning methods.
+     */
+    private static class TestColumnReader extends BedrockColumnReader {
+        public TestColumnReader(DB database, Dimension dimension, ChunkCoordPair columnCoords) {
+            super(null, null, database, dimension, columnCoords);
+        }
+
+        public Map<ByteBuffer, byte[]> scan() {
+            columnEntries = scanColumn();
+            return columnEntries;
+        }
+
+        public byte[] get(byte[] key) {
+            return super.get(key);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.encoding.bedrock.util.BulkTableDB;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.iq80.leveldb.*;
+import org.iq80.leveldb.impl.Iq80DBFactory;
+import org.iq80.leveldb.table.BloomFilterPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure databases written in bulk can be read by LevelDB and keep the newest value of each key.
+ */
+public class BulkTableDBTests {
+    /**
+     * Create the options used for Bedrock databases.
+     *
+     * @return the options.
+     */
+    private static Options createOptions() {
+        Options options = new Options();
+        options.compressionType(CompressionType.ZLIB_RAW);
+        options.blockSize(160 * 1024);
+        options.filterPolicy(new BloomFilterPolicy(10));
+        return options;
+    }
+
+    /**
+     * Create the value for a column key.
+     *
+     * @param x        the chunk X.
+     * @param z        the chunk Z.
+     * @param revision the revision of the value.
+     * @return the value bytes.
+     */
+    private static byte[] value(int x, int z, int revision) {
+        byte[] value = new byte[1024];
+        new Random(Objects.hash(x, z, revision)).nextBytes(value);
+        return value;
+    }
+
+    @Test
+    public void testBulkWrittenDatabaseIsReadable(@TempDir Path folder) throws Exception {
+        File directory = folder.toFile();
+        byte[] lodestoneKey = LevelDBKey.POS_TRACK_DB_LAST_ID;
+        byte[] lodestoneValue = "lodestone".getBytes(StandardCharsets.UTF_8);
+
+        // Use a small buffer so that many runs are spilled and merged
+        try (BulkTableDB database = new BulkTableDB(directory, createOptions(), 64 * 1024)) {
+            database.put(lodestoneKey, lodestoneValue);
+            for (int revision = 0; revision < 2; revision++) {
+                for (int x = 0; x < 64; x++) {
+                    for (int z = 0; z < 64; z++) {
+                        // The second revision only replaces half the columns
+                        if (revision == 1 && (x + z) % 2 == 0) continue;
+                        database.put(LevelDBKey.key(Dimension.NETHER, new ChunkCoordPair(x, z), LevelDBChunkType.DATA_2D), value(x, z, revision));
+                    }
+                }
+            }
+
+            // Delete a column using a batch
+            try (WriteBatch writeBatch = database.createWriteBatch()) {
+                writeBatch.delete(LevelDBKey.key(Dimension.NETHER, new ChunkCoordPair(3, 4), LevelDBChunkType.DATA_2D));
+                database.write(writeBatch);
+            }
+
+            // Non-column keys are never spilled, so they can be read back
+            assertArrayEquals(lodestoneValue, database.get(lodestoneKey));
+
+            // Iterating merges the runs with the buffer
+            int count = 0;
+            try (DBIterator iterator = database.iterator()) {
+                for (iterator.seekToFirst(); iterator.hasNext(); iterator.next()) {
+                    count++;
+                }
+            }
+            assertEquals(64 * 64, count); // Including the lodestone key and excluding the deleted column
+        }
+
+        // The runs should be removed and only tables written
+        assertEquals(0, Objects.requireNonNull(directory.listFiles((dir, name) -> name.endsWith(".tmp"))).length);
+        assertTrue(new File(directory, "CURRENT").exists());
+
+        // Open the database using LevelDB and check the values
+        try (DB database = new Iq80DBFactory().open(directory, createOptions())) {
+            assertArrayEquals(lodestoneValue, database.get(lodestoneKey));
+            for (int x = 0; x < 64; x++) {
+                for (int z = 0; z < 64; z++) {
+                    byte[] key = LevelDBKey.key(Dimension.NETHER, new ChunkCoordPair(x, z), LevelDBChunkType.DATA_2D);
+                    if (x == 3 && z == 4) {
+                        assertNull(database.get(key));
+                    } else {
+                        assertArrayEquals(value(x, z, (x + z) % 2 == 0 ? 0 : 1), database.get(key));
+                    }
+                }
+            }
+
+            // Iterating should return every key once in order
+            int count = 0;
+            byte[] lastKey = null;
+            try (DBIterator iterator = database.iterator()) {
+                for (iterator.seekToFirst(); iterator.hasNext(); ) {
+                    Map.Entry<byte[], byte[]> entry = iterator.next();
+                    if (lastKey != null) {
+                        assertTrue(Arrays.compareUnsigned(lastKey, entry.getKey()) < 0);
+                    }
+                    lastKey = entry.getKey();
+                    count++;
+                }
+            }
+            assertEquals(64 * 64, count); // Including the lodestone key and excluding the deleted column
+
+            // All the tables should be in a single level above level-0
+            assertEquals("0", database.getProperty("leveldb.num-files-at-level0"));
+        }
+    }
+
+    @Test
+    public void testGlobalKeysAreNotSpilled(@TempDir Path folder) throws Exception {
+        File directory = folder.toFile();
+
+        // Global keys which have the same length as chunk keys
+        byte[] mobEventsKey = "mobevents".getBytes(StandardCharsets.UTF_8);
+        byte[] scoreboardKey = "scoreboard".getBytes(StandardCharsets.UTF_8);
+        try (BulkTableDB database = new BulkTableDB(directory, createOptions(), 1024)) {
+            database.put(mobEventsKey, value(0, 0, 0));
+            database.put(scoreboardKey, value(0, 0, 1));
+
+            // Writing more global data than the buffer size shouldn't spill any runs
+            for (int i = 0; i < 16; i++) {
+                database.put(("map_" + i).getBytes(StandardCharsets.UTF_8), value(i, 0, 0));
+            }
+            assertEquals(0, Objects.requireNonNull(directory.listFiles((dir, name) -> name.endsWith(".tmp"))).length);
+            assertArrayEquals(value(0, 0, 0), database.get(mobEventsKey));
+            assertArrayEquals(value(0, 0, 1), database.get(scoreboardKey));
+
+            // Column data is still spilled (each entry fills the buffer)
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), LevelDBChunkType.DATA_3D), value(0, 0, 2));
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), (byte) 0, LevelDBChunkType.SUB_CHUNK_PREFIX), value(0, 0, 3));
+            assertEquals(2, Objects.requireNonNull(directory.listFiles((dir, name) -> name.endsWith(".tmp"))).length);
+            assertArrayEquals(value(0, 0, 0), database.get(mobEventsKey));
+            assertArrayEquals(value(0, 0, 1), database.get(scoreboardKey));
+        }
+    }
+
+    @Test
+    public void testMapKeysAreNotSpilled(@TempDir Path folder) throws Exception {
+        File directory = folder.toFile();
+        try (BulkTableDB database = new BulkTableDB(directory, createOptions(), 1024)) {
+            // Map keys ending in a digit which have the same length as each type of chunk key
+            List<byte[]> keys = new ArrayList<>();
+            for (String id : List.of("12345", "-1234", "123456", "-12345", "123456789", "-12345678", "1234567890", "-123456789")) {
+                keys.add((new String(LevelDBKey.MAP_PREFIX, StandardCharsets.UTF_8) + id).getBytes(StandardCharsets.UTF_8));
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                database.put(keys.get(i), value(i, 0, 0));
+            }
+
+            // Each value fills the buffer, so any map key treated as column data would have been spilled
+            assertEquals(0, Objects.requireNonNull(directory.listFiles((dir, name) -> name.endsWith(".tmp"))).length);
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), LevelDBChunkType.DATA_3D), value(0, 0, 1));
+            assertEquals(1, Objects.requireNonNull(directory.listFiles((dir, name) -> name.endsWith(".tmp"))).length);
+            for (int i = 0; i < keys.size(); i++) {
+                assertArrayEquals(value(i, 0, 0), database.get(keys.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testSpilledKeysCanBeRead(@TempDir Path folder) throws Exception {
+        File directory = folder.toFile();
+        byte[] first = LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), LevelDBChunkType.DATA_3D);
+        byte[] second = LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(1, 0), LevelDBChunkType.DATA_3D);
+        try (BulkTableDB database = new BulkTableDB(directory, createOptions(), 1024)) {
+            // Each value fills the buffer so the values are spilled, the newest run has the newest value
+            database.put(first, value(0, 0, 0));
+            database.put(second, value(1, 0, 0));
+            database.put(first, value(0, 0, 1));
+            database.delete(second);
+            assertEquals(3, Objects.requireNonNull(directory.listFiles((dir, name) -> name.endsWith(".tmp"))).length);
+            assertArrayEquals(value(0, 0, 1), database.get(first));
+            assertNull(database.get(second));
+            assertNull(database.get(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(2, 0), LevelDBChunkType.DATA_3D)));
+        }
+    }
+
+    @Test
+    public void testSnapshotIteration(@TempDir Path folder) throws Exception {
+        File directory = folder.toFile();
+        try (BulkTableDB database = new BulkTableDB(directory, createOptions(), 16 * 1024)) {
+            for (int x = 0; x < 32; x++) {
+                database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(x, 0), LevelDBChunkType.DATA_2D), value(x, 0, 0));
+            }
+
+            // Later writes shouldn't be visible in the snapshot
+            Snapshot snapshot = database.getSnapshot();
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), LevelDBChunkType.DATA_2D), value(0, 0, 1));
+            database.delete(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(1, 0), LevelDBChunkType.DATA_2D));
+            try (DBIterator iterator = database.iterator(new ReadOptions().snapshot(snapshot))) {
+                byte[] key = LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), LevelDBChunkType.DATA_2D);
+                iterator.seek(key);
+                assertArrayEquals(key, iterator.peekNext().getKey());
+                assertArrayEquals(value(0, 0, 0), iterator.next().getValue());
+                assertArrayEquals(value(1, 0, 0), iterator.next().getValue());
+            }
+
+            // The current state has the newest values
+            try (DBIterator iterator = database.iterator()) {
+                byte[] key = LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), LevelDBChunkType.DATA_2D);
+                iterator.seek(key);
+                assertArrayEquals(value(0, 0, 1), iterator.next().getValue());
+                assertArrayEquals(value(2, 0, 0), iterator.next().getValue());
+            }
+            snapshot.close();
+
+            // The sizes should include the spilled entries
+            long[] sizes = database.getApproximateSizes(new Range(new byte[0], new byte[]{(byte) 0xFF}));
+            assertEquals(31L * (8 + 1 + 1024), sizes[0]);
+        }
+    }
+}
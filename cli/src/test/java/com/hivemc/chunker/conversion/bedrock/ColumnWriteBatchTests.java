@@ -0,0 +1,117 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.encoding.bedrock.util.ColumnWriteBatch;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.iq80.leveldb.CompressionType;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.Options;
+import org.iq80.leveldb.impl.Iq80DBFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the keys of a column are gathered and committed together.
+ */
+public class ColumnWriteBatchTests {
+    /**
+     * Open a database with the options used for writing Bedrock worlds.
+     *
+     * @param folder the folder for the database.
+     * @return the opened database.
+     * @throws IOException if it failed to open.
+     */
+    private static DB openDatabase(Path folder) throws IOException {
+        Options options = new Options();
+        options.compressionType(CompressionType.ZLIB_RAW);
+        options.blockSize(160 * 1024);
+        options.writeBufferSize(400 * 1024 * 1024);
+        options.createIfMissing(true);
+        return new Iq80DBFactory().open(folder.toFile(), options);
+    }
+
+    @Test
+    public void testKeysAreWrittenTogether(@TempDir Path folder) throws Exception {
+        try (DB database = openDatabase(folder)) {
+            ColumnWriteBatch writeBatch = new ColumnWriteBatch(database);
+
+            // Write sub-chunks from several threads like the chunk writers
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                byte subChunkY = (byte) i;
+                Thread thread = new Thread(() -> writeBatch.put(
+                        LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(1, 2), subChunkY, LevelDBChunkType.SUB_CHUNK_PREFIX),
+                        new byte[]{subChunkY}
+                ));
+                thread.start();
+                threads.add(thread);
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(4, writeBatch.size());
+
+            // Nothing should be visible until the batch is written
+            byte[] key = LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(1, 2), (byte) 3, LevelDBChunkType.SUB_CHUNK_PREFIX);
+            assertNull(database.get(key));
+            writeBatch.write();
+            assertArrayEquals(new byte[]{3}, database.get(key));
+        }
+    }
+
+    @Tag("LongRunning")
+    @Test
+    public void benchmarkColumnWrites(@TempDir Path folder) throws Exception {
+        // A typical column has a few metadata keys and a sub-chunk per section
+        Random random = new Random(0);
+        byte[] subChunk = new byte[4096];
+        random.nextBytes(subChunk);
+        byte[] data3D = new byte[1024];
+        random.nextBytes(data3D);
+        int columns = 20000;
+
+        for (boolean batched : new boolean[]{false, true}) {
+            try (DB database = openDatabase(folder.resolve(batched ? "batched" : "individual"))) {
+                long start = System.nanoTime();
+                for (int i = 0; i < columns; i++) {
+                    ChunkCoordPair position = new ChunkCoordPair(i % 256, i / 256);
+                    ColumnWriteBatch writeBatch = batched ? new ColumnWriteBatch(database) : null;
+                    List<byte[][]> entries = new ArrayList<>();
+                    entries.add(new byte[][]{LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.VERSION), new byte[]{40}});
+                    entries.add(new byte[][]{LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.LEGACY_VERSION), new byte[]{7}});
+                    entries.add(new byte[][]{LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.DATA_3D), data3D});
+                    entries.add(new byte[][]{LevelDBKey.key(Dimension.OVERWORLD, position, LevelDBChunkType.BLOCK_ENTITY), new byte[0]});
+                    entries.add(new byte[][]{LevelDBKey.key(LevelDBKey.DIGP_PREFIX, Dimension.OVERWORLD, position), new byte[0]});
+                    for (int y = -4; y < 20; y++) {
+                        entries.add(new byte[][]{LevelDBKey.key(Dimension.OVERWORLD, position, (byte) y, LevelDBChunkType.SUB_CHUNK_PREFIX), subChunk});
+                    }
+
+                    // Write the keys
+                    for (byte[][] entry : entries) {
+                        if (writeBatch != null) {
+                            writeBatch.put(entry[0], entry[1]);
+                        } else {
+                            database.put(entry[0], entry[1]);
+                        }
+                    }
+                    if (writeBatch != null) {
+                        writeBatch.write();
+                    }
+                }
+                long duration = System.nanoTime() - start;
+                System.out.printf("%s: %.1fus per column%n", batched ? "Batched" : "Individual", duration / 1e3D / columns);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hivemc.chunker.conversion.bedrock;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBChunkType;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKey;
+import com.hivemc.chunker.conversion.encoding.bedrock.util.LevelDBKeyIndex;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import org.iq80.leveldb.CompressionType;
+import org.iq80.leveldb.DB;
+import org.iq80.leveldb.Options;
+import org.iq80.leveldb.impl.Iq80DBFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the LevelDB key index finds the present columns and is only reused while the database is unchanged.
+ */
+public class LevelDBKeyIndexTests {
+    /**
+     * Open a database with the options used for Bedrock worlds.
+     *
+     * @param folder the folder for the database.
+     * @return the opened database.
+     * @throws IOException if it failed to open.
+     */
+    private static DB openDatabase(File folder) throws IOException {
+        Options options = new Options();
+        options.compressionType(CompressionType.ZLIB_RAW);
+        options.createIfMissing(true);
+        return new Iq80DBFactory().open(folder, options);
+    }
+
+    @Test
+    public void testColumnsAreIndexed(@TempDir File folder) throws Exception {
+        LevelDBKeyIndex index;
+        try (DB database = openDatabase(folder)) {
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(-1, 2), LevelDBChunkType.DATA_3D), new byte[10]);
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(-1, 2), (byte) 0, LevelDBChunkType.SUB_CHUNK_PREFIX), new byte[20]);
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(40, -40), LevelDBChunkType.VERSION), new byte[1]);
+            database.put(LevelDBKey.key(Dimension.NETHER, new ChunkCoordPair(3, 4), LevelDBChunkType.DATA_2D), new byte[5]);
+            database.put(LevelDBKey.LOCAL_PLAYER, new byte[5]);
+            index = LevelDBKeyIndex.scan(database, new MockConverter(null));
+        }
+
+        // Versions alone aren't enough for a column to be present
+        assertEquals(Set.of(Dimension.OVERWORLD, Dimension.NETHER), index.getDimensions());
+        assertEquals(1, index.getColumnCount(Dimension.OVERWORLD));
+        assertEquals(30, index.getColumnSize(Dimension.OVERWORLD, new ChunkCoordPair(-1, 2)));
+        assertEquals(0, index.getColumnSize(Dimension.OVERWORLD, new ChunkCoordPair(40, -40)));
+        assertEquals(5, index.getColumnSize(Dimension.NETHER, new ChunkCoordPair(3, 4)));
+
+        // The regions should contain the unpacked positions
+        Map<RegionCoordPair, Set<ChunkCoordPair>> regions = index.getPresentRegions(Dimension.OVERWORLD);
+        assertEquals(Map.of(new RegionCoordPair(-1, 0), Set.of(new ChunkCoordPair(-1, 2))), regions);
+        assertTrue(index.getPresentRegions(Dimension.THE_END).isEmpty());
+    }
+
+    @Test
+    public void testCachedIndexIsInvalidatedByWrites(@TempDir File folder) throws Exception {
+        LevelDBKeyIndex index;
+        try (DB database = openDatabase(folder)) {
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(0, 0), LevelDBChunkType.DATA_3D), new byte[10]);
+            index = LevelDBKeyIndex.scan(database, new MockConverter(null));
+        }
+
+        // The index should be reused while the files are the same
+        LevelDBKeyIndex.cache(folder, index);
+        assertSame(index, LevelDBKeyIndex.getCached(folder));
+
+        // Writing to the database should invalidate it
+        try (DB database = openDatabase(folder)) {
+            database.put(LevelDBKey.key(Dimension.OVERWORLD, new ChunkCoordPair(1, 0), LevelDBChunkType.DATA_3D), new byte[10]);
+        }
+        assertNull(LevelDBKeyIndex.getCached(folder));
+    }
+}
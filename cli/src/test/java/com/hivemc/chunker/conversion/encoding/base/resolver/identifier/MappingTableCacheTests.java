@@ -0,0 +1,130 @@
+package com.hivemc.chunker.conversion.encoding.base.resolver.identifier;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.EncodingType;
+import com.hivemc.chunker.conversion.encoding.base.Version;
+import com.hivemc.chunker.conversion.encoding.base.writer.LevelWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.BedrockReaderWriter;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.BedrockResolvers;
+import com.hivemc.chunker.conversion.encoding.bedrock.base.resolver.identifier.BedrockBlockIdentifierResolver;
+import com.hivemc.chunker.conversion.encoding.java.base.JavaReaderWriter;
+import com.hivemc.chunker.conversion.encoding.java.base.resolver.JavaResolvers;
+import com.hivemc.chunker.conversion.encoding.java.base.resolver.identifier.JavaBlockIdentifierResolver;
+import com.hivemc.chunker.conversion.encoding.java.base.resolver.identifier.JavaItemIdentifierResolver;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.item.ChunkerVanillaItemType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.itemstack.ChunkerItemStack;
+import com.hivemc.chunker.mapping.identifier.Identifier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure resolvers sharing the lookup tables resolve the same as resolvers which registered their own.
+ */
+public class MappingTableCacheTests {
+    private static final MockConverter CONVERTER = new MockConverter(null);
+    private static final Version VERSION = new Version(1, 20, 80);
+
+    /**
+     * Resolve every vanilla block type using a resolver.
+     *
+     * @param resolver the resolver to use.
+     * @return the output for each block type.
+     */
+    private static List<Optional<Identifier>> resolveAll(ChunkerBlockIdentifierResolver resolver) {
+        List<Optional<Identifier>> outputs = new ArrayList<>();
+        for (ChunkerVanillaBlockType type : ChunkerVanillaBlockType.values()) {
+            outputs.add(resolver.from(new ChunkerBlockIdentifier(type)));
+        }
+        return outputs;
+    }
+
+    @Test
+    public void testSharedTablesResolveTheSame() {
+        MappingTableCache.clear();
+        JavaBlockIdentifierResolver reader = new JavaBlockIdentifierResolver(CONVERTER, VERSION, true, false);
+        List<Optional<Identifier>> expected = resolveAll(reader);
+
+        // Resolvers of the same class and version share the tables, including between the reader and writer
+        JavaBlockIdentifierResolver writer = new JavaBlockIdentifierResolver(CONVERTER, VERSION, false, false);
+        assertEquals(expected, resolveAll(writer));
+        assertTrue(writer.isSupported("minecraft:stone"));
+        assertEquals(
+                reader.to(new Identifier("minecraft:oak_log")),
+                writer.to(new Identifier("minecraft:oak_log"))
+        );
+
+        // Tables built again after being cleared are the same
+        MappingTableCache.clear();
+        assertEquals(expected, resolveAll(new JavaBlockIdentifierResolver(CONVERTER, VERSION, true, false)));
+
+        // Other classes and versions don't use the same tables
+        assertTrue(new JavaItemIdentifierResolver(CONVERTER, VERSION, true).isSupported("minecraft:stick"));
+        assertFalse(new JavaBlockIdentifierResolver(CONVERTER, new Version(1, 13, 0), true, false).isSupported("minecraft:copper_block"));
+        assertTrue(new BedrockBlockIdentifierResolver(CONVERTER, VERSION, true, false).isSupported("minecraft:copper_block"));
+    }
+
+    @Test
+    public void testConcurrentFirstUse() {
+        MappingTableCache.clear();
+
+        // Every resolver should wait for the same tables rather than registering into them at the same time
+        List<CompletableFuture<List<Optional<Identifier>>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> resolveAll(new BedrockBlockIdentifierResolver(CONVERTER, VERSION, false, false))));
+        }
+        List<Optional<Identifier>> expected = futures.get(0).join();
+        for (CompletableFuture<List<Optional<Identifier>>> future : futures) {
+            assertEquals(expected, future.join());
+        }
+    }
+
+    /**
+     * Create a writer and its resolvers then resolve a block and an item, this is the work done before a conversion
+     * can start writing.
+     *
+     * @param type      the encoding type.
+     * @param version   the version to write.
+     * @param directory the output directory.
+     * @return the time taken in nanoseconds.
+     */
+    private static long timeStartup(EncodingType type, Version version, File directory) {
+        long start = System.nanoTime();
+        LevelWriter writer = type.createWriter(directory, version, CONVERTER).orElseThrow();
+        ChunkerBlockIdentifier stone = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE);
+        ChunkerItemStack stick = new ChunkerItemStack(ChunkerVanillaItemType.STICK);
+        if (writer instanceof JavaReaderWriter javaReaderWriter) {
+            JavaResolvers resolvers = javaReaderWriter.buildResolvers(CONVERTER).build();
+            assertTrue(resolvers.writeBlockIdentifier(stone, false).isPresent());
+            assertNotNull(resolvers.writeItemIdentifier(stick));
+        } else if (writer instanceof BedrockReaderWriter bedrockReaderWriter) {
+            BedrockResolvers resolvers = bedrockReaderWriter.buildResolvers(CONVERTER).build();
+            assertTrue(resolvers.writeBlockIdentifier(stone, false).isPresent());
+            assertNotNull(resolvers.writeItemIdentifier(stick));
+        }
+        return System.nanoTime() - start;
+    }
+
+    @Tag("LongRunning")
+    @Test
+    public void benchmarkStartup(@TempDir File directory) {
+        for (EncodingType type : List.of(EncodingType.JAVA, EncodingType.BEDROCK)) {
+            for (Version version : type.getSupportedVersions()) {
+                MappingTableCache.clear();
+                long cold = timeStartup(type, version, directory);
+                long shared = timeStartup(type, version, directory);
+                System.out.printf("%s %s: %.2fms registering, %.2fms with shared tables%n", type.getName(), version, cold / 1e6, shared / 1e6);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.hivemc.chunker.conversion.encoding.base.resolver.identifier;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.base.Converter;
+import com.hivemc.chunker.conversion.encoding.base.Version;
+import com.hivemc.chunker.conversion.encoding.java.base.resolver.identifier.JavaBlockIdentifierResolver;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.mapping.MappingsFile;
+import com.hivemc.chunker.mapping.identifier.Identifier;
+import com.hivemc.chunker.mapping.resolver.MappingsFileResolvers;
+import com.hivemc.chunker.resolver.Resolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure cached resolvers share results between conversions only when they resolve the same.
+ */
+public class ResolverCacheRegistryTests {
+    private static final Version VERSION = new Version(1, 20, 80);
+    private static final AtomicInteger RESOLVED = new AtomicInteger();
+
+    /**
+     * A resolver which counts the number of identifiers actually resolved.
+     */
+    private static class CountingResolver extends JavaBlockIdentifierResolver {
+        public CountingResolver(Converter converter, boolean reader, boolean customIdentifiersAllowed) {
+            super(converter, VERSION, reader, customIdentifiersAllowed);
+        }
+
+        @Override
+        protected Optional<ChunkerBlockIdentifier> resolveTo(Identifier input) {
+            RESOLVED.incrementAndGet();
+            return super.resolveTo(input);
+        }
+    }
+
+    @Test
+    public void testSharedBetweenConverters() {
+        ResolverCacheRegistry.clear();
+        RESOLVED.set(0);
+        Identifier stone = new Identifier("minecraft:stone");
+
+        // The first conversion resolves the identifier and a later one uses the cached result
+        Resolver<Identifier, ChunkerBlockIdentifier> first = new CountingResolver(new MockConverter(null), true, false).cached();
+        Optional<ChunkerBlockIdentifier> expected = first.to(stone);
+        assertEquals(ChunkerVanillaBlockType.STONE, expected.orElseThrow().getType());
+        assertEquals(1, RESOLVED.get());
+        Resolver<Identifier, ChunkerBlockIdentifier> second = new CountingResolver(new MockConverter(null), true, false).cached();
+        assertEquals(expected, second.to(stone));
+        assertEquals(1, RESOLVED.get());
+
+        // Different settings don't share the results
+        new CountingResolver(new MockConverter(null), false, false).cached().to(stone);
+        assertEquals(2, RESOLVED.get());
+        new CountingResolver(new MockConverter(null), true, true).cached().to(stone);
+        assertEquals(3, RESOLVED.get());
+
+        // Clearing the registry doesn't affect resolvers which have already been used
+        ResolverCacheRegistry.clear();
+        assertEquals(expected, second.to(stone));
+        assertEquals(3, RESOLVED.get());
+        new CountingResolver(new MockConverter(null), true, false).cached().to(stone);
+        assertEquals(4, RESOLVED.get());
+    }
+
+    @Test
+    public void testMappingsNotShared() {
+        ResolverCacheRegistry.clear();
+        Identifier stone = new Identifier("minecraft:stone");
+        assertNull(new JavaBlockIdentifierResolver(new MockConverter(null), VERSION, true, false).cached().to(stone).orElseThrow().getPreservedIdentifier());
+
+        // A conversion with mappings has the mapped identifier preserved
+        MockConverter converter = new MockConverter(null);
+        converter.setBlockMappings(new MappingsFileResolvers(MappingsFile.load("""
+                {
+                  "identifiers": [
+                    {
+                      "old_identifier": "minecraft:stone",
+                      "new_identifier": "minecraft:dirt"
+                    }
+                  ]
+                }
+                """)));
+        Resolver<Identifier, ChunkerBlockIdentifier> mapped = new JavaBlockIdentifierResolver(converter, VERSION, true, false).cached();
+        assertNotNull(mapped.to(stone).orElseThrow().getPreservedIdentifier());
+    }
+}
@@ -0,0 +1,192 @@
+package com.hivemc.chunker.conversion.handlers.light;
+
+import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.light.LightEngine;
+import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the lighting handler only holds columns until their neighbours have been read and lit.
+ */
+public class ColumnLightingConversionHandlerTests {
+    /**
+     * Delegate which validates that columns are lit and their neighbours are no longer needed when submitted.
+     */
+    private static class ValidatingHandler implements ColumnConversionHandler {
+        private final Map<ChunkCoordPair, ChunkerColumn> received = new ConcurrentHashMap<>();
+        private final Set<ChunkCoordPair> submitted = ConcurrentHashMap.newKeySet();
+        private final Map<RegionCoordPair, AtomicInteger> submittedPerRegion = new ConcurrentHashMap<>();
+        private final Set<RegionCoordPair> flushed = ConcurrentHashMap.newKeySet();
+        private final Set<RegionCoordPair> regions;
+
+        private ValidatingHandler(Set<RegionCoordPair> regions) {
+            this.regions = regions;
+        }
+
+        @Override
+        public void convertColumn(ChunkerColumn column) {
+            // Each column should only be submitted once, after being lit
+            ChunkCoordPair position = column.getPosition();
+            assertTrue(submitted.add(position), "Column submitted twice");
+            assertFalse(LightEngine.needsLight(column), "Column submitted before being lit");
+            assertFalse(flushed.contains(position.getRegion()), "Column submitted after region was flushed");
+
+            // Every neighbour in the world should have been read and lit, so it no longer needs this column
+            for (int x = -1; x <= 1; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    ChunkCoordPair neighbourPosition = new ChunkCoordPair(position.chunkX() + x, position.chunkZ() + z);
+                    if (!regions.contains(neighbourPosition.getRegion())) continue;
+                    ChunkerColumn neighbour = received.get(neighbourPosition);
+                    assertNotNull(neighbour, "Column submitted before neighbour was read");
+                    assertFalse(LightEngine.needsLight(neighbour), "Column submitted before neighbour was lit");
+                }
+            }
+            submittedPerRegion.computeIfAbsent(position.getRegion(), (ignored) -> new AtomicInteger()).incrementAndGet();
+        }
+
+        @Override
+        public void flushRegion(RegionCoordPair regionCoordPair) {
+            // Every column in the region should have been submitted before it was flushed
+            assertTrue(flushed.add(regionCoordPair), "Region flushed twice");
+            AtomicInteger count = submittedPerRegion.get(regionCoordPair);
+            assertEquals(32 * 32, count == null ? 0 : count.get(), "Region flushed before all columns were submitted");
+        }
+
+        @Override
+        public void flushColumns() {
+            // No behaviour
+        }
+    }
+
+    /**
+     * Create a column with an air sub-chunk without any light.
+     *
+     * @param position the position of the column.
+     * @return the newly created column.
+     */
+    private static ChunkerColumn createColumn(ChunkCoordPair position) {
+        ChunkerColumn column = new ChunkerColumn(position);
+        ChunkerChunk chunk = new ChunkerChunk((byte) 0);
+        chunk.setPalette(ChunkerBlockIdentifier.AIR.asFilledChunkPalette());
+        column.getChunks().put(chunk.getY(), chunk);
+        return column;
+    }
+
+    /**
+     * Create a square grid of regions.
+     *
+     * @param regions the width / height of the grid of regions.
+     * @return the region positions.
+     */
+    private static Set<RegionCoordPair> createRegions(int regions) {
+        Set<RegionCoordPair> regionCoordPairs = new HashSet<>();
+        for (int x = 0; x < regions; x++) {
+            for (int z = 0; z < regions; z++) {
+                regionCoordPairs.add(new RegionCoordPair(x, z));
+            }
+        }
+        return regionCoordPairs;
+    }
+
+    /**
+     * Submit a column to the handler, recording that it was read.
+     *
+     * @param handler  the handler to submit to.
+     * @param delegate the delegate used by the handler.
+     * @param position the position of the column.
+     */
+    private static void read(ColumnLightingConversionHandler handler, ValidatingHandler delegate, ChunkCoordPair position) {
+        ChunkerColumn column = createColumn(position);
+        delegate.received.put(position, column);
+        handler.convertColumn(column);
+    }
+
+    /**
+     * Run the tasks created by the consumer in a new environment and wait for it to complete.
+     *
+     * @param threads  the number of threads to use.
+     * @param runnable the runnable which creates the tasks.
+     */
+    private static void runEnvironment(int threads, Runnable runnable) {
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", threads, 0, TaskExecutorMode.PRIORITY_QUEUE, exception::set, null);
+        try {
+            runnable.run();
+        } finally {
+            environment.close();
+        }
+
+        // Wait for completion
+        environment.future().join();
+        assertNull(exception.get());
+    }
+
+    @Test
+    public void testConcurrentColumnsAreLit() {
+        Set<RegionCoordPair> regionCoordPairs = createRegions(3);
+        ValidatingHandler delegate = new ValidatingHandler(regionCoordPairs);
+        ColumnLightingConversionHandler handler = new ColumnLightingConversionHandler(delegate, new ChunkerWorld(Dimension.OVERWORLD, regionCoordPairs));
+        runEnvironment(4, () -> Task.async("Reading regions", TaskWeight.NORMAL, () -> {
+            for (RegionCoordPair region : regionCoordPairs) {
+                Task.async("Reading region", TaskWeight.NORMAL, () -> {
+                    for (int x = 0; x < 32; x++) {
+                        for (int z = 0; z < 32; z++) {
+                            ChunkCoordPair position = region.getChunk(x, z);
+                            Task.async("Reading column", TaskWeight.NORMAL, () -> read(handler, delegate, position));
+                        }
+                    }
+                }).then("Flushing region", TaskWeight.NORMAL, () -> handler.flushRegion(region));
+            }
+        }).then("Flushing columns", TaskWeight.NORMAL, handler::flushColumns));
+
+        // Every column should have been lit and submitted
+        assertEquals(3 * 3 * 32 * 32, delegate.submitted.size());
+        assertEquals(regionCoordPairs, delegate.flushed);
+    }
+
+    @Test
+    public void testHeldColumnsAreBounded() {
+        Set<RegionCoordPair> regionCoordPairs = createRegions(2);
+        ValidatingHandler delegate = new ValidatingHandler(regionCoordPairs);
+        ColumnLightingConversionHandler handler = new ColumnLightingConversionHandler(delegate, new ChunkerWorld(Dimension.OVERWORLD, regionCoordPairs));
+        List<RegionCoordPair> order = List.of(new RegionCoordPair(0, 0), new RegionCoordPair(1, 0), new RegionCoordPair(0, 1), new RegionCoordPair(1, 1));
+
+        // Read one row at a time, waiting for the lighting of the row to finish before reading the next
+        for (RegionCoordPair region : order) {
+            for (int z = 0; z < 32; z++) {
+                int row = z;
+                runEnvironment(2, () -> Task.async("Reading row", TaskWeight.NORMAL, () -> {
+                    for (int x = 0; x < 32; x++) {
+                        read(handler, delegate, region.getChunk(x, row));
+                    }
+                    if (row == 31) {
+                        handler.flushRegion(region);
+                    }
+                }));
+            }
+        }
+        runEnvironment(2, handler::flushColumns);
+        assertEquals(2 * 2 * 32 * 32, delegate.submitted.size());
+        assertEquals(regionCoordPairs, delegate.flushed);
+
+        // Columns are only held for their neighbours (the previous rows and the edges waiting for the next regions)
+        assertTrue(handler.getPeakPendingColumns() < 32 * 32, "Too many columns held " + handler.getPeakPendingColumns());
+    }
+}
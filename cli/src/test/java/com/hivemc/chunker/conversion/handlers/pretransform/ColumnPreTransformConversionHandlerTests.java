@@ -0,0 +1,149 @@
+package com.hivemc.chunker.conversion.handlers.pretransform;
+
+import com.hivemc.chunker.conversion.handlers.ColumnConversionHandler;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.RegionCoordPair;
+import com.hivemc.chunker.conversion.intermediate.world.ChunkerWorld;
+import com.hivemc.chunker.conversion.intermediate.world.Dimension;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorMode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the pre-transform handler resolves edges correctly when columns are submitted concurrently.
+ */
+public class ColumnPreTransformConversionHandlerTests {
+    /**
+     * Delegate which validates the order of calls and simulates the work done by later stages.
+     */
+    private static class ValidatingHandler implements ColumnConversionHandler {
+        private final Set<ChunkCoordPair> transformed = ConcurrentHashMap.newKeySet();
+        private final Map<ChunkCoordPair, Boolean> submitted = new ConcurrentHashMap<>();
+        private final Map<RegionCoordPair, AtomicInteger> submittedPerRegion = new ConcurrentHashMap<>();
+        private final Set<RegionCoordPair> flushed = ConcurrentHashMap.newKeySet();
+        private final int work;
+
+        private ValidatingHandler(int work) {
+            this.work = work;
+        }
+
+        @Override
+        public void convertColumn(ChunkerColumn column) {
+            // Each column should only be submitted once and after the pre-transform
+            assertNull(submitted.put(column.getPosition(), true), "Column submitted twice");
+            assertTrue(transformed.contains(column.getPosition()), "Column submitted before pre-transform");
+            assertFalse(flushed.contains(column.getPosition().getRegion()), "Column submitted after region was flushed");
+
+            // Simulate the work done by the writer (e.g. resolving the palette)
+            double value = 0;
+            for (int i = 0; i < work; i++) {
+                value += Math.sqrt(i);
+            }
+            if (value < 0) throw new IllegalStateException();
+            submittedPerRegion.computeIfAbsent(column.getPosition().getRegion(), (ignored) -> new AtomicInteger()).incrementAndGet();
+        }
+
+        @Override
+        public void flushRegion(RegionCoordPair regionCoordPair) {
+            // Every column in the region should have been submitted before it was flushed
+            assertTrue(flushed.add(regionCoordPair), "Region flushed twice");
+            AtomicInteger count = submittedPerRegion.get(regionCoordPair);
+            assertEquals(32 * 32, count == null ? 0 : count.get(), "Region flushed before all columns were submitted");
+        }
+
+        @Override
+        public void flushColumns() {
+            // No behaviour
+        }
+    }
+
+    /**
+     * Create a column which requires the positive neighbours to be present for pre-transformation.
+     *
+     * @param position    the position of the column.
+     * @param transformed the set to add the position to when the column is pre-transformed.
+     * @return the newly created column.
+     */
+    private static ChunkerColumn createColumn(ChunkCoordPair position, Set<ChunkCoordPair> transformed) {
+        ChunkerColumn column = new ChunkerColumn(position);
+        column.addPreTransformHandler(EnumSet.of(Edge.POSITIVE_X, Edge.POSITIVE_Z), (neighbours) -> transformed.add(position));
+        return column;
+    }
+
+    /**
+     * Drive a grid of regions through the handler using tasks.
+     *
+     * @param threads the number of threads to use.
+     * @param regions the width / height of the grid of regions.
+     * @param work    the amount of work the delegate should simulate per column.
+     * @return the delegate which was used.
+     */
+    private static ValidatingHandler run(int threads, int regions, int work) {
+        Set<RegionCoordPair> regionCoordPairs = new HashSet<>();
+        for (int x = 0; x < regions; x++) {
+            for (int z = 0; z < regions; z++) {
+                regionCoordPairs.add(new RegionCoordPair(x, z));
+            }
+        }
+
+        // Create the handler
+        ValidatingHandler delegate = new ValidatingHandler(work);
+        ColumnPreTransformConversionHandler handler = new ColumnPreTransformConversionHandler(delegate, new ChunkerWorld(Dimension.OVERWORLD, regionCoordPairs));
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", threads, 0, TaskExecutorMode.PRIORITY_QUEUE, exception::set, null);
+        try {
+            Task.async("Reading regions", TaskWeight.NORMAL, () -> {
+                for (RegionCoordPair region : regionCoordPairs) {
+                    Task.async("Reading region", TaskWeight.NORMAL, () -> {
+                        for (int x = 0; x < 32; x++) {
+                            for (int z = 0; z < 32; z++) {
+                                Task.asyncConsume("Reading column", TaskWeight.NORMAL, handler::convertColumn, createColumn(region.getChunk(x, z), delegate.transformed));
+                            }
+                        }
+                    }).then("Flushing region", TaskWeight.NORMAL, () -> handler.flushRegion(region));
+                }
+            }).then("Flushing columns", TaskWeight.NORMAL, handler::flushColumns);
+        } finally {
+            environment.close();
+        }
+
+        // Wait for completion
+        environment.future().join();
+        assertNull(exception.get());
+        assertEquals(regions * regions * 32 * 32, delegate.submitted.size());
+        assertEquals(regionCoordPairs, delegate.flushed);
+        return delegate;
+    }
+
+    @Test
+    public void testConcurrentColumnsAreSolved() {
+        run(4, 3, 0);
+    }
+
+    @Tag("LongRunning")
+    @Test
+    public void benchmarkContention() {
+        // Warm up
+        run(Runtime.getRuntime().availableProcessors(), 4, 2000);
+
+        // Measure how many columns per second make it through with the delegate doing work
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            long start = System.nanoTime();
+            run(threads, 8, 2000);
+            long duration = System.nanoTime() - start;
+            int columns = 8 * 8 * 32 * 32;
+            System.out.printf("%d threads: %d columns in %.2fms (%.0f columns/s)%n", threads, columns, duration / 1e6D, columns / (duration / 1e9D));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.hivemc.chunker.conversion.handlers.pretransform;
+
+import com.hivemc.chunker.conversion.encoding.base.Version;
+import com.hivemc.chunker.conversion.handlers.pretransform.manager.PreTransformManager;
+import com.hivemc.chunker.conversion.handlers.pretransform.manager.handler.block.BlockPreTransformHandler;
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure blocks are solved immediately or queued until their neighbours are present.
+ */
+public class PreTransformManagerTests {
+    private static final ChunkerBlockIdentifier FENCE = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_FENCE);
+    private static final ChunkerBlockIdentifier SOLVED = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_PLANKS);
+
+    /**
+     * Handler which needs the neighbouring columns for fences on the edge of the column.
+     */
+    private static class EdgeHandler implements BlockPreTransformHandler {
+        private int handled;
+
+        @Override
+        public Set<Edge> getRequiredEdges(ChunkerColumn column, int x, int y, int z, ChunkerBlockIdentifier blockIdentifier) {
+            return calculateEdges(x, y, z, Direction.ALL_HORIZONTAL);
+        }
+
+        @Override
+        public ChunkerBlockIdentifier handle(ChunkerColumn column, Map<Edge, ChunkerColumn> neighbours, int x, int y, int z, ChunkerBlockIdentifier blockIdentifier) {
+            assertEquals(FENCE, blockIdentifier);
+            assertEquals(FENCE, column.getBlock(x, y, z));
+            handled++;
+            return SOLVED;
+        }
+    }
+
+    /**
+     * Manager using the edge handler for fences.
+     */
+    private static class TestManager extends PreTransformManager {
+        private final EdgeHandler handler;
+
+        public TestManager(EdgeHandler handler) {
+            super(new Version(1, 0, 0));
+            this.handler = handler;
+            registerHandler(handler, ChunkerVanillaBlockType.OAK_FENCE);
+        }
+
+        @Override
+        protected void registerHandlers(Version version) {
+            // Registered in the constructor as the handler is needed
+        }
+    }
+
+    /**
+     * Create a column with a chunk of fences and a chunk with a few fences (at negative positions).
+     *
+     * @return the new column.
+     */
+    private static ChunkerColumn createColumn() {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(-3, 5));
+        ChunkerChunk filled = new ChunkerChunk((byte) -4);
+        filled.setPalette(FENCE.asFilledChunkPalette());
+        column.getChunks().put(filled.getY(), filled);
+
+        // Create a mixed chunk
+        column.setBlock(-48, 16, 80, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE));
+        column.setBlock(-41, 17, 85, FENCE);
+        column.setBlock(-33, 31, 95, FENCE);
+        return column;
+    }
+
+    @Test
+    public void testSolvedWithoutNeighbours() {
+        EdgeHandler handler = new EdgeHandler();
+        ChunkerColumn column = createColumn();
+        new TestManager(handler).solve(column, false);
+
+        // Every fence should be solved immediately
+        assertEquals(4096 + 2, handler.handled);
+        assertEquals(SOLVED, column.getBlock(-48, -64, 80));
+        assertEquals(SOLVED, column.getBlock(-41, 17, 85));
+        assertEquals(SOLVED, column.getBlock(-33, 31, 95));
+        assertTrue(column.getRequiredPreTransformEdges().isEmpty());
+    }
+
+    @Test
+    public void testQueuedForNeighbours() {
+        EdgeHandler handler = new EdgeHandler();
+        ChunkerColumn column = createColumn();
+        new TestManager(handler).solve(column, true);
+
+        // Only fences away from the edge of the column are solved now
+        assertEquals(14 * 14 * 16 + 1, handler.handled);
+        assertEquals(SOLVED, column.getBlock(-47, -60, 81));
+        assertEquals(SOLVED, column.getBlock(-41, 17, 85));
+        assertEquals(FENCE, column.getBlock(-48, -64, 80));
+        assertEquals(FENCE, column.getBlock(-33, 31, 95));
+        assertEquals(Set.of(Edge.values()), column.getRequiredPreTransformEdges());
+
+        // The rest should be solved once the neighbours are present
+        column.preTransform(Collections.emptyMap());
+        assertEquals(4096 + 2, handler.handled);
+        assertEquals(SOLVED, column.getBlock(-48, -64, 80));
+        assertEquals(SOLVED, column.getBlock(-33, -49, 95));
+        assertEquals(SOLVED, column.getBlock(-33, 31, 95));
+    }
+}
@@ -8,6 +8,7 @@ import com.hivemc.chunker.conversion.encoding.base.Version;
 import com.hivemc.chunker.conversion.encoding.base.reader.LevelReader;
 import com.hivemc.chunker.conversion.encoding.base.writer.LevelWriter;
 import com.hivemc.chunker.scheduling.task.TrackedTask;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorMode;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
@@ -88,6 +89,17 @@ public class WorldConversionIntegrationTests {
         return tests;
     }
 
+    public static List<Arguments> getCrossFormatWorldConversions() {
+        List<Arguments> tests = new ArrayList<>();
+        for (String worldName : getWorldNames()) {
+            // Convert to the newest version of the other format
+            EncodingType encodingType = worldName.startsWith("JAVA") ? EncodingType.BEDROCK : EncodingType.JAVA;
+            Optional<Version> max = encodingType.getSupportedVersions().stream().max(Version::compareTo);
+            max.ifPresent(version -> tests.add(Arguments.of(worldName, encodingType, version)));
+        }
+        return tests;
+    }
+
     public static void remove(Path path) throws IOException {
         // Walk the files and delete in reverse order to ensure directories are empty
         try (Stream<Path> pathStream = Files.walk(path)) {
@@ -157,6 +169,152 @@ public class WorldConversionIntegrationTests {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("getCrossFormatWorldConversions")
+    public void testWorkStealingWorldConversion(String inputWorldName, EncodingType outputType, Version outputVersion) throws IOException {
+        URL worldZip = Resources.getResource("integration/worlds/" + inputWorldName + ".zip");
+        Path unzipped = unzip(worldZip);
+        Path output = tempFolder();
+        try {
+            // Create a new world converter for our world using work stealing
+            WorldConverter converter = new WorldConverter(UUID.randomUUID()) {
+                @Override
+                public void logMissingMapping(MissingMappingType type, String identifier) {
+                    // Don't log missing mappings for our tests
+                }
+            };
+            converter.setExecutorMode(TaskExecutorMode.WORK_STEALING);
+            convertWorld(converter, unzipped, output, outputType, outputVersion);
+
+            // Assert that no errors happened
+            assertFalse(converter.isExceptions());
+
+            // Assert that world data was written
+            assertTrue(output.resolve("level.dat").toFile().exists());
+        } finally {
+            remove(unzipped);
+            remove(output);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("getCrossFormatWorldConversions")
+    public void testColumnBatchingWorldConversion(String inputWorldName, EncodingType outputType, Version outputVersion) throws IOException {
+        URL worldZip = Resources.getResource("integration/worlds/" + inputWorldName + ".zip");
+        Path unzipped = unzip(worldZip);
+        Path output = tempFolder();
+        try {
+            // Create a new world converter for our world which always batches columns
+            WorldConverter converter = new WorldConverter(UUID.randomUUID()) {
+                @Override
+                public void logMissingMapping(MissingMappingType type, String identifier) {
+                    // Don't log missing mappings for our tests
+                }
+            };
+            converter.setColumnBatching(true);
+            convertWorld(converter, unzipped, output, outputType, outputVersion);
+
+            // Assert that no errors happened
+            assertFalse(converter.isExceptions());
+
+            // Assert that world data was written
+            assertTrue(output.resolve("level.dat").toFile().exists());
+        } finally {
+            remove(unzipped);
+            remove(output);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("getCrossFormatWorldConversions")
+    public void testSingleInFlightRegionWorldConversion(String inputWorldName, EncodingType outputType, Version outputVersion) throws IOException {
+        URL worldZip = Resources.getResource("integration/worlds/" + inputWorldName + ".zip");
+        Path unzipped = unzip(worldZip);
+        Path output = tempFolder();
+        try {
+            // Create a new world converter for our world which only reads one region at a time
+            WorldConverter converter = new WorldConverter(UUID.randomUUID()) {
+                @Override
+                public void logMissingMapping(MissingMappingType type, String identifier) {
+                    // Don't log missing mappings for our tests
+                }
+            };
+            converter.setMaxInFlightRegions(1);
+            convertWorld(converter, unzipped, output, outputType, outputVersion);
+
+            // Assert that no errors happened
+            assertFalse(converter.isExceptions());
+
+            // Assert that columns were held for pre-transformation and the metric was reported
+            assertTrue(converter.getPeakPendingColumns() > 0);
+
+            // Assert that repeated block palette entries were resolved from the cache (legacy worlds use block IDs)
+            assertTrue(converter.getPaletteCacheHits() >= converter.getPaletteCacheMisses());
+
+            // Assert that world data was written
+            assertTrue(output.resolve("level.dat").toFile().exists());
+        } finally {
+            remove(unzipped);
+            remove(output);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("getCrossFormatWorldConversions")
+    public void testGenerateLightingWorldConversion(String inputWorldName, EncodingType outputType, Version outputVersion) throws IOException {
+        URL worldZip = Resources.getResource("integration/worlds/" + inputWorldName + ".zip");
+        Path unzipped = unzip(worldZip);
+        Path output = tempFolder();
+        try {
+            // Create a new world converter for our world which generates light for columns without any
+            WorldConverter converter = new WorldConverter(UUID.randomUUID()) {
+                @Override
+                public void logMissingMapping(MissingMappingType type, String identifier) {
+                    // Don't log missing mappings for our tests
+                }
+            };
+            converter.setGenerateLighting(true);
+            convertWorld(converter, unzipped, output, outputType, outputVersion);
+
+            // Assert that no errors happened
+            assertFalse(converter.isExceptions());
+
+            // Assert that world data was written
+            assertTrue(output.resolve("level.dat").toFile().exists());
+        } finally {
+            remove(unzipped);
+            remove(output);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("getCrossFormatWorldConversions")
+    public void testLevelDBBulkWriteWorldConversion(String inputWorldName, EncodingType outputType, Version outputVersion) throws IOException {
+        URL worldZip = Resources.getResource("integration/worlds/" + inputWorldName + ".zip");
+        Path unzipped = unzip(worldZip);
+        Path output = tempFolder();
+        try {
+            // Create a new world converter for our world which writes LevelDB tables directly
+            WorldConverter converter = new WorldConverter(UUID.randomUUID()) {
+                @Override
+                public void logMissingMapping(MissingMappingType type, String identifier) {
+                    // Don't log missing mappings for our tests
+                }
+            };
+            converter.setLevelDBBulkWrite(true);
+            convertWorld(converter, unzipped, output, outputType, outputVersion);
+
+            // Assert that no errors happened
+            assertFalse(converter.isExceptions());
+
+            // Assert that world data was written
+            assertTrue(output.resolve("level.dat").toFile().exists());
+        } finally {
+            remove(unzipped);
+            remove(output);
+        }
+    }
+
     @Tag("LongRunning")
     @ParameterizedTest
     @MethodSource("getAllWorldConversions")
@@ -0,0 +1,132 @@
+package com.hivemc.chunker.conversion.intermediate.column;
+
+import com.hivemc.chunker.conversion.intermediate.column.blockentity.BlockEntity;
+import com.hivemc.chunker.conversion.intermediate.column.blockentity.container.HopperBlockEntity;
+import com.hivemc.chunker.conversion.intermediate.column.blockentity.sign.SignBlockEntity;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure block entities can be looked up by position while the list is modified.
+ */
+public class ChunkerColumnBlockEntityTests {
+    /**
+     * Create a block entity at a position.
+     *
+     * @param blockEntity the block entity.
+     * @param x           the global X co-ordinate.
+     * @param y           the global Y co-ordinate.
+     * @param z           the global Z co-ordinate.
+     * @return the block entity.
+     */
+    private static BlockEntity at(BlockEntity blockEntity, int x, int y, int z) {
+        blockEntity.setX(x);
+        blockEntity.setY(y);
+        blockEntity.setZ(z);
+        return blockEntity;
+    }
+
+    /**
+     * Look up a block entity by scanning the list, the behaviour before the index was added.
+     *
+     * @param column the column.
+     * @param x      the x co-ordinate.
+     * @param y      the y co-ordinate.
+     * @param z      the z co-ordinate.
+     * @return the first matching block entity or null.
+     */
+    private static BlockEntity scan(ChunkerColumn column, int x, int y, int z) {
+        for (BlockEntity blockEntity : column.getBlockEntities()) {
+            if ((blockEntity.getX() & 15) == (x & 15) && blockEntity.getY() == y && (blockEntity.getZ() & 15) == (z & 15)) {
+                return blockEntity;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testLookupAfterModification() {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(-2, 3));
+        List<BlockEntity> blockEntities = column.getBlockEntities();
+        BlockEntity sign = at(new SignBlockEntity(), -32, -64, 48);
+        BlockEntity hopper = at(new HopperBlockEntity(), -17, 319, 63);
+        BlockEntity duplicate = at(new HopperBlockEntity(), -32, -64, 48);
+        blockEntities.add(sign);
+        assertSame(sign, column.getBlockEntity(0, -64, 0));
+        assertNull(column.getBlockEntity(0, -48, 0));
+
+        // Appending updates the index, the first is kept for duplicates
+        blockEntities.add(hopper);
+        blockEntities.add(duplicate);
+        assertSame(hopper, column.getBlockEntity(15, 319, 15));
+        assertSame(sign, column.getBlockEntity(-32, -64, 48));
+
+        // Replacing
+        BlockEntity replacement = at(new SignBlockEntity(), -17, 319, 63);
+        blockEntities.set(1, replacement);
+        assertSame(replacement, column.getBlockEntity(15, 319, 15));
+        BlockEntity moved = at(new SignBlockEntity(), -20, 100, 50);
+        blockEntities.set(1, moved);
+        assertNull(column.getBlockEntity(15, 319, 15));
+        assertSame(moved, column.getBlockEntity(12, 100, 2));
+
+        // Removing
+        blockEntities.removeIf(blockEntity -> blockEntity == sign);
+        assertSame(duplicate, column.getBlockEntity(0, -64, 0));
+        Iterator<BlockEntity> iterator = blockEntities.iterator();
+        iterator.next();
+        iterator.remove();
+        assertNull(column.getBlockEntity(12, 100, 2));
+        blockEntities.add(0, sign);
+        assertSame(sign, column.getBlockEntity(0, -64, 0));
+        blockEntities.clear();
+        assertNull(column.getBlockEntity(0, -64, 0));
+    }
+
+    @Tag("LongRunning")
+    @Test
+    public void benchmarkDenseBlockEntities() {
+        // A storage column with a block entity in every block of 4 sub-chunks
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(0, 0));
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    column.getBlockEntities().add(at(new HopperBlockEntity(), x, y, z));
+                }
+            }
+        }
+
+        // Look up every block of 16 sub-chunks like the block entity generation loops
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (int y = 0; y < 256; y++) {
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        if (column.getBlockEntity(x, y, z) != null) found++;
+                    }
+                }
+            }
+            long indexed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int scanned = 0;
+            for (int y = 0; y < 256; y++) {
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        if (scan(column, x, y, z) != null) scanned++;
+                    }
+                }
+            }
+            long scan = System.nanoTime() - start;
+            assertEquals(scanned, found);
+            System.out.printf("%d block entities: indexed %.2fms, scan %.2fms%n", column.getBlockEntities().size(), indexed / 1e6D, scan / 1e6D);
+        }
+    }
+}
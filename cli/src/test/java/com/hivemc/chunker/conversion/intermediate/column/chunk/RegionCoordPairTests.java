@@ -0,0 +1,47 @@
+package com.hivemc.chunker.conversion.intermediate.column.chunk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests to ensure that regions are sorted so that neighbouring regions are processed together.
+ */
+public class RegionCoordPairTests {
+    @Test
+    public void testHilbertCurveVisitsNeighbours() {
+        // Use a square grid around the origin (where most worlds are)
+        Set<RegionCoordPair> regions = new HashSet<>();
+        for (int x = -8; x < 8; x++) {
+            for (int z = -8; z < 8; z++) {
+                regions.add(new RegionCoordPair(x, z));
+            }
+        }
+
+        // Every region should be returned and each step should move to an adjacent region
+        List<RegionCoordPair> sorted = RegionCoordPair.sortByHilbertCurve(regions);
+        assertEquals(regions, new HashSet<>(sorted));
+        for (int i = 1; i < sorted.size(); i++) {
+            RegionCoordPair previous = sorted.get(i - 1);
+            RegionCoordPair current = sorted.get(i);
+            int distance = Math.abs(previous.regionX() - current.regionX()) + Math.abs(previous.regionZ() - current.regionZ());
+            assertEquals(1, distance, "Regions " + previous + " and " + current + " are not adjacent");
+        }
+    }
+
+    @Test
+    public void testHilbertCurveSparseRegions() {
+        Set<RegionCoordPair> regions = Set.of(
+                new RegionCoordPair(-1000, 5),
+                new RegionCoordPair(0, 0),
+                new RegionCoordPair(1000, -5)
+        );
+
+        // Sparse regions far apart should still all be returned
+        assertEquals(regions, new HashSet<>(RegionCoordPair.sortByHilbertCurve(regions)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.hivemc.chunker.conversion.intermediate.column.chunk.identifier;
+
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Bool;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure interned block identifiers are shared and still behave like normal identifiers.
+ */
+public class ChunkerBlockIdentifierTests {
+    @Test
+    public void testInternReturnsCanonicalInstance() {
+        ChunkerBlockIdentifier first = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_FENCE, Map.of(VanillaBlockStates.WATERLOGGED, Bool.TRUE));
+        ChunkerBlockIdentifier second = ChunkerBlockIdentifier.custom("test:block", Map.of("waterlogged", true));
+        ChunkerBlockIdentifier third = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_FENCE, Map.of(VanillaBlockStates.WATERLOGGED, Bool.TRUE));
+        assertEquals(-1, first.getId());
+
+        // Equal identifiers should share an instance and ID
+        ChunkerBlockIdentifier interned = first.intern();
+        assertSame(interned, third.intern());
+        assertSame(interned, interned.intern());
+        assertTrue(interned.getId() >= 0);
+        assertTrue(interned.getId() < ChunkerBlockIdentifier.getInternedCount());
+
+        // Different identifiers should have different IDs
+        assertNotSame(interned, second.intern());
+        assertNotEquals(interned.getId(), second.intern().getId());
+        assertNotEquals(interned, second.intern());
+    }
+
+    @Test
+    public void testInternedEqualsNonInterned() {
+        ChunkerBlockIdentifier interned = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_FENCE).intern();
+        ChunkerBlockIdentifier copy = interned.copyWith(VanillaBlockStates.WATERLOGGED, Bool.FALSE).copyWithout(VanillaBlockStates.WATERLOGGED);
+
+        // Copies aren't interned but should still be equal
+        assertEquals(-1, copy.getId());
+        assertEquals(interned, copy);
+        assertEquals(copy, interned);
+        assertEquals(interned.hashCode(), copy.hashCode());
+        assertSame(ChunkerBlockIdentifier.AIR, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.AIR).intern());
+    }
+
+    @Test
+    public void testUnusedInternedCanBeReclaimed() throws Exception {
+        WeakReference<ChunkerBlockIdentifier> reference = new WeakReference<>(ChunkerBlockIdentifier.custom("test:reclaimed", Map.of("value", 1)).intern());
+
+        // Nothing else references the canonical instance, so the intern table shouldn't keep it alive
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+
+        // Interning again creates a new canonical instance
+        ChunkerBlockIdentifier interned = ChunkerBlockIdentifier.custom("test:reclaimed", Map.of("value", 1)).intern();
+        assertSame(interned, ChunkerBlockIdentifier.custom("test:reclaimed", Map.of("value", 1)).intern());
+    }
+}
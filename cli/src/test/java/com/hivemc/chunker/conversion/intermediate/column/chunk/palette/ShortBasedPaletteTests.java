@@ -0,0 +1,203 @@
+package com.hivemc.chunker.conversion.intermediate.column.chunk.palette;
+
+import com.hivemc.chunker.conversion.encoding.java.util.PaletteUtil;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.NibbleArray;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the flat palette and light arrays index positions correctly, can be encoded with linear scans and
+ * keep their key lookups consistent.
+ */
+public class ShortBasedPaletteTests {
+    /**
+     * Create a palette where every position has a value derived from its co-ordinates.
+     *
+     * @param dimensionSize the dimension size of the palette.
+     * @return the filled palette.
+     */
+    private static ShortBasedPalette<Integer> createFilledPalette(int dimensionSize) {
+        ShortBasedPalette<Integer> palette = new ShortBasedPalette<>(8, dimensionSize);
+        for (int x = 0; x < dimensionSize; x++) {
+            for (int y = 0; y < dimensionSize; y++) {
+                for (int z = 0; z < dimensionSize; z++) {
+                    palette.set(x, y, z, (x + y * 3 + z * 5) % 7);
+                }
+            }
+        }
+        return palette;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 16})
+    public void testValuesUseYZXOrder(int dimensionSize) {
+        ShortBasedPalette<Integer> palette = createFilledPalette(dimensionSize);
+        short[] values = palette.getValues();
+        assertEquals(dimensionSize * dimensionSize * dimensionSize, values.length);
+        assertEquals(dimensionSize, palette.getDimensionSize());
+
+        // Walking the array linearly should match walking Y, Z then X
+        int i = 0;
+        for (int y = 0; y < dimensionSize; y++) {
+            for (int z = 0; z < dimensionSize; z++) {
+                for (int x = 0; x < dimensionSize; x++) {
+                    assertEquals(i, ShortBasedPalette.getIndex(dimensionSize, x, y, z));
+                    assertEquals(palette.get(x, y, z), palette.getKey(values[i++]));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {4, 16})
+    public void testJavaEncodingRoundTrip(int dimensionSize) {
+        ShortBasedPalette<Integer> palette = createFilledPalette(dimensionSize);
+        int keyCount = palette.getKeyCount();
+
+        // Both formats should decode to the same values that were encoded
+        long[] encoded1_13 = PaletteUtil.writePaletteValues1_13(PaletteUtil.MINIMUM_BITS_PER_ENTRY_BLOCKS, dimensionSize, keyCount, palette.getValues());
+        assertArrayEquals(palette.getValues(), PaletteUtil.readPaletteValues1_13(PaletteUtil.MINIMUM_BITS_PER_ENTRY_BLOCKS, dimensionSize, encoded1_13));
+        long[] encoded1_16 = PaletteUtil.writePaletteValues1_16(PaletteUtil.MINIMUM_BITS_PER_ENTRY_BLOCKS, dimensionSize, keyCount, palette.getValues());
+        assertArrayEquals(palette.getValues(), PaletteUtil.readPaletteValues1_16(PaletteUtil.MINIMUM_BITS_PER_ENTRY_BLOCKS, dimensionSize, encoded1_16));
+    }
+
+    @Test
+    public void testCompactAndCopy() {
+        ShortBasedPalette<Integer> palette = createFilledPalette(16);
+        ShortBasedPalette<Integer> copy = palette.copy();
+        assertNotSame(palette.getValues(), copy.getValues());
+
+        // Replace every value with a single key, this should compact to a single value palette
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    copy.set(x, y, z, 1);
+                }
+            }
+        }
+        Palette<Integer> compacted = copy.compact(0);
+        assertInstanceOf(SingleValuePalette.class, compacted);
+        assertEquals(1, compacted.get(15, 15, 15));
+
+        // The original should be unchanged and compact to the same values
+        Palette<Integer> original = palette.compact(0);
+        assertEquals(7, original.getKeyCount());
+        assertEquals(palette.get(3, 7, 11), original.get(3, 7, 11));
+        assertTrue(original.containsValue(6));
+        assertFalse(original.containsValue(7));
+    }
+
+    @Test
+    public void testKeyIndexStaysConsistent() {
+        // Use enough keys that the reverse lookup is used
+        int keyCount = ShortBasedPalette.KEY_INDEX_THRESHOLD * 4;
+        ShortBasedPalette<Integer> palette = new ShortBasedPalette<>(keyCount, 16);
+        for (int i = 0; i < 4096; i++) {
+            palette.set(i & 0xF, i >> 8, (i >> 4) & 0xF, i % keyCount);
+        }
+        assertEquals(keyCount, palette.getKeyCount());
+        assertEquals(5, palette.getOrCreateKey(5));
+
+        // Compacting rebuilds the keys, lookups should use the new indexes
+        for (int i = 0; i < 4096; i++) {
+            if (i % keyCount == 3) {
+                palette.set(i & 0xF, i >> 8, (i >> 4) & 0xF, 0);
+            }
+        }
+        Palette<Integer> compacted = palette.compact(0);
+        assertEquals(keyCount - 1, compacted.getKeyCount());
+        WriteablePalette<Integer> writeable = compacted.asWriteable();
+        for (int i = 0; i < compacted.getKeyCount(); i++) {
+            assertEquals(i, writeable.getOrCreateKey(compacted.getKey(i)));
+        }
+        assertEquals(keyCount - 1, writeable.getOrCreateKey(3));
+
+        // Mapping can merge keys, the first index should be used like indexOf
+        WriteablePalette<Integer> mapped = compacted.map(key -> key / 2).asWriteable();
+        for (int key = 0; key < keyCount / 2; key++) {
+            assertEquals(key, mapped.getKey(mapped.getOrCreateKey(key)));
+            assertEquals(indexOf(mapped, key), mapped.getOrCreateKey(key));
+        }
+        assertEquals(mapped.getKeyCount(), mapped.getOrCreateKey(-1));
+    }
+
+    /**
+     * Find the first index of a key using a linear scan.
+     *
+     * @param palette the palette to search.
+     * @param key     the key to find.
+     * @return the first index or -1 if not present.
+     */
+    private static int indexOf(Palette<Integer> palette, int key) {
+        for (int i = 0; i < palette.getKeyCount(); i++) {
+            if (palette.getKey(i) == key) return i;
+        }
+        return -1;
+    }
+
+    @Tag("LongRunning")
+    @ParameterizedTest
+    @ValueSource(ints = {2, 16, 64, 256})
+    public void benchmarkSet(int keyCount) {
+        // Use block identifiers as the keys since these are the most common palette
+        ChunkerVanillaBlockType[] types = ChunkerVanillaBlockType.values();
+        List<ChunkerBlockIdentifier> identifiers = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            identifiers.add(new ChunkerBlockIdentifier(types[i % types.length], Map.of()));
+        }
+
+        // Set every block in a chunk many times, the first iterations are used as a warm-up
+        long blocks = 0;
+        long start = 0;
+        for (int iteration = 0; iteration < 1200; iteration++) {
+            if (iteration == 200) {
+                blocks = 0;
+                start = System.nanoTime();
+            }
+            ShortBasedPalette<ChunkerBlockIdentifier> palette = new ShortBasedPalette<>(keyCount, 16);
+            for (int i = 0; i < 4096; i++) {
+                palette.set(i & 0xF, i >> 8, (i >> 4) & 0xF, identifiers.get((i * 31) % keyCount));
+                blocks++;
+            }
+            assertEquals(keyCount, palette.getKeyCount());
+        }
+        long duration = System.nanoTime() - start;
+        System.out.printf("%d keys: %.0f blocks/s%n", keyCount, blocks / (duration / 1e9D));
+    }
+
+    @Test
+    public void testRejectsNonCubeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new ShortBasedPalette<>(List.of(), new short[100]));
+    }
+
+    @Test
+    public void testNibbleArrayMatchesJavaLayout() {
+        NibbleArray nibbleArray = new NibbleArray();
+        for (int i = 0; i < 4096; i++) {
+            nibbleArray.set(i, (byte) (i % 16));
+        }
+
+        // Java stores the even index in the lowest bits of each byte
+        byte[] data = nibbleArray.getData();
+        assertEquals(NibbleArray.BYTES, data.length);
+        assertEquals((byte) 0x10, data[0]);
+        assertEquals((byte) 0xFE, data[7]);
+
+        // Positions should use the same YZX order as the palette
+        assertEquals(ShortBasedPalette.getIndex(16, 5, 9, 2), NibbleArray.getIndex(5, 9, 2));
+        assertEquals(NibbleArray.getIndex(5, 9, 2) % 16, nibbleArray.get(5, 9, 2));
+        nibbleArray.set(5, 9, 2, (byte) 15);
+        assertEquals(15, nibbleArray.get(5, 9, 2));
+        assertEquals(15, new NibbleArray(data.clone()).get(5, 9, 2));
+    }
+}
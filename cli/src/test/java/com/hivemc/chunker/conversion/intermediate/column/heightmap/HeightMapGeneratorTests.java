@@ -0,0 +1,181 @@
+package com.hivemc.chunker.conversion.intermediate.column.heightmap;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.NibbleArray;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.palette.ShortBasedPalette;
+import it.unimi.dsi.fastutil.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the generated height maps match looking up each X / Z position individually.
+ */
+public class HeightMapGeneratorTests {
+    private static final ChunkerBlockIdentifier[] BLOCKS = {
+            ChunkerBlockIdentifier.AIR,
+            new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE),
+            new ChunkerBlockIdentifier(ChunkerVanillaBlockType.GLASS),
+            new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_SLAB)
+    };
+
+    /**
+     * Create a column with sparse random blocks and light, a filled sub-chunk and an empty sub-chunk.
+     *
+     * @param seed the seed to use for the blocks.
+     * @return the new column.
+     */
+    private static ChunkerColumn createColumn(long seed) {
+        Random random = new Random(seed);
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(4, -7));
+        ChunkerChunk filled = new ChunkerChunk((byte) -4);
+        filled.setPalette(BLOCKS[1].asFilledChunkPalette());
+        column.getChunks().put(filled.getY(), filled);
+        ChunkerChunk empty = new ChunkerChunk((byte) 12);
+        empty.setPalette(ChunkerBlockIdentifier.AIR.asFilledChunkPalette());
+        column.getChunks().put(empty.getY(), empty);
+
+        // Random blocks, with light on some of the sub-chunks
+        for (int i = 0; i < 2000; i++) {
+            int y = random.nextInt(-64, 192);
+            column.setBlock(random.nextInt(16), y, random.nextInt(16), BLOCKS[random.nextInt(BLOCKS.length)]);
+        }
+        for (ChunkerChunk chunk : column.getChunks().values()) {
+            if (random.nextBoolean()) continue;
+            NibbleArray light = new NibbleArray();
+            for (int i = 0; i < 4096; i++) {
+                if (random.nextInt(4) == 0) {
+                    light.set(i, (byte) random.nextInt(16));
+                }
+            }
+            chunk.setSkyLight(light);
+        }
+        return column;
+    }
+
+    /**
+     * Get the combined block and sky light at a position.
+     *
+     * @param column the column.
+     * @param x      the local X.
+     * @param y      the Y.
+     * @param z      the local Z.
+     * @return the combined light.
+     */
+    private static int getLight(ChunkerColumn column, int x, int y, int z) {
+        ChunkerChunk chunk = column.getChunks().get((byte) (y >> 4));
+        if (chunk == null) return 0;
+        NibbleArray blockLight = chunk.getBlockLight();
+        NibbleArray skyLight = chunk.getSkyLight();
+        return (blockLight == null ? 0 : blockLight.get(x, y & 15, z)) + (skyLight == null ? 0 : skyLight.get(x, y & 15, z));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    public void testMatchesLookup(long seed) {
+        ChunkerColumn column = createColumn(seed);
+        int[][] heights = HeightMapGenerator.generate(
+                column,
+                HeightMapGenerator.Type.LIT_OR_SLAB,
+                HeightMapGenerator.Type.WORLD_SURFACE
+        );
+        int[] ranged = HeightMapGenerator.generate(column, -1, 3, HeightMapGenerator.Type.WORLD_SURFACE)[0];
+        int[] rgb = HeightMapGenerator.generate(column, ChunkerBlockIdentifier::hasRGBColor);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int index = (z << 4) | x;
+
+                // Compare the types with scanning the column
+                int litOrSlab = HeightMapGenerator.NONE;
+                int surface = HeightMapGenerator.NONE;
+                int rangedSurface = HeightMapGenerator.NONE;
+                for (int y = 255; y >= -64; y--) {
+                    ChunkerBlockIdentifier block = column.getBlock(x, y, z);
+                    if (block.isAir()) continue;
+                    if (litOrSlab == HeightMapGenerator.NONE && (getLight(column, x, y, z) != 0 || block.getType().getStates().contains(VanillaBlockStates.SLAB_TYPE))) {
+                        litOrSlab = y;
+                    }
+                    if (surface == HeightMapGenerator.NONE) surface = y;
+                    if (rangedSurface == HeightMapGenerator.NONE && y >> 4 >= -1 && y >> 4 <= 3) rangedSurface = y;
+                }
+                assertEquals(litOrSlab, heights[0][index]);
+                assertEquals(surface, heights[1][index]);
+                assertEquals(rangedSurface, ranged[index]);
+                Pair<Integer, ChunkerBlockIdentifier> highest = column.getHighestBlock(x, z, ChunkerBlockIdentifier::hasRGBColor);
+                assertEquals(highest == null ? HeightMapGenerator.NONE : highest.first(), rgb[index]);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testEmptyColumn(boolean emptyChunk) {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(0, 0));
+        if (emptyChunk) {
+            ChunkerChunk chunk = new ChunkerChunk((byte) 0);
+            chunk.setPalette(ChunkerBlockIdentifier.AIR.asFilledChunkPalette());
+            column.getChunks().put(chunk.getY(), chunk);
+        }
+        int[][] heights = HeightMapGenerator.generate(column, HeightMapGenerator.Type.values());
+        for (int[] height : heights) {
+            for (int value : height) {
+                assertEquals(HeightMapGenerator.NONE, value);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidKeysAreAir() {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(0, 0));
+        ChunkerChunk chunk = new ChunkerChunk((byte) 0);
+
+        // Values which aren't in the palette should be treated as air rather than failing
+        short[] values = new short[4096];
+        Arrays.fill(values, (short) 5);
+        values[ShortBasedPalette.getIndex(16, 0, 1, 0)] = 1;
+        values[ShortBasedPalette.getIndex(16, 1, 2, 0)] = -1;
+        chunk.setPalette(new ShortBasedPalette<>(List.of(ChunkerBlockIdentifier.AIR, BLOCKS[1]), values));
+        column.getChunks().put(chunk.getY(), chunk);
+        int[] heights = HeightMapGenerator.generate(column, HeightMapGenerator.Type.WORLD_SURFACE)[0];
+        for (int i = 0; i < 256; i++) {
+            assertEquals(i == 0 ? 1 : HeightMapGenerator.NONE, heights[i]);
+        }
+    }
+
+    @Test
+    public void testCaveAirIsAir() {
+        ChunkerColumn column = new ChunkerColumn(new ChunkCoordPair(0, 0));
+        ChunkerChunk chunk = new ChunkerChunk((byte) 0);
+
+        // Stone at the bottom with cave air and void air above it, like a carved ravine
+        short[] values = new short[4096];
+        Arrays.fill(values, (short) 1);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                values[ShortBasedPalette.getIndex(16, x, 0, z)] = 0;
+            }
+        }
+        values[ShortBasedPalette.getIndex(16, 3, 15, 4)] = 2;
+        chunk.setPalette(new ShortBasedPalette<>(List.of(
+                new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE),
+                new ChunkerBlockIdentifier(ChunkerVanillaBlockType.CAVE_AIR),
+                new ChunkerBlockIdentifier(ChunkerVanillaBlockType.VOID_AIR)
+        ), values));
+        column.getChunks().put(chunk.getY(), chunk);
+        int[] heights = HeightMapGenerator.generate(column, HeightMapGenerator.Type.WORLD_SURFACE)[0];
+        for (int i = 0; i < 256; i++) {
+            assertEquals(0, heights[i]);
+        }
+    }
+}
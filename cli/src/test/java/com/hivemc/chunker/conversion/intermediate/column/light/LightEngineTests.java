@@ -0,0 +1,138 @@
+package com.hivemc.chunker.conversion.intermediate.column.light;
+
+import com.hivemc.chunker.conversion.intermediate.column.ChunkerColumn;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkerChunk;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.ChunkerBlockIdentifier;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.ChunkerVanillaBlockType;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.VanillaBlockStates;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.identifier.type.block.states.vanilla.types.Bool;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure light is spread from light sources and the sky, including from neighbouring columns.
+ */
+public class LightEngineTests {
+    private static final ChunkerBlockIdentifier STONE = new ChunkerBlockIdentifier(ChunkerVanillaBlockType.STONE);
+
+    /**
+     * Create a column with air sub-chunks.
+     *
+     * @param position the position of the column.
+     * @param chunkYs  the Y of each sub-chunk to create.
+     * @return the new column.
+     */
+    private static ChunkerColumn createColumn(ChunkCoordPair position, int... chunkYs) {
+        ChunkerColumn column = new ChunkerColumn(position);
+        for (int chunkY : chunkYs) {
+            ChunkerChunk chunk = new ChunkerChunk((byte) chunkY);
+            chunk.setPalette(ChunkerBlockIdentifier.AIR.asFilledChunkPalette());
+            column.getChunks().put(chunk.getY(), chunk);
+        }
+        return column;
+    }
+
+    /**
+     * Get the light at a position in a column.
+     *
+     * @param column the column.
+     * @param sky    whether to get the sky light rather than the block light.
+     * @param x      the local X position.
+     * @param y      the Y position.
+     * @param z      the local Z position.
+     * @return the light level.
+     */
+    private static int getLight(ChunkerColumn column, boolean sky, int x, int y, int z) {
+        ChunkerChunk chunk = column.getChunks().get((byte) (y >> 4));
+        return (sky ? chunk.getSkyLight() : chunk.getBlockLight()).get(x, y & 15, z);
+    }
+
+    @Test
+    public void testBlockLight() {
+        ChunkerColumn column = createColumn(new ChunkCoordPair(0, 0), -1, 0);
+        column.setBlock(8, 8, 8, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.TORCH));
+        column.setBlock(8, -2, 8, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.FURNACE).copyWith(VanillaBlockStates.LIT, Bool.FALSE));
+
+        // A wall between the torch and the corner
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                column.setBlock(4, y, z, STONE);
+            }
+        }
+        assertTrue(LightEngine.needsLight(column));
+        LightEngine.light(column, new ChunkerColumn[LightEngine.NEIGHBOURS], false);
+        assertFalse(LightEngine.needsLight(column));
+
+        // Light decreases with each block and goes around the wall (but not through it)
+        assertEquals(14, getLight(column, false, 8, 8, 8));
+        assertEquals(12, getLight(column, false, 10, 8, 8));
+        assertEquals(9, getLight(column, false, 8, 8, 3));
+        assertEquals(5, getLight(column, false, 8, -1, 8));
+        assertEquals(0, getLight(column, false, 4, 8, 8));
+        assertEquals(0, getLight(column, false, 3, 8, 8));
+        assertNull(column.getChunks().get((byte) 0).getSkyLight());
+    }
+
+    @Test
+    public void testNeighbourBlockLight() {
+        ChunkerColumn column = createColumn(new ChunkCoordPair(0, 0), 0);
+        ChunkerColumn neighbour = createColumn(new ChunkCoordPair(1, 0), 0);
+        neighbour.setBlock(0, 8, 8, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.GLOWSTONE));
+        ChunkerColumn[] neighbours = new ChunkerColumn[LightEngine.NEIGHBOURS];
+        neighbours[LightEngine.getNeighbourIndex(1, 0)] = neighbour;
+        LightEngine.light(column, neighbours, false);
+
+        // The light from the neighbour is spread into the column
+        assertEquals(14, getLight(column, false, 15, 8, 8));
+        assertEquals(1, getLight(column, false, 2, 8, 8));
+        assertEquals(0, getLight(column, false, 1, 8, 8));
+    }
+
+    @Test
+    public void testDiagonalNeighbourBlockLight() {
+        ChunkerColumn column = createColumn(new ChunkCoordPair(0, 0), 0);
+        ChunkerColumn neighbour = createColumn(new ChunkCoordPair(1, 0), 0);
+        ChunkerColumn diagonal = createColumn(new ChunkCoordPair(1, 1), 0);
+        diagonal.setBlock(0, 8, 2, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.GLOWSTONE));
+
+        // Without the diagonal the light isn't included
+        ChunkerColumn[] neighbours = new ChunkerColumn[LightEngine.NEIGHBOURS];
+        neighbours[LightEngine.getNeighbourIndex(1, 0)] = neighbour;
+        LightEngine.light(column, neighbours, false);
+        assertEquals(0, getLight(column, false, 15, 8, 15));
+
+        // The light from the diagonal is spread through the other neighbour into the column
+        neighbours[LightEngine.getNeighbourIndex(1, 1)] = diagonal;
+        LightEngine.light(column, neighbours, false);
+        assertEquals(11, getLight(column, false, 15, 8, 15));
+        assertEquals(10, getLight(column, false, 14, 8, 15));
+    }
+
+    @Test
+    public void testSkyLight() {
+        ChunkerColumn column = createColumn(new ChunkCoordPair(0, 0), 0, 1);
+
+        // A roof with a hole in the middle
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                if (x != 8 || z != 8) {
+                    column.setBlock(x, 31, z, STONE);
+                }
+            }
+        }
+        column.setBlock(8, 10, 8, new ChunkerBlockIdentifier(ChunkerVanillaBlockType.OAK_LEAVES));
+        LightEngine.light(column, new ChunkerColumn[LightEngine.NEIGHBOURS], true);
+
+        // Sky light goes straight down through the hole then spreads out
+        assertEquals(15, getLight(column, true, 8, 31, 8));
+        assertEquals(15, getLight(column, true, 8, 11, 8));
+        assertEquals(14, getLight(column, true, 8, 10, 8));
+        assertEquals(14, getLight(column, true, 9, 20, 8));
+        assertEquals(11, getLight(column, true, 8, 30, 12));
+        assertEquals(0, getLight(column, true, 7, 31, 8));
+        assertEquals(0, getLight(column, true, 0, 20, 0));
+        assertEquals(0, getLight(column, false, 8, 20, 8));
+    }
+}
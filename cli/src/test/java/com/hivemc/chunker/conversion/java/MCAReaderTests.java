@@ -0,0 +1,107 @@
+package com.hivemc.chunker.conversion.java;
+
+import com.hivemc.chunker.conversion.bedrock.resolver.MockConverter;
+import com.hivemc.chunker.conversion.encoding.java.base.reader.util.MCAReader;
+import com.hivemc.chunker.conversion.intermediate.column.chunk.ChunkCoordPair;
+import com.hivemc.chunker.nbt.tags.Tag;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure MCA files are read correctly with and without memory-mapping, including oversized columns.
+ */
+public class MCAReaderTests {
+    /**
+     * Create a column tag holding its position.
+     *
+     * @param x the chunk X.
+     * @param z the chunk Z.
+     * @return the compound tag.
+     */
+    private static CompoundTag createColumn(int x, int z) {
+        CompoundTag tag = new CompoundTag();
+        tag.put("xPos", x);
+        tag.put("zPos", z);
+        return tag;
+    }
+
+    /**
+     * Write an MCA file with a zlib column at (0, 0) and an oversized uncompressed column at (1, 0).
+     *
+     * @param folder the folder to write the region and .mcc file to.
+     * @return the .mca file.
+     * @throws IOException if it failed to write.
+     */
+    private static File writeRegion(Path folder) throws IOException {
+        byte[] compressed = Tag.writeZLibJavaNBT(createColumn(0, 0));
+        ByteBuffer buffer = ByteBuffer.allocate(4096 * 4);
+
+        // Offsets table (offset << 8 | sector count)
+        buffer.putInt(0, (2 << 8) | 1);
+        buffer.putInt(4, (3 << 8) | 1);
+
+        // Column in the file using zlib
+        buffer.putInt(2 * 4096, compressed.length + 1);
+        buffer.put(2 * 4096 + 4, (byte) 2);
+        buffer.put(2 * 4096 + 5, compressed);
+
+        // Oversized column which is uncompressed
+        buffer.putInt(3 * 4096, 1);
+        buffer.put(3 * 4096 + 4, (byte) (3 | 0x80));
+        Files.write(folder.resolve("c.1.0.mcc"), Tag.writeUncompressedJavaNBT(createColumn(1, 0)));
+
+        File file = folder.resolve("r.0.0.mca").toFile();
+        Files.write(file.toPath(), buffer.array());
+        return file;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testColumnsAreRead(boolean mapped, @TempDir Path folder) throws Exception {
+        File file = writeRegion(folder);
+        try (MCAReader reader = new MCAReader(new MockConverter(null), file, mapped)) {
+            assertEquals(mapped, reader.isMapped());
+
+            // Read the offsets
+            int[] offsets = reader.readOffsetTable();
+            assertEquals(2, offsets[0]);
+            assertEquals(3, offsets[1]);
+
+            // Read both columns in parallel
+            AtomicReference<Throwable> exception = new AtomicReference<>();
+            List<Task<CompoundTag>> tasks = new ArrayList<>();
+            Environment environment = Task.environment("Test", 2, exception::set, null);
+            try {
+                for (int i = 0; i < 2; i++) {
+                    tasks.add(reader.readColumn(new ChunkCoordPair(i, 0), offsets[i]));
+                }
+            } finally {
+                environment.close();
+            }
+            environment.future().join();
+            assertNull(exception.get());
+
+            // Check the contents
+            for (int i = 0; i < 2; i++) {
+                CompoundTag tag = tasks.get(i).future().join();
+                assertEquals(i, tag.getInt("xPos"));
+                assertEquals(0, tag.getInt("zPos"));
+            }
+        }
+    }
+}
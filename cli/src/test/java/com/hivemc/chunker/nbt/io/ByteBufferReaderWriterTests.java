@@ -0,0 +1,172 @@
+package com.hivemc.chunker.nbt.io;
+
+import com.google.common.io.Resources;
+import com.hivemc.chunker.nbt.TagType;
+import com.hivemc.chunker.nbt.tags.Tag;
+import com.hivemc.chunker.nbt.tags.array.IntArrayTag;
+import com.hivemc.chunker.nbt.tags.array.LongArrayTag;
+import com.hivemc.chunker.nbt.tags.collection.CompoundTag;
+import com.hivemc.chunker.nbt.tags.collection.ListTag;
+import com.hivemc.chunker.nbt.tags.primitive.StringTag;
+import com.hivemc.chunker.nbt.util.ThrowableFunction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the ByteBuffer readers and pooled stream writers match the DataInput / DataOutput implementations.
+ */
+public class ByteBufferReaderWriterTests {
+    public static CompoundTag readJavaLevel() throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(Resources.getResource("nbt/java_level.dat").openStream())) {
+            return Tag.readUncompressedJavaNBT(inputStream.readAllBytes());
+        }
+    }
+
+    public static CompoundTag readBedrockLevel() throws IOException {
+        byte[] bytes = Resources.toByteArray(Resources.getResource("nbt/bedrock_level.dat"));
+        return Tag.readBedrockNBT(Arrays.copyOfRange(bytes, 8, bytes.length)); // Skip header
+    }
+
+    public static CompoundTag createArrayCompound() {
+        CompoundTag compoundTag = new CompoundTag();
+        int[] ints = new int[1000];
+        long[] longs = new long[1000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = i * 31 - 500;
+            longs[i] = (long) i * Integer.MAX_VALUE - 12345L;
+        }
+        compoundTag.put("ints", new IntArrayTag(ints));
+        compoundTag.put("longs", new LongArrayTag(longs));
+        compoundTag.put("unicode", new StringTag("héllo \u0000 😀"));
+        ListTag<StringTag, String> list = new ListTag<>(TagType.STRING);
+        list.add(new StringTag("a"));
+        list.add(new StringTag(""));
+        compoundTag.put("list", list);
+        return compoundTag;
+    }
+
+    public static byte[] encode(CompoundTag tag, ThrowableFunction<DataOutput, Writer> writerFunction) throws Exception {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+             DataOutputStream dataOutputStream = new DataOutputStream(outputStream)) {
+            Tag.encodeNamed(writerFunction.apply(dataOutputStream), "", tag);
+            return outputStream.toByteArray();
+        }
+    }
+
+    public static byte[] encodePooled(CompoundTag tag, ThrowableFunction<PooledOutputStream, Writer> writerFunction) throws Exception {
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Tag.encodeNamed(writerFunction.apply(outputStream), "", tag);
+            return outputStream.toByteArray();
+        }
+    }
+
+    public void assertMatches(CompoundTag tag) throws Exception {
+        // Check the output bytes match
+        byte[] java = encode(tag, Writer::toJavaWriter);
+        assertArrayEquals(java, encodePooled(tag, Writer::toJavaWriter));
+        byte[] bedrock = encode(tag, Writer::toBedrockWriter);
+        assertArrayEquals(bedrock, encodePooled(tag, Writer::toBedrockWriter));
+        byte[] bigEndian = encode(tag, Writer::toBigEndianWriter);
+        assertArrayEquals(bigEndian, encodePooled(tag, Writer::toBigEndianWriter));
+
+        // Check the decoded values match (direct buffers are used as they don't have a backing array)
+        assertEquals(tag, Tag.decodeNamed(Reader.toJavaReader(ByteBuffer.wrap(java)), CompoundTag.class).tag());
+        assertEquals(tag, Tag.decodeNamed(Reader.toBedrockReader(toDirect(bedrock)), CompoundTag.class).tag());
+        assertEquals(tag, Tag.decodeNamed(Reader.toBigEndianReader(toDirect(bigEndian)), CompoundTag.class).tag());
+    }
+
+    public static ByteBuffer toDirect(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        return buffer.flip();
+    }
+
+    @Test
+    public void testJavaLevel() throws Exception {
+        assertMatches(readJavaLevel());
+    }
+
+    @Test
+    public void testBedrockLevel() throws Exception {
+        assertMatches(readBedrockLevel());
+    }
+
+    @Test
+    public void testArrays() throws Exception {
+        assertMatches(createArrayCompound());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 100, 0xFFFFFF})
+    public void testUnsignedInt24(int value) throws Exception {
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer.toLittleEndianWriter(outputStream).writeUnsignedInt24(value);
+            Writer.toBigEndianWriter(outputStream).writeUnsignedInt24(value);
+            ByteBuffer buffer = outputStream.toByteBuffer();
+            assertEquals(value, Reader.toLittleEndianReader(buffer).readUnsignedInt24());
+            assertEquals(value, Reader.toBigEndianReader(buffer).readUnsignedInt24());
+        }
+    }
+
+    @Test
+    public void testWriterGrowsBuffer() throws Exception {
+        long[] longs = new long[50000];
+        Arrays.fill(longs, 0x0102030405060708L);
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            Writer writer = Writer.toLittleEndianWriter(outputStream);
+            writer.writeByte(1);
+            writer.writeLongs(longs);
+            writer.writeInt(2);
+
+            // Read it back
+            Reader reader = Reader.toLittleEndianReader(outputStream.toByteBuffer());
+            long[] output = new long[longs.length];
+            assertEquals(1, reader.readByte());
+            reader.readLongs(output);
+            assertEquals(2, reader.readInt());
+            assertArrayEquals(longs, output);
+        }
+    }
+
+    @Test
+    public void testTruncatedInput() throws Exception {
+        byte[] bytes = encode(createArrayCompound(), Writer::toJavaWriter);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, bytes.length - 10);
+        assertThrows(EOFException.class, () -> Tag.decodeNamed(Reader.toJavaReader(buffer), CompoundTag.class));
+    }
+
+    @Test
+    public void testReadingRestoresByteOrder() throws Exception {
+        ByteBuffer buffer = ByteBuffer.wrap(encode(createArrayCompound(), Writer::toJavaWriter));
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        assertNotNull(Tag.readUncompressedJavaNBT(buffer));
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testSkipNamed() throws Exception {
+        byte[] java = encode(readJavaLevel(), Writer::toJavaWriter);
+        byte[] bedrock = encode(readBedrockLevel(), Writer::toBedrockWriter);
+        byte[] arrays = encode(createArrayCompound(), Writer::toBedrockWriter);
+
+        // Skipping should consume exactly the encoded tag
+        assertTrue(Tag.skipNamed(Reader.toJavaReader(ByteBuffer.wrap(java))));
+        for (byte[] bytes : new byte[][]{java, bedrock, arrays}) {
+            ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 1).put(bytes).put((byte) 0).flip();
+            Reader reader = bytes == java ? Reader.toJavaReader(buffer) : Reader.toBedrockReader(buffer);
+            assertTrue(Tag.skipNamed(reader));
+            assertEquals(bytes.length, buffer.position());
+            assertFalse(Tag.skipNamed(reader));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hivemc.chunker.nbt.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure pooled output streams are reused safely and compress / decompress correctly.
+ */
+public class PooledOutputStreamTests {
+    @Test
+    public void testStreamsAreReused() throws IOException {
+        PooledOutputStream first;
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            outputStream.getDataOutput().writeInt(1);
+            assertEquals(4, outputStream.size());
+            first = outputStream;
+
+            // Nested streams should be separate
+            try (PooledOutputStream nested = PooledOutputStream.acquire()) {
+                assertNotSame(outputStream, nested);
+                nested.write(2);
+                assertArrayEquals(new byte[]{0, 0, 0, 1}, outputStream.toByteArray());
+            }
+        }
+
+        // The stream should be reused and empty
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            assertSame(first, outputStream);
+            assertEquals(0, outputStream.size());
+        }
+    }
+
+    @Test
+    public void testCompressionRoundTrip() throws IOException {
+        byte[] input = new byte[100000];
+        new Random(0).nextBytes(input);
+        for (int i = 0; i < input.length; i += 2) {
+            input[i] = 0; // Make it compressible
+        }
+
+        Deflater deflater = CompressionPool.acquireDeflater();
+        Inflater inflater = CompressionPool.acquireInflater();
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire();
+             PooledOutputStream compressedStream = PooledOutputStream.acquire();
+             PooledOutputStream decompressedStream = PooledOutputStream.acquire()) {
+            outputStream.write(input);
+            outputStream.deflateTo(compressedStream, deflater);
+            assertTrue(compressedStream.size() < input.length);
+
+            // Decompress and check it matches
+            decompressedStream.inflateFrom(ByteBuffer.wrap(compressedStream.toByteArray()), inflater);
+            assertArrayEquals(input, decompressedStream.toByteArray());
+        } finally {
+            CompressionPool.release(deflater);
+            CompressionPool.release(inflater);
+        }
+    }
+
+    @Test
+    public void testInvalidCompressedData() {
+        Inflater inflater = CompressionPool.acquireInflater();
+        try (PooledOutputStream outputStream = PooledOutputStream.acquire()) {
+            assertThrows(ZipException.class, () -> outputStream.inflateFrom(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), inflater));
+        } finally {
+            CompressionPool.release(inflater);
+        }
+    }
+}
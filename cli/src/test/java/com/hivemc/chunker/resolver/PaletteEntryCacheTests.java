@@ -0,0 +1,59 @@
+package com.hivemc.chunker.resolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure the palette entry cache only resolves entries once and reports hits / misses.
+ */
+public class PaletteEntryCacheTests {
+    @Test
+    public void testResolvesOnce() {
+        PaletteEntryCache<String, Integer> cache = new PaletteEntryCache<>(PaletteEntryCache.DEFAULT_MAX_ENTRIES, key -> key);
+        AtomicInteger resolved = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(5, cache.get("hello", key -> {
+                resolved.incrementAndGet();
+                return key.length();
+            }));
+        }
+
+        // Only the first lookup should have resolved
+        assertEquals(1, resolved.get());
+        assertEquals(9, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.9, cache.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void testStoresCopiedKey() {
+        byte[] backing = new byte[]{1, 2, 3, 4, 5};
+        PaletteEntryCache<ByteBuffer, String> cache = new PaletteEntryCache<>(PaletteEntryCache.DEFAULT_MAX_ENTRIES, key -> {
+            byte[] bytes = new byte[key.remaining()];
+            key.duplicate().get(bytes);
+            return ByteBuffer.wrap(bytes);
+        });
+        cache.put(ByteBuffer.wrap(backing, 1, 2).slice(), "value");
+
+        // Changing the original buffer shouldn't affect the stored key
+        backing[1] = 9;
+        assertEquals("value", cache.getIfPresent(ByteBuffer.wrap(new byte[]{2, 3})));
+        assertNull(cache.getIfPresent(ByteBuffer.wrap(new byte[]{9, 3})));
+    }
+
+    @Test
+    public void testBounded() {
+        PaletteEntryCache<Integer, Integer> cache = new PaletteEntryCache<>(2, key -> key);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i * 2, cache.get(i, key -> key * 2));
+        }
+
+        // Only two entries should be kept
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getHitRate());
+    }
+}
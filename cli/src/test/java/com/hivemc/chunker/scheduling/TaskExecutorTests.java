@@ -0,0 +1,290 @@
+package com.hivemc.chunker.scheduling;
+
+import com.hivemc.chunker.scheduling.task.Environment;
+import com.hivemc.chunker.scheduling.task.Task;
+import com.hivemc.chunker.scheduling.task.TaskLimiter;
+import com.hivemc.chunker.scheduling.task.TaskWeight;
+import com.hivemc.chunker.scheduling.task.executor.TaskExecutorMode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests to ensure each TaskExecutorMode runs tasks, waits for children and reports progress.
+ */
+public class TaskExecutorTests {
+    /**
+     * Schedule a tree of tasks similar to a conversion (regions -> columns -> chunks).
+     *
+     * @param counter the counter to increment for every leaf task.
+     * @param breadth the number of tasks to create at each level.
+     */
+    private static void scheduleTree(AtomicInteger counter, int breadth) {
+        for (int region = 0; region < breadth; region++) {
+            Task.async("Region", TaskWeight.NORMAL, () -> {
+                for (int column = 0; column < breadth; column++) {
+                    Task.async("Column", TaskWeight.NORMAL, () -> {
+                        for (int chunk = 0; chunk < breadth; chunk++) {
+                            Task.async("Chunk", TaskWeight.NORMAL, counter::incrementAndGet);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Run the tree of tasks inside a new environment and wait for it to complete.
+     *
+     * @param mode    the mode to use for the environment.
+     * @param counter the counter to increment for every leaf task.
+     * @param breadth the number of tasks to create at each level.
+     * @return the environment which has completed.
+     */
+    private static Environment runTree(TaskExecutorMode mode, AtomicInteger counter, int breadth) {
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", 4, 1, mode, exception::set, null);
+        try {
+            scheduleTree(counter, breadth);
+        } finally {
+            environment.close();
+        }
+
+        // Wait for completion
+        environment.future().join();
+        assertNull(exception.get());
+        return environment;
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskExecutorMode.class)
+    public void testAllTasksComplete(TaskExecutorMode mode) {
+        AtomicInteger counter = new AtomicInteger();
+        Environment environment = runTree(mode, counter, 16);
+
+        // Every leaf should have run once the environment has completed
+        assertEquals(16 * 16 * 16, counter.get());
+        assertEquals(1D, environment.getProgress());
+    }
+
+    @Test
+    public void testProgressIsPushedToParents() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(2);
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", 4, 0, TaskExecutorMode.PRIORITY_QUEUE, exception::set, null);
+        try {
+            Task.async("Parent", TaskWeight.NORMAL, () -> {
+                for (int i = 0; i < 4; i++) {
+                    boolean block = i >= 2;
+                    Task.async("Child", TaskWeight.NORMAL, () -> {
+                        if (block) {
+                            release.await();
+                        } else {
+                            completed.countDown();
+                        }
+                    });
+                }
+            });
+        } finally {
+            environment.close();
+        }
+
+        // Half of the children have completed, the progress should be pushed up to the environment
+        completed.await();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (environment.getProgress() < 0.25D && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        double progress = environment.getProgress();
+        assertTrue(progress >= 0.25D && progress < 1D, "Unexpected progress " + progress);
+
+        // Release the remaining children
+        release.countDown();
+        environment.future().join();
+        assertNull(exception.get());
+        assertEquals(1D, environment.getProgress());
+        assertTrue(environment.getDetailedProgress().contains("Pending children: 0"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskExecutorMode.class)
+    public void testIOTasksComplete(TaskExecutorMode mode) {
+        AtomicInteger counter = new AtomicInteger();
+        Environment environment = Task.environment("Test", 4, 1, mode, null, null);
+        try {
+            for (int i = 0; i < 100; i++) {
+                Task.asyncIO("Reading", TaskWeight.NORMAL, () -> {
+                    // Submit work back to the normal threads
+                    Task.async("Processing", TaskWeight.NORMAL, counter::incrementAndGet);
+                });
+            }
+        } finally {
+            environment.close();
+        }
+
+        // Wait for completion
+        environment.future().join();
+        assertEquals(100, counter.get());
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskExecutorMode.class)
+    public void testExceptionIsReported(TaskExecutorMode mode) {
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", 4, 0, mode, exception::set, null);
+        try {
+            Task.async("Failing", TaskWeight.NORMAL, () -> {
+                throw new IllegalStateException("Test!");
+            });
+        } finally {
+            environment.close();
+        }
+
+        // The environment should complete exceptionally and the handler should be called
+        assertThrows(Exception.class, () -> environment.future().join());
+        assertInstanceOf(IllegalStateException.class, exception.get());
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskExecutorMode.class)
+    public void testBatchRunsInline(TaskExecutorMode mode) {
+        AtomicInteger counter = new AtomicInteger();
+        AtomicInteger inline = new AtomicInteger();
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", 4, 0, mode, exception::set, null);
+        try {
+            for (int i = 0; i < 100; i++) {
+                Task.asyncBatch("Column", TaskWeight.NORMAL, (ignored) -> {
+                    // Nested tasks and continuations should run on this thread before the batch returns
+                    Thread current = Thread.currentThread();
+                    AtomicInteger completed = new AtomicInteger();
+                    Task.async("Chunk", TaskWeight.NORMAL, completed::incrementAndGet)
+                            .then("Check thread", TaskWeight.NORMAL, () -> {
+                                if (Thread.currentThread() == current) {
+                                    inline.incrementAndGet();
+                                }
+                            });
+                    counter.addAndGet(completed.get());
+                }, null, true);
+            }
+        } finally {
+            environment.close();
+        }
+
+        // Wait for completion
+        environment.future().join();
+        assertNull(exception.get());
+        assertEquals(100, counter.get());
+        assertEquals(100, inline.get());
+        assertEquals(1D, environment.getProgress());
+    }
+
+    @Test
+    public void testBatchingCanBeDisabled() {
+        AtomicInteger inline = new AtomicInteger();
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", 1, 0, TaskExecutorMode.PRIORITY_QUEUE, exception::set, null);
+        try {
+            // Batches for different worlds can be batched or not in the same executor
+            for (boolean batching : new boolean[]{true, false}) {
+                Task.asyncBatch("Column", TaskWeight.NORMAL, (ignored) -> {
+                    // With a single worker the nested task can only have run already if it was run inline
+                    AtomicInteger completed = new AtomicInteger();
+                    Task.async("Chunk", TaskWeight.NORMAL, completed::incrementAndGet);
+                    if ((completed.get() == 1) == batching) {
+                        inline.incrementAndGet();
+                    }
+                }, null, batching);
+            }
+        } finally {
+            environment.close();
+        }
+
+        // Wait for completion
+        environment.future().join();
+        assertNull(exception.get());
+        assertEquals(2, inline.get());
+    }
+
+    @Test
+    public void testBatchExceptionIsReported() {
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", 4, 0, TaskExecutorMode.PRIORITY_QUEUE, exception::set, null);
+        try {
+            Task.asyncBatch("Column", TaskWeight.NORMAL, (ignored) -> {
+                Task.async("Failing", TaskWeight.NORMAL, () -> {
+                    throw new IllegalStateException("Test!");
+                });
+            }, null, true);
+        } finally {
+            environment.close();
+        }
+
+        // The inline failure should fail the batch
+        assertThrows(Exception.class, () -> environment.future().join());
+        assertInstanceOf(IllegalStateException.class, exception.get());
+    }
+
+    @ParameterizedTest
+    @EnumSource(TaskExecutorMode.class)
+    public void testLimiterBoundsInFlightTasks(TaskExecutorMode mode) {
+        AtomicInteger counter = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicReference<Throwable> exception = new AtomicReference<>();
+        Environment environment = Task.environment("Test", 4, 0, mode, exception::set, null);
+        try {
+            Task.async("Producer", TaskWeight.NORMAL, () -> {
+                TaskLimiter limiter = new TaskLimiter(2);
+                for (int region = 0; region < 50; region++) {
+                    limiter.submit(() -> {
+                        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+                        // The region is only complete once all the columns have completed
+                        return Task.async("Region", TaskWeight.NORMAL, () -> {
+                            for (int column = 0; column < 16; column++) {
+                                Task.async("Column", TaskWeight.NORMAL, counter::incrementAndGet);
+                            }
+                        }).then("Completing", TaskWeight.NONE, inFlight::decrementAndGet);
+                    });
+                }
+            });
+        } finally {
+            environment.close();
+        }
+
+        // Wait for completion
+        environment.future().join();
+        assertNull(exception.get());
+        assertEquals(50 * 16, counter.get());
+        assertTrue(peak.get() <= 2);
+    }
+
+    @Tag("LongRunning")
+    @ParameterizedTest
+    @EnumSource(TaskExecutorMode.class)
+    public void benchmarkQueueOverhead(TaskExecutorMode mode) {
+        // Warm up
+        for (int i = 0; i < 3; i++) {
+            runTree(mode, new AtomicInteger(), 32);
+        }
+
+        // Measure the time to schedule and complete many tiny tasks, this is mostly queue overhead
+        AtomicInteger counter = new AtomicInteger();
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            runTree(mode, counter, 32);
+        }
+        long duration = System.nanoTime() - start;
+        System.out.printf("%s: %d tasks in %.2fms (%.0f tasks/s)%n", mode, counter.get(), duration / 1e6D, counter.get() / (duration / 1e9D));
+        assertEquals(10 * 32 * 32 * 32, counter.get());
+    }
+}